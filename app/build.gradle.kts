@@ -32,6 +32,12 @@ android {
     buildFeatures {
         viewBinding = true
     }
+    testOptions {
+        // Benchmark tests are skipped unless run with -Dbenchmarks=true
+        unitTests.all {
+            it.systemProperty("benchmarks", System.getProperty("benchmarks") ?: "false")
+        }
+    }
 }
 
 dependencies {
@@ -66,6 +72,9 @@ dependencies {
     implementation("com.squareup.retrofit2:retrofit:2.9.0")
     implementation("com.squareup.retrofit2:converter-gson:2.9.0")
 
+    // NEW: OkHttp pinned to match mockwebserver; provides the on-disk response cache
+    implementation("com.squareup.okhttp3:okhttp:4.11.0")
+
     // NEW: Glide for image loading
     implementation("com.github.bumptech.glide:glide:4.15.1")
     annotationProcessor("com.github.bumptech.glide:compiler:4.15.1")
@@ -0,0 +1,406 @@
+package com.example.csci_310project2team26.data.local;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
+
+import com.example.csci_310project2team26.data.model.Comment;
+import com.example.csci_310project2team26.data.model.Post;
+import com.example.csci_310project2team26.data.model.PostSummary;
+import com.example.csci_310project2team26.data.network.ApiJson;
+import com.example.csci_310project2team26.data.repository.SessionManager;
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * FeedDiskCache - SQLite copy of the last feed pages, post details, comment
+ * threads and post titles the user saw, so screens can render immediately on
+ * a cold start or without a network and then revalidate in the background.
+ *
+ * Rows are partitioned by the signed-in user ID because bodies embed that
+ * user's votes; post titles carry no votes and are shared by all users.
+ * Entries older than {@link #MAX_AGE_MILLIS} are never served and are
+ * deleted, and the oldest entries are dropped once the stored bodies exceed
+ * {@link #MAX_BYTES}. The cache is disposable: a schema version change drops
+ * and recreates the table.
+ *
+ * All methods do disk I/O and must be called off the main thread.
+ */
+public final class FeedDiskCache {
+
+    static final String DATABASE_NAME = "feed_cache.db";
+    // Bump when the table layout or the stored JSON shape changes
+    static final int SCHEMA_VERSION = 1;
+
+    static final long MAX_BYTES = 4L * 1024 * 1024;
+    static final long MAX_AGE_MILLIS = TimeUnit.DAYS.toMillis(7);
+    // Feed pages beyond this offset are cheap to refetch and not worth the space
+    public static final int MAX_CACHED_FEED_OFFSET = 60;
+
+    private static final String KIND_FEED = "feed";
+    private static final String KIND_POST = "post";
+    private static final String KIND_COMMENTS = "comments";
+    private static final String KIND_SUMMARY = "summary";
+    private static final String ANONYMOUS_USER = "anonymous";
+    // user_key of rows that are the same for every user; user IDs are UUIDs
+    private static final String SHARED_USER = "shared";
+    private static final int WRITES_BETWEEN_EVICTIONS = 20;
+    // Stays well under SQLite's limit on bound parameters
+    private static final int MAX_KEYS_PER_QUERY = 500;
+
+    private static final Type POST_LIST = new TypeToken<List<Post>>() { }.getType();
+    private static final Type COMMENT_LIST = new TypeToken<List<Comment>>() { }.getType();
+
+    private static volatile FeedDiskCache instance;
+
+    private final Helper helper;
+    private final Gson gson = ApiJson.get();
+    private final AtomicInteger writesSinceEviction = new AtomicInteger();
+
+    private FeedDiskCache(Context context) {
+        this.helper = new Helper(context);
+    }
+
+    /**
+     * Open the cache; called once from the launcher activities. Safe to call
+     * repeatedly.
+     */
+    public static synchronized void install(Context context) {
+        if (instance == null && context != null) {
+            instance = new FeedDiskCache(context.getApplicationContext());
+        }
+    }
+
+    /**
+     * @return the cache, or null if {@link #install} has not run (e.g. in unit tests)
+     */
+    public static FeedDiskCache get() {
+        return instance;
+    }
+
+    /**
+     * Key for one feed variant, e.g. "new|prompt=null".
+     */
+    public static String feedKey(String sort, Boolean isPromptPost) {
+        return (sort != null ? sort : "newest") + "|prompt=" + isPromptPost;
+    }
+
+    public void putFeedPage(String feedKey, int offset, List<Post> posts) {
+        if (offset > MAX_CACHED_FEED_OFFSET) {
+            return;
+        }
+        write(KIND_FEED, feedKey + "|" + offset, gson.toJson(posts, POST_LIST));
+    }
+
+    public List<Post> getFeedPage(String feedKey, int offset) {
+        String body = read(KIND_FEED, feedKey + "|" + offset);
+        return parse(body, POST_LIST);
+    }
+
+    public void putPost(Post post) {
+        if (post != null && post.getId() != null) {
+            write(KIND_POST, post.getId(), gson.toJson(post));
+        }
+    }
+
+    public Post getPost(String postId) {
+        String body = read(KIND_POST, postId);
+        return parse(body, Post.class);
+    }
+
+    /**
+     * Every post saved for the signed-in user, from post details and feed
+     * pages, each once. Used to fill the offline search index.
+     */
+    public List<Post> getAllPosts() {
+        Map<String, Post> posts = new LinkedHashMap<>();
+        long oldest = System.currentTimeMillis() - MAX_AGE_MILLIS;
+        try (Cursor cursor = helper.getReadableDatabase().query(
+                Helper.TABLE,
+                new String[] { "kind", "body" },
+                "user_key = ? AND kind IN (?, ?) AND saved_at >= ?",
+                new String[] { userKey(), KIND_POST, KIND_FEED, String.valueOf(oldest) },
+                null, null, "saved_at ASC")) {
+            while (cursor.moveToNext()) {
+                if (KIND_POST.equals(cursor.getString(0))) {
+                    Post post = parse(cursor.getString(1), Post.class);
+                    if (post != null && post.getId() != null) {
+                        posts.put(post.getId(), post);
+                    }
+                } else {
+                    List<Post> page = parse(cursor.getString(1), POST_LIST);
+                    if (page != null) {
+                        for (Post post : page) {
+                            if (post != null && post.getId() != null) {
+                                posts.put(post.getId(), post);
+                            }
+                        }
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            // Whatever was read so far is still usable
+        }
+        return new ArrayList<>(posts.values());
+    }
+
+    /**
+     * Save post titles, e.g. those looked up to label a user's comments, in
+     * one transaction.
+     */
+    public void putPostSummaries(List<PostSummary> summaries) {
+        if (summaries == null || summaries.isEmpty()) {
+            return;
+        }
+        try {
+            SQLiteDatabase db = helper.getWritableDatabase();
+            db.beginTransaction();
+            try {
+                for (PostSummary summary : summaries) {
+                    if (summary != null && summary.getId() != null) {
+                        db.insertWithOnConflict(Helper.TABLE, null,
+                                values(SHARED_USER, KIND_SUMMARY, summary.getId(), gson.toJson(summary)),
+                                SQLiteDatabase.CONFLICT_REPLACE);
+                    }
+                }
+                db.setTransactionSuccessful();
+            } finally {
+                db.endTransaction();
+            }
+            if (writesSinceEviction.addAndGet(summaries.size()) >= WRITES_BETWEEN_EVICTIONS) {
+                writesSinceEviction.set(0);
+                evict(db);
+            }
+        } catch (RuntimeException ignored) {
+            // A failed cache write only costs a refetch
+        }
+    }
+
+    /**
+     * Saved titles for whichever of {@code postIds} have one, keyed by post ID.
+     */
+    public Map<String, PostSummary> getPostSummaries(List<String> postIds) {
+        Map<String, PostSummary> summaries = new HashMap<>();
+        if (postIds == null || postIds.isEmpty()) {
+            return summaries;
+        }
+        String oldest = String.valueOf(System.currentTimeMillis() - MAX_AGE_MILLIS);
+        for (int start = 0; start < postIds.size(); start += MAX_KEYS_PER_QUERY) {
+            List<String> chunk = postIds.subList(start, Math.min(postIds.size(), start + MAX_KEYS_PER_QUERY));
+            String[] args = new String[chunk.size() + 3];
+            args[0] = SHARED_USER;
+            args[1] = KIND_SUMMARY;
+            args[2] = oldest;
+            for (int i = 0; i < chunk.size(); i++) {
+                args[i + 3] = chunk.get(i);
+            }
+            char[] placeholders = new char[chunk.size() * 2 - 1];
+            Arrays.fill(placeholders, ',');
+            for (int i = 0; i < placeholders.length; i += 2) {
+                placeholders[i] = '?';
+            }
+            try (Cursor cursor = helper.getReadableDatabase().query(
+                    Helper.TABLE,
+                    new String[] { "body" },
+                    "user_key = ? AND kind = ? AND saved_at >= ? AND entry_key IN (" + new String(placeholders) + ")",
+                    args,
+                    null, null, null)) {
+                while (cursor.moveToNext()) {
+                    PostSummary summary = parse(cursor.getString(0), PostSummary.class);
+                    if (summary != null && summary.getId() != null) {
+                        summaries.put(summary.getId(), summary);
+                    }
+                }
+            } catch (RuntimeException e) {
+                // Treat the rest as misses
+                break;
+            }
+        }
+        return summaries;
+    }
+
+    /**
+     * Forget a deleted post. Feed pages that still list it are corrected by
+     * their next revalidation.
+     */
+    public void removePost(String postId) {
+        try {
+            helper.getWritableDatabase().delete(Helper.TABLE,
+                    "((user_key = ? AND kind IN (?, ?)) OR (user_key = ? AND kind = ?)) AND entry_key = ?",
+                    new String[] { userKey(), KIND_POST, KIND_COMMENTS, SHARED_USER, KIND_SUMMARY, postId });
+        } catch (RuntimeException ignored) {
+            // A failed cache write only costs a refetch
+        }
+    }
+
+    public void putComments(String postId, List<Comment> comments) {
+        write(KIND_COMMENTS, postId, gson.toJson(comments, COMMENT_LIST));
+    }
+
+    public List<Comment> getComments(String postId) {
+        String body = read(KIND_COMMENTS, postId);
+        return parse(body, COMMENT_LIST);
+    }
+
+    public void clear() {
+        try {
+            helper.getWritableDatabase().delete(Helper.TABLE, null, null);
+        } catch (RuntimeException ignored) {
+            // Nothing to do; the next write recreates what it needs
+        }
+    }
+
+    private static String userKey() {
+        String userId = SessionManager.getUserId();
+        return userId != null ? userId : ANONYMOUS_USER;
+    }
+
+    private <T> T parse(String body, Type type) {
+        if (body == null) {
+            return null;
+        }
+        try {
+            return gson.fromJson(body, type);
+        } catch (RuntimeException e) {
+            // Unreadable entry; treat as a miss and let the network replace it
+            return null;
+        }
+    }
+
+    private String read(String kind, String key) {
+        if (key == null) {
+            return null;
+        }
+        long oldest = System.currentTimeMillis() - MAX_AGE_MILLIS;
+        try (Cursor cursor = helper.getReadableDatabase().query(
+                Helper.TABLE,
+                new String[] { "body" },
+                "user_key = ? AND kind = ? AND entry_key = ? AND saved_at >= ?",
+                new String[] { userKey(), kind, key, String.valueOf(oldest) },
+                null, null, null)) {
+            return cursor.moveToFirst() ? cursor.getString(0) : null;
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private void write(String kind, String key, String body) {
+        if (key == null || body == null) {
+            return;
+        }
+        try {
+            SQLiteDatabase db = helper.getWritableDatabase();
+            db.insertWithOnConflict(Helper.TABLE, null, values(kind, key, body), SQLiteDatabase.CONFLICT_REPLACE);
+            if (writesSinceEviction.incrementAndGet() >= WRITES_BETWEEN_EVICTIONS) {
+                writesSinceEviction.set(0);
+                evict(db);
+            }
+        } catch (RuntimeException ignored) {
+            // A failed cache write only costs a refetch
+        }
+    }
+
+    private static ContentValues values(String kind, String key, String body) {
+        return values(userKey(), kind, key, body);
+    }
+
+    private static ContentValues values(String userKey, String kind, String key, String body) {
+        ContentValues values = new ContentValues();
+        values.put("user_key", userKey);
+        values.put("kind", kind);
+        values.put("entry_key", key);
+        values.put("body", body);
+        values.put("bytes", body.getBytes(StandardCharsets.UTF_8).length);
+        values.put("saved_at", System.currentTimeMillis());
+        return values;
+    }
+
+    /**
+     * Delete expired entries, then the oldest ones until the total body size
+     * fits {@link #MAX_BYTES}. Runs across all users so signed-out accounts
+     * cannot hold space forever.
+     */
+    private static void evict(SQLiteDatabase db) {
+        long oldest = System.currentTimeMillis() - MAX_AGE_MILLIS;
+        db.delete(Helper.TABLE, "saved_at < ?", new String[] { String.valueOf(oldest) });
+
+        long total;
+        try (Cursor cursor = db.rawQuery("SELECT COALESCE(SUM(bytes), 0) FROM " + Helper.TABLE, null)) {
+            total = cursor.moveToFirst() ? cursor.getLong(0) : 0L;
+        }
+        if (total <= MAX_BYTES) {
+            return;
+        }
+        List<long[]> oldestFirst = new ArrayList<>();
+        try (Cursor cursor = db.rawQuery(
+                "SELECT rowid, bytes FROM " + Helper.TABLE + " ORDER BY saved_at ASC", null)) {
+            while (total > MAX_BYTES && cursor.moveToNext()) {
+                oldestFirst.add(new long[] { cursor.getLong(0), cursor.getLong(1) });
+                total -= cursor.getLong(1);
+            }
+        }
+        db.beginTransaction();
+        try {
+            for (long[] entry : oldestFirst) {
+                db.delete(Helper.TABLE, "rowid = ?", new String[] { String.valueOf(entry[0]) });
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    private static final class Helper extends SQLiteOpenHelper {
+        static final String TABLE = "entries";
+
+        Helper(Context context) {
+            super(context, DATABASE_NAME, null, SCHEMA_VERSION);
+        }
+
+        @Override
+        public void onCreate(SQLiteDatabase db) {
+            db.execSQL("CREATE TABLE " + TABLE + " ("
+                    + "user_key TEXT NOT NULL, "
+                    + "kind TEXT NOT NULL, "
+                    + "entry_key TEXT NOT NULL, "
+                    + "body TEXT NOT NULL, "
+                    + "bytes INTEGER NOT NULL, "
+                    + "saved_at INTEGER NOT NULL, "
+                    + "PRIMARY KEY (user_key, kind, entry_key))");
+            db.execSQL("CREATE INDEX idx_entries_saved_at ON " + TABLE + " (saved_at)");
+        }
+
+        @Override
+        public void onOpen(SQLiteDatabase db) {
+            super.onOpen(db);
+            if (!db.isReadOnly()) {
+                evict(db);
+            }
+        }
+
+        @Override
+        public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+            // Only a cache: start over rather than migrate
+            db.execSQL("DROP TABLE IF EXISTS " + TABLE);
+            onCreate(db);
+        }
+
+        @Override
+        public void onDowngrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+            onUpgrade(db, oldVersion, newVersion);
+        }
+    }
+}
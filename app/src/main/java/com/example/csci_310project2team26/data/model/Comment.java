@@ -1,18 +1,34 @@
 package com.example.csci_310project2team26.data.model;
 
+import com.example.csci_310project2team26.util.IsoTimestamps;
+import com.google.gson.annotations.JsonAdapter;
 import com.google.gson.annotations.SerializedName;
 
+/**
+ * Timestamps are held as epoch milliseconds and the vote as a {@link VoteType}
+ * byte, decoded once by {@link ModelAdapters}; the String getters and setters
+ * convert on demand. Author and post ID strings are shared between comments.
+ */
 public class Comment {
+
+    // Delivery state of a comment posted from this device; SENT for everything the server returned
+    public static final int SEND_STATE_SENT = 0;
+    public static final int SEND_STATE_PENDING = 1;
+    public static final int SEND_STATE_FAILED = 2;
+
     @SerializedName("id")
     private String id;
     
     @SerializedName("post_id")
+    @JsonAdapter(ModelAdapters.Interned.class)
     private String post_id;
     
     @SerializedName("author_id")
+    @JsonAdapter(ModelAdapters.Interned.class)
     private String author_id;
     
     @SerializedName("author_name")
+    @JsonAdapter(ModelAdapters.Interned.class)
     private String author_name;
     
     @SerializedName("title")
@@ -22,10 +38,12 @@ public class Comment {
     private String text;
     
     @SerializedName("created_at")
-    private String created_at;
+    @JsonAdapter(ModelAdapters.Timestamp.class)
+    private long created_at = IsoTimestamps.INVALID;
     
     @SerializedName("updated_at")
-    private String updated_at;
+    @JsonAdapter(ModelAdapters.Timestamp.class)
+    private long updated_at = IsoTimestamps.INVALID;
     
     @SerializedName("upvotes")
     private int upvotes;
@@ -34,7 +52,11 @@ public class Comment {
     private int downvotes;
 
     @SerializedName("user_vote_type")
-    private String user_vote_type;
+    @JsonAdapter(ModelAdapters.Vote.class)
+    private byte user_vote_type = VoteType.NONE;
+
+    // Local only: never serialized or cached
+    private transient int sendState = SEND_STATE_SENT;
 
     public Comment() {}
 
@@ -52,23 +74,48 @@ public class Comment {
         this.author_id = authorId;
         this.author_name = authorName;
         this.text = text;
-        this.created_at = createdAt;
-        this.updated_at = updatedAt;
+        this.created_at = IsoTimestamps.parseMillis(createdAt);
+        this.updated_at = IsoTimestamps.parseMillis(updatedAt);
         this.upvotes = upvotes;
         this.downvotes = downvotes;
     }
 
+    /**
+     * Copy constructor so a patched comment can be published without
+     * mutating the instance a list is currently showing.
+     */
+    public Comment(Comment other) {
+        this.id = other.id;
+        this.post_id = other.post_id;
+        this.author_id = other.author_id;
+        this.author_name = other.author_name;
+        this.title = other.title;
+        this.text = other.text;
+        this.created_at = other.created_at;
+        this.updated_at = other.updated_at;
+        this.upvotes = other.upvotes;
+        this.downvotes = other.downvotes;
+        this.user_vote_type = other.user_vote_type;
+        this.sendState = other.sendState;
+    }
+
     public String getId() { return id; }
     public String getPost_id() { return post_id; }
     public String getAuthor_id() { return author_id; }
     public String getAuthor_name() { return author_name; }
     public String getTitle() { return title; }
     public String getText() { return text; }
-    public String getCreated_at() { return created_at; }
-    public String getUpdated_at() { return updated_at; }
+    public String getCreated_at() { return IsoTimestamps.format(created_at); }
+    public String getUpdated_at() { return IsoTimestamps.format(updated_at); }
+    /** @return epoch milliseconds, or {@link IsoTimestamps#INVALID} */
+    public long getCreatedAtMillis() { return created_at; }
+    /** @return epoch milliseconds, or {@link IsoTimestamps#INVALID} */
+    public long getUpdatedAtMillis() { return updated_at; }
     public int getUpvotes() { return upvotes; }
     public int getDownvotes() { return downvotes; }
-    public String getUser_vote_type() { return user_vote_type; }
+    public String getUser_vote_type() { return VoteType.name(user_vote_type); }
+    public byte getUserVote() { return user_vote_type; }
+    public int getSendState() { return sendState; }
 
     public void setId(String id) { this.id = id; }
     public void setPost_id(String post_id) { this.post_id = post_id; }
@@ -76,11 +123,20 @@ public class Comment {
     public void setAuthor_name(String author_name) { this.author_name = author_name; }
     public void setTitle(String title) { this.title = title; }
     public void setText(String text) { this.text = text; }
-    public void setCreated_at(String created_at) { this.created_at = created_at; }
-    public void setUpdated_at(String updated_at) { this.updated_at = updated_at; }
+    public void setCreated_at(String created_at) { this.created_at = IsoTimestamps.parseMillis(created_at); }
+    public void setUpdated_at(String updated_at) { this.updated_at = IsoTimestamps.parseMillis(updated_at); }
+    public void setCreatedAtMillis(long created_at) { this.created_at = created_at; }
+    public void setUpdatedAtMillis(long updated_at) { this.updated_at = updated_at; }
     public void setUpvotes(int upvotes) { this.upvotes = upvotes; }
     public void setDownvotes(int downvotes) { this.downvotes = downvotes; }
-    public void setUser_vote_type(String user_vote_type) { this.user_vote_type = user_vote_type; }
+    public void setUser_vote_type(String user_vote_type) { this.user_vote_type = VoteType.of(user_vote_type); }
+    public void setUserVote(byte vote) { this.user_vote_type = vote; }
+    public void setSendState(int sendState) { this.sendState = sendState; }
+
+    /**
+     * @return true while this is a local placeholder the server does not know yet
+     */
+    public boolean isUnsent() { return sendState != SEND_STATE_SENT; }
 }
 
 
@@ -0,0 +1,113 @@
+package com.example.csci_310project2team26.data.model;
+
+import com.example.csci_310project2team26.util.IsoTimestamps;
+import com.example.csci_310project2team26.util.StringInterner;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Decode model fields into their compact form once, as a response is read,
+ * instead of on every bind. The static methods serve hand-written model
+ * adapters; the nested classes apply the same through {@code @JsonAdapter}
+ * for any other Gson that reads a model.
+ *
+ * Each one writes the form the server sends, so models cached to disk
+ * before and after this change read back the same.
+ */
+public final class ModelAdapters {
+
+    private ModelAdapters() {
+    }
+
+    /**
+     * ISO-8601 timestamp, or epoch milliseconds, to epoch milliseconds.
+     *
+     * @return {@link IsoTimestamps#INVALID} when null or unparseable
+     */
+    public static long readTimestamp(JsonReader in) throws IOException {
+        JsonToken token = in.peek();
+        if (token == JsonToken.NULL) {
+            in.nextNull();
+            return IsoTimestamps.INVALID;
+        }
+        if (token == JsonToken.NUMBER) {
+            return in.nextLong();
+        }
+        return IsoTimestamps.parseMillis(in.nextString());
+    }
+
+    public static void writeTimestamp(JsonWriter out, long millis) throws IOException {
+        String value = IsoTimestamps.format(millis);
+        if (value == null) {
+            out.nullValue();
+        } else {
+            out.value(value);
+        }
+    }
+
+    /**
+     * String with few distinct values, shared through {@link StringInterner#shared()}.
+     */
+    public static String readInterned(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return StringInterner.shared().intern(in.nextString());
+    }
+
+    /**
+     * "up"/"down"/null to a {@link VoteType} byte.
+     */
+    public static byte readVote(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return VoteType.NONE;
+        }
+        return VoteType.of(in.nextString());
+    }
+
+    public static void writeVote(JsonWriter out, byte vote) throws IOException {
+        out.value(VoteType.name(vote));
+    }
+
+    public static final class Timestamp extends TypeAdapter<Long> {
+        @Override
+        public Long read(JsonReader in) throws IOException {
+            return readTimestamp(in);
+        }
+
+        @Override
+        public void write(JsonWriter out, Long millis) throws IOException {
+            writeTimestamp(out, millis != null ? millis : IsoTimestamps.INVALID);
+        }
+    }
+
+    public static final class Interned extends TypeAdapter<String> {
+        @Override
+        public String read(JsonReader in) throws IOException {
+            return readInterned(in);
+        }
+
+        @Override
+        public void write(JsonWriter out, String value) throws IOException {
+            out.value(value);
+        }
+    }
+
+    public static final class Vote extends TypeAdapter<Byte> {
+        @Override
+        public Byte read(JsonReader in) throws IOException {
+            return readVote(in);
+        }
+
+        @Override
+        public void write(JsonWriter out, Byte vote) throws IOException {
+            writeVote(out, vote != null ? vote : VoteType.NONE);
+        }
+    }
+}
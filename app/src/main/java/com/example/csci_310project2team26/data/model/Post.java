@@ -1,15 +1,24 @@
 package com.example.csci_310project2team26.data.model;
 
+import com.example.csci_310project2team26.util.IsoTimestamps;
+import com.google.gson.annotations.JsonAdapter;
 import com.google.gson.annotations.SerializedName;
 
+/**
+ * Timestamps are held as epoch milliseconds and the vote as a {@link VoteType}
+ * byte, decoded once by {@link ModelAdapters}; the String getters and setters
+ * convert on demand. Author and tag strings are shared between posts.
+ */
 public class Post {
     @SerializedName("id")
     private String id;
     
     @SerializedName("author_id")
+    @JsonAdapter(ModelAdapters.Interned.class)
     private String author_id;
     
     @SerializedName("author_name")
+    @JsonAdapter(ModelAdapters.Interned.class)
     private String author_name;
     
     @SerializedName("title")
@@ -25,19 +34,23 @@ public class Post {
     private String description_section;
     
     @SerializedName("llm_tag")
+    @JsonAdapter(ModelAdapters.Interned.class)
     private String llm_tag;
     
     @SerializedName("is_prompt_post")
     private boolean is_prompt_post;
 
     @SerializedName("user_vote_type")
-    private String user_vote_type;
+    @JsonAdapter(ModelAdapters.Vote.class)
+    private byte user_vote_type = VoteType.NONE;
     
     @SerializedName("created_at")
-    private String created_at;
+    @JsonAdapter(ModelAdapters.Timestamp.class)
+    private long created_at = IsoTimestamps.INVALID;
     
     @SerializedName("updated_at")
-    private String updated_at;
+    @JsonAdapter(ModelAdapters.Timestamp.class)
+    private long updated_at = IsoTimestamps.INVALID;
 
     @SerializedName("anonymous")
     private boolean anonymous;
@@ -74,13 +87,36 @@ public class Post {
         this.llm_tag = llmTag;
         this.is_prompt_post = isPromptPost;
         this.anonymous = anonymous;
-        this.created_at = createdAt;
-        this.updated_at = updatedAt;
+        this.created_at = IsoTimestamps.parseMillis(createdAt);
+        this.updated_at = IsoTimestamps.parseMillis(updatedAt);
         this.upvotes = upvotes;
         this.downvotes = downvotes;
         this.comment_count = commentCount;
     }
 
+    /**
+     * Copy constructor so list holders can publish a patched post without
+     * mutating the instance an adapter is currently showing.
+     */
+    public Post(Post other) {
+        this.id = other.id;
+        this.author_id = other.author_id;
+        this.author_name = other.author_name;
+        this.title = other.title;
+        this.content = other.content;
+        this.prompt_section = other.prompt_section;
+        this.description_section = other.description_section;
+        this.llm_tag = other.llm_tag;
+        this.is_prompt_post = other.is_prompt_post;
+        this.user_vote_type = other.user_vote_type;
+        this.created_at = other.created_at;
+        this.updated_at = other.updated_at;
+        this.anonymous = other.anonymous;
+        this.upvotes = other.upvotes;
+        this.downvotes = other.downvotes;
+        this.comment_count = other.comment_count;
+    }
+
     public String getId() { return id; }
     public String getAuthor_id() { return author_id; }
     public String getAuthor_name() { return author_name; }
@@ -90,10 +126,15 @@ public class Post {
     public String getDescription_section() { return description_section; }
     public String getLlm_tag() { return llm_tag; }
     public boolean isIs_prompt_post() { return is_prompt_post; }
-    public String getUser_vote_type() { return user_vote_type; }
+    public String getUser_vote_type() { return VoteType.name(user_vote_type); }
+    public byte getUserVote() { return user_vote_type; }
     public boolean isAnonymous() { return anonymous; }
-    public String getCreated_at() { return created_at; }
-    public String getUpdated_at() { return updated_at; }
+    public String getCreated_at() { return IsoTimestamps.format(created_at); }
+    public String getUpdated_at() { return IsoTimestamps.format(updated_at); }
+    /** @return epoch milliseconds, or {@link IsoTimestamps#INVALID} */
+    public long getCreatedAtMillis() { return created_at; }
+    /** @return epoch milliseconds, or {@link IsoTimestamps#INVALID} */
+    public long getUpdatedAtMillis() { return updated_at; }
     public int getUpvotes() { return upvotes; }
     public int getDownvotes() { return downvotes; }
     public int getComment_count() { return comment_count; }
@@ -107,10 +148,13 @@ public class Post {
     public void setDescription_section(String description_section) { this.description_section = description_section; }
     public void setLlm_tag(String llm_tag) { this.llm_tag = llm_tag; }
     public void setIs_prompt_post(boolean is_prompt_post) { this.is_prompt_post = is_prompt_post; }
-    public void setUser_vote_type(String user_vote_type) { this.user_vote_type = user_vote_type; }
+    public void setUser_vote_type(String user_vote_type) { this.user_vote_type = VoteType.of(user_vote_type); }
+    public void setUserVote(byte vote) { this.user_vote_type = vote; }
     public void setAnonymous(boolean anonymous) { this.anonymous = anonymous; }
-    public void setCreated_at(String created_at) { this.created_at = created_at; }
-    public void setUpdated_at(String updated_at) { this.updated_at = updated_at; }
+    public void setCreated_at(String created_at) { this.created_at = IsoTimestamps.parseMillis(created_at); }
+    public void setUpdated_at(String updated_at) { this.updated_at = IsoTimestamps.parseMillis(updated_at); }
+    public void setCreatedAtMillis(long created_at) { this.created_at = created_at; }
+    public void setUpdatedAtMillis(long updated_at) { this.updated_at = updated_at; }
     public void setUpvotes(int upvotes) { this.upvotes = upvotes; }
     public void setDownvotes(int downvotes) { this.downvotes = downvotes; }
     public void setComment_count(int comment_count) { this.comment_count = comment_count; }
@@ -0,0 +1,33 @@
+package com.example.csci_310project2team26.data.model;
+
+import com.google.gson.annotations.SerializedName;
+
+/**
+ * The fields needed to label something with the post it belongs to.
+ */
+public class PostSummary {
+    @SerializedName("id")
+    private String id;
+
+    @SerializedName("title")
+    private String title;
+
+    @SerializedName("is_prompt_post")
+    private boolean is_prompt_post;
+
+    public PostSummary() {}
+
+    public PostSummary(String id, String title, boolean isPromptPost) {
+        this.id = id;
+        this.title = title;
+        this.is_prompt_post = isPromptPost;
+    }
+
+    public String getId() { return id; }
+    public String getTitle() { return title; }
+    public boolean isIs_prompt_post() { return is_prompt_post; }
+
+    public void setId(String id) { this.id = id; }
+    public void setTitle(String title) { this.title = title; }
+    public void setIs_prompt_post(boolean is_prompt_post) { this.is_prompt_post = is_prompt_post; }
+}
@@ -0,0 +1,52 @@
+package com.example.csci_310project2team26.data.model;
+
+/**
+ * The current user's vote on a post or comment, stored as a byte.
+ *
+ * The wire and the rest of the app use "up", "down" or null; {@link #name}
+ * returns these constants, so converting back never allocates.
+ */
+public final class VoteType {
+
+    public static final byte NONE = 0;
+    public static final byte UP = 1;
+    public static final byte DOWN = 2;
+
+    public static final String UP_NAME = "up";
+    public static final String DOWN_NAME = "down";
+
+    private VoteType() {
+    }
+
+    /**
+     * @return {@link #UP}, {@link #DOWN}, or {@link #NONE} for null, "" and
+     *         anything else
+     */
+    public static byte of(String name) {
+        if (name == null) {
+            return NONE;
+        }
+        String trimmed = name.trim();
+        if (UP_NAME.equalsIgnoreCase(trimmed)) {
+            return UP;
+        }
+        if (DOWN_NAME.equalsIgnoreCase(trimmed)) {
+            return DOWN;
+        }
+        return NONE;
+    }
+
+    /**
+     * @return "up", "down", or null for {@link #NONE}
+     */
+    public static String name(byte vote) {
+        switch (vote) {
+            case UP:
+                return UP_NAME;
+            case DOWN:
+                return DOWN_NAME;
+            default:
+                return null;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.csci_310project2team26.data.network;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * ApiClient - The single, application-scoped OkHttpClient behind ApiService.
+ *
+ * Built once when the class loads, so concurrent first calls from repository
+ * threads cannot create duplicate clients or connection pools. Every client
+ * derived from it (e.g. after {@link #installCache}) shares the same
+ * connection pool and dispatcher.
+ *
+ * Read/write timeouts are chosen per endpoint, and {@link #setBaseUrlOverride}
+ * redirects all traffic to another server (e.g. a local MockWebServer for
+ * tests and benchmarks) without rebuilding ApiService.
+ */
+public final class ApiClient {
+
+    static final int CONNECT_TIMEOUT_SECONDS = 10;
+    static final int DEFAULT_TIMEOUT_SECONDS = 15;
+    static final int AUTH_TIMEOUT_SECONDS = 10;
+    static final int SEARCH_TIMEOUT_SECONDS = 20;
+    static final int UPLOAD_TIMEOUT_SECONDS = 30;
+    static final int CALL_TIMEOUT_SECONDS = 45;
+
+    // Requests rarely overlap beyond the IoDispatcher limit; keep a few warm connections
+    private static final int MAX_IDLE_CONNECTIONS = 8;
+    private static final long KEEP_ALIVE_MINUTES = 5L;
+    private static final int MAX_REQUESTS = 32;
+    private static final int MAX_REQUESTS_PER_HOST = 8;
+
+    private static final ConnectionPool CONNECTION_POOL =
+            new ConnectionPool(MAX_IDLE_CONNECTIONS, KEEP_ALIVE_MINUTES, TimeUnit.MINUTES);
+    private static final Dispatcher DISPATCHER = createDispatcher();
+
+    private static volatile HttpUrl baseUrlOverride;
+    private static volatile HttpCache httpCache;
+
+    private static final OkHttpClient BASE_CLIENT = new OkHttpClient.Builder()
+            .connectionPool(CONNECTION_POOL)
+            .dispatcher(DISPATCHER)
+            .protocols(Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1))
+            .connectTimeout(CONNECT_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+            .readTimeout(DEFAULT_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+            .writeTimeout(DEFAULT_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+            .callTimeout(CALL_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+            .retryOnConnectionFailure(true)
+            .addInterceptor(ApiClient::redirectToOverride)
+            .addInterceptor(ApiClient::applyEndpointTimeouts)
+            .build();
+
+    private static volatile OkHttpClient client = BASE_CLIENT;
+
+    private ApiClient() { }
+
+    public static OkHttpClient get() {
+        return client;
+    }
+
+    /**
+     * Enable the on-disk response cache. Safe to call repeatedly; requests
+     * made through existing ApiService instances pick it up as well.
+     */
+    public static synchronized void installCache(File cacheDir) {
+        if (httpCache != null || cacheDir == null) {
+            return;
+        }
+        httpCache = new HttpCache(new File(cacheDir, "http"), HttpCache.DEFAULT_MAX_BYTES);
+        client = httpCache.applyTo(BASE_CLIENT.newBuilder()).build();
+    }
+
+    /**
+     * @return the response cache, or null if {@link #installCache} has not run
+     */
+    public static HttpCache getHttpCache() {
+        return httpCache;
+    }
+
+    /**
+     * Send every request to {@code baseUrl} instead of {@link ApiService#BASE_URL}.
+     * Pass null to restore the real backend.
+     */
+    public static void setBaseUrlOverride(String baseUrl) {
+        baseUrlOverride = baseUrl != null ? HttpUrl.parse(baseUrl) : null;
+    }
+
+    /**
+     * Read/write timeout for a request, in seconds.
+     */
+    static int timeoutFor(String method, String path) {
+        if (path.startsWith("/api/auth/")) {
+            return AUTH_TIMEOUT_SECONDS;
+        }
+        if (path.equals("/api/posts/search")) {
+            return SEARCH_TIMEOUT_SECONDS;
+        }
+        if ("POST".equals(method) || "PUT".equals(method)) {
+            return UPLOAD_TIMEOUT_SECONDS;
+        }
+        return DEFAULT_TIMEOUT_SECONDS;
+    }
+
+    private static Dispatcher createDispatcher() {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(MAX_REQUESTS);
+        dispatcher.setMaxRequestsPerHost(MAX_REQUESTS_PER_HOST);
+        return dispatcher;
+    }
+
+    private static Response redirectToOverride(Interceptor.Chain chain) throws IOException {
+        HttpUrl override = baseUrlOverride;
+        Request request = chain.request();
+        if (override == null) {
+            return chain.proceed(request);
+        }
+        HttpUrl url = request.url().newBuilder()
+                .scheme(override.scheme())
+                .host(override.host())
+                .port(override.port())
+                .build();
+        return chain.proceed(request.newBuilder().url(url).build());
+    }
+
+    private static Response applyEndpointTimeouts(Interceptor.Chain chain) throws IOException {
+        Request request = chain.request();
+        int timeout = timeoutFor(request.method(), request.url().encodedPath());
+        if (timeout == DEFAULT_TIMEOUT_SECONDS) {
+            return chain.proceed(request);
+        }
+        return chain
+                .withReadTimeout(timeout, TimeUnit.SECONDS)
+                .withWriteTimeout(timeout, TimeUnit.SECONDS)
+                .proceed(request);
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.csci_310project2team26.data.network;
+
+import com.example.csci_310project2team26.data.model.Comment;
+import com.example.csci_310project2team26.data.model.Post;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * ApiJson - The one Gson instance behind ApiService and the local caches.
+ *
+ * Feed pages, posts and comments, the bulk of what the app decodes, are
+ * read and written by hand-written streaming adapters (see
+ * {@link WireTypeAdapters}); other types use Gson's reflective binding,
+ * which still reads any posts or comments inside them through those
+ * adapters.
+ *
+ * Gson is thread-safe, so the instance is shared by all callers.
+ */
+public final class ApiJson {
+
+    private static final Map<Class<?>, TypeAdapter<?>> ADAPTERS = new HashMap<>();
+
+    static {
+        ADAPTERS.put(Post.class, WireTypeAdapters.POST);
+        ADAPTERS.put(Comment.class, WireTypeAdapters.COMMENT);
+        ADAPTERS.put(ApiService.PostsResponse.class, WireTypeAdapters.POSTS_RESPONSE);
+    }
+
+    private static final TypeAdapterFactory FACTORY = new TypeAdapterFactory() {
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+            // Exact classes only; a subclass may add fields the adapter does not know
+            return (TypeAdapter<T>) ADAPTERS.get(type.getRawType());
+        }
+    };
+
+    private static final Gson GSON = new GsonBuilder()
+            .registerTypeAdapterFactory(FACTORY)
+            .create();
+
+    private ApiJson() {
+    }
+
+    public static Gson get() {
+        return GSON;
+    }
+
+    /**
+     * @return true if {@code type} is read and written by a hand-written adapter
+     */
+    static boolean hasAdapter(Class<?> type) {
+        return ADAPTERS.containsKey(type);
+    }
+}
@@ -5,7 +5,9 @@ import com.example.csci_310project2team26.data.repository.AuthRepository;
 import com.example.csci_310project2team26.data.model.Post;
 import com.example.csci_310project2team26.data.model.Comment;
 import com.example.csci_310project2team26.data.model.PostVersion;
+import com.example.csci_310project2team26.data.model.PostSummary;
 
+import java.io.File;
 import java.util.List;
 
 import retrofit2.Call;
@@ -101,7 +103,15 @@ public interface ApiService {
         @Query("sort") String sort,
         @Query("limit") Integer limit,
         @Query("offset") Integer offset,
-        @Query("is_prompt_post") Boolean isPromptPost
+        @Query("is_prompt_post") Boolean isPromptPost,
+        @Query("after") String after,
+        @Query("author_id") String authorId
+    );
+
+    @GET("api/posts/summaries")
+    Call<PostSummariesResponse> getPostSummaries(
+        @Header("Authorization") String token,
+        @Query("ids") String commaSeparatedPostIds
     );
 
     @GET("api/posts/prompts")
@@ -168,16 +178,28 @@ public interface ApiService {
     );
 
     // Comments endpoints
+    // Pass a limit to get one page with total and next_cursor; null limit returns the whole thread
     @GET("api/comments/post/{postId}")
     Call<CommentsResponse> getComments(
         @Header("Authorization") String token,
-        @Path("postId") String postId
+        @Path("postId") String postId,
+        @Query("sort") String sort,
+        @Query("limit") Integer limit,
+        @Query("after") String after
+    );
+
+    @GET("api/comments/id/{id}")
+    Call<CommentResponse> getComment(
+        @Header("Authorization") String token,
+        @Path("id") String id
     );
 
     @GET("api/comments/user/{userId}")
     Call<CommentsResponse> getCommentsByUser(
         @Header("Authorization") String token,
-        @Path("userId") String userId
+        @Path("userId") String userId,
+        @Query("limit") Integer limit,
+        @Query("after") String after
     );
 
     @POST("api/comments")
@@ -279,6 +301,12 @@ public interface ApiService {
         @Path("postId") String postId
     );
 
+    @GET("api/bookmarks/status")
+    Call<BookmarkStatusesResponse> getBookmarkStatuses(
+        @Header("Authorization") String token,
+        @Query("ids") String commaSeparatedPostIds
+    );
+
     // Drafts endpoints
     @POST("api/drafts")
     @FormUrlEncoded
@@ -328,15 +356,25 @@ public interface ApiService {
     class PostsResponse {
         public List<Post> posts;
         public int count;
+        // Opaque keyset cursor for the next page; null on the last page or for sorts without cursor support
+        public String next_cursor;
     }
 
     class PostResponse {
         public Post post;
     }
 
+    class PostSummariesResponse {
+        public List<PostSummary> summaries;
+        public int count;
+    }
+
     class CommentsResponse {
         public List<Comment> comments;
         public int count;
+        // Paged requests only: comments on the post, and the cursor for the next page (null on the last)
+        public Integer total;
+        public String next_cursor;
     }
 
     class CommentResponse {
@@ -347,6 +385,9 @@ public interface ApiService {
         public String message;
         public String action;
         public String type;
+        // Comment votes only: the comment's counts after the vote
+        public Integer upvotes;
+        public Integer downvotes;
     }
 
     class VoteCountsResponse {
@@ -364,6 +405,11 @@ public interface ApiService {
         public boolean bookmarked;
     }
 
+    class BookmarkStatusesResponse {
+        public List<String> bookmarked_ids;
+        public int count;
+    }
+
     class DraftResponse {
         public com.example.csci_310project2team26.data.model.Draft draft;
         // Backend returns draft directly, but we'll handle both formats
@@ -387,18 +433,52 @@ public interface ApiService {
      * Singleton instance
      */
     class Factory {
-        private static ApiService instance;
+
+        // Initialized on first access by the class loader, which makes it thread-safe
+        private static final class Holder {
+            static final ApiService INSTANCE = create(BASE_URL);
+        }
+
+        /**
+         * Enable the on-disk response cache; see {@link ApiClient#installCache}.
+         */
+        public static void installCache(File cacheDir) {
+            ApiClient.installCache(cacheDir);
+        }
+
+        /**
+         * @return the response cache, or null if {@link #installCache} has not run
+         */
+        public static HttpCache getHttpCache() {
+            return ApiClient.getHttpCache();
+        }
+
+        /**
+         * Drop cached responses under {@code pathPrefix}; no-op without a cache.
+         */
+        public static void invalidateCache(String pathPrefix) {
+            HttpCache cache = ApiClient.getHttpCache();
+            if (cache != null) {
+                cache.invalidate(pathPrefix);
+            }
+        }
         
         public static ApiService getInstance() {
-            if (instance == null) {
-                Retrofit retrofit = new Retrofit.Builder()
-                    .baseUrl(BASE_URL)
-                    .addConverterFactory(GsonConverterFactory.create())
-                    .build();
-                
-                instance = retrofit.create(ApiService.class);
-            }
-            return instance;
+            return Holder.INSTANCE;
+        }
+
+        /**
+         * Build an ApiService against another base URL on the shared client,
+         * e.g. a local stand-in server in tests and benchmarks.
+         */
+        public static ApiService create(String baseUrl) {
+            Retrofit retrofit = new Retrofit.Builder()
+                .baseUrl(baseUrl)
+                // Resolve the client per call so installCache applies to existing instances
+                .callFactory(request -> ApiClient.get().newCall(request))
+                .addConverterFactory(GsonConverterFactory.create(ApiJson.get()))
+                .build();
+            return retrofit.create(ApiService.class);
         }
     }
     
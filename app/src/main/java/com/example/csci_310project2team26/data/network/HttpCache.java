@@ -0,0 +1,154 @@
+package com.example.csci_310project2team26.data.network;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import okhttp3.Cache;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * HttpCache - Sized on-disk cache for GET responses with per-endpoint freshness.
+ *
+ * The backend sends an ETag with every JSON body but no Cache-Control, so a
+ * network interceptor stamps a policy on the endpoints below before OkHttp
+ * stores the response. "Revalidate" entries are always checked with
+ * If-None-Match and an unchanged body comes back as a bodyless 304; "max-age"
+ * entries are served from disk until they expire or are invalidated after a
+ * mutation. Responses vary on Authorization because they embed per-user
+ * fields such as user_vote_type.
+ */
+public final class HttpCache {
+
+    public static final long DEFAULT_MAX_BYTES = 10L * 1024 * 1024;
+
+    static final int REVALIDATE = 0;
+
+    private static final Policy[] POLICIES = {
+        new Policy(Pattern.compile("^/api/posts$"), REVALIDATE),
+        new Policy(Pattern.compile("^/api/posts/[^/]+/versions$"), 30),
+        new Policy(Pattern.compile("^/api/posts/(?!search$|trending$|prompts$)[^/]+$"), REVALIDATE),
+        new Policy(Pattern.compile("^/api/comments/post/[^/]+$"), REVALIDATE),
+        new Policy(Pattern.compile("^/api/profile/[^/]+$"), 60),
+        new Policy(Pattern.compile("^/api/bookmarks$"), REVALIDATE)
+    };
+
+    private static final class Policy {
+        final Pattern path;
+        final int maxAgeSeconds;
+
+        Policy(Pattern path, int maxAgeSeconds) {
+            this.path = path;
+            this.maxAgeSeconds = maxAgeSeconds;
+        }
+    }
+
+    public static class Stats {
+        private final long requests;
+        private final long freshHits;
+        private final long revalidated;
+        private final long misses;
+
+        public Stats(long requests, long freshHits, long revalidated, long misses) {
+            this.requests = requests;
+            this.freshHits = freshHits;
+            this.revalidated = revalidated;
+            this.misses = misses;
+        }
+
+        /** Requests that went through the cache. */
+        public long getRequests() { return requests; }
+        /** Served from disk without touching the network. */
+        public long getFreshHits() { return freshHits; }
+        /** Checked with the server, which answered 304 Not Modified. */
+        public long getRevalidated() { return revalidated; }
+        /** Needed a full response body from the network. */
+        public long getMisses() { return misses; }
+    }
+
+    private final Cache cache;
+    private final AtomicLong revalidated = new AtomicLong();
+    private final Interceptor policyInterceptor = this::applyPolicy;
+
+    public HttpCache(File directory, long maxBytes) {
+        this.cache = new Cache(directory, maxBytes);
+    }
+
+    public OkHttpClient.Builder applyTo(OkHttpClient.Builder builder) {
+        return builder.cache(cache).addNetworkInterceptor(policyInterceptor);
+    }
+
+    /**
+     * Drop cached responses whose path starts with {@code pathPrefix}
+     * (e.g. "api/profile/42"). Call after a mutation so max-age entries
+     * are not served stale.
+     */
+    public void invalidate(String pathPrefix) {
+        String prefix = pathPrefix.startsWith("/") ? pathPrefix : "/" + pathPrefix;
+        try {
+            Iterator<String> urls = cache.urls();
+            while (urls.hasNext()) {
+                String url = urls.next();
+                okhttp3.HttpUrl parsed = okhttp3.HttpUrl.parse(url);
+                if (parsed != null && parsed.encodedPath().startsWith(prefix)) {
+                    urls.remove();
+                }
+            }
+        } catch (IOException ignored) {
+            // A broken cache only costs a refetch
+        }
+    }
+
+    public Stats getStats() {
+        long conditional = revalidated.get();
+        long requests = cache.requestCount();
+        long hits = cache.hitCount();
+        long network = cache.networkCount();
+        return new Stats(
+                requests,
+                Math.max(hits - conditional, 0),
+                conditional,
+                Math.max(network - conditional, 0)
+        );
+    }
+
+    static int maxAgeFor(String path) {
+        for (Policy policy : POLICIES) {
+            if (policy.path.matcher(path).matches()) {
+                return policy.maxAgeSeconds;
+            }
+        }
+        return -1;
+    }
+
+    private Response applyPolicy(Interceptor.Chain chain) throws IOException {
+        Request request = chain.request();
+        Response response = chain.proceed(request);
+        if (response.code() == 304) {
+            revalidated.incrementAndGet();
+        }
+        if (!"GET".equals(request.method())) {
+            return response;
+        }
+        int maxAge = maxAgeFor(request.url().encodedPath());
+        if (maxAge < 0) {
+            return response;
+        }
+
+        String cacheControl = maxAge == REVALIDATE
+                ? "private, no-cache"
+                : "private, max-age=" + maxAge;
+        String vary = response.header("Vary");
+        return response.newBuilder()
+                .header("Cache-Control", cacheControl)
+                .header("Vary", vary == null || vary.isEmpty() ? "Authorization" : vary + ", Authorization")
+                .removeHeader("Pragma")
+                .removeHeader("Expires")
+                .build();
+    }
+}
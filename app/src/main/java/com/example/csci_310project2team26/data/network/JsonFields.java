@@ -0,0 +1,93 @@
+package com.example.csci_310project2team26.data.network;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JsonFields - Field readers shared by the hand-written adapters.
+ *
+ * They accept what Gson's built-in adapters accept for the same Java types
+ * (numbers and booleans sent as strings, null for a primitive keeps the
+ * default), so moving a model off reflection does not change what parses.
+ */
+final class JsonFields {
+
+    private JsonFields() {
+    }
+
+    static String nextString(JsonReader in) throws IOException {
+        JsonToken token = in.peek();
+        if (token == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        if (token == JsonToken.BOOLEAN) {
+            return Boolean.toString(in.nextBoolean());
+        }
+        return in.nextString();
+    }
+
+    static int nextInt(JsonReader in, int fallback) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return fallback;
+        }
+        return in.nextInt();
+    }
+
+    static boolean nextBoolean(JsonReader in, boolean fallback) throws IOException {
+        JsonToken token = in.peek();
+        if (token == JsonToken.NULL) {
+            in.nextNull();
+            return fallback;
+        }
+        if (token == JsonToken.STRING) {
+            return Boolean.parseBoolean(in.nextString());
+        }
+        return in.nextBoolean();
+    }
+
+    static <T> List<T> nextList(JsonReader in, TypeAdapter<T> element) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        List<T> items = new ArrayList<>();
+        in.beginArray();
+        while (in.hasNext()) {
+            items.add(element.read(in));
+        }
+        in.endArray();
+        return items;
+    }
+
+    static <T> void writeList(JsonWriter out, List<T> items, TypeAdapter<T> element) throws IOException {
+        if (items == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginArray();
+        for (T item : items) {
+            element.write(out, item);
+        }
+        out.endArray();
+    }
+
+    /**
+     * @return true if the next token is null, which it consumes; adapters
+     *         return null for the whole object then
+     */
+    static boolean skipNull(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.csci_310project2team26.data.network;
+
+import static com.example.csci_310project2team26.data.network.JsonFields.nextBoolean;
+import static com.example.csci_310project2team26.data.network.JsonFields.nextInt;
+import static com.example.csci_310project2team26.data.network.JsonFields.nextList;
+import static com.example.csci_310project2team26.data.network.JsonFields.nextString;
+import static com.example.csci_310project2team26.data.network.JsonFields.skipNull;
+import static com.example.csci_310project2team26.data.network.JsonFields.writeList;
+
+import com.example.csci_310project2team26.data.model.Comment;
+import com.example.csci_310project2team26.data.model.ModelAdapters;
+import com.example.csci_310project2team26.data.model.Post;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * WireTypeAdapters - Streaming adapters for the types decoded in bulk: a
+ * feed page and the posts and comments in it. Decoding builds each model
+ * directly instead of going through Gson's reflective field binding, and
+ * Post and Comment fields are decoded into their compact form with
+ * {@link ModelAdapters}, as their {@code @JsonAdapter} annotations do.
+ *
+ * Every adapter reads and writes the JSON names of the model's
+ * {@code @SerializedName} fields and skips any other name unread. A field
+ * added to Post or Comment has to be added here as well; ApiJsonTest fails
+ * until it is. Wrappers holding posts or comments, such as
+ * CommentsResponse, stay reflective but read their elements through these.
+ */
+final class WireTypeAdapters {
+
+    private WireTypeAdapters() {
+    }
+
+    static final TypeAdapter<Post> POST = new TypeAdapter<Post>() {
+        @Override
+        public Post read(JsonReader in) throws IOException {
+            if (skipNull(in)) {
+                return null;
+            }
+            Post post = new Post();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "id": post.setId(nextString(in)); break;
+                    case "author_id": post.setAuthor_id(ModelAdapters.readInterned(in)); break;
+                    case "author_name": post.setAuthor_name(ModelAdapters.readInterned(in)); break;
+                    case "title": post.setTitle(nextString(in)); break;
+                    case "content": post.setContent(nextString(in)); break;
+                    case "prompt_section": post.setPrompt_section(nextString(in)); break;
+                    case "description_section": post.setDescription_section(nextString(in)); break;
+                    case "llm_tag": post.setLlm_tag(ModelAdapters.readInterned(in)); break;
+                    case "is_prompt_post": post.setIs_prompt_post(nextBoolean(in, post.isIs_prompt_post())); break;
+                    case "user_vote_type": post.setUserVote(ModelAdapters.readVote(in)); break;
+                    case "created_at": post.setCreatedAtMillis(ModelAdapters.readTimestamp(in)); break;
+                    case "updated_at": post.setUpdatedAtMillis(ModelAdapters.readTimestamp(in)); break;
+                    case "anonymous": post.setAnonymous(nextBoolean(in, post.isAnonymous())); break;
+                    case "upvotes": post.setUpvotes(nextInt(in, post.getUpvotes())); break;
+                    case "downvotes": post.setDownvotes(nextInt(in, post.getDownvotes())); break;
+                    case "comment_count": post.setComment_count(nextInt(in, post.getComment_count())); break;
+                    default: in.skipValue(); break;
+                }
+            }
+            in.endObject();
+            return post;
+        }
+
+        @Override
+        public void write(JsonWriter out, Post post) throws IOException {
+            if (post == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("id").value(post.getId());
+            out.name("author_id").value(post.getAuthor_id());
+            out.name("author_name").value(post.getAuthor_name());
+            out.name("title").value(post.getTitle());
+            out.name("content").value(post.getContent());
+            out.name("prompt_section").value(post.getPrompt_section());
+            out.name("description_section").value(post.getDescription_section());
+            out.name("llm_tag").value(post.getLlm_tag());
+            out.name("is_prompt_post").value(post.isIs_prompt_post());
+            ModelAdapters.writeVote(out.name("user_vote_type"), post.getUserVote());
+            ModelAdapters.writeTimestamp(out.name("created_at"), post.getCreatedAtMillis());
+            ModelAdapters.writeTimestamp(out.name("updated_at"), post.getUpdatedAtMillis());
+            out.name("anonymous").value(post.isAnonymous());
+            out.name("upvotes").value(post.getUpvotes());
+            out.name("downvotes").value(post.getDownvotes());
+            out.name("comment_count").value(post.getComment_count());
+            out.endObject();
+        }
+    };
+
+    static final TypeAdapter<Comment> COMMENT = new TypeAdapter<Comment>() {
+        @Override
+        public Comment read(JsonReader in) throws IOException {
+            if (skipNull(in)) {
+                return null;
+            }
+            Comment comment = new Comment();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "id": comment.setId(nextString(in)); break;
+                    case "post_id": comment.setPost_id(ModelAdapters.readInterned(in)); break;
+                    case "author_id": comment.setAuthor_id(ModelAdapters.readInterned(in)); break;
+                    case "author_name": comment.setAuthor_name(ModelAdapters.readInterned(in)); break;
+                    case "title": comment.setTitle(nextString(in)); break;
+                    case "text": comment.setText(nextString(in)); break;
+                    case "created_at": comment.setCreatedAtMillis(ModelAdapters.readTimestamp(in)); break;
+                    case "updated_at": comment.setUpdatedAtMillis(ModelAdapters.readTimestamp(in)); break;
+                    case "upvotes": comment.setUpvotes(nextInt(in, comment.getUpvotes())); break;
+                    case "downvotes": comment.setDownvotes(nextInt(in, comment.getDownvotes())); break;
+                    case "user_vote_type": comment.setUserVote(ModelAdapters.readVote(in)); break;
+                    default: in.skipValue(); break;
+                }
+            }
+            in.endObject();
+            return comment;
+        }
+
+        @Override
+        public void write(JsonWriter out, Comment comment) throws IOException {
+            if (comment == null) {
+                out.nullValue();
+                return;
+            }
+            // The send state is local only and never written
+            out.beginObject();
+            out.name("id").value(comment.getId());
+            out.name("post_id").value(comment.getPost_id());
+            out.name("author_id").value(comment.getAuthor_id());
+            out.name("author_name").value(comment.getAuthor_name());
+            out.name("title").value(comment.getTitle());
+            out.name("text").value(comment.getText());
+            ModelAdapters.writeTimestamp(out.name("created_at"), comment.getCreatedAtMillis());
+            ModelAdapters.writeTimestamp(out.name("updated_at"), comment.getUpdatedAtMillis());
+            out.name("upvotes").value(comment.getUpvotes());
+            out.name("downvotes").value(comment.getDownvotes());
+            ModelAdapters.writeVote(out.name("user_vote_type"), comment.getUserVote());
+            out.endObject();
+        }
+    };
+
+    static final TypeAdapter<ApiService.PostsResponse> POSTS_RESPONSE = new TypeAdapter<ApiService.PostsResponse>() {
+        @Override
+        public ApiService.PostsResponse read(JsonReader in) throws IOException {
+            if (skipNull(in)) {
+                return null;
+            }
+            ApiService.PostsResponse response = new ApiService.PostsResponse();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "posts": response.posts = nextList(in, POST); break;
+                    case "count": response.count = nextInt(in, response.count); break;
+                    case "next_cursor": response.next_cursor = nextString(in); break;
+                    default: in.skipValue(); break;
+                }
+            }
+            in.endObject();
+            return response;
+        }
+
+        @Override
+        public void write(JsonWriter out, ApiService.PostsResponse response) throws IOException {
+            if (response == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            writeList(out.name("posts"), response.posts, POST);
+            out.name("count").value(response.count);
+            out.name("next_cursor").value(response.next_cursor);
+            out.endObject();
+        }
+    };
+}
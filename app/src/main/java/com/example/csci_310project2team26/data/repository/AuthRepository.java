@@ -2,9 +2,6 @@ package com.example.csci_310project2team26.data.repository;
 import com.example.csci_310project2team26.data.model.User;
 import com.example.csci_310project2team26.data.network.ApiService;
 
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-
 import retrofit2.Call;
 import retrofit2.Response;
 
@@ -21,11 +18,11 @@ import retrofit2.Response;
 public class AuthRepository {
     
     private final ApiService apiService;
-    private final ExecutorService executorService;
+    private final IoDispatcher dispatcher;
     
     public AuthRepository() {
         this.apiService = ApiService.getInstance();
-        this.executorService = Executors.newSingleThreadExecutor();
+        this.dispatcher = IoDispatcher.getInstance();
     }
     
     /**
@@ -47,7 +44,7 @@ public class AuthRepository {
      */
     public void register(String name, String email, String studentId, 
                         String password, Callback<String> callback) {
-        executorService.execute(() -> {
+        dispatcher.execute(() -> {
             try {
                 Call<RegisterResponse> call = apiService.register(name, email, studentId, password);
                 Response<RegisterResponse> response = call.execute();
@@ -86,7 +83,7 @@ public class AuthRepository {
      */
     public void login(String email, String password, boolean rememberMe, 
                      Callback<User> callback) {
-        executorService.execute(() -> {
+        dispatcher.execute(() -> {
             try {
                 Call<LoginResponse> call = apiService.login(email, password);
                 Response<LoginResponse> response = call.execute();
@@ -125,7 +122,7 @@ public class AuthRepository {
      * Check if user has a saved session
      */
     public void checkSavedSession(Callback<User> callback) {
-        executorService.execute(() -> {
+        dispatcher.execute(() -> {
             try {
                 String token = getSavedToken();
                 if (token != null) {
@@ -3,18 +3,32 @@ package com.example.csci_310project2team26.data.repository;
 import com.example.csci_310project2team26.data.model.Post;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * BookmarkManager - Lightweight in-memory store for bookmarked posts.
- * This is a front-end only implementation; persistence would require
- * back-end or local storage support.
+ * Also holds the current user's known bookmark status per post ID so lists
+ * can render bookmark icons without a network call per row. Statuses are
+ * filled in bulk by {@link BookmarkRepository#fetchBookmarkStatuses} and
+ * kept current by add/remove; they are dropped whenever the session changes.
  */
 public final class BookmarkManager {
 
+    public interface Listener {
+        void onBookmarkStatusesChanged();
+    }
+
     private static final Map<String, Post> bookmarkedPosts = new LinkedHashMap<>();
+    private static final Set<String> bookmarkedIds = new HashSet<>();
+    private static final Set<String> knownIds = new HashSet<>();
+    private static final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private static long sessionVersion = SessionManager.getSessionVersion();
 
     private BookmarkManager() { }
 
@@ -44,7 +58,87 @@ public final class BookmarkManager {
     }
 
     public static synchronized boolean isBookmarked(String postId) {
-        return postId != null && bookmarkedPosts.containsKey(postId);
+        ensureCurrentSession();
+        return postId != null && (bookmarkedPosts.containsKey(postId) || bookmarkedIds.contains(postId));
+    }
+
+    /**
+     * @return true if the bookmark status of this post has been resolved for the current user
+     */
+    public static synchronized boolean isStatusKnown(String postId) {
+        ensureCurrentSession();
+        return postId != null && knownIds.contains(postId);
+    }
+
+    /**
+     * Return the subset of post IDs whose status has not been resolved yet.
+     */
+    public static synchronized List<String> filterUnknown(Collection<String> postIds) {
+        ensureCurrentSession();
+        List<String> unknown = new ArrayList<>();
+        if (postIds == null) {
+            return unknown;
+        }
+        for (String postId : postIds) {
+            if (postId != null && !postId.isEmpty() && !knownIds.contains(postId) && !unknown.contains(postId)) {
+                unknown.add(postId);
+            }
+        }
+        return unknown;
+    }
+
+    /**
+     * Record the result of a bulk status lookup.
+     *
+     * @param checkedIds every post ID that was asked about
+     * @param bookmarked the subset of checkedIds that are bookmarked
+     */
+    public static void applyStatuses(Collection<String> checkedIds, Collection<String> bookmarked) {
+        synchronized (BookmarkManager.class) {
+            ensureCurrentSession();
+            if (checkedIds != null) {
+                for (String postId : checkedIds) {
+                    if (postId == null) continue;
+                    knownIds.add(postId);
+                    bookmarkedIds.remove(postId);
+                }
+            }
+            if (bookmarked != null) {
+                for (String postId : bookmarked) {
+                    if (postId == null) continue;
+                    knownIds.add(postId);
+                    bookmarkedIds.add(postId);
+                }
+            }
+        }
+        notifyListeners();
+    }
+
+    public static void setBookmarked(String postId, boolean bookmarked) {
+        if (postId == null || postId.isEmpty()) {
+            return;
+        }
+        synchronized (BookmarkManager.class) {
+            ensureCurrentSession();
+            knownIds.add(postId);
+            if (bookmarked) {
+                bookmarkedIds.add(postId);
+            } else {
+                bookmarkedIds.remove(postId);
+                bookmarkedPosts.remove(postId);
+            }
+        }
+        notifyListeners();
+    }
+
+    public static void addListener(Listener listener) {
+        if (listener != null && !listeners.contains(listener)) {
+            listeners.add(listener);
+        }
+    }
+
+    public static void removeListener(Listener listener) {
+        listeners.remove(listener);
     }
 
     public static synchronized List<Post> getBookmarkedPosts() {
@@ -63,5 +157,20 @@ public final class BookmarkManager {
         }
         return filtered;
     }
-}
 
+    private static void ensureCurrentSession() {
+        long latest = SessionManager.getSessionVersion();
+        if (latest != sessionVersion) {
+            sessionVersion = latest;
+            bookmarkedIds.clear();
+            knownIds.clear();
+            bookmarkedPosts.clear();
+        }
+    }
+
+    private static void notifyListeners() {
+        for (Listener listener : listeners) {
+            listener.onBookmarkStatusesChanged();
+        }
+    }
+}
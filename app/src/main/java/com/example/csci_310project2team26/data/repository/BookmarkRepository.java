@@ -4,20 +4,26 @@ import com.example.csci_310project2team26.data.model.Post;
 import com.example.csci_310project2team26.data.network.ApiService;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.Set;
 
 import retrofit2.Response;
 
 public class BookmarkRepository {
 
+    // Keeps the query string well under common URL length limits
+    static final int MAX_STATUS_IDS_PER_REQUEST = 100;
+
+    private static final SingleFlight<Boolean> CHECK_LOADS = new SingleFlight<>();
+    private static final SingleFlight<Boolean> STATUS_LOADS = new SingleFlight<>();
+
     private final ApiService apiService;
-    private final ExecutorService executorService;
+    private final IoDispatcher dispatcher;
 
     public BookmarkRepository() {
         this.apiService = ApiService.getInstance();
-        this.executorService = Executors.newSingleThreadExecutor();
+        this.dispatcher = IoDispatcher.getInstance();
     }
 
     public interface Callback<T> {
@@ -26,7 +32,7 @@ public class BookmarkRepository {
     }
 
     public void addBookmark(String postId, Callback<Void> callback) {
-        executorService.execute(() -> {
+        dispatcher.execute("bookmark:" + postId, () -> {
             try {
                 String token = SessionManager.getToken();
                 if (token == null) {
@@ -38,6 +44,7 @@ public class BookmarkRepository {
                 Response<com.google.gson.JsonObject> response = call.execute();
 
                 if (response.isSuccessful()) {
+                    BookmarkManager.setBookmarked(postId, true);
                     callback.onSuccess(null);
                 } else {
                     String errorMsg = "Failed to add bookmark";
@@ -47,6 +54,7 @@ public class BookmarkRepository {
                         errorMsg = "Post not found";
                     } else if (response.code() == 409) {
                         errorMsg = "Post is already bookmarked";
+                        BookmarkManager.setBookmarked(postId, true);
                     }
                     callback.onError(errorMsg);
                 }
@@ -57,7 +65,7 @@ public class BookmarkRepository {
     }
 
     public void removeBookmark(String postId, Callback<Void> callback) {
-        executorService.execute(() -> {
+        dispatcher.execute("bookmark:" + postId, () -> {
             try {
                 String token = SessionManager.getToken();
                 if (token == null) {
@@ -69,6 +77,7 @@ public class BookmarkRepository {
                 Response<Void> response = call.execute();
 
                 if (response.isSuccessful()) {
+                    BookmarkManager.setBookmarked(postId, false);
                     callback.onSuccess(null);
                 } else {
                     String errorMsg = "Failed to remove bookmark";
@@ -86,7 +95,7 @@ public class BookmarkRepository {
     }
 
     public void getBookmarks(Boolean isPromptPost, Callback<List<Post>> callback) {
-        executorService.execute(() -> {
+        dispatcher.execute(() -> {
             try {
                 String token = SessionManager.getToken();
                 if (token == null) {
@@ -103,6 +112,14 @@ public class BookmarkRepository {
 
                 if (response.isSuccessful() && response.body() != null) {
                     List<Post> posts = response.body().posts != null ? response.body().posts : new ArrayList<>();
+                    List<String> postIds = new ArrayList<>(posts.size());
+                    for (Post post : posts) {
+                        if (post != null && post.getId() != null) {
+                            postIds.add(post.getId());
+                        }
+                    }
+                    BookmarkManager.applyStatuses(null, postIds);
+                    PostRepository.storePosts(posts);
                     callback.onSuccess(posts);
                 } else {
                     String errorMsg = "Failed to load bookmarks";
@@ -118,26 +135,99 @@ public class BookmarkRepository {
     }
 
     public void isBookmarked(String postId, Callback<Boolean> callback) {
-        executorService.execute(() -> {
-            try {
-                String token = SessionManager.getToken();
-                if (token == null) {
-                    callback.onSuccess(false);
-                    return;
+        String token = SessionManager.getToken();
+        if (token == null) {
+            dispatcher.execute(() -> callback.onSuccess(false));
+            return;
+        }
+        CHECK_LOADS.run(postId + "|" + token, callback::onSuccess, callback::onError, result ->
+            dispatcher.execute(() -> {
+                try {
+                    retrofit2.Call<ApiService.BookmarkStatusResponse> call = apiService.isBookmarked("Bearer " + token, postId);
+                    Response<ApiService.BookmarkStatusResponse> response = call.execute();
+
+                    if (response.isSuccessful() && response.body() != null) {
+                        result.onSuccess(response.body().bookmarked);
+                    } else {
+                        result.onSuccess(false);
+                    }
+                } catch (Exception e) {
+                    result.onSuccess(false);
                 }
+            }));
+    }
 
-                retrofit2.Call<ApiService.BookmarkStatusResponse> call = apiService.isBookmarked("Bearer " + token, postId);
-                Response<ApiService.BookmarkStatusResponse> response = call.execute();
+    /**
+     * Resolve the bookmark status of many posts with one request per
+     * {@link #MAX_STATUS_IDS_PER_REQUEST} IDs. Posts whose status is already
+     * known locally are skipped, and identical lookups already in flight are
+     * joined rather than repeated. Results are recorded in {@link BookmarkManager}
+     * and the callback receives the bookmarked subset of the requested IDs.
+     */
+    public void fetchBookmarkStatuses(List<String> postIds, Callback<Set<String>> callback) {
+        List<String> unknown = BookmarkManager.filterUnknown(postIds);
+        if (unknown.isEmpty()) {
+            if (callback != null) {
+                callback.onSuccess(collectBookmarked(postIds));
+            }
+            return;
+        }
 
-                if (response.isSuccessful() && response.body() != null) {
-                    callback.onSuccess(response.body().bookmarked);
-                } else {
-                    callback.onSuccess(false);
+        String token = SessionManager.getToken();
+        if (token == null) {
+            if (callback != null) {
+                callback.onSuccess(new HashSet<>());
+            }
+            return;
+        }
+
+        STATUS_LOADS.run(
+            String.join(",", unknown) + "|" + token,
+            ignored -> {
+                if (callback != null) {
+                    callback.onSuccess(collectBookmarked(postIds));
                 }
-            } catch (Exception e) {
-                callback.onSuccess(false);
+            },
+            error -> {
+                if (callback != null) {
+                    callback.onError(error);
+                }
+            },
+            result -> dispatcher.execute(() -> {
+                try {
+                    for (int start = 0; start < unknown.size(); start += MAX_STATUS_IDS_PER_REQUEST) {
+                        List<String> chunk = unknown.subList(start, Math.min(unknown.size(), start + MAX_STATUS_IDS_PER_REQUEST));
+                        retrofit2.Call<ApiService.BookmarkStatusesResponse> call =
+                            apiService.getBookmarkStatuses("Bearer " + token, String.join(",", chunk));
+                        Response<ApiService.BookmarkStatusesResponse> response = call.execute();
+
+                        if (!response.isSuccessful() || response.body() == null) {
+                            String errorMsg = "Failed to load bookmark status";
+                            if (response.code() == 401) {
+                                errorMsg = "Authentication required";
+                            }
+                            result.onError(errorMsg);
+                            return;
+                        }
+                        BookmarkManager.applyStatuses(chunk, response.body().bookmarked_ids);
+                    }
+                    result.onSuccess(Boolean.TRUE);
+                } catch (Exception e) {
+                    result.onError(e.getMessage() != null ? e.getMessage() : "Network error");
+                }
+            }));
+    }
+
+    private static Set<String> collectBookmarked(List<String> postIds) {
+        Set<String> bookmarked = new HashSet<>();
+        if (postIds == null) {
+            return bookmarked;
+        }
+        for (String postId : postIds) {
+            if (BookmarkManager.isBookmarked(postId)) {
+                bookmarked.add(postId);
             }
-        });
+        }
+        return bookmarked;
     }
 }
-
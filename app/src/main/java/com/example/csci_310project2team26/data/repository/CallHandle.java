@@ -0,0 +1,46 @@
+package com.example.csci_310project2team26.data.repository;
+
+import retrofit2.Call;
+
+/**
+ * CallHandle - {@link Cancellable} for a Retrofit call that runs on the
+ * {@link IoDispatcher}. Cancelling before the task starts skips the request;
+ * cancelling while it runs aborts the HTTP exchange.
+ */
+final class CallHandle implements Cancellable {
+
+    private Call<?> call;
+    private boolean cancelled;
+
+    /**
+     * Attach the call about to be executed.
+     *
+     * @return false if the handle was already cancelled and the call must not run
+     */
+    synchronized boolean attach(Call<?> call) {
+        if (cancelled) {
+            return false;
+        }
+        this.call = call;
+        return true;
+    }
+
+    synchronized boolean isCancelled() {
+        return cancelled;
+    }
+
+    @Override
+    public void cancel() {
+        Call<?> running;
+        synchronized (this) {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            running = call;
+        }
+        if (running != null) {
+            running.cancel();
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.csci_310project2team26.data.repository;
+
+/**
+ * Cancellable - Handle for a request that may no longer be wanted.
+ *
+ * Once cancelled, the request's callback is not invoked at all, neither
+ * with a result nor with an error.
+ */
+public interface Cancellable {
+
+    Cancellable NONE = () -> { };
+
+    void cancel();
+}
@@ -0,0 +1,299 @@
+package com.example.csci_310project2team26.data.repository;
+
+import com.example.csci_310project2team26.data.model.Comment;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+
+/**
+ * CommentPager - Loads a post's comments page by page as the thread scrolls.
+ *
+ * Pages are appended in order using the keyset cursor returned with the
+ * previous page. Unlike {@link PostPager} nothing is trimmed: a thread is
+ * read top to bottom and its pages are small.
+ *
+ * Mutations patch the loaded comments instead of reloading them. A comment
+ * posted from this device is shown right away: first for newest-first
+ * threads, otherwise after the loaded pages until the page that really
+ * contains it arrives.
+ */
+public class CommentPager {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+
+    /**
+     * Fetches one page of comments. {@code after} is the cursor returned with
+     * the previous page, or null for the first page.
+     */
+    public interface PageLoader {
+        void loadPage(String after, int limit, CommentRepository.Callback<CommentRepository.CommentsResult> callback);
+    }
+
+    public interface Listener {
+        /**
+         * @param comments snapshot of every loaded comment, in thread order
+         * @param total    comments on the post, loaded or not
+         * @param hasMore  whether another page can be loaded
+         */
+        void onCommentsChanged(List<Comment> comments, int total, boolean hasMore);
+
+        void onLoadingChanged(boolean loading);
+
+        void onError(String error);
+    }
+
+    private final PageLoader loader;
+    private final Listener listener;
+    private final int pageSize;
+    private final int prefetchDistance;
+    private final boolean newestFirst;
+
+    private List<Comment> loaded = new ArrayList<>();
+    // Comments posted here that belong to a page not loaded yet
+    private List<Comment> localTail = new ArrayList<>();
+    private String nextCursor;
+    private boolean firstPageLoaded;
+    private boolean loading;
+    private int total;
+    private int generation;
+
+    public CommentPager(PageLoader loader, Listener listener, boolean newestFirst) {
+        this(loader, listener, newestFirst, DEFAULT_PAGE_SIZE);
+    }
+
+    public CommentPager(PageLoader loader, Listener listener, boolean newestFirst, int pageSize) {
+        this.loader = loader;
+        this.listener = listener;
+        this.newestFirst = newestFirst;
+        this.pageSize = Math.max(1, pageSize);
+        this.prefetchDistance = Math.max(1, this.pageSize / 2);
+    }
+
+    /**
+     * Drop everything and load the first page.
+     */
+    public void reset() {
+        synchronized (this) {
+            generation++;
+            loaded = new ArrayList<>();
+            localTail = new ArrayList<>();
+            nextCursor = null;
+            firstPageLoaded = false;
+            loading = false;
+            total = 0;
+        }
+        loadNext();
+    }
+
+    /**
+     * Show a first page read from the disk cache while the network load
+     * started by {@link #reset} is in flight. Ignored once a page has loaded.
+     */
+    public void showCached(List<Comment> comments) {
+        synchronized (this) {
+            if (comments == null || comments.isEmpty() || firstPageLoaded || !loaded.isEmpty()) {
+                return;
+            }
+            loaded = new ArrayList<>(comments);
+            total = comments.size();
+        }
+        publish();
+    }
+
+    /**
+     * Report the last visible comment (index into the last snapshot); loads
+     * the next page once it is within the prefetch distance of the end.
+     */
+    public void onVisibleRange(int lastVisible) {
+        synchronized (this) {
+            if (!firstPageLoaded || nextCursor == null
+                    || lastVisible < loaded.size() - prefetchDistance) {
+                return;
+            }
+        }
+        loadNext();
+    }
+
+    public synchronized boolean hasMore() {
+        return !firstPageLoaded || nextCursor != null;
+    }
+
+    /**
+     * Show a comment that was just created on the server without reloading.
+     */
+    public void addComment(Comment comment) {
+        if (comment == null || comment.getId() == null) {
+            return;
+        }
+        synchronized (this) {
+            if (indexOf(loaded, comment.getId()) >= 0 || indexOf(localTail, comment.getId()) >= 0) {
+                return;
+            }
+            if (newestFirst) {
+                loaded.add(0, comment);
+            } else if (firstPageLoaded && nextCursor == null) {
+                loaded.add(comment);
+            } else {
+                localTail.add(comment);
+            }
+            total++;
+        }
+        publish();
+    }
+
+    /**
+     * Swap the comment with {@code commentId} (e.g. a placeholder shown while
+     * posting) for {@code replacement} in the same position. If a loaded page
+     * already holds the replacement, the old comment is just dropped.
+     */
+    public void replaceComment(String commentId, Comment replacement) {
+        if (commentId == null || replacement == null || replacement.getId() == null) {
+            return;
+        }
+        synchronized (this) {
+            boolean alreadyLoaded = indexOf(loaded, replacement.getId()) >= 0
+                    || indexOf(localTail, replacement.getId()) >= 0;
+            if (!replaceIn(loaded, commentId, replacement, alreadyLoaded)
+                    && !replaceIn(localTail, commentId, replacement, alreadyLoaded)) {
+                return;
+            }
+            if (alreadyLoaded) {
+                // The page holding the real comment already counted it
+                total = Math.max(total - 1, loaded.size() + localTail.size());
+            }
+        }
+        publish();
+    }
+
+    /**
+     * Apply {@code patch} to the loaded comments and publish if anything
+     * changed. Comments the patch drops are taken off the total.
+     */
+    public void patchComments(UnaryOperator<List<Comment>> patch) {
+        synchronized (this) {
+            List<Comment> patchedLoaded = patch.apply(loaded);
+            List<Comment> patchedTail = patch.apply(localTail);
+            if (patchedLoaded == loaded && patchedTail == localTail) {
+                return;
+            }
+            int dropped = (loaded.size() - patchedLoaded.size()) + (localTail.size() - patchedTail.size());
+            loaded = new ArrayList<>(patchedLoaded);
+            localTail = new ArrayList<>(patchedTail);
+            total = Math.max(total - Math.max(dropped, 0), loaded.size() + localTail.size());
+        }
+        publish();
+    }
+
+    private void loadNext() {
+        final int requestGeneration;
+        final String after;
+        synchronized (this) {
+            if (loading || (firstPageLoaded && nextCursor == null)) {
+                return;
+            }
+            loading = true;
+            requestGeneration = generation;
+            after = firstPageLoaded ? nextCursor : null;
+        }
+        listener.onLoadingChanged(true);
+
+        loader.loadPage(after, pageSize, new CommentRepository.Callback<CommentRepository.CommentsResult>() {
+            @Override
+            public void onSuccess(CommentRepository.CommentsResult result) {
+                List<Comment> page = result != null && result.getComments() != null
+                        ? result.getComments() : new ArrayList<>();
+                synchronized (CommentPager.this) {
+                    if (requestGeneration != generation) {
+                        return;
+                    }
+                    loading = false;
+                    if (!firstPageLoaded) {
+                        // Replaces a cached first page, if one was shown
+                        firstPageLoaded = true;
+                        loaded = new ArrayList<>();
+                    }
+                    appendPage(page);
+                    nextCursor = result != null ? result.getNextCursor() : null;
+                    if (nextCursor == null && !localTail.isEmpty()) {
+                        // Whatever is still pending was created after the last page was read
+                        loaded.addAll(localTail);
+                        localTail = new ArrayList<>();
+                    }
+                    int reported = result != null ? result.getCount() : 0;
+                    total = Math.max(reported, loaded.size() + localTail.size());
+                }
+                listener.onLoadingChanged(false);
+                publish();
+            }
+
+            @Override
+            public void onError(String error) {
+                synchronized (CommentPager.this) {
+                    if (requestGeneration != generation) {
+                        return;
+                    }
+                    // Keep the cursor so the next scroll retries this page
+                    loading = false;
+                }
+                listener.onLoadingChanged(false);
+                listener.onError(error);
+            }
+        });
+    }
+
+    private void appendPage(List<Comment> page) {
+        Set<String> seen = new HashSet<>();
+        for (Comment comment : loaded) {
+            if (comment != null && comment.getId() != null) {
+                seen.add(comment.getId());
+            }
+        }
+        for (Comment comment : page) {
+            if (comment == null || comment.getId() == null || !seen.add(comment.getId())) {
+                continue;
+            }
+            loaded.add(comment);
+            int pending = indexOf(localTail, comment.getId());
+            if (pending >= 0) {
+                localTail.remove(pending);
+            }
+        }
+    }
+
+    private static boolean replaceIn(List<Comment> comments, String commentId,
+                                     Comment replacement, boolean dropInstead) {
+        int index = indexOf(comments, commentId);
+        if (index < 0) {
+            return false;
+        }
+        if (dropInstead) {
+            comments.remove(index);
+        } else {
+            comments.set(index, replacement);
+        }
+        return true;
+    }
+
+    private static int indexOf(List<Comment> comments, String commentId) {
+        for (int i = 0; i < comments.size(); i++) {
+            Comment comment = comments.get(i);
+            if (comment != null && commentId.equals(comment.getId())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void publish() {
+        // Snapshot and delivery share the lock so listeners never see an older list last
+        synchronized (this) {
+            List<Comment> snapshot = new ArrayList<>(loaded.size() + localTail.size());
+            snapshot.addAll(loaded);
+            snapshot.addAll(localTail);
+            listener.onCommentsChanged(snapshot, total, !firstPageLoaded || nextCursor != null);
+        }
+    }
+}
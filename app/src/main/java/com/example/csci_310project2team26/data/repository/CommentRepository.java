@@ -1,12 +1,13 @@
 package com.example.csci_310project2team26.data.repository;
 
+import com.example.csci_310project2team26.data.local.FeedDiskCache;
 import com.example.csci_310project2team26.data.model.Comment;
+import com.example.csci_310project2team26.data.model.Post;
 import com.example.csci_310project2team26.data.network.ApiService;
+import com.example.csci_310project2team26.util.IsoTimestamps;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 import retrofit2.Response;
 
@@ -19,10 +20,20 @@ public class CommentRepository {
     public static class CommentsResult {
         private final List<Comment> comments;
         private final int count;
+        private final String nextCursor;
 
         public CommentsResult(List<Comment> comments, int count) {
+            this(comments, count, null);
+        }
+
+        /**
+         * @param count      comments on the post; for a page this is the thread total
+         * @param nextCursor cursor for the following page, or null on the last page
+         */
+        public CommentsResult(List<Comment> comments, int count, String nextCursor) {
             this.comments = comments;
             this.count = count;
+            this.nextCursor = nextCursor;
         }
 
         public List<Comment> getComments() {
@@ -32,8 +43,16 @@ public class CommentRepository {
         public int getCount() {
             return count;
         }
+
+        public String getNextCursor() {
+            return nextCursor;
+        }
     }
 
+    public static final String SORT_OLDEST = "oldest";
+    public static final String SORT_NEW = "new";
+    public static final String SORT_TOP = "top";
+
     public static class VoteResult {
         private final String message;
         private final String action;
@@ -64,12 +83,15 @@ public class CommentRepository {
         }
     }
 
+    private static final SingleFlight<CommentsResult> COMMENT_LOADS = new SingleFlight<>();
+    private static final OptimisticCommentVotes PENDING_VOTES = new OptimisticCommentVotes();
+
     private final ApiService apiService;
-    private final ExecutorService executorService;
+    private final IoDispatcher dispatcher;
 
     public CommentRepository() {
         this.apiService = ApiService.getInstance();
-        this.executorService = Executors.newSingleThreadExecutor();
+        this.dispatcher = IoDispatcher.getInstance();
     }
 
     public interface Callback<T> {
@@ -81,26 +103,90 @@ public class CommentRepository {
      * Fetch comments for a post
      */
     public void fetchComments(String postId, Callback<CommentsResult> callback) {
-        executorService.execute(() -> {
-            try {
-                String token = SessionManager.getToken();
-                String authHeader = token != null ? "Bearer " + token : null;
+        String token = SessionManager.getToken();
+        // Concurrent loads of the same thread by the same user share one request
+        COMMENT_LOADS.run(postId + "|" + token, callback::onSuccess, callback::onError, result ->
+            dispatcher.execute(() -> {
+                try {
+                    String authHeader = token != null ? "Bearer " + token : null;
 
-                retrofit2.Call<ApiService.CommentsResponse> call = apiService.getComments(authHeader, postId);
-                Response<ApiService.CommentsResponse> response = call.execute();
-                
-                if (response.isSuccessful() && response.body() != null) {
-                    ApiService.CommentsResponse commentsResponse = response.body();
-                    List<Comment> comments = commentsResponse.comments != null ? commentsResponse.comments : new ArrayList<>();
-                    int count = commentsResponse.count;
+                    retrofit2.Call<ApiService.CommentsResponse> call = apiService.getComments(authHeader, postId, null, null, null);
+                    Response<ApiService.CommentsResponse> response = call.execute();
                     
-                    callback.onSuccess(new CommentsResult(comments, count));
-                } else {
-                    callback.onError("Failed to load comments");
+                    if (response.isSuccessful() && response.body() != null) {
+                        ApiService.CommentsResponse commentsResponse = response.body();
+                        List<Comment> comments = commentsResponse.comments != null ? commentsResponse.comments : new ArrayList<>();
+                        int count = commentsResponse.count;
+                        EntityStore.comments().putAll(comments);
+                        FeedDiskCache diskCache = FeedDiskCache.get();
+                        if (diskCache != null) {
+                            diskCache.putComments(postId, comments);
+                        }
+                        
+                        result.onSuccess(new CommentsResult(comments, count));
+                    } else {
+                        result.onError("Failed to load comments");
+                    }
+                } catch (Exception e) {
+                    result.onError(e.getMessage() != null ? e.getMessage() : "Network error");
                 }
-            } catch (Exception e) {
-                callback.onError(e.getMessage() != null ? e.getMessage() : "Network error");
+            }));
+    }
+
+    /**
+     * Fetch one page of a post's comments. {@code after} is the cursor returned
+     * with the previous page, or null for the first page. The first page of
+     * the default order also refreshes the disk cache.
+     */
+    public void fetchCommentPage(String postId,
+                                 String sort,
+                                 String after,
+                                 int limit,
+                                 Callback<CommentsResult> callback) {
+        String token = SessionManager.getToken();
+        String key = postId + "|" + sort + "|" + after + "|" + limit + "|" + token;
+        COMMENT_LOADS.run(key, callback::onSuccess, callback::onError, result ->
+            dispatcher.execute(() -> {
+                try {
+                    String authHeader = token != null ? "Bearer " + token : null;
+                    Response<ApiService.CommentsResponse> response =
+                            apiService.getComments(authHeader, postId, sort, limit, after).execute();
+
+                    if (response.isSuccessful() && response.body() != null) {
+                        ApiService.CommentsResponse body = response.body();
+                        List<Comment> comments = body.comments != null ? body.comments : new ArrayList<>();
+                        // A server without paging ignores the limit and sends the whole thread
+                        int total = body.total != null ? body.total : comments.size();
+                        EntityStore.comments().putAll(comments);
+                        FeedDiskCache diskCache = FeedDiskCache.get();
+                        if (diskCache != null && after == null && SORT_OLDEST.equals(sort)) {
+                            diskCache.putComments(postId, comments);
+                        }
+                        result.onSuccess(new CommentsResult(comments, total, body.next_cursor));
+                    } else if (response.code() == 400 && after != null) {
+                        result.onError("Comment list changed, please refresh");
+                    } else {
+                        result.onError("Failed to load comments");
+                    }
+                } catch (Exception e) {
+                    result.onError(e.getMessage() != null ? e.getMessage() : "Network error");
+                }
+            }));
+    }
+
+    /**
+     * Read the thread saved by an earlier {@link #fetchComments} from the disk
+     * cache. Reports an error when nothing usable is cached.
+     */
+    public void getCachedComments(String postId, Callback<CommentsResult> callback) {
+        dispatcher.execute(() -> {
+            FeedDiskCache diskCache = FeedDiskCache.get();
+            List<Comment> comments = diskCache != null ? diskCache.getComments(postId) : null;
+            if (comments == null) {
+                callback.onError("No cached comments");
+                return;
             }
+            callback.onSuccess(new CommentsResult(comments, comments.size()));
         });
     }
 
@@ -108,7 +194,7 @@ public class CommentRepository {
      * Create a new comment
      */
     public void createComment(String postId, String text, String title, Callback<Comment> callback) {
-        executorService.execute(() -> {
+        dispatcher.execute("comments:" + postId, () -> {
             try {
                 String token = SessionManager.getToken();
                 if (token == null) {
@@ -126,7 +212,9 @@ public class CommentRepository {
                 Response<ApiService.CommentResponse> response = call.execute();
                 
                 if (response.isSuccessful() && response.body() != null && response.body().comment != null) {
-                    callback.onSuccess(response.body().comment);
+                    Comment created = response.body().comment;
+                    EntityStore.comments().put(created);
+                    callback.onSuccess(created);
                 } else {
                     String errorMsg = "Failed to create comment";
                     if (response.code() == 401) {
@@ -145,93 +233,91 @@ public class CommentRepository {
     }
 
     /**
-     * Vote on a comment
+     * Vote on a comment. The stored comment is patched right away, so every
+     * screen showing it updates before the request is sent; the vote
+     * response then settles the counts, or the patch is undone on failure.
+     * Votes on one comment are sent in order, and only the last response
+     * to arrive reconciles.
      */
     public void voteOnComment(String postId,
                               String commentId,
                               String type,
                               Callback<VoteResult> callback) {
-        executorService.execute(() -> {
+        String token = SessionManager.getToken();
+        if (token == null) {
+            callback.onError("Authentication required");
+            return;
+        }
+
+        EntityStore<Comment> store = EntityStore.comments();
+        Comment before = store.get(commentId);
+        String previousVote = before != null ? before.getUser_vote_type() : null;
+        String optimisticVote = OptimisticPostVotes.nextVote(previousVote, type);
+        store.update(commentId, stored -> OptimisticCommentVotes.withVote(stored, optimisticVote));
+        PENDING_VOTES.begin(commentId, previousVote);
+
+        dispatcher.execute("comment:" + commentId, () -> {
             try {
-                String token = SessionManager.getToken();
-                if (token == null) {
-                    callback.onError("Authentication required");
-                    return;
-                }
-                
-                // First vote on the comment
                 retrofit2.Call<ApiService.VoteActionResponse> call = apiService.voteComment(
                     "Bearer " + token,
                     commentId,
                     type
                 );
-                
+
                 Response<ApiService.VoteActionResponse> response = call.execute();
-                
+
                 if (response.isSuccessful() && response.body() != null) {
                     ApiService.VoteActionResponse voteResponse = response.body();
-                    
-                    // Fetch updated comment to get new vote counts
-                    fetchComments(postId, new Callback<CommentsResult>() {
-                        @Override
-                        public void onSuccess(CommentsResult result) {
-                            if (result == null || result.getComments() == null) {
-                                callback.onError("Failed to fetch comments after voting");
-                                return;
-                            }
-                            // Find the updated comment
-                            Comment updatedComment = null;
-                            for (Comment comment : result.getComments()) {
-                                if (comment != null && comment.getId() != null && comment.getId().equals(commentId)) {
-                                    updatedComment = comment;
-                                    break;
-                                }
-                            }
-                            
-                            if (updatedComment != null) {
-                                // When action is "removed", type might be null
-                                String resultType = voteResponse.type != null ? voteResponse.type : 
-                                                  ("removed".equals(voteResponse.action) ? null : type);
-                                callback.onSuccess(new VoteResult(
-                                    voteResponse.message != null ? voteResponse.message : "Vote recorded",
-                                    voteResponse.action != null ? voteResponse.action : "created",
-                                    resultType,
-                                    updatedComment
-                                ));
-                            } else {
-                                callback.onError("Comment not found after voting");
-                            }
-                        }
-                        
-                        @Override
-                        public void onError(String error) {
-                            callback.onError("Failed to refresh comment after voting");
-                        }
-                    });
+                    String action = voteResponse.action != null ? voteResponse.action : "created";
+                    // When action is "removed", type might be null
+                    String resultType = voteResponse.type != null ? voteResponse.type
+                            : ("removed".equals(action) ? null : type);
+                    String serverVote = "removed".equals(action) ? null : resultType;
+                    Comment updatedComment = PENDING_VOTES.finish(commentId, serverVote)
+                            ? store.update(commentId, stored -> OptimisticCommentVotes.reconciled(
+                                    stored, action, resultType, voteResponse.upvotes, voteResponse.downvotes))
+                            : store.get(commentId);
+                    callback.onSuccess(new VoteResult(
+                        voteResponse.message != null ? voteResponse.message : "Vote recorded",
+                        action,
+                        resultType,
+                        updatedComment
+                    ));
                 } else {
+                    rollBackVote(commentId);
                     callback.onError("Failed to vote on comment");
                 }
             } catch (Exception e) {
+                rollBackVote(commentId);
                 callback.onError(e.getMessage() != null ? e.getMessage() : "Network error");
             }
         });
     }
 
+    private static void rollBackVote(String commentId) {
+        OptimisticCommentVotes.Rollback rollback = PENDING_VOTES.fail(commentId);
+        if (rollback != null) {
+            EntityStore.comments().update(commentId,
+                    stored -> OptimisticCommentVotes.withVote(stored, rollback.vote));
+        }
+    }
+
     /**
      * Fetch comments by a specific user
      */
     public void fetchCommentsByUser(String userId, Callback<List<Comment>> callback) {
-        executorService.execute(() -> {
+        dispatcher.execute(() -> {
             try {
                 String token = SessionManager.getToken();
                 String authHeader = token != null ? "Bearer " + token : null;
 
-                retrofit2.Call<ApiService.CommentsResponse> call = apiService.getCommentsByUser(authHeader, userId);
+                retrofit2.Call<ApiService.CommentsResponse> call = apiService.getCommentsByUser(authHeader, userId, null, null);
                 Response<ApiService.CommentsResponse> response = call.execute();
                 
                 if (response.isSuccessful() && response.body() != null) {
                     ApiService.CommentsResponse commentsResponse = response.body();
                     List<Comment> comments = commentsResponse.comments != null ? commentsResponse.comments : new ArrayList<>();
+                    EntityStore.comments().putAll(comments);
                     callback.onSuccess(comments);
                 } else {
                     callback.onError("Failed to load comments");
@@ -243,31 +329,62 @@ public class CommentRepository {
     }
 
     /**
-     * Get a single comment by ID
+     * Fetch one page of a user's comments, newest first. Pass the previous
+     * page's {@link CommentsResult#getNextCursor()} as {@code after}, or null
+     * for the newest page.
+     */
+    public void fetchCommentsByUserPage(String userId,
+                                        Integer limit,
+                                        String after,
+                                        Callback<CommentsResult> callback) {
+        dispatcher.execute(() -> {
+            try {
+                String token = SessionManager.getToken();
+                String authHeader = token != null ? "Bearer " + token : null;
+
+                Response<ApiService.CommentsResponse> response =
+                        apiService.getCommentsByUser(authHeader, userId, limit, after).execute();
+
+                if (response.isSuccessful() && response.body() != null) {
+                    ApiService.CommentsResponse commentsResponse = response.body();
+                    List<Comment> comments = commentsResponse.comments != null ? commentsResponse.comments : new ArrayList<>();
+                    EntityStore.comments().putAll(comments);
+                    callback.onSuccess(new CommentsResult(comments, comments.size(), commentsResponse.next_cursor));
+                } else if (response.code() == 400 && after != null) {
+                    callback.onError("Invalid page cursor");
+                } else {
+                    callback.onError("Failed to load comments");
+                }
+            } catch (Exception e) {
+                callback.onError(e.getMessage() != null ? e.getMessage() : "Network error");
+            }
+        });
+    }
+
+    /**
+     * Get a single comment by ID. {@code postId} is kept for callers; the
+     * comment is fetched on its own, not by scanning its post's thread.
      */
     public void getCommentById(String postId,
                                String commentId,
                                Callback<Comment> callback) {
-        executorService.execute(() -> {
+        dispatcher.execute(() -> {
             try {
-                // Fetch all comments for the post and find the one we need
-                fetchComments(postId, new Callback<CommentsResult>() {
-                    @Override
-                    public void onSuccess(CommentsResult result) {
-                        for (Comment comment : result.getComments()) {
-                            if (comment.getId().equals(commentId)) {
-                                callback.onSuccess(comment);
-                                return;
-                            }
-                        }
-                        callback.onError("Comment not found");
-                    }
-                    
-                    @Override
-                    public void onError(String error) {
-                        callback.onError(error);
-                    }
-                });
+                String token = SessionManager.getToken();
+                String authHeader = token != null ? "Bearer " + token : null;
+
+                Response<ApiService.CommentResponse> response =
+                        apiService.getComment(authHeader, commentId).execute();
+
+                if (response.isSuccessful() && response.body() != null && response.body().comment != null) {
+                    Comment comment = response.body().comment;
+                    EntityStore.comments().put(comment);
+                    callback.onSuccess(comment);
+                } else if (response.code() == 404) {
+                    callback.onError("Comment not found");
+                } else {
+                    callback.onError("Failed to load comment");
+                }
             } catch (Exception e) {
                 callback.onError(e.getMessage() != null ? e.getMessage() : "Network error");
             }
@@ -282,7 +399,7 @@ public class CommentRepository {
                               String newText,
                               String newTitle,
                               Callback<Comment> callback) {
-        executorService.execute(() -> {
+        dispatcher.execute("comment:" + commentId, () -> {
             try {
                 String token = SessionManager.getToken();
                 if (token == null) {
@@ -300,7 +417,9 @@ public class CommentRepository {
                 Response<ApiService.CommentResponse> response = call.execute();
                 
                 if (response.isSuccessful() && response.body() != null && response.body().comment != null) {
-                    callback.onSuccess(response.body().comment);
+                    Comment edited = response.body().comment;
+                    EntityStore.comments().update(commentId, stored -> withEditedText(stored, edited));
+                    callback.onSuccess(edited);
                 } else {
                     String errorMsg = "Failed to update comment";
                     if (response.code() == 401) {
@@ -322,7 +441,7 @@ public class CommentRepository {
      * Delete a comment
      */
     public void deleteComment(String commentId, Callback<Void> callback) {
-        executorService.execute(() -> {
+        dispatcher.execute("comment:" + commentId, () -> {
             try {
                 String token = SessionManager.getToken();
                 if (token == null) {
@@ -338,6 +457,11 @@ public class CommentRepository {
                 Response<Void> response = call.execute();
                 
                 if (response.isSuccessful()) {
+                    Comment deleted = EntityStore.comments().get(commentId);
+                    EntityStore.comments().remove(commentId);
+                    if (deleted != null) {
+                        adjustCommentCount(deleted.getPost_id(), -1);
+                    }
                     callback.onSuccess(null);
                 } else {
                     String errorMsg = "Failed to delete comment";
@@ -355,4 +479,33 @@ public class CommentRepository {
             }
         });
     }
+
+    /**
+     * Change the stored post's comment_count by {@code delta}, so every screen
+     * showing the post updates without refetching it.
+     */
+    public static void adjustCommentCount(String postId, int delta) {
+        if (postId == null || delta == 0) {
+            return;
+        }
+        EntityStore.posts().update(postId, post -> {
+            Post patched = new Post(post);
+            patched.setComment_count(Math.max(post.getComment_count() + delta, 0));
+            return patched;
+        });
+    }
+
+    /**
+     * The update endpoint returns only the comment row, without author name
+     * or votes, so keep those from the stored copy.
+     */
+    private static Comment withEditedText(Comment stored, Comment edited) {
+        Comment merged = new Comment(stored);
+        merged.setTitle(edited.getTitle());
+        merged.setText(edited.getText());
+        if (edited.getUpdatedAtMillis() != IsoTimestamps.INVALID) {
+            merged.setUpdatedAtMillis(edited.getUpdatedAtMillis());
+        }
+        return merged;
+    }
 }
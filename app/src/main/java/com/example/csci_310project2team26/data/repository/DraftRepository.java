@@ -5,19 +5,17 @@ import com.example.csci_310project2team26.data.network.ApiService;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 import retrofit2.Response;
 
 public class DraftRepository {
 
     private final ApiService apiService;
-    private final ExecutorService executorService;
+    private final IoDispatcher dispatcher;
 
     public DraftRepository() {
         this.apiService = ApiService.getInstance();
-        this.executorService = Executors.newSingleThreadExecutor();
+        this.dispatcher = IoDispatcher.getInstance();
     }
 
     public interface Callback<T> {
@@ -33,7 +31,7 @@ public class DraftRepository {
                            boolean isPromptPost,
                            boolean anonymous,
                            Callback<Draft> callback) {
-        executorService.execute(() -> {
+        dispatcher.execute(() -> {
             try {
                 String token = SessionManager.getToken();
                 if (token == null) {
@@ -78,7 +76,7 @@ public class DraftRepository {
     }
 
     public void getDrafts(Callback<List<Draft>> callback) {
-        executorService.execute(() -> {
+        dispatcher.execute(() -> {
             try {
                 String token = SessionManager.getToken();
                 if (token == null) {
@@ -106,7 +104,7 @@ public class DraftRepository {
     }
 
     public void getDraftById(String draftId, Callback<Draft> callback) {
-        executorService.execute(() -> {
+        dispatcher.execute(() -> {
             try {
                 String token = SessionManager.getToken();
                 if (token == null) {
@@ -174,7 +172,7 @@ public class DraftRepository {
                            Boolean isPromptPost,
                            Boolean anonymous,
                            Callback<Draft> callback) {
-        executorService.execute(() -> {
+        dispatcher.execute("draft:" + draftId, () -> {
             try {
                 String token = SessionManager.getToken();
                 if (token == null) {
@@ -220,7 +218,7 @@ public class DraftRepository {
     }
 
     public void deleteDraft(String draftId, Callback<Void> callback) {
-        executorService.execute(() -> {
+        dispatcher.execute("draft:" + draftId, () -> {
             try {
                 String token = SessionManager.getToken();
                 if (token == null) {
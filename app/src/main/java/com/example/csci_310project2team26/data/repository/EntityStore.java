@@ -0,0 +1,344 @@
+package com.example.csci_310project2team26.data.repository;
+
+import com.example.csci_310project2team26.data.model.Comment;
+import com.example.csci_310project2team26.data.model.Post;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * EntityStore - Process-wide, normalized store of records keyed by ID.
+ *
+ * Repositories put every record they load here. Each screen registers the
+ * list it shows as a named query that holds only IDs; the records themselves
+ * exist once here. A mutation (vote, edit,
+ * revert, delete) patches a single record and every listener is told which
+ * IDs changed, so all screens showing that record update without a refetch.
+ *
+ * Records referenced by a query are never evicted. Unreferenced records are
+ * kept for reuse up to {@code maxUnreferenced} and then dropped least
+ * recently used first.
+ */
+public final class EntityStore<T> {
+
+    public interface Listener {
+        /**
+         * Called after the records with these IDs were replaced or removed.
+         * Runs on the thread that made the change, outside the store lock.
+         */
+        void onEntitiesChanged(Set<String> ids);
+    }
+
+    private static final EntityStore<Post> POSTS = new EntityStore<>(Post::getId, 300);
+    private static final EntityStore<Comment> COMMENTS = new EntityStore<>(Comment::getId, 500);
+
+    private static final AtomicLong NEXT_QUERY = new AtomicLong();
+
+    private final Function<T, String> idOf;
+    private final int maxUnreferenced;
+    // Access order, so iteration starts at the least recently used record
+    private final LinkedHashMap<String, T> records = new LinkedHashMap<>(64, 0.75f, true);
+    private final Map<String, List<String>> queries = new HashMap<>();
+    private final Map<String, Integer> refCounts = new HashMap<>();
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private long sessionVersion = SessionManager.getSessionVersion();
+
+    public EntityStore(Function<T, String> idOf, int maxUnreferenced) {
+        this.idOf = idOf;
+        this.maxUnreferenced = maxUnreferenced;
+    }
+
+    public static EntityStore<Post> posts() {
+        return POSTS;
+    }
+
+    public static EntityStore<Comment> comments() {
+        return COMMENTS;
+    }
+
+    public void addListener(Listener listener) {
+        if (listener != null) {
+            listeners.add(listener);
+        }
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    public T get(String id) {
+        if (id == null) {
+            return null;
+        }
+        synchronized (this) {
+            ensureCurrentSession();
+            return records.get(id);
+        }
+    }
+
+    /**
+     * Insert or replace one record.
+     */
+    public void put(T item) {
+        if (item == null) {
+            return;
+        }
+        putAll(Collections.singletonList(item));
+    }
+
+    /**
+     * Insert or replace records, e.g. everything a list endpoint returned.
+     * Listeners hear only about records that actually changed.
+     */
+    public void putAll(List<T> items) {
+        Set<String> changed;
+        synchronized (this) {
+            ensureCurrentSession();
+            changed = storeLocked(items);
+            evictLocked();
+        }
+        notifyChanged(changed);
+    }
+
+    /**
+     * Replace a stored record with {@code patch} applied to it. Does nothing
+     * if the record is not in the store.
+     *
+     * @return the new record, or null if there was none
+     */
+    public T update(String id, UnaryOperator<T> patch) {
+        if (id == null) {
+            return null;
+        }
+        T updated;
+        synchronized (this) {
+            ensureCurrentSession();
+            T current = records.get(id);
+            if (current == null) {
+                return null;
+            }
+            updated = patch.apply(current);
+            if (updated == null || updated == current) {
+                return current;
+            }
+            records.put(id, updated);
+        }
+        notifyChanged(Collections.singleton(id));
+        return updated;
+    }
+
+    /**
+     * Remove a record and drop its ID from every query.
+     */
+    public void remove(String id) {
+        if (id == null) {
+            return;
+        }
+        synchronized (this) {
+            ensureCurrentSession();
+            records.remove(id);
+            refCounts.remove(id);
+            for (List<String> ids : queries.values()) {
+                ids.remove(id);
+            }
+        }
+        notifyChanged(Collections.singleton(id));
+    }
+
+    /**
+     * Register the IDs of {@code items} under {@code queryKey}, replacing what
+     * that query held before. Records missing from the store are added;
+     * records already stored win, so the result always shows the latest
+     * version. Does not notify listeners.
+     *
+     * @return the stored records for the query, in order
+     */
+    public List<T> setQuery(String queryKey, List<T> items) {
+        synchronized (this) {
+            ensureCurrentSession();
+            List<String> ids = new ArrayList<>(items != null ? items.size() : 0);
+            if (items != null) {
+                for (T item : items) {
+                    String id = item != null ? idOf.apply(item) : null;
+                    if (id == null) {
+                        continue;
+                    }
+                    if (!records.containsKey(id)) {
+                        records.put(id, item);
+                    }
+                    ids.add(id);
+                }
+            }
+            releaseLocked(queryKey);
+            for (String id : ids) {
+                refCounts.merge(id, 1, Integer::sum);
+            }
+            queries.put(queryKey, ids);
+            evictLocked();
+            return resolveLocked(ids);
+        }
+    }
+
+    /**
+     * @return the records of a query in order, skipping removed ones
+     */
+    public List<T> getQuery(String queryKey) {
+        synchronized (this) {
+            ensureCurrentSession();
+            List<String> ids = queries.get(queryKey);
+            return ids != null ? resolveLocked(ids) : new ArrayList<>();
+        }
+    }
+
+    /**
+     * Forget a query; its records become eligible for eviction.
+     */
+    public void releaseQuery(String queryKey) {
+        synchronized (this) {
+            releaseLocked(queryKey);
+            evictLocked();
+        }
+    }
+
+    /**
+     * Bring a screen's own copy of a list up to date after a change
+     * notification: records in {@code changedIds} are replaced by their
+     * stored version, or dropped if they were removed.
+     *
+     * @return a new list, or {@code items} itself if nothing in it changed
+     */
+    public List<T> applyChanges(List<T> items, Set<String> changedIds) {
+        if (items == null || items.isEmpty()) {
+            return items;
+        }
+        List<T> updated = null;
+        synchronized (this) {
+            for (int i = 0; i < items.size(); i++) {
+                T item = items.get(i);
+                String id = item != null ? idOf.apply(item) : null;
+                if (id == null || !changedIds.contains(id)) {
+                    if (updated != null) {
+                        updated.add(item);
+                    }
+                    continue;
+                }
+                T stored = records.get(id);
+                if (stored == item) {
+                    if (updated != null) {
+                        updated.add(item);
+                    }
+                    continue;
+                }
+                if (updated == null) {
+                    updated = new ArrayList<>(items.subList(0, i));
+                }
+                if (stored != null) {
+                    updated.add(stored);
+                }
+            }
+        }
+        return updated != null ? updated : items;
+    }
+
+    /**
+     * @return a query key no other caller uses, e.g. one per ViewModel instance
+     */
+    public static String newQueryKey(String prefix) {
+        return prefix + "#" + NEXT_QUERY.incrementAndGet();
+    }
+
+    public synchronized int size() {
+        return records.size();
+    }
+
+    public synchronized void clear() {
+        records.clear();
+        queries.clear();
+        refCounts.clear();
+    }
+
+    private Set<String> storeLocked(List<T> items) {
+        Set<String> changed = new LinkedHashSet<>();
+        if (items == null) {
+            return changed;
+        }
+        for (T item : items) {
+            String id = item != null ? idOf.apply(item) : null;
+            if (id == null) {
+                continue;
+            }
+            T previous = records.put(id, item);
+            if (previous != null && previous != item) {
+                changed.add(id);
+            }
+        }
+        return changed;
+    }
+
+    private List<T> resolveLocked(List<String> ids) {
+        List<T> resolved = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            T item = records.get(id);
+            if (item != null) {
+                resolved.add(item);
+            }
+        }
+        return resolved;
+    }
+
+    private void releaseLocked(String queryKey) {
+        List<String> previous = queries.remove(queryKey);
+        if (previous == null) {
+            return;
+        }
+        for (String id : previous) {
+            Integer count = refCounts.get(id);
+            if (count == null || count <= 1) {
+                refCounts.remove(id);
+            } else {
+                refCounts.put(id, count - 1);
+            }
+        }
+    }
+
+    private void evictLocked() {
+        int unreferenced = records.size() - refCounts.size();
+        Iterator<String> it = records.keySet().iterator();
+        while (unreferenced > maxUnreferenced && it.hasNext()) {
+            if (!refCounts.containsKey(it.next())) {
+                it.remove();
+                unreferenced--;
+            }
+        }
+    }
+
+    private void ensureCurrentSession() {
+        long current = SessionManager.getSessionVersion();
+        if (current != sessionVersion) {
+            // Records embed the previous user's votes; queries re-register on their next load
+            sessionVersion = current;
+            clear();
+        }
+    }
+
+    private void notifyChanged(Set<String> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        Set<String> snapshot = Collections.unmodifiableSet(ids);
+        for (Listener listener : listeners) {
+            listener.onEntitiesChanged(snapshot);
+        }
+    }
+}
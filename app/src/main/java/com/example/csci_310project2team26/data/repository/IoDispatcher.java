@@ -0,0 +1,184 @@
+package com.example.csci_310project2team26.data.repository;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * IoDispatcher - Process-wide, bounded executor shared by every repository.
+ * Replaces the per-repository single thread executors so constructing a
+ * repository no longer costs a thread.
+ *
+ * Unkeyed work runs in parallel up to the concurrency limit. Work submitted
+ * with a key (e.g. "post:42") runs in submission order relative to other work
+ * with the same key, so mutations on one entity never overtake each other.
+ */
+public final class IoDispatcher implements Executor {
+
+    public static final int DEFAULT_MAX_CONCURRENCY = 4;
+    private static final long KEEP_ALIVE_SECONDS = 30L;
+
+    private static final IoDispatcher INSTANCE = new IoDispatcher(DEFAULT_MAX_CONCURRENCY);
+
+    public static IoDispatcher getInstance() {
+        return INSTANCE;
+    }
+
+    public static class Stats {
+        private final int maxConcurrency;
+        private final int activeCount;
+        private final int queueDepth;
+        private final long completedCount;
+        private final long averageWaitMillis;
+        private final long maxWaitMillis;
+
+        public Stats(int maxConcurrency, int activeCount, int queueDepth,
+                     long completedCount, long averageWaitMillis, long maxWaitMillis) {
+            this.maxConcurrency = maxConcurrency;
+            this.activeCount = activeCount;
+            this.queueDepth = queueDepth;
+            this.completedCount = completedCount;
+            this.averageWaitMillis = averageWaitMillis;
+            this.maxWaitMillis = maxWaitMillis;
+        }
+
+        public int getMaxConcurrency() { return maxConcurrency; }
+        public int getActiveCount() { return activeCount; }
+        public int getQueueDepth() { return queueDepth; }
+        public long getCompletedCount() { return completedCount; }
+        public long getAverageWaitMillis() { return averageWaitMillis; }
+        public long getMaxWaitMillis() { return maxWaitMillis; }
+    }
+
+    private final ThreadPoolExecutor executor;
+    private final Map<String, ArrayDeque<Runnable>> lanes = new HashMap<>();
+    private final AtomicInteger pendingInLanes = new AtomicInteger();
+    private final AtomicLong startedCount = new AtomicLong();
+    private final AtomicLong completedCount = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    IoDispatcher(int maxConcurrency) {
+        int threads = Math.max(1, maxConcurrency);
+        AtomicInteger threadIds = new AtomicInteger(1);
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "io-dispatcher-" + threadIds.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+        this.executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                KEEP_ALIVE_SECONDS,
+                TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                threadFactory
+        );
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Run a task with no ordering guarantee relative to other tasks.
+     */
+    @Override
+    public void execute(Runnable task) {
+        executor.execute(measured(task));
+    }
+
+    /**
+     * Run a task after every previously submitted task with the same key.
+     * A null key behaves like {@link #execute(Runnable)}.
+     */
+    public void execute(String key, Runnable task) {
+        if (key == null) {
+            execute(task);
+            return;
+        }
+        Runnable measuredTask = measured(task);
+        boolean startLane;
+        synchronized (lanes) {
+            ArrayDeque<Runnable> lane = lanes.get(key);
+            startLane = lane == null;
+            if (startLane) {
+                lane = new ArrayDeque<>();
+                lanes.put(key, lane);
+            }
+            lane.add(measuredTask);
+            pendingInLanes.incrementAndGet();
+        }
+        if (startLane) {
+            executor.execute(() -> drainLane(key));
+        }
+    }
+
+    /**
+     * Adjust how many requests may be in flight at once.
+     */
+    public void setMaxConcurrency(int maxConcurrency) {
+        int threads = Math.max(1, maxConcurrency);
+        if (threads > executor.getMaximumPoolSize()) {
+            executor.setMaximumPoolSize(threads);
+            executor.setCorePoolSize(threads);
+        } else {
+            executor.setCorePoolSize(threads);
+            executor.setMaximumPoolSize(threads);
+        }
+    }
+
+    public Stats getStats() {
+        long started = startedCount.get();
+        long averageWait = started > 0 ? totalWaitNanos.get() / started : 0L;
+        return new Stats(
+                executor.getMaximumPoolSize(),
+                executor.getActiveCount(),
+                executor.getQueue().size() + pendingInLanes.get(),
+                completedCount.get(),
+                TimeUnit.NANOSECONDS.toMillis(averageWait),
+                TimeUnit.NANOSECONDS.toMillis(maxWaitNanos.get())
+        );
+    }
+
+    private void drainLane(String key) {
+        Runnable next;
+        synchronized (lanes) {
+            ArrayDeque<Runnable> lane = lanes.get(key);
+            next = lane != null ? lane.poll() : null;
+            if (next == null) {
+                lanes.remove(key);
+                return;
+            }
+            pendingInLanes.decrementAndGet();
+        }
+        try {
+            next.run();
+        } finally {
+            // Re-queue instead of looping so one busy key cannot monopolize a worker
+            executor.execute(() -> drainLane(key));
+        }
+    }
+
+    private Runnable measured(Runnable task) {
+        long enqueuedAt = System.nanoTime();
+        return () -> {
+            long waited = System.nanoTime() - enqueuedAt;
+            startedCount.incrementAndGet();
+            totalWaitNanos.addAndGet(waited);
+            long previousMax;
+            do {
+                previousMax = maxWaitNanos.get();
+            } while (waited > previousMax && !maxWaitNanos.compareAndSet(previousMax, waited));
+            try {
+                task.run();
+            } finally {
+                completedCount.incrementAndGet();
+            }
+        };
+    }
+}
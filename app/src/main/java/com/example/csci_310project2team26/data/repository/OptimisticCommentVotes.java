@@ -0,0 +1,136 @@
+package com.example.csci_310project2team26.data.repository;
+
+import com.example.csci_310project2team26.data.model.Comment;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * OptimisticCommentVotes - The comment counterpart of {@link OptimisticPostVotes}:
+ * applies a vote to a stored comment immediately and reconciles it with the
+ * vote response, so voting never needs to refetch the thread.
+ *
+ * The static helpers are pure; an instance tracks how many votes are still
+ * in flight per comment so only the last response decides the final state, and
+ * the last vote the server confirmed, which a failed request rolls back to.
+ */
+public final class OptimisticCommentVotes {
+
+    private final Map<String, Pending> pendingVotes = new HashMap<>();
+
+    /**
+     * The vote to restore once the last in-flight request for a comment fails.
+     */
+    public static final class Rollback {
+        public final String vote;
+
+        Rollback(String vote) {
+            this.vote = vote;
+        }
+    }
+
+    private static final class Pending {
+        int count;
+        String confirmedVote;
+    }
+
+    /**
+     * Copy of {@code comment} with its vote changed to {@code newVote} and the
+     * up/down counts adjusted by the difference from its previous vote.
+     */
+    public static Comment withVote(Comment comment, String newVote) {
+        Comment patched = new Comment(comment);
+        String previous = normalize(comment.getUser_vote_type());
+        String next = normalize(newVote);
+        int upvotes = comment.getUpvotes();
+        int downvotes = comment.getDownvotes();
+
+        if ("up".equals(previous)) {
+            upvotes--;
+        } else if ("down".equals(previous)) {
+            downvotes--;
+        }
+        if ("up".equals(next)) {
+            upvotes++;
+        } else if ("down".equals(next)) {
+            downvotes++;
+        }
+
+        patched.setUpvotes(Math.max(upvotes, 0));
+        patched.setDownvotes(Math.max(downvotes, 0));
+        patched.setUser_vote_type(next);
+        return patched;
+    }
+
+    /**
+     * Copy of {@code comment} showing the server's state after a vote: the
+     * user's vote from {@code action}/{@code type}, and the counts when the
+     * server sent them (older servers do not). Falls back to the local delta.
+     */
+    public static Comment reconciled(Comment comment, String action, String type,
+                                     Integer upvotes, Integer downvotes) {
+        String serverVote = "removed".equals(action) ? null : normalize(type);
+        Comment patched = withVote(comment, serverVote);
+        if (upvotes != null && downvotes != null) {
+            patched.setUpvotes(Math.max(upvotes, 0));
+            patched.setDownvotes(Math.max(downvotes, 0));
+        }
+        return patched;
+    }
+
+    /**
+     * Record that a vote request for this comment was sent. {@code confirmedVote}
+     * is the comment's vote before this tap; only the first of overlapping
+     * requests records it, since later taps start from optimistic state.
+     */
+    public synchronized void begin(String commentId, String confirmedVote) {
+        Pending pending = pendingVotes.get(commentId);
+        if (pending == null) {
+            pending = new Pending();
+            pending.confirmedVote = normalize(confirmedVote);
+            pendingVotes.put(commentId, pending);
+        }
+        pending.count++;
+    }
+
+    /**
+     * Record that a vote request for this comment succeeded with {@code serverVote},
+     * which becomes the state to roll back to if a later request fails.
+     *
+     * @return true if no other vote for this comment is still in flight
+     */
+    public synchronized boolean finish(String commentId, String serverVote) {
+        Pending pending = pendingVotes.get(commentId);
+        if (pending == null || pending.count <= 1) {
+            pendingVotes.remove(commentId);
+            return true;
+        }
+        pending.count--;
+        pending.confirmedVote = normalize(serverVote);
+        return false;
+    }
+
+    /**
+     * Record that a vote request for this comment failed.
+     *
+     * @return the last confirmed vote if no other vote for this comment is still
+     *         in flight, otherwise null
+     */
+    public synchronized Rollback fail(String commentId) {
+        Pending pending = pendingVotes.get(commentId);
+        if (pending == null || pending.count <= 1) {
+            pendingVotes.remove(commentId);
+            return new Rollback(pending != null ? pending.confirmedVote : null);
+        }
+        pending.count--;
+        return null;
+    }
+
+    private static String normalize(String vote) {
+        if (vote == null) {
+            return null;
+        }
+        String trimmed = vote.trim().toLowerCase();
+        return "up".equals(trimmed) || "down".equals(trimmed) ? trimmed : null;
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.csci_310project2team26.data.repository;
+
+import com.example.csci_310project2team26.data.model.Post;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * OptimisticPostVotes - Applies a vote to a cached post immediately and
+ * reconciles it with the server response, so voting never needs a refetch.
+ *
+ * The static helpers are pure; an instance tracks how many votes are still
+ * in flight per post so only the last response decides the final state, and
+ * the last vote the server confirmed, which a failed request rolls back to.
+ */
+public final class OptimisticPostVotes {
+
+    private final Map<String, Pending> pendingVotes = new HashMap<>();
+
+    /**
+     * The vote to restore once the last in-flight request for a post fails.
+     */
+    public static final class Rollback {
+        public final String vote;
+
+        Rollback(String vote) {
+            this.vote = vote;
+        }
+    }
+
+    private static final class Pending {
+        int count;
+        String confirmedVote;
+    }
+
+    /**
+     * Vote that results from tapping {@code requested} while {@code current}
+     * is selected. Tapping the selected arrow again removes the vote.
+     */
+    public static String nextVote(String current, String requested) {
+        String normalizedCurrent = normalize(current);
+        String normalizedRequested = normalize(requested);
+        if (normalizedRequested == null || normalizedRequested.equals(normalizedCurrent)) {
+            return null;
+        }
+        return normalizedRequested;
+    }
+
+    /**
+     * Copy of {@code post} with its vote changed to {@code newVote} and the
+     * up/down counts adjusted by the difference from its previous vote.
+     */
+    public static Post withVote(Post post, String newVote) {
+        Post patched = new Post(post);
+        String previous = normalize(post.getUser_vote_type());
+        String next = normalize(newVote);
+        int upvotes = post.getUpvotes();
+        int downvotes = post.getDownvotes();
+
+        if ("up".equals(previous)) {
+            upvotes--;
+        } else if ("down".equals(previous)) {
+            downvotes--;
+        }
+        if ("up".equals(next)) {
+            upvotes++;
+        } else if ("down".equals(next)) {
+            downvotes++;
+        }
+
+        patched.setUpvotes(Math.max(upvotes, 0));
+        patched.setDownvotes(Math.max(downvotes, 0));
+        patched.setUser_vote_type(next);
+        return patched;
+    }
+
+    /**
+     * The user's vote on the server after the request that produced {@code result}.
+     */
+    public static String serverVote(PostRepository.VoteActionResult result) {
+        if (result == null || "removed".equals(result.getAction())) {
+            return null;
+        }
+        return normalize(result.getType());
+    }
+
+    /**
+     * Record that a vote request for this post was sent. {@code confirmedVote}
+     * is the post's vote before this tap; only the first of overlapping
+     * requests records it, since later taps start from optimistic state.
+     */
+    public synchronized void begin(String postId, String confirmedVote) {
+        Pending pending = pendingVotes.get(postId);
+        if (pending == null) {
+            pending = new Pending();
+            pending.confirmedVote = normalize(confirmedVote);
+            pendingVotes.put(postId, pending);
+        }
+        pending.count++;
+    }
+
+    /**
+     * Record that a vote request for this post succeeded with {@code serverVote},
+     * which becomes the state to roll back to if a later request fails.
+     *
+     * @return true if no other vote for this post is still in flight
+     */
+    public synchronized boolean finish(String postId, String serverVote) {
+        Pending pending = pendingVotes.get(postId);
+        if (pending == null || pending.count <= 1) {
+            pendingVotes.remove(postId);
+            return true;
+        }
+        pending.count--;
+        pending.confirmedVote = normalize(serverVote);
+        return false;
+    }
+
+    /**
+     * Record that a vote request for this post failed.
+     *
+     * @return the last confirmed vote if no other vote for this post is still
+     *         in flight, otherwise null
+     */
+    public synchronized Rollback fail(String postId) {
+        Pending pending = pendingVotes.get(postId);
+        if (pending == null || pending.count <= 1) {
+            pendingVotes.remove(postId);
+            return new Rollback(pending != null ? pending.confirmedVote : null);
+        }
+        pending.count--;
+        return null;
+    }
+
+    private static String normalize(String vote) {
+        if (vote == null) {
+            return null;
+        }
+        String trimmed = vote.trim().toLowerCase();
+        return "up".equals(trimmed) || "down".equals(trimmed) ? trimmed : null;
+    }
+}
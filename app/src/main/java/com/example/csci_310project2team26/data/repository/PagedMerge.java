@@ -0,0 +1,199 @@
+package com.example.csci_310project2team26.data.repository;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+/**
+ * PagedMerge - Merges several newest-first paged sources into one
+ * newest-first sequence, fetching pages only as the merged output needs them.
+ *
+ * Every source keeps a buffer of its current page. The next item is the
+ * newest buffer head across all sources, so an item can only be handed out
+ * once every source that is not exhausted has a head to compare it with;
+ * until then the empty sources load their next page, in parallel. Showing
+ * the first n items therefore costs about one page per source plus n, no
+ * matter how long the sources are.
+ */
+public class PagedMerge<T> {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+
+    /**
+     * Loads one page of a source, newest first. {@code after} is the cursor
+     * returned with the previous page, or null for the newest page.
+     */
+    public interface Source<T> {
+        void loadPage(String after, int limit, PageCallback<T> callback);
+    }
+
+    public interface PageCallback<T> {
+        /**
+         * @param nextCursor cursor for the following page, or null on the last page
+         */
+        void onPage(List<T> items, String nextCursor);
+
+        void onError(String error);
+    }
+
+    public interface Listener<T> {
+        /**
+         * @param added    items following those already delivered, newest first
+         * @param complete true once every source is exhausted and delivered
+         */
+        void onItems(List<T> added, boolean complete);
+
+        void onError(String error);
+    }
+
+    private static final class Stream<T> {
+        final Source<T> source;
+        final ArrayDeque<T> buffer = new ArrayDeque<>();
+        String cursor;
+        boolean exhausted;
+        boolean loading;
+        boolean failed;
+
+        Stream(Source<T> source) {
+            this.source = source;
+        }
+    }
+
+    private final List<Stream<T>> streams = new ArrayList<>();
+    private final ToLongFunction<T> timestamp;
+    private final Listener<T> listener;
+    private final int pageSize;
+    private int wanted;
+    private boolean completeReported;
+    private int generation;
+
+    public PagedMerge(List<? extends Source<T>> sources, ToLongFunction<T> timestamp, Listener<T> listener) {
+        this(sources, timestamp, listener, DEFAULT_PAGE_SIZE);
+    }
+
+    public PagedMerge(List<? extends Source<T>> sources, ToLongFunction<T> timestamp,
+                      Listener<T> listener, int pageSize) {
+        for (Source<T> source : sources) {
+            streams.add(new Stream<>(source));
+        }
+        this.timestamp = timestamp;
+        this.listener = listener;
+        this.pageSize = Math.max(1, pageSize);
+    }
+
+    /**
+     * Ask for up to {@code count} more items. A request made while an earlier
+     * one is still being served does not add to it, so it is safe to call on
+     * every scroll; it does retry a source whose last load failed.
+     */
+    public synchronized void request(int count) {
+        if (count <= 0) {
+            return;
+        }
+        wanted = Math.max(wanted, count);
+        for (Stream<T> stream : streams) {
+            stream.failed = false;
+        }
+        drain();
+    }
+
+    public synchronized boolean isComplete() {
+        return completeReported;
+    }
+
+    /**
+     * Stop; pages still in flight are dropped when they arrive.
+     */
+    public synchronized void cancel() {
+        generation++;
+        wanted = 0;
+    }
+
+    private void drain() {
+        List<T> added = new ArrayList<>();
+        List<Stream<T>> toLoad = new ArrayList<>();
+        while (wanted > 0) {
+            Stream<T> newest = null;
+            for (Stream<T> stream : streams) {
+                if (stream.buffer.isEmpty()) {
+                    if (!stream.exhausted) {
+                        toLoad.add(stream);
+                    }
+                } else if (newest == null
+                        || timestamp.applyAsLong(stream.buffer.peek()) > timestamp.applyAsLong(newest.buffer.peek())) {
+                    // Ties go to the earlier source, so the order is stable
+                    newest = stream;
+                }
+            }
+            if (!toLoad.isEmpty() || newest == null) {
+                break;
+            }
+            added.add(newest.buffer.poll());
+            wanted--;
+        }
+
+        boolean complete = toLoad.isEmpty() && isDrained();
+        if (!added.isEmpty() || (complete && !completeReported)) {
+            completeReported = complete;
+            listener.onItems(added, complete);
+        }
+        if (complete) {
+            wanted = 0;
+        }
+        // Last, since a loader may answer synchronously and drain again
+        for (Stream<T> stream : toLoad) {
+            load(stream);
+        }
+    }
+
+    private boolean isDrained() {
+        for (Stream<T> stream : streams) {
+            if (!stream.exhausted || !stream.buffer.isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void load(Stream<T> stream) {
+        // Already refilled if an earlier loader answered synchronously
+        if (stream.loading || stream.failed || stream.exhausted || !stream.buffer.isEmpty()) {
+            return;
+        }
+        stream.loading = true;
+        int requestGeneration = generation;
+        String after = stream.cursor;
+        stream.source.loadPage(after, pageSize, new PageCallback<T>() {
+            @Override
+            public void onPage(List<T> items, String nextCursor) {
+                synchronized (PagedMerge.this) {
+                    if (requestGeneration != generation) {
+                        return;
+                    }
+                    stream.loading = false;
+                    if (items != null) {
+                        stream.buffer.addAll(items);
+                    }
+                    // A cursor that does not move would page forever
+                    stream.exhausted = nextCursor == null || items == null || items.isEmpty()
+                            || nextCursor.equals(after);
+                    stream.cursor = nextCursor;
+                    drain();
+                }
+            }
+
+            @Override
+            public void onError(String error) {
+                synchronized (PagedMerge.this) {
+                    if (requestGeneration != generation) {
+                        return;
+                    }
+                    stream.loading = false;
+                    stream.failed = true;
+                    listener.onError(error);
+                }
+            }
+        });
+    }
+}
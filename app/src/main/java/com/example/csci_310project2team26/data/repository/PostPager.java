@@ -0,0 +1,386 @@
+package com.example.csci_310project2team26.data.repository;
+
+import com.example.csci_310project2team26.data.model.Post;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.UnaryOperator;
+
+/**
+ * PostPager - Loads a feed page by page as the list scrolls.
+ *
+ * Only a bounded window of consecutive pages is kept in memory. Pages far
+ * from the visible range are dropped and loaded again if the user scrolls
+ * back to them. The next page is requested once the last visible row is
+ * within the prefetch distance of the end of the loaded window.
+ *
+ * When the server returns a keyset cursor with a page, the following page is
+ * requested with that cursor instead of an offset, so deep pages are as cheap
+ * as the first and new posts cannot cause duplicates or gaps between pages.
+ * Offsets remain the fallback when no cursor is known.
+ */
+public class PostPager {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int DEFAULT_MAX_PAGES = 5;
+
+    /**
+     * Fetches one page of posts. {@code after} is the cursor returned with the
+     * previous page, or null to load by absolute {@code offset}.
+     */
+    public interface PageLoader {
+        void loadPage(int offset, String after, int limit, PostRepository.Callback<PostRepository.PostsResult> callback);
+    }
+
+    public interface Listener {
+        /**
+         * @param posts       snapshot of all posts in the loaded window
+         * @param firstOffset absolute offset of the first post in the snapshot
+         */
+        void onPostsChanged(List<Post> posts, int firstOffset);
+
+        void onLoadingChanged(boolean loading);
+
+        void onError(String error);
+    }
+
+    private final PageLoader loader;
+    private final Listener listener;
+    private final int pageSize;
+    private final int maxPages;
+    private final int prefetchDistance;
+
+    private final TreeMap<Integer, List<Post>> pages = new TreeMap<>();
+    private final Set<Integer> loadingPages = new HashSet<>();
+    // Cursor that loads page N, taken from page N-1's response
+    private final Map<Integer, String> pageCursors = new HashMap<>();
+    // Pages still to reload, in order, after the page before them refreshes
+    private final Set<Integer> refreshQueue = new HashSet<>();
+    private int lastPage = -1;
+    private int generation;
+
+    public PostPager(PageLoader loader, Listener listener) {
+        this(loader, listener, DEFAULT_PAGE_SIZE, DEFAULT_MAX_PAGES);
+    }
+
+    public PostPager(PageLoader loader, Listener listener, int pageSize, int maxPages) {
+        this.loader = loader;
+        this.listener = listener;
+        this.pageSize = Math.max(1, pageSize);
+        this.maxPages = Math.max(2, maxPages);
+        this.prefetchDistance = Math.max(1, this.pageSize / 2);
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    /**
+     * Drop everything and load the first page.
+     */
+    public void reset() {
+        synchronized (this) {
+            generation++;
+            pages.clear();
+            loadingPages.clear();
+            pageCursors.clear();
+            refreshQueue.clear();
+            lastPage = -1;
+        }
+        loadPage(0);
+    }
+
+    /**
+     * Show a first page read from the disk cache while the network load
+     * started by {@link #reset} is in flight. Ignored once any page has
+     * loaded; the network page replaces it when it arrives.
+     */
+    public void showCached(List<Post> posts) {
+        synchronized (this) {
+            if (posts == null || posts.isEmpty() || !pages.isEmpty()) {
+                return;
+            }
+            pages.put(0, new ArrayList<>(posts));
+        }
+        publish();
+    }
+
+    /**
+     * Reload the pages currently in memory, keeping the scroll window.
+     * Pages reload one after another so each uses the cursor its freshly
+     * loaded predecessor returned. Starts from scratch if nothing is loaded.
+     */
+    public void refresh() {
+        Integer first = null;
+        synchronized (this) {
+            if (!pages.isEmpty()) {
+                first = pages.firstKey();
+                refreshQueue.clear();
+                refreshQueue.addAll(pages.keySet());
+                refreshQueue.remove(first);
+            }
+            // The feed may have grown since the end was reached
+            lastPage = -1;
+        }
+        if (first == null) {
+            reset();
+            return;
+        }
+        loadPage(first);
+    }
+
+    /**
+     * Report the visible adapter positions (relative to the last snapshot).
+     * Prefetches neighbouring pages and trims pages outside the window.
+     */
+    public void onVisibleRange(int firstVisible, int lastVisible) {
+        Integer toLoad = null;
+        Integer toLoadBefore = null;
+        boolean trimmed;
+        synchronized (this) {
+            if (pages.isEmpty()) {
+                return;
+            }
+            int firstPage = pages.firstKey();
+            int lastLoadedPage = pages.lastKey();
+            int firstAbsolute = firstPage * pageSize + Math.max(firstVisible, 0);
+            int lastAbsolute = firstPage * pageSize + Math.max(lastVisible, 0);
+            int loadedEnd = firstPage * pageSize + countLoaded();
+
+            if (lastAbsolute >= loadedEnd - prefetchDistance
+                    && (lastPage < 0 || lastLoadedPage < lastPage)) {
+                toLoad = lastLoadedPage + 1;
+            }
+            if (firstPage > 0 && firstAbsolute < firstPage * pageSize + prefetchDistance) {
+                toLoadBefore = firstPage - 1;
+            }
+
+            int centerPage = ((firstAbsolute + lastAbsolute) / 2) / pageSize;
+            trimmed = trimAround(centerPage, maxPages);
+        }
+        if (trimmed) {
+            publish();
+        }
+        if (toLoad != null) {
+            loadPage(toLoad);
+        }
+        if (toLoadBefore != null) {
+            loadPage(toLoadBefore);
+        }
+    }
+
+    /**
+     * Keep only the pages around the visible range; called under memory pressure.
+     */
+    public void trimToVisible(int firstVisible, int lastVisible) {
+        boolean trimmed;
+        synchronized (this) {
+            if (pages.isEmpty()) {
+                return;
+            }
+            int firstPage = pages.firstKey();
+            int centerAbsolute = firstPage * pageSize + (Math.max(firstVisible, 0) + Math.max(lastVisible, 0)) / 2;
+            trimmed = trimAround(centerAbsolute / pageSize, 3);
+        }
+        if (trimmed) {
+            publish();
+        }
+    }
+
+    /**
+     * @return the post with this ID if it is in the loaded window
+     */
+    public synchronized Post findPost(String postId) {
+        for (List<Post> page : pages.values()) {
+            for (Post post : page) {
+                if (post != null && postId.equals(post.getId())) {
+                    return post;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Replace every loaded copy of a post with {@code patch.apply(post)}.
+     */
+    public void updatePost(String postId, UnaryOperator<Post> patch) {
+        boolean changed = false;
+        synchronized (this) {
+            for (Map.Entry<Integer, List<Post>> entry : pages.entrySet()) {
+                List<Post> page = entry.getValue();
+                for (int i = 0; i < page.size(); i++) {
+                    Post post = page.get(i);
+                    if (post != null && postId.equals(post.getId())) {
+                        Post patched = patch.apply(post);
+                        if (patched == post) {
+                            continue;
+                        }
+                        List<Post> updated = new ArrayList<>(page);
+                        updated.set(i, patched);
+                        entry.setValue(updated);
+                        page = updated;
+                        changed = true;
+                    }
+                }
+            }
+        }
+        if (changed) {
+            publish();
+        }
+    }
+
+    /**
+     * Apply {@code patch} to every loaded page and publish once if any page
+     * came back as a different list.
+     */
+    public void patchPages(UnaryOperator<List<Post>> patch) {
+        boolean changed = false;
+        synchronized (this) {
+            for (Map.Entry<Integer, List<Post>> entry : pages.entrySet()) {
+                List<Post> patched = patch.apply(entry.getValue());
+                if (patched != entry.getValue()) {
+                    entry.setValue(patched);
+                    changed = true;
+                }
+            }
+        }
+        if (changed) {
+            publish();
+        }
+    }
+
+    public void removePost(String postId) {
+        boolean changed = false;
+        synchronized (this) {
+            for (Map.Entry<Integer, List<Post>> entry : pages.entrySet()) {
+                List<Post> updated = new ArrayList<>(entry.getValue());
+                if (updated.removeIf(post -> post != null && postId.equals(post.getId()))) {
+                    entry.setValue(updated);
+                    changed = true;
+                }
+            }
+        }
+        if (changed) {
+            publish();
+        }
+    }
+
+    private void loadPage(int page) {
+        final int requestGeneration;
+        final String after;
+        synchronized (this) {
+            if (loadingPages.contains(page) || (lastPage >= 0 && page > lastPage)) {
+                return;
+            }
+            loadingPages.add(page);
+            requestGeneration = generation;
+            after = page > 0 ? pageCursors.get(page) : null;
+        }
+        listener.onLoadingChanged(true);
+
+        loader.loadPage(page * pageSize, after, pageSize, new PostRepository.Callback<PostRepository.PostsResult>() {
+            @Override
+            public void onSuccess(PostRepository.PostsResult result) {
+                List<Post> posts = result != null && result.getPosts() != null
+                        ? result.getPosts() : new ArrayList<>();
+                boolean idle;
+                boolean continueRefresh;
+                synchronized (PostPager.this) {
+                    if (requestGeneration != generation) {
+                        return;
+                    }
+                    loadingPages.remove(page);
+                    String nextCursor = result != null ? result.getNextCursor() : null;
+                    if (nextCursor != null) {
+                        pageCursors.put(page + 1, nextCursor);
+                    } else {
+                        pageCursors.remove(page + 1);
+                    }
+                    continueRefresh = refreshQueue.remove(page + 1);
+                    if (posts.size() < pageSize) {
+                        lastPage = page;
+                        // Anything past the short page no longer exists
+                        pages.tailMap(page, false).clear();
+                        refreshQueue.clear();
+                        continueRefresh = false;
+                    }
+                    if (!pages.isEmpty() && !isAdjacent(page)) {
+                        // Jumped away from the window (e.g. trimmed while loading); restart it here
+                        pages.clear();
+                    }
+                    pages.put(page, new ArrayList<>(posts));
+                    trimAround(page, maxPages);
+                    idle = loadingPages.isEmpty() && !continueRefresh;
+                }
+                listener.onLoadingChanged(!idle);
+                publish();
+                if (continueRefresh) {
+                    loadPage(page + 1);
+                }
+            }
+
+            @Override
+            public void onError(String error) {
+                boolean idle;
+                synchronized (PostPager.this) {
+                    if (requestGeneration != generation) {
+                        return;
+                    }
+                    loadingPages.remove(page);
+                    refreshQueue.clear();
+                    idle = loadingPages.isEmpty();
+                }
+                listener.onLoadingChanged(!idle);
+                listener.onError(error);
+            }
+        });
+    }
+
+    private boolean isAdjacent(int page) {
+        return page >= pages.firstKey() - 1 && page <= pages.lastKey() + 1;
+    }
+
+    /**
+     * Drop pages until at most {@code keep} remain, removing the ones farthest from the center.
+     */
+    private boolean trimAround(int centerPage, int keep) {
+        boolean trimmed = false;
+        while (pages.size() > keep) {
+            int first = pages.firstKey();
+            int last = pages.lastKey();
+            if (Math.abs(centerPage - first) > Math.abs(last - centerPage)) {
+                pages.remove(first);
+            } else {
+                pages.remove(last);
+            }
+            trimmed = true;
+        }
+        return trimmed;
+    }
+
+    private int countLoaded() {
+        int count = 0;
+        for (List<Post> page : pages.values()) {
+            count += page.size();
+        }
+        return count;
+    }
+
+    private void publish() {
+        // Snapshot and delivery share the lock so listeners never see an older window last
+        synchronized (this) {
+            List<Post> snapshot = new ArrayList<>();
+            int firstOffset = pages.isEmpty() ? 0 : pages.firstKey() * pageSize;
+            for (List<Post> page : pages.values()) {
+                snapshot.addAll(page);
+            }
+            listener.onPostsChanged(snapshot, firstOffset);
+        }
+    }
+}
@@ -1,13 +1,21 @@
 package com.example.csci_310project2team26.data.repository;
 
+import com.example.csci_310project2team26.data.local.FeedDiskCache;
 import com.example.csci_310project2team26.data.model.Post;
+import com.example.csci_310project2team26.data.model.PostSummary;
 import com.example.csci_310project2team26.data.network.ApiService;
 import com.example.csci_310project2team26.data.repository.SessionManager;
+import com.example.csci_310project2team26.util.IsoTimestamps;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
 import retrofit2.Response;
 
@@ -22,12 +30,18 @@ public class PostRepository {
         private final int count;
         private final int limit;
         private final int offset;
+        private final String nextCursor;
 
         public PostsResult(List<Post> posts, int count, int limit, int offset) {
+            this(posts, count, limit, offset, null);
+        }
+
+        public PostsResult(List<Post> posts, int count, int limit, int offset, String nextCursor) {
             this.posts = posts;
             this.count = count;
             this.limit = limit;
             this.offset = offset;
+            this.nextCursor = nextCursor;
         }
 
         public List<Post> getPosts() {
@@ -45,6 +59,13 @@ public class PostRepository {
         public int getOffset() {
             return offset;
         }
+
+        /**
+         * @return cursor to pass to {@link #fetchPostsAfter} for the next page, or null
+         */
+        public String getNextCursor() {
+            return nextCursor;
+        }
     }
 
     public static class VoteActionResult {
@@ -71,12 +92,36 @@ public class PostRepository {
         }
     }
 
+    private static final SingleFlight<Post> POST_LOADS = new SingleFlight<>();
+    private static final PostSearchIndex SEARCH_INDEX = PostSearchIndex.get();
+    private static final SearchResultCache SEARCH_CACHE = new SearchResultCache();
+    private static final PostSummaryCache SUMMARY_CACHE = new PostSummaryCache();
+    static final int MAX_SUMMARY_IDS_PER_REQUEST = 100;
+    // Session version whose disk cache has been read into the search index
+    private static final AtomicLong SEARCH_INDEX_SEEDED = new AtomicLong(Long.MIN_VALUE);
+
+    /**
+     * Where feed pages are saved for showing on the next cold start.
+     */
+    interface FeedPageStore {
+        void putFeedPage(String feedKey, int offset, List<Post> posts);
+    }
+
+    private static final FeedPageStore DISK_FEED_PAGES = (feedKey, offset, posts) -> {
+        FeedDiskCache diskCache = FeedDiskCache.get();
+        if (diskCache != null) {
+            diskCache.putFeedPage(feedKey, offset, posts);
+        }
+    };
+    private static volatile FeedPageStore feedPageStore = DISK_FEED_PAGES;
+
     private final ApiService apiService;
-    private final ExecutorService executorService;
+    private final IoDispatcher dispatcher;
 
     public PostRepository() {
         this.apiService = ApiService.getInstance();
-        this.executorService = Executors.newSingleThreadExecutor();
+        this.dispatcher = IoDispatcher.getInstance();
+        seedSearchIndex();
     }
 
     public interface Callback<T> {
@@ -84,6 +129,87 @@ public class PostRepository {
         void onError(String error);
     }
 
+    /**
+     * Save feed pages somewhere other than the disk cache, e.g. a recording
+     * store in tests. Pass null to restore the disk cache.
+     */
+    static void setFeedPageStore(FeedPageStore store) {
+        feedPageStore = store != null ? store : DISK_FEED_PAGES;
+    }
+
+    /**
+     * Put loaded posts into the shared store and the search index. New posts
+     * are not announced by the store, so they are indexed here; edits and
+     * deletes reach the index through its store listener.
+     */
+    static void storePosts(List<Post> posts) {
+        EntityStore.posts().putAll(posts);
+        SEARCH_INDEX.indexAll(posts);
+        SUMMARY_CACHE.putPosts(posts);
+    }
+
+    /**
+     * Record the title of an edited or reverted post, in memory and on disk,
+     * whether or not the post itself is in the store.
+     */
+    static void storeSummary(Post post) {
+        if (post == null || post.getId() == null) {
+            return;
+        }
+        PostSummary summary = PostSummaryCache.summaryOf(post);
+        SUMMARY_CACHE.put(summary);
+        FeedDiskCache diskCache = FeedDiskCache.get();
+        if (diskCache != null) {
+            diskCache.putPostSummaries(Collections.singletonList(summary));
+        }
+    }
+
+    /**
+     * Forget cached search pages listing this post after it was deleted.
+     */
+    static void invalidateCachedSearches(String postId) {
+        SEARCH_CACHE.invalidatePost(postId);
+    }
+
+    /**
+     * Forget cached search pages listing this post, or that its edited or
+     * reverted content now matches.
+     */
+    static void invalidateCachedSearches(String postId, Post edited) {
+        SEARCH_CACHE.invalidatePost(postId, edited);
+    }
+
+    /**
+     * The stored copy of each post where there is one, so cached search
+     * results show current votes and counts.
+     */
+    private static List<Post> freshCopies(List<Post> posts) {
+        EntityStore<Post> store = EntityStore.posts();
+        List<Post> fresh = new ArrayList<>(posts.size());
+        for (Post post : posts) {
+            Post stored = store.get(post.getId());
+            fresh.add(stored != null ? stored : post);
+        }
+        return fresh;
+    }
+
+    // For prompt_tag search type, don't pass is_prompt_post as it's handled by the search_type
+    private static Boolean searchPromptFilter(String searchType, Boolean isPromptPost) {
+        return !"prompt_tag".equals(searchType) ? isPromptPost : null;
+    }
+
+    /**
+     * Read the posts saved on disk into the search index, once per session.
+     */
+    private void seedSearchIndex() {
+        FeedDiskCache diskCache = FeedDiskCache.get();
+        long session = SessionManager.getSessionVersion();
+        if (diskCache == null || SEARCH_INDEX_SEEDED.getAndSet(session) == session) {
+            return;
+        }
+        dispatcher.execute(() -> SEARCH_INDEX.indexAll(diskCache.getAllPosts()));
+    }
+
     /**
      * Fetch posts with optional filtering and sorting
      */
@@ -92,7 +218,44 @@ public class PostRepository {
                            Integer offset,
                            Boolean isPromptPost,
                            Callback<PostsResult> callback) {
-        executorService.execute(() -> {
+        fetchPostsPage(sort, limit, offset, null, isPromptPost, null, callback);
+    }
+
+    /**
+     * Fetch the page that follows {@code after}, a cursor returned by a previous
+     * page's {@link PostsResult#getNextCursor()}. Cost does not grow with depth and
+     * posts created in the meantime cannot shift the page boundaries.
+     */
+    public void fetchPostsAfter(String sort,
+                                Integer limit,
+                                String after,
+                                Boolean isPromptPost,
+                                Callback<PostsResult> callback) {
+        fetchPostsPage(sort, limit, null, after, isPromptPost, null, callback);
+    }
+
+    /**
+     * Fetch one page of a user's posts, newest first. Pass the previous page's
+     * {@link PostsResult#getNextCursor()} as {@code after}, or null for the
+     * newest page. The activity feed in
+     * {@link com.example.csci_310project2team26.ui.notifications.NotificationsViewModel}
+     * pages through it as one {@link PagedMerge} source.
+     */
+    public void fetchPostsByAuthor(String authorId,
+                                   Integer limit,
+                                   String after,
+                                   Callback<PostsResult> callback) {
+        fetchPostsPage("newest", limit, null, after, null, authorId, callback);
+    }
+
+    private void fetchPostsPage(String sort,
+                                Integer limit,
+                                Integer offset,
+                                String after,
+                                Boolean isPromptPost,
+                                String authorId,
+                                Callback<PostsResult> callback) {
+        dispatcher.execute(() -> {
             try {
                 String token = SessionManager.getToken();
                 String authHeader = token != null ? "Bearer " + token : null;
@@ -101,8 +264,10 @@ public class PostRepository {
                     authHeader,
                     sort != null ? sort : "newest",
                     limit != null ? limit : 50,
-                    offset != null ? offset : 0,
-                    isPromptPost
+                    after != null ? null : (offset != null ? offset : 0),
+                    isPromptPost,
+                    after,
+                    authorId
                 );
                 
                 Response<ApiService.PostsResponse> response = call.execute();
@@ -112,16 +277,26 @@ public class PostRepository {
                     List<Post> posts = postsResponse.posts != null ? postsResponse.posts : new ArrayList<>();
                     int count = postsResponse.count;
                     
+                    storePosts(posts);
+                    // Feed keys do not include an author, so only feed pages are saved. Cursor
+                    // pages have no offset; saving them would replace the first page
+                    if (authorId == null && after == null) {
+                        feedPageStore.putFeedPage(FeedDiskCache.feedKey(sort, isPromptPost),
+                                offset != null ? offset : 0, posts);
+                    }
                     callback.onSuccess(new PostsResult(
                         posts,
                         count,
                         limit != null ? limit : 50,
-                        offset != null ? offset : 0
+                        offset != null ? offset : 0,
+                        postsResponse.next_cursor
                     ));
                 } else {
                     String errorMsg = "Failed to load posts";
                     if (response.code() == 401) {
                         errorMsg = "Authentication required";
+                    } else if (response.code() == 400 && after != null) {
+                        errorMsg = "Invalid page cursor";
                     } else if (response.code() == 500) {
                         errorMsg = "Server error";
                     }
@@ -134,47 +309,124 @@ public class PostRepository {
     }
 
     /**
-     * Search posts
+     * Read a feed page saved by an earlier {@link #fetchPosts} from the disk
+     * cache, for showing while the network load is in flight. Reports an
+     * error when nothing usable is cached.
      */
-    public void searchPosts(String query,
-                            String searchType,
-                            String sort,
-                            Integer limit,
-                            Integer offset,
-                            Boolean isPromptPost,
-                            Callback<PostsResult> callback) {
-        executorService.execute(() -> {
-            try {
-                // For prompt_tag search type, don't pass is_prompt_post as it's handled by the search_type
-                Boolean promptFilter = null;
-                if (searchType != null && !"prompt_tag".equals(searchType) && isPromptPost != null) {
-                    promptFilter = isPromptPost;
-                }
+    public void getCachedPosts(String sort,
+                               Integer limit,
+                               Integer offset,
+                               Boolean isPromptPost,
+                               Callback<PostsResult> callback) {
+        dispatcher.execute(() -> {
+            FeedDiskCache diskCache = FeedDiskCache.get();
+            List<Post> posts = diskCache != null
+                    ? diskCache.getFeedPage(FeedDiskCache.feedKey(sort, isPromptPost), offset != null ? offset : 0)
+                    : null;
+            if (posts == null) {
+                callback.onError("No cached posts");
+                return;
+            }
+            SEARCH_INDEX.indexAll(posts);
+            callback.onSuccess(new PostsResult(
+                posts,
+                posts.size(),
+                limit != null ? limit : 50,
+                offset != null ? offset : 0
+            ));
+        });
+    }
+
+    /**
+     * Search the posts loaded so far on this device, without a network call.
+     * Matches narrowed from a cached search for a broader query come first,
+     * in server order, then matches from the search index. Takes
+     * milliseconds, so it may run on the calling thread.
+     */
+    public List<Post> searchLocal(String query, String searchType, String sort, Boolean isPromptPost, int limit) {
+        String type = searchType != null ? searchType : "full_text";
+        List<Post> results = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        List<Post> narrowed = SEARCH_CACHE.narrow(query, type, searchPromptFilter(type, isPromptPost), sort);
+        if (narrowed != null) {
+            addUnseen(freshCopies(narrowed), results, seen, limit);
+        }
+        addUnseen(SEARCH_INDEX.search(query, type, isPromptPost, limit), results, seen, limit);
+        return results;
+    }
+
+    private static void addUnseen(List<Post> posts, List<Post> results, Set<String> seen, int limit) {
+        for (Post post : posts) {
+            if (results.size() >= limit) {
+                return;
+            }
+            if (post != null && seen.add(post.getId())) {
+                results.add(post);
+            }
+        }
+    }
+
+    /**
+     * Search posts. Pages fetched within the last minute are answered from
+     * {@link SearchResultCache} without a request, on the calling thread.
+     * Cancelling the returned handle aborts the request and suppresses the
+     * callback.
+     */
+    public Cancellable searchPosts(String query,
+                                   String searchType,
+                                   String sort,
+                                   Integer limit,
+                                   Integer offset,
+                                   Boolean isPromptPost,
+                                   Callback<PostsResult> callback) {
+        String type = searchType != null ? searchType : "full_text";
+        Boolean promptFilter = searchPromptFilter(type, isPromptPost);
+        int pageLimit = limit != null ? limit : 50;
+        int pageOffset = offset != null ? offset : 0;
+        List<Post> cached = SEARCH_CACHE.get(query, type, promptFilter, sort, pageLimit, pageOffset);
+        if (cached != null) {
+            callback.onSuccess(new PostsResult(freshCopies(cached), cached.size(), pageLimit, pageOffset));
+            return Cancellable.NONE;
+        }
 
+        CallHandle handle = new CallHandle();
+        dispatcher.execute(() -> {
+            if (handle.isCancelled()) {
+                return;
+            }
+            try {
                 String token = SessionManager.getToken();
                 String authHeader = token != null ? "Bearer " + token : null;
 
                 retrofit2.Call<ApiService.PostsResponse> call = apiService.searchPosts(
                     authHeader,
                     query,
-                    searchType != null ? searchType : "full_text",
-                    limit != null ? limit : 50,
-                    offset != null ? offset : 0,
+                    type,
+                    pageLimit,
+                    pageOffset,
                     promptFilter
                 );
+                if (!handle.attach(call)) {
+                    return;
+                }
                 
                 Response<ApiService.PostsResponse> response = call.execute();
+                if (handle.isCancelled()) {
+                    return;
+                }
                 
                 if (response.isSuccessful() && response.body() != null) {
                     ApiService.PostsResponse postsResponse = response.body();
                     List<Post> posts = postsResponse.posts != null ? postsResponse.posts : new ArrayList<>();
                     int count = postsResponse.count;
                     
+                    storePosts(posts);
+                    SEARCH_CACHE.put(query, type, promptFilter, sort, pageLimit, pageOffset, posts);
                     callback.onSuccess(new PostsResult(
                         posts,
                         count,
-                        limit != null ? limit : 50,
-                        offset != null ? offset : 0
+                        pageLimit,
+                        pageOffset
                     ));
                 } else {
                     String errorMsg = "Failed to search posts";
@@ -184,34 +436,140 @@ public class PostRepository {
                     callback.onError(errorMsg);
                 }
             } catch (Exception e) {
+                if (handle.isCancelled()) {
+                    // The aborted exchange surfaces as an IOException; nobody is waiting for it
+                    return;
+                }
                 callback.onError(e.getMessage() != null ? e.getMessage() : "Network error");
             }
         });
+        return handle;
     }
 
     /**
-     * Get single post by ID
+     * Resolve the title and type of many posts, keyed by post ID. Titles known
+     * in memory, in the store or on disk are used first; the rest are fetched
+     * with one request per {@link #MAX_SUMMARY_IDS_PER_REQUEST} IDs and
+     * remembered. Deleted posts are missing from the result. Reports an error
+     * only when a request failed and nothing could be resolved.
      */
-    public void getPostById(String postId, Callback<Post> callback) {
-        executorService.execute(() -> {
+    public void fetchPostSummaries(List<String> postIds, Callback<Map<String, PostSummary>> callback) {
+        dispatcher.execute(() -> {
+            Set<String> wanted = new LinkedHashSet<>();
+            if (postIds != null) {
+                for (String postId : postIds) {
+                    if (postId != null && !postId.isEmpty()) {
+                        wanted.add(postId);
+                    }
+                }
+            }
+            Map<String, PostSummary> resolved = new HashMap<>(SUMMARY_CACHE.getAll(wanted));
+            List<String> missing = new ArrayList<>();
+            for (String postId : wanted) {
+                if (resolved.containsKey(postId)) {
+                    continue;
+                }
+                Post stored = EntityStore.posts().get(postId);
+                if (stored != null) {
+                    PostSummary summary = PostSummaryCache.summaryOf(stored);
+                    SUMMARY_CACHE.put(summary);
+                    resolved.put(postId, summary);
+                } else {
+                    missing.add(postId);
+                }
+            }
+
+            FeedDiskCache diskCache = FeedDiskCache.get();
+            if (!missing.isEmpty() && diskCache != null) {
+                Map<String, PostSummary> saved = diskCache.getPostSummaries(missing);
+                SUMMARY_CACHE.putAll(saved.values());
+                resolved.putAll(saved);
+                missing.removeAll(saved.keySet());
+            }
+
+            String failure = null;
             try {
                 String token = SessionManager.getToken();
                 String authHeader = token != null ? "Bearer " + token : null;
-
-                retrofit2.Call<ApiService.PostResponse> call = apiService.getPostById(authHeader, postId);
-                Response<ApiService.PostResponse> response = call.execute();
-                
-                if (response.isSuccessful() && response.body() != null && response.body().post != null) {
-                    callback.onSuccess(response.body().post);
-                } else {
-                    callback.onError("Post not found");
+                for (int start = 0; start < missing.size(); start += MAX_SUMMARY_IDS_PER_REQUEST) {
+                    List<String> chunk = missing.subList(start, Math.min(missing.size(), start + MAX_SUMMARY_IDS_PER_REQUEST));
+                    Response<ApiService.PostSummariesResponse> response =
+                            apiService.getPostSummaries(authHeader, String.join(",", chunk)).execute();
+                    if (!response.isSuccessful() || response.body() == null) {
+                        failure = "Failed to load post titles";
+                        break;
+                    }
+                    List<PostSummary> fetched = response.body().summaries != null
+                            ? response.body().summaries : new ArrayList<>();
+                    SUMMARY_CACHE.putAll(fetched);
+                    if (diskCache != null) {
+                        diskCache.putPostSummaries(fetched);
+                    }
+                    for (PostSummary summary : fetched) {
+                        if (summary != null && summary.getId() != null) {
+                            resolved.put(summary.getId(), summary);
+                        }
+                    }
                 }
             } catch (Exception e) {
-                callback.onError(e.getMessage() != null ? e.getMessage() : "Network error");
+                failure = e.getMessage() != null ? e.getMessage() : "Network error";
+            }
+
+            if (failure != null && resolved.isEmpty()) {
+                callback.onError(failure);
+            } else {
+                callback.onSuccess(resolved);
             }
         });
     }
 
+    /**
+     * Get single post by ID
+     */
+    public void getPostById(String postId, Callback<Post> callback) {
+        String token = SessionManager.getToken();
+        // Concurrent loads of the same post by the same user share one request
+        POST_LOADS.run(postId + "|" + token, callback::onSuccess, callback::onError, result ->
+            dispatcher.execute(() -> {
+                try {
+                    String authHeader = token != null ? "Bearer " + token : null;
+
+                    retrofit2.Call<ApiService.PostResponse> call = apiService.getPostById(authHeader, postId);
+                    Response<ApiService.PostResponse> response = call.execute();
+                    
+                    if (response.isSuccessful() && response.body() != null && response.body().post != null) {
+                        storePosts(Collections.singletonList(response.body().post));
+                        FeedDiskCache diskCache = FeedDiskCache.get();
+                        if (diskCache != null) {
+                            diskCache.putPost(response.body().post);
+                        }
+                        result.onSuccess(response.body().post);
+                    } else {
+                        result.onError("Post not found");
+                    }
+                } catch (Exception e) {
+                    result.onError(e.getMessage() != null ? e.getMessage() : "Network error");
+                }
+            }));
+    }
+
+    /**
+     * Read the post detail saved by an earlier {@link #getPostById} from the
+     * disk cache. Reports an error when nothing usable is cached.
+     */
+    public void getCachedPost(String postId, Callback<Post> callback) {
+        dispatcher.execute(() -> {
+            FeedDiskCache diskCache = FeedDiskCache.get();
+            Post post = diskCache != null ? diskCache.getPost(postId) : null;
+            if (post == null) {
+                callback.onError("No cached post");
+                return;
+            }
+            SEARCH_INDEX.index(post);
+            callback.onSuccess(post);
+        });
+    }
+
     /**
      * Create new post
      */
@@ -223,7 +581,7 @@ public class PostRepository {
                            String descriptionSection,
                            boolean anonymous,
                            Callback<Post> callback) {
-        executorService.execute(() -> {
+        dispatcher.execute(() -> {
             try {
                 String token = SessionManager.getToken();
                 if (token == null) {
@@ -283,6 +641,9 @@ public class PostRepository {
                 Response<ApiService.PostResponse> response = call.execute();
                 
                 if (response.isSuccessful() && response.body() != null && response.body().post != null) {
+                    storePosts(Collections.singletonList(response.body().post));
+                    // The new post may match any cached search
+                    SEARCH_CACHE.clear();
                     callback.onSuccess(response.body().post);
                 } else {
                     String errorMsg = "Failed to create post";
@@ -316,7 +677,7 @@ public class PostRepository {
      * Vote on a post
      */
     public void votePost(String postId, String type, Callback<VoteActionResult> callback) {
-        executorService.execute(() -> {
+        dispatcher.execute("post:" + postId, () -> {
             try {
                 String token = SessionManager.getToken();
                 if (token == null) {
@@ -375,47 +736,6 @@ public class PostRepository {
         });
     }
 
-    /**
-     * Fetch posts for a specific user (search by author)
-     */
-    public void fetchPostsForUser(String userId, Callback<List<Post>> callback) {
-        executorService.execute(() -> {
-            try {
-                // Search for posts by author name (we'll need to get user name first or search)
-                // For now, we'll fetch all posts and filter - not ideal but works
-                String token = SessionManager.getToken();
-                String authHeader = token != null ? "Bearer " + token : null;
-
-                retrofit2.Call<ApiService.PostsResponse> call = apiService.getPosts(
-                    authHeader,
-                    "newest",
-                    100,
-                    0,
-                    null
-                );
-                
-                Response<ApiService.PostsResponse> response = call.execute();
-                
-                if (response.isSuccessful() && response.body() != null) {
-                    List<Post> allPosts = response.body().posts != null ? response.body().posts : new ArrayList<>();
-                    List<Post> userPosts = new ArrayList<>();
-                    
-                    for (Post post : allPosts) {
-                        if (userId.equals(post.getAuthor_id())) {
-                            userPosts.add(post);
-                        }
-                    }
-                    
-                    callback.onSuccess(userPosts);
-                } else {
-                    callback.onError("Failed to load user posts");
-                }
-            } catch (Exception e) {
-                callback.onError(e.getMessage() != null ? e.getMessage() : "Network error");
-            }
-        });
-    }
-
     /**
      * Update a post
      */
@@ -428,7 +748,7 @@ public class PostRepository {
                            String descriptionSection,
                            boolean anonymous,
                            Callback<Post> callback) {
-        executorService.execute(() -> {
+        dispatcher.execute("post:" + postId, () -> {
             try {
                 String token = SessionManager.getToken();
                 if (token == null) {
@@ -472,7 +792,16 @@ public class PostRepository {
                 Response<ApiService.PostResponse> response = call.execute();
                 
                 if (response.isSuccessful() && response.body() != null && response.body().post != null) {
-                    callback.onSuccess(response.body().post);
+                    // Covers the post and its version history
+                    ApiService.Factory.invalidateCache("api/posts/" + postId);
+                    Post edited = response.body().post;
+                    invalidateCachedSearches(postId, edited);
+                    if (EntityStore.posts().update(postId, stored -> withEditedContent(stored, edited)) == null) {
+                        // Not in the store, so the index cannot hear about it; drop the old text
+                        SEARCH_INDEX.remove(postId);
+                    }
+                    storeSummary(edited);
+                    callback.onSuccess(edited);
                 } else {
                     String errorMsg = "Failed to update post";
                     if (response.code() == 401) {
@@ -494,7 +823,7 @@ public class PostRepository {
      * Delete a post
      */
     public void deletePost(String postId, Callback<Void> callback) {
-        executorService.execute(() -> {
+        dispatcher.execute("post:" + postId, () -> {
             try {
                 String token = SessionManager.getToken();
                 if (token == null) {
@@ -510,6 +839,13 @@ public class PostRepository {
                 Response<Void> response = call.execute();
                 
                 if (response.isSuccessful()) {
+                    EntityStore.posts().remove(postId);
+                    invalidateCachedSearches(postId);
+                    SUMMARY_CACHE.remove(postId);
+                    FeedDiskCache diskCache = FeedDiskCache.get();
+                    if (diskCache != null) {
+                        diskCache.removePost(postId);
+                    }
                     callback.onSuccess(null);
                 } else {
                     String errorMsg = "Failed to delete post";
@@ -535,7 +871,7 @@ public class PostRepository {
                                   Integer limit,
                                   Integer offset,
                                   Callback<PostsResult> callback) {
-        executorService.execute(() -> {
+        dispatcher.execute(() -> {
             try {
                 String token = SessionManager.getToken();
                 String authHeader = token != null ? "Bearer " + token : null;
@@ -554,6 +890,7 @@ public class PostRepository {
                     List<Post> posts = postsResponse.posts != null ? postsResponse.posts : new ArrayList<>();
                     int count = postsResponse.count;
                     
+                    storePosts(posts);
                     callback.onSuccess(new PostsResult(
                         posts,
                         count,
@@ -573,7 +910,7 @@ public class PostRepository {
      * Get trending posts
      */
     public void fetchTrendingPosts(Integer k, Callback<PostsResult> callback) {
-        executorService.execute(() -> {
+        dispatcher.execute(() -> {
             try {
                 String token = SessionManager.getToken();
                 String authHeader = token != null ? "Bearer " + token : null;
@@ -590,6 +927,7 @@ public class PostRepository {
                     List<Post> posts = postsResponse.posts != null ? postsResponse.posts : new ArrayList<>();
                     int count = postsResponse.count;
                     
+                    storePosts(posts);
                     callback.onSuccess(new PostsResult(
                         posts,
                         count,
@@ -604,4 +942,23 @@ public class PostRepository {
             }
         });
     }
+
+    /**
+     * The update and revert endpoints return only the editable columns, so
+     * keep counts, author name and the user's vote from the stored copy.
+     */
+    static Post withEditedContent(Post stored, Post edited) {
+        Post merged = new Post(stored);
+        merged.setTitle(edited.getTitle());
+        merged.setContent(edited.getContent());
+        merged.setPrompt_section(edited.getPrompt_section());
+        merged.setDescription_section(edited.getDescription_section());
+        merged.setLlm_tag(edited.getLlm_tag());
+        merged.setIs_prompt_post(edited.isIs_prompt_post());
+        merged.setAnonymous(edited.isAnonymous());
+        if (edited.getUpdatedAtMillis() != IsoTimestamps.INVALID) {
+            merged.setUpdatedAtMillis(edited.getUpdatedAtMillis());
+        }
+        return merged;
+    }
 }
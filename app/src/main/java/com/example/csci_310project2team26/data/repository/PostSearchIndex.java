@@ -0,0 +1,346 @@
+package com.example.csci_310project2team26.data.repository;
+
+import com.example.csci_310project2team26.data.model.Post;
+import com.example.csci_310project2team26.util.IsoTimestamps;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * PostSearchIndex - In-memory inverted index over every post the app has
+ * loaded, so search answers instantly and keeps working offline.
+ *
+ * Title, content, prompt and description sections, tag and author name are
+ * tokenized into separate fields so each search type looks only at the
+ * fields the server's query for that type looks at. Matches are ranked with
+ * BM25; the last query word also matches as a prefix, so results keep up
+ * while a word is being typed.
+ *
+ * Repositories add every post they load or read from the disk cache through
+ * {@link #indexAll}. Edits and deletes arrive through {@link EntityStore#posts()},
+ * which announces replaced and removed records. Once
+ * {@link #DEFAULT_MAX_DOCUMENTS} posts are indexed, the least recently
+ * indexed are dropped.
+ */
+public final class PostSearchIndex {
+
+    public static final int DEFAULT_MAX_DOCUMENTS = 2000;
+
+    static final int FIELD_TITLE = 0;
+    static final int FIELD_CONTENT = 1;
+    static final int FIELD_PROMPT = 2;
+    static final int FIELD_DESCRIPTION = 3;
+    static final int FIELD_TAG = 4;
+    static final int FIELD_AUTHOR = 5;
+    private static final int FIELD_COUNT = 6;
+
+    private static final int[] FULL_TEXT_FIELDS = { FIELD_TITLE, FIELD_CONTENT, FIELD_PROMPT, FIELD_DESCRIPTION };
+    private static final int[] TAG_FIELDS = { FIELD_TAG };
+    private static final int[] AUTHOR_FIELDS = { FIELD_AUTHOR };
+    private static final int[] TITLE_FIELDS = { FIELD_TITLE };
+
+    // A hit in the title says more about a post than one deep in its content
+    private static final double[] FIELD_WEIGHTS = { 2.0, 1.0, 1.0, 1.0, 1.5, 1.0 };
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private static final PostSearchIndex INSTANCE = new PostSearchIndex(DEFAULT_MAX_DOCUMENTS);
+
+    static {
+        EntityStore.posts().addListener(INSTANCE::onPostsStored);
+    }
+
+    public static PostSearchIndex get() {
+        return INSTANCE;
+    }
+
+    private static final class Document {
+        final Post post;
+        final String[] texts;
+        final int[] lengths;
+        final long createdAt;
+
+        Document(Post post, String[] texts, int[] lengths) {
+            this.post = post;
+            this.texts = texts;
+            this.lengths = lengths;
+            long created = post.getCreatedAtMillis();
+            this.createdAt = created != IsoTimestamps.INVALID ? created : 0L;
+        }
+    }
+
+    private final int maxDocuments;
+    // Insertion ordered so the least recently indexed post is evicted first
+    private final LinkedHashMap<String, Document> documents = new LinkedHashMap<>();
+    // Per field: term -> post ID -> term frequency. Sorted so prefixes are a range.
+    private final List<TreeMap<String, Map<String, Integer>>> postings = new ArrayList<>(FIELD_COUNT);
+    private final long[] totalLengths = new long[FIELD_COUNT];
+    private long sessionVersion = SessionManager.getSessionVersion();
+
+    PostSearchIndex(int maxDocuments) {
+        this.maxDocuments = Math.max(1, maxDocuments);
+        for (int field = 0; field < FIELD_COUNT; field++) {
+            postings.add(new TreeMap<>());
+        }
+    }
+
+    /**
+     * Add or refresh a post. Posts whose text did not change are not re-tokenized.
+     */
+    public synchronized void index(Post post) {
+        if (post == null || post.getId() == null) {
+            return;
+        }
+        ensureCurrentSession();
+        indexLocked(post);
+    }
+
+    public synchronized void indexAll(List<Post> posts) {
+        if (posts == null) {
+            return;
+        }
+        ensureCurrentSession();
+        for (Post post : posts) {
+            if (post != null && post.getId() != null) {
+                indexLocked(post);
+            }
+        }
+    }
+
+    public synchronized void remove(String postId) {
+        if (postId != null) {
+            removeLocked(postId);
+        }
+    }
+
+    public synchronized int size() {
+        return documents.size();
+    }
+
+    public synchronized void clear() {
+        documents.clear();
+        for (TreeMap<String, Map<String, Integer>> field : postings) {
+            field.clear();
+        }
+        Arrays.fill(totalLengths, 0L);
+    }
+
+    /**
+     * Indexed posts matching every word of {@code query}, best match first.
+     *
+     * @param searchType   tag, prompt_tag, author, title or full_text, as for the server search
+     * @param isPromptPost only prompt (true) or normal (false) posts; null for both.
+     *                     Ignored for prompt_tag, which only matches prompt posts.
+     */
+    public synchronized List<Post> search(String query, String searchType, Boolean isPromptPost, int limit) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty() || limit <= 0) {
+            return new ArrayList<>();
+        }
+        ensureCurrentSession();
+
+        int[] fields = fieldsFor(searchType);
+        Boolean promptFilter = "prompt_tag".equals(searchType) ? Boolean.TRUE : isPromptPost;
+        Map<String, Double> scores = new HashMap<>();
+        Map<String, Integer> matchedTerms = new HashMap<>();
+
+        for (int i = 0; i < terms.size(); i++) {
+            String term = terms.get(i);
+            boolean prefix = i == terms.size() - 1;
+            Map<String, Double> termScores = new HashMap<>();
+            for (int field : fields) {
+                scoreField(field, term, prefix, termScores);
+            }
+            for (Map.Entry<String, Double> entry : termScores.entrySet()) {
+                scores.merge(entry.getKey(), entry.getValue(), Double::sum);
+                matchedTerms.merge(entry.getKey(), 1, Integer::sum);
+            }
+        }
+
+        List<Document> hits = new ArrayList<>();
+        for (Map.Entry<String, Integer> entry : matchedTerms.entrySet()) {
+            if (entry.getValue() < terms.size()) {
+                continue;
+            }
+            Document document = documents.get(entry.getKey());
+            if (promptFilter != null && document.post.isIs_prompt_post() != promptFilter) {
+                continue;
+            }
+            hits.add(document);
+        }
+        hits.sort((a, b) -> {
+            int byScore = Double.compare(scores.get(b.post.getId()), scores.get(a.post.getId()));
+            // Ties go newest first, like the server's ordering
+            return byScore != 0 ? byScore : Long.compare(b.createdAt, a.createdAt);
+        });
+
+        List<Post> results = new ArrayList<>(Math.min(limit, hits.size()));
+        for (int i = 0; i < hits.size() && i < limit; i++) {
+            results.add(hits.get(i).post);
+        }
+        return results;
+    }
+
+    /**
+     * Lower-cased runs of letters and digits.
+     */
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i < text.length(); ) {
+            int codePoint = text.codePointAt(i);
+            i += Character.charCount(codePoint);
+            if (Character.isLetterOrDigit(codePoint)) {
+                current.appendCodePoint(Character.toLowerCase(codePoint));
+            } else if (current.length() > 0) {
+                tokens.add(current.toString());
+                current.setLength(0);
+            }
+        }
+        if (current.length() > 0) {
+            tokens.add(current.toString());
+        }
+        return tokens;
+    }
+
+    private void scoreField(int field, String term, boolean prefix, Map<String, Double> termScores) {
+        TreeMap<String, Map<String, Integer>> fieldPostings = postings.get(field);
+        Map<String, Map<String, Integer>> matching = prefix
+                ? fieldPostings.subMap(term, true, term + Character.MAX_VALUE, false)
+                : exactly(fieldPostings, term);
+        if (matching.isEmpty()) {
+            return;
+        }
+        int documentCount = documents.size();
+        double averageLength = Math.max(1.0, (double) totalLengths[field] / documentCount);
+        for (Map<String, Integer> postingList : matching.values()) {
+            int df = postingList.size();
+            double idf = Math.log(1.0 + (documentCount - df + 0.5) / (df + 0.5));
+            for (Map.Entry<String, Integer> posting : postingList.entrySet()) {
+                int tf = posting.getValue();
+                int length = documents.get(posting.getKey()).lengths[field];
+                double norm = tf + K1 * (1.0 - B + B * length / averageLength);
+                double score = FIELD_WEIGHTS[field] * idf * tf * (K1 + 1.0) / norm;
+                // A word matching several terms by prefix counts its best term only
+                termScores.merge(posting.getKey(), score, Math::max);
+            }
+        }
+    }
+
+    private static Map<String, Map<String, Integer>> exactly(TreeMap<String, Map<String, Integer>> fieldPostings,
+                                                            String term) {
+        Map<String, Integer> postingList = fieldPostings.get(term);
+        Map<String, Map<String, Integer>> matching = new HashMap<>();
+        if (postingList != null) {
+            matching.put(term, postingList);
+        }
+        return matching;
+    }
+
+    private static int[] fieldsFor(String searchType) {
+        if ("tag".equals(searchType) || "prompt_tag".equals(searchType)) {
+            return TAG_FIELDS;
+        } else if ("author".equals(searchType)) {
+            return AUTHOR_FIELDS;
+        } else if ("title".equals(searchType)) {
+            return TITLE_FIELDS;
+        }
+        return FULL_TEXT_FIELDS;
+    }
+
+    private static String[] textsOf(Post post) {
+        String[] texts = new String[FIELD_COUNT];
+        texts[FIELD_TITLE] = post.getTitle();
+        texts[FIELD_CONTENT] = post.getContent();
+        texts[FIELD_PROMPT] = post.getPrompt_section();
+        texts[FIELD_DESCRIPTION] = post.getDescription_section();
+        texts[FIELD_TAG] = post.getLlm_tag();
+        texts[FIELD_AUTHOR] = post.getAuthor_name();
+        return texts;
+    }
+
+    private void indexLocked(Post post) {
+        String id = post.getId();
+        String[] texts = textsOf(post);
+        Document existing = documents.remove(id);
+        if (existing != null && Arrays.equals(existing.texts, texts)) {
+            // Only votes or counts changed; keep the postings, serve the newer copy
+            documents.put(id, new Document(post, texts, existing.lengths));
+            return;
+        }
+        if (existing != null) {
+            unindexLocked(id, existing);
+        }
+
+        int[] lengths = new int[FIELD_COUNT];
+        for (int field = 0; field < FIELD_COUNT; field++) {
+            List<String> tokens = tokenize(texts[field]);
+            lengths[field] = tokens.size();
+            totalLengths[field] += tokens.size();
+            TreeMap<String, Map<String, Integer>> fieldPostings = postings.get(field);
+            for (String token : tokens) {
+                fieldPostings.computeIfAbsent(token, key -> new HashMap<>()).merge(id, 1, Integer::sum);
+            }
+        }
+        documents.put(id, new Document(post, texts, lengths));
+
+        Iterator<Map.Entry<String, Document>> eldest = documents.entrySet().iterator();
+        while (documents.size() > maxDocuments && eldest.hasNext()) {
+            Map.Entry<String, Document> entry = eldest.next();
+            eldest.remove();
+            unindexLocked(entry.getKey(), entry.getValue());
+        }
+    }
+
+    private void removeLocked(String id) {
+        Document document = documents.remove(id);
+        if (document != null) {
+            unindexLocked(id, document);
+        }
+    }
+
+    private void unindexLocked(String id, Document document) {
+        for (int field = 0; field < FIELD_COUNT; field++) {
+            totalLengths[field] -= document.lengths[field];
+            TreeMap<String, Map<String, Integer>> fieldPostings = postings.get(field);
+            for (String token : tokenize(document.texts[field])) {
+                Map<String, Integer> postingList = fieldPostings.get(token);
+                if (postingList != null && postingList.remove(id) != null && postingList.isEmpty()) {
+                    fieldPostings.remove(token);
+                }
+            }
+        }
+    }
+
+    private void onPostsStored(Set<String> ids) {
+        EntityStore<Post> store = EntityStore.posts();
+        for (String id : ids) {
+            Post post = store.get(id);
+            if (post != null) {
+                index(post);
+            } else {
+                // Removed from the store only when the post was deleted
+                remove(id);
+            }
+        }
+    }
+
+    private void ensureCurrentSession() {
+        long current = SessionManager.getSessionVersion();
+        if (current != sessionVersion) {
+            // Indexed copies embed the previous user's votes
+            sessionVersion = current;
+            clear();
+        }
+    }
+}
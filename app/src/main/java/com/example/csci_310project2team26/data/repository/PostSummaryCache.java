@@ -0,0 +1,102 @@
+package com.example.csci_310project2team26.data.repository;
+
+import com.example.csci_310project2team26.data.model.Post;
+import com.example.csci_310project2team26.data.model.PostSummary;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * PostSummaryCache - Titles of recently seen posts, so labelling comments
+ * with their post does not need the post itself.
+ *
+ * Every post the repositories load is recorded here; posts that were never
+ * loaded are looked up in batches through
+ * {@link PostRepository#fetchPostSummaries}. Entries are evicted least
+ * recently used first. Titles are the same for every user, so the cache
+ * survives sign-out, and FeedDiskCache keeps its copy under a key shared by
+ * all users.
+ */
+final class PostSummaryCache {
+
+    static final int DEFAULT_MAX_ENTRIES = 1000;
+
+    private final int maxEntries;
+    private final LinkedHashMap<String, PostSummary> summaries;
+
+    PostSummaryCache() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    PostSummaryCache(int maxEntries) {
+        this.maxEntries = Math.max(1, maxEntries);
+        this.summaries = new LinkedHashMap<String, PostSummary>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PostSummary> eldest) {
+                return size() > PostSummaryCache.this.maxEntries;
+            }
+        };
+    }
+
+    static PostSummary summaryOf(Post post) {
+        return new PostSummary(post.getId(), post.getTitle(), post.isIs_prompt_post());
+    }
+
+    synchronized PostSummary get(String postId) {
+        return postId != null ? summaries.get(postId) : null;
+    }
+
+    /**
+     * @return the cached summaries among {@code postIds}, keyed by post ID
+     */
+    synchronized Map<String, PostSummary> getAll(Collection<String> postIds) {
+        Map<String, PostSummary> found = new HashMap<>();
+        for (String postId : postIds) {
+            PostSummary summary = get(postId);
+            if (summary != null) {
+                found.put(postId, summary);
+            }
+        }
+        return found;
+    }
+
+    synchronized void put(PostSummary summary) {
+        if (summary != null && summary.getId() != null) {
+            summaries.put(summary.getId(), summary);
+        }
+    }
+
+    synchronized void putAll(Collection<PostSummary> values) {
+        for (PostSummary summary : values) {
+            put(summary);
+        }
+    }
+
+    synchronized void putPosts(List<Post> posts) {
+        if (posts == null) {
+            return;
+        }
+        for (Post post : posts) {
+            if (post != null && post.getId() != null) {
+                summaries.put(post.getId(), summaryOf(post));
+            }
+        }
+    }
+
+    synchronized void remove(String postId) {
+        if (postId != null) {
+            summaries.remove(postId);
+        }
+    }
+
+    synchronized int size() {
+        return summaries.size();
+    }
+
+    synchronized void clear() {
+        summaries.clear();
+    }
+}
@@ -5,9 +5,6 @@ import android.net.Uri;
 import com.example.csci_310project2team26.data.model.Profile;
 import com.example.csci_310project2team26.data.network.ApiService;
 
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-
 import retrofit2.Call;
 import retrofit2.Response;
 
@@ -20,11 +17,11 @@ import retrofit2.Response;
 public class ProfileRepository {
     
     private final ApiService apiService;
-    private final ExecutorService executorService;
+    private final IoDispatcher dispatcher;
     
     public ProfileRepository() {
         this.apiService = ApiService.getInstance();
-        this.executorService = Executors.newSingleThreadExecutor();
+        this.dispatcher = IoDispatcher.getInstance();
     }
     
     /**
@@ -49,7 +46,7 @@ public class ProfileRepository {
     public void createProfile(String userId, String affiliation, String birthDate,
                              String bio, String interests, Uri profileImageUri,
                              Callback<Void> callback) {
-        executorService.execute(() -> {
+        dispatcher.execute("profile:" + userId, () -> {
             try {
                 // Upload profile image if provided
                 String imageUrl = null;
@@ -75,6 +72,7 @@ public class ProfileRepository {
                 Response<Void> response = call.execute();
                 
                 if (response.isSuccessful()) {
+                    ApiService.Factory.invalidateCache("api/profile/" + userId);
                     callback.onSuccess(null);
                 } else {
                     String errorMessage;
@@ -104,7 +102,7 @@ public class ProfileRepository {
      * @param callback Callback for result
      */
     public void getProfile(String userId, Callback<Profile> callback) {
-        executorService.execute(() -> {
+        dispatcher.execute(() -> {
             try {
                 Call<Profile> call = apiService.getProfile(userId);
                 Response<Profile> response = call.execute();
@@ -143,7 +141,7 @@ public class ProfileRepository {
     public void updateProfile(String userId, String birthDate, String bio,
                              String interests, Uri profileImageUri,
                              Callback<Void> callback) {
-        executorService.execute(() -> {
+        dispatcher.execute("profile:" + userId, () -> {
             try {
                 // Upload new profile image if provided
                 String imageUrl = null;
@@ -164,6 +162,7 @@ public class ProfileRepository {
                 Response<Void> response = call.execute();
                 
                 if (response.isSuccessful()) {
+                    ApiService.Factory.invalidateCache("api/profile/" + userId);
                     callback.onSuccess(null);
                 } else {
                     callback.onError("Failed to update profile: " + response.message());
@@ -184,7 +183,7 @@ public class ProfileRepository {
      */
     public void resetPassword(String userId, String currentPassword, 
                              String newPassword, Callback<Void> callback) {
-        executorService.execute(() -> {
+        dispatcher.execute(() -> {
             try {
                 String token = SessionManager.getToken();
                 if (token == null) {
@@ -0,0 +1,303 @@
+package com.example.csci_310project2team26.data.repository;
+
+import com.example.csci_310project2team26.data.model.Post;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.LongSupplier;
+
+/**
+ * SearchResultCache - Recent server search pages, so switching a filter
+ * away and back or re-running a search after a delete does not repeat an
+ * identical request.
+ *
+ * Entries are keyed by query, search type, prompt filter, sort, limit and
+ * offset, expire after a short TTL and are evicted least recently used
+ * first once their estimated size exceeds the byte budget. Entries listing
+ * an edited or deleted post are dropped, as are entries an edit makes the
+ * post match.
+ *
+ * Because the server matches with ILIKE '%query%', the results for a query
+ * are a subset of the results for any query it contains. {@link #narrow}
+ * uses this to answer a refined query from a cached broader one while the
+ * server request is still in flight.
+ */
+final class SearchResultCache {
+
+    static final long DEFAULT_MAX_BYTES = 256L * 1024;
+    static final long DEFAULT_TTL_MILLIS = 60_000L;
+
+    // Rough per-object overhead of a Post, its timestamps included, and of a list slot
+    private static final int POST_OVERHEAD_BYTES = 96;
+    private static final int ENTRY_OVERHEAD_BYTES = 64;
+
+    private static final class Key {
+        final String query;
+        final String searchType;
+        final Boolean isPromptPost;
+        final String sort;
+        final int limit;
+        final int offset;
+
+        Key(String query, String searchType, Boolean isPromptPost, String sort, int limit, int offset) {
+            this.query = normalize(query);
+            this.searchType = searchType;
+            this.isPromptPost = isPromptPost;
+            this.sort = sort;
+            this.limit = limit;
+            this.offset = offset;
+        }
+
+        boolean sameFilters(Key other) {
+            return Objects.equals(searchType, other.searchType)
+                    && Objects.equals(isPromptPost, other.isPromptPost)
+                    && Objects.equals(sort, other.sort);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return limit == other.limit
+                    && offset == other.offset
+                    && query.equals(other.query)
+                    && sameFilters(other);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(query, searchType, isPromptPost, sort, limit, offset);
+        }
+    }
+
+    private static final class Entry {
+        final List<Post> posts;
+        final long bytes;
+        final long storedAt;
+
+        Entry(List<Post> posts, long bytes, long storedAt) {
+            this.posts = posts;
+            this.bytes = bytes;
+            this.storedAt = storedAt;
+        }
+    }
+
+    private final long maxBytes;
+    private final long ttlMillis;
+    private final LongSupplier clock;
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+    private long sessionVersion = SessionManager.getSessionVersion();
+
+    SearchResultCache() {
+        this(DEFAULT_MAX_BYTES, DEFAULT_TTL_MILLIS, System::currentTimeMillis);
+    }
+
+    SearchResultCache(long maxBytes, long ttlMillis, LongSupplier clock) {
+        this.maxBytes = Math.max(1L, maxBytes);
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+    }
+
+    /**
+     * @return the cached page, or null if it is missing or expired
+     */
+    synchronized List<Post> get(String query, String searchType, Boolean isPromptPost,
+                                String sort, int limit, int offset) {
+        ensureCurrentSession();
+        Key key = new Key(query, searchType, isPromptPost, sort, limit, offset);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (isExpired(entry)) {
+            removeLocked(key);
+            return null;
+        }
+        return new ArrayList<>(entry.posts);
+    }
+
+    synchronized void put(String query, String searchType, Boolean isPromptPost,
+                          String sort, int limit, int offset, List<Post> posts) {
+        if (posts == null) {
+            return;
+        }
+        ensureCurrentSession();
+        Key key = new Key(query, searchType, isPromptPost, sort, limit, offset);
+        removeLocked(key);
+        long bytes = estimateBytes(key, posts);
+        if (bytes > maxBytes) {
+            return;
+        }
+        entries.put(key, new Entry(new ArrayList<>(posts), bytes, clock.getAsLong()));
+        totalBytes += bytes;
+        Iterator<Map.Entry<Key, Entry>> eldest = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            totalBytes -= eldest.next().getValue().bytes;
+            eldest.remove();
+        }
+    }
+
+    /**
+     * Answer {@code query} from the narrowest cached first page of a query it
+     * contains (or equals), filtered locally the way the server matches.
+     * The answer may be incomplete when that page was not the whole result.
+     *
+     * @return matching posts in server order, or null if no broader page is cached
+     */
+    synchronized List<Post> narrow(String query, String searchType, Boolean isPromptPost, String sort) {
+        ensureCurrentSession();
+        Key wanted = new Key(query, searchType, isPromptPost, sort, 0, 0);
+        if (wanted.query.isEmpty()) {
+            return null;
+        }
+        Key bestKey = null;
+        Entry best = null;
+        for (Map.Entry<Key, Entry> candidate : entries.entrySet()) {
+            Key key = candidate.getKey();
+            if (key.offset != 0 || key.query.isEmpty() || !key.sameFilters(wanted)
+                    || !wanted.query.contains(key.query) || isExpired(candidate.getValue())) {
+                continue;
+            }
+            if (bestKey == null || key.query.length() > bestKey.query.length()
+                    || (key.query.length() == bestKey.query.length()
+                        && candidate.getValue().posts.size() > best.posts.size())) {
+                bestKey = key;
+                best = candidate.getValue();
+            }
+        }
+        if (best == null) {
+            return null;
+        }
+        List<Post> narrowed = new ArrayList<>();
+        for (Post post : best.posts) {
+            if (matches(post, searchType, wanted.query)) {
+                narrowed.add(post);
+            }
+        }
+        return narrowed;
+    }
+
+    /**
+     * Drop every entry listing this post, e.g. after it was deleted.
+     */
+    synchronized void invalidatePost(String postId) {
+        invalidatePost(postId, null);
+    }
+
+    /**
+     * Drop every entry listing this post and, when {@code edited} is its new
+     * content, every entry whose query now matches it, since the server would
+     * list the post there too.
+     */
+    synchronized void invalidatePost(String postId, Post edited) {
+        if (postId == null) {
+            return;
+        }
+        Iterator<Map.Entry<Key, Entry>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Key, Entry> candidate = it.next();
+            Entry entry = candidate.getValue();
+            if (lists(entry, postId) || (edited != null && wouldList(candidate.getKey(), edited))) {
+                totalBytes -= entry.bytes;
+                it.remove();
+            }
+        }
+    }
+
+    synchronized void clear() {
+        entries.clear();
+        totalBytes = 0L;
+    }
+
+    synchronized long sizeBytes() {
+        return totalBytes;
+    }
+
+    /**
+     * Case-insensitive substring test over the fields the server searches
+     * for {@code searchType}.
+     */
+    static boolean matches(Post post, String searchType, String normalizedQuery) {
+        if (post == null) {
+            return false;
+        }
+        if ("tag".equals(searchType) || "prompt_tag".equals(searchType)) {
+            return contains(post.getLlm_tag(), normalizedQuery);
+        } else if ("author".equals(searchType)) {
+            return contains(post.getAuthor_name(), normalizedQuery);
+        } else if ("title".equals(searchType)) {
+            return contains(post.getTitle(), normalizedQuery);
+        }
+        return contains(post.getTitle(), normalizedQuery)
+                || contains(post.getContent(), normalizedQuery)
+                || contains(post.getPrompt_section(), normalizedQuery)
+                || contains(post.getDescription_section(), normalizedQuery);
+    }
+
+    private static boolean lists(Entry entry, String postId) {
+        for (Post post : entry.posts) {
+            if (post != null && postId.equals(post.getId())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean wouldList(Key key, Post post) {
+        return (key.isPromptPost == null || key.isPromptPost == post.isIs_prompt_post())
+                && matches(post, key.searchType, key.query);
+    }
+
+    private static boolean contains(String field, String normalizedQuery) {
+        return field != null && field.toLowerCase(Locale.ROOT).contains(normalizedQuery);
+    }
+
+    private static String normalize(String query) {
+        return query != null ? query.trim().toLowerCase(Locale.ROOT) : "";
+    }
+
+    private static long estimateBytes(Key key, List<Post> posts) {
+        long bytes = ENTRY_OVERHEAD_BYTES + 2L * key.query.length();
+        for (Post post : posts) {
+            if (post == null) {
+                continue;
+            }
+            bytes += POST_OVERHEAD_BYTES
+                    + 2L * (length(post.getId()) + length(post.getAuthor_id()) + length(post.getAuthor_name())
+                    + length(post.getTitle()) + length(post.getContent()) + length(post.getPrompt_section())
+                    + length(post.getDescription_section()) + length(post.getLlm_tag()));
+        }
+        return bytes;
+    }
+
+    private static int length(String value) {
+        return value != null ? value.length() : 0;
+    }
+
+    private boolean isExpired(Entry entry) {
+        return clock.getAsLong() - entry.storedAt > ttlMillis;
+    }
+
+    private void removeLocked(Key key) {
+        Entry removed = entries.remove(key);
+        if (removed != null) {
+            totalBytes -= removed.bytes;
+        }
+    }
+
+    private void ensureCurrentSession() {
+        long current = SessionManager.getSessionVersion();
+        if (current != sessionVersion) {
+            // Cached posts embed the previous user's votes
+            sessionVersion = current;
+            clear();
+        }
+    }
+}
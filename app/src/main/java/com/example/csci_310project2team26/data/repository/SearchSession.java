@@ -0,0 +1,329 @@
+package com.example.csci_310project2team26.data.repository;
+
+import com.example.csci_310project2team26.data.model.Post;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SearchSession - Runs search-as-you-type for one screen.
+ *
+ * A search starts only once the request has stopped changing for the
+ * debounce delay, so typing a word sends one search instead of one per
+ * keystroke. Submitting a new request cancels the waiting one and the
+ * request in flight; answers for anything but the latest request are
+ * dropped, so a slow early query can never overwrite a newer one.
+ *
+ * Results are fetched in pages of {@code pageSize} up to the request's
+ * limit and published after every page, so the first matches show before
+ * the rest have been found.
+ *
+ * With a {@link LocalSearch}, matches among the posts already on the device
+ * are published as soon as a request is submitted. Server pages then merge
+ * in: posts found both ways keep their local rank and take the server's
+ * copy, the others are appended. If the server cannot be reached, the local
+ * matches stay and no error is reported.
+ */
+public class SearchSession {
+
+    public static final long DEFAULT_DEBOUNCE_MILLIS = 300L;
+    public static final int DEFAULT_PAGE_SIZE = 20;
+
+    /**
+     * Runs a task after a delay; the returned handle unschedules it.
+     */
+    public interface Scheduler {
+        Cancellable schedule(Runnable task, long delayMillis);
+    }
+
+    /**
+     * Fetches one page of results for {@code request}.
+     */
+    public interface PageLoader {
+        Cancellable loadPage(Request request, int offset, int limit,
+                             PostRepository.Callback<PostRepository.PostsResult> callback);
+    }
+
+    /**
+     * Answers a request from data already on the device, without blocking on I/O.
+     */
+    public interface LocalSearch {
+        List<Post> search(Request request);
+    }
+
+    public interface Listener {
+        /**
+         * @param posts    every result found so far for the latest request
+         * @param complete whether no further page will follow
+         */
+        void onResults(List<Post> posts, boolean complete);
+
+        void onLoadingChanged(boolean loading);
+
+        void onError(String error);
+    }
+
+    /**
+     * The parameters of one search. Equal requests are treated as the same search.
+     */
+    public static final class Request {
+        private final String query;
+        private final String searchType;
+        private final String sort;
+        private final int limit;
+        private final int offset;
+        private final Boolean isPromptPost;
+
+        public Request(String query, String searchType, String sort,
+                       int limit, int offset, Boolean isPromptPost) {
+            this.query = query != null ? query.trim() : "";
+            this.searchType = searchType;
+            this.sort = sort;
+            this.limit = Math.max(1, limit);
+            this.offset = Math.max(0, offset);
+            this.isPromptPost = isPromptPost;
+        }
+
+        public String getQuery() { return query; }
+        public String getSearchType() { return searchType; }
+        public String getSort() { return sort; }
+        public int getLimit() { return limit; }
+        public int getOffset() { return offset; }
+        public Boolean getIsPromptPost() { return isPromptPost; }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Request)) return false;
+            Request other = (Request) o;
+            return limit == other.limit
+                    && offset == other.offset
+                    && query.equals(other.query)
+                    && Objects.equals(searchType, other.searchType)
+                    && Objects.equals(sort, other.sort)
+                    && Objects.equals(isPromptPost, other.isPromptPost);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(query, searchType, sort, limit, offset, isPromptPost);
+        }
+    }
+
+    private static final ScheduledExecutorService DEBOUNCE_EXECUTOR =
+            Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "search-debounce");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    /**
+     * Scheduler backed by one shared background timer thread.
+     */
+    public static Scheduler defaultScheduler() {
+        return (task, delayMillis) -> {
+            ScheduledFuture<?> future = DEBOUNCE_EXECUTOR.schedule(task, delayMillis, TimeUnit.MILLISECONDS);
+            return () -> future.cancel(false);
+        };
+    }
+
+    private final PageLoader loader;
+    private final LocalSearch localSearch;
+    private final Listener listener;
+    private final Scheduler scheduler;
+    private final long debounceMillis;
+    private final int pageSize;
+
+    private Request current;
+    // True from submit until the last page, an error or a cancel
+    private boolean active;
+    private int generation;
+    private int pageRequests;
+    // Posts returned by the server so far for the current request
+    private int serverCount;
+    private Cancellable pendingStart = Cancellable.NONE;
+    private Cancellable inFlight = Cancellable.NONE;
+    private List<Post> results = new ArrayList<>();
+    private final Set<String> seenIds = new HashSet<>();
+
+    public SearchSession(PageLoader loader, LocalSearch localSearch, Listener listener) {
+        this(loader, localSearch, listener, defaultScheduler(), DEFAULT_DEBOUNCE_MILLIS, DEFAULT_PAGE_SIZE);
+    }
+
+    public SearchSession(PageLoader loader, Listener listener, Scheduler scheduler,
+                         long debounceMillis, int pageSize) {
+        this(loader, null, listener, scheduler, debounceMillis, pageSize);
+    }
+
+    public SearchSession(PageLoader loader, LocalSearch localSearch, Listener listener,
+                         Scheduler scheduler, long debounceMillis, int pageSize) {
+        this.loader = loader;
+        this.localSearch = localSearch;
+        this.listener = listener;
+        this.scheduler = scheduler;
+        this.debounceMillis = Math.max(0L, debounceMillis);
+        this.pageSize = Math.max(1, pageSize);
+    }
+
+    /**
+     * Make {@code request} the latest search. It starts after the debounce
+     * delay unless another request replaces it first. An empty query clears
+     * the results right away. Resubmitting the search that is still waiting
+     * or loading changes nothing.
+     */
+    public synchronized void submit(Request request) {
+        if (active && request.equals(current)) {
+            return;
+        }
+        stopLocked();
+        current = request;
+        results = new ArrayList<>();
+        seenIds.clear();
+        serverCount = 0;
+        if (request.getQuery().isEmpty()) {
+            listener.onResults(new ArrayList<>(), true);
+            listener.onLoadingChanged(false);
+            return;
+        }
+        List<Post> local = localSearch != null ? localSearch.search(request) : null;
+        if (local != null && !local.isEmpty()) {
+            addResults(local);
+            listener.onResults(new ArrayList<>(results), false);
+        }
+        // Without local matches the previous results stay until the first server page
+        active = true;
+        final int startGeneration = generation;
+        pendingStart = scheduler.schedule(() -> start(startGeneration), debounceMillis);
+    }
+
+    /**
+     * Drop the waiting search and abort the one in flight. Results already
+     * published stay as they are.
+     */
+    public synchronized void cancel() {
+        boolean wasActive = active;
+        stopLocked();
+        if (wasActive) {
+            listener.onLoadingChanged(false);
+        }
+    }
+
+    private void stopLocked() {
+        generation++;
+        active = false;
+        pendingStart.cancel();
+        pendingStart = Cancellable.NONE;
+        inFlight.cancel();
+        inFlight = Cancellable.NONE;
+    }
+
+    private void start(int startGeneration) {
+        int offset;
+        synchronized (this) {
+            if (startGeneration != generation) {
+                return;
+            }
+            pendingStart = Cancellable.NONE;
+            offset = current.getOffset();
+            listener.onLoadingChanged(true);
+        }
+        loadPage(startGeneration, offset);
+    }
+
+    private void loadPage(int pageGeneration, int offset) {
+        final Request request;
+        final int limit;
+        final int sequence;
+        synchronized (this) {
+            if (pageGeneration != generation) {
+                return;
+            }
+            request = current;
+            limit = Math.min(pageSize, request.getLimit() - serverCount);
+            sequence = ++pageRequests;
+        }
+
+        Cancellable handle = loader.loadPage(request, offset, limit,
+                new PostRepository.Callback<PostRepository.PostsResult>() {
+                    @Override
+                    public void onSuccess(PostRepository.PostsResult result) {
+                        onPageLoaded(pageGeneration, offset, limit, result);
+                    }
+
+                    @Override
+                    public void onError(String error) {
+                        synchronized (SearchSession.this) {
+                            if (pageGeneration != generation) {
+                                return;
+                            }
+                            active = false;
+                            inFlight = Cancellable.NONE;
+                            listener.onLoadingChanged(false);
+                            if (results.isEmpty()) {
+                                listener.onError(error);
+                            }
+                        }
+                    }
+                });
+
+        synchronized (this) {
+            // A loader that answers synchronously may already have moved on
+            if (pageGeneration == generation && sequence == pageRequests && active) {
+                inFlight = handle != null ? handle : Cancellable.NONE;
+            }
+        }
+    }
+
+    /**
+     * Append posts not seen yet; posts already listed are replaced in place
+     * by the newer copy.
+     */
+    private void addResults(List<Post> posts) {
+        for (Post post : posts) {
+            if (post == null || post.getId() == null) {
+                continue;
+            }
+            if (seenIds.add(post.getId())) {
+                results.add(post);
+                continue;
+            }
+            for (int i = 0; i < results.size(); i++) {
+                if (post.getId().equals(results.get(i).getId())) {
+                    results.set(i, post);
+                    break;
+                }
+            }
+        }
+    }
+
+    private void onPageLoaded(int pageGeneration, int offset, int limit, PostRepository.PostsResult result) {
+        List<Post> page = result != null && result.getPosts() != null
+                ? result.getPosts() : new ArrayList<>();
+        boolean more;
+        synchronized (this) {
+            if (pageGeneration != generation) {
+                return;
+            }
+            inFlight = Cancellable.NONE;
+            addResults(page);
+            serverCount += page.size();
+            more = page.size() >= limit && serverCount < current.getLimit();
+            // Listeners are called under the lock so they never see an older search last
+            listener.onResults(new ArrayList<>(results), !more);
+            if (!more) {
+                active = false;
+                listener.onLoadingChanged(false);
+            }
+        }
+        if (more) {
+            loadPage(pageGeneration, offset + page.size());
+        }
+    }
+}
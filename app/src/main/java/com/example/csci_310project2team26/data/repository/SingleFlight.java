@@ -0,0 +1,118 @@
+package com.example.csci_310project2team26.data.repository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * SingleFlight - Coalesces identical concurrent requests.
+ *
+ * While a call for a key is in flight, further callers with the same key are
+ * attached to it instead of starting their own; every caller receives the same
+ * parsed result (treat it as read-only) or the same error. Once the call
+ * finishes the key is released, so later requests hit the network again.
+ *
+ * Keys must include everything that changes the response, e.g. the auth
+ * token for endpoints that embed per-user fields.
+ */
+public final class SingleFlight<V> {
+
+    private static final AtomicLong TOTAL_SAVED = new AtomicLong();
+
+    /**
+     * Receives the outcome of the shared call.
+     */
+    public interface Result<V> {
+        void onSuccess(V value);
+        void onError(String error);
+    }
+
+    /**
+     * Starts the real request and reports its outcome exactly once.
+     */
+    public interface Call<V> {
+        void start(Result<V> result);
+    }
+
+    private static final class Waiter<V> {
+        final Consumer<V> onSuccess;
+        final Consumer<String> onError;
+
+        Waiter(Consumer<V> onSuccess, Consumer<String> onError) {
+            this.onSuccess = onSuccess;
+            this.onError = onError;
+        }
+    }
+
+    private final Map<String, List<Waiter<V>>> inFlight = new HashMap<>();
+    private final AtomicLong started = new AtomicLong();
+    private final AtomicLong saved = new AtomicLong();
+
+    /**
+     * Run {@code call} for {@code key} unless one is already in flight, in
+     * which case only wait for its result.
+     */
+    public void run(String key, Consumer<V> onSuccess, Consumer<String> onError, Call<V> call) {
+        Waiter<V> waiter = new Waiter<>(onSuccess, onError);
+        synchronized (inFlight) {
+            List<Waiter<V>> waiters = inFlight.get(key);
+            if (waiters != null) {
+                waiters.add(waiter);
+                saved.incrementAndGet();
+                TOTAL_SAVED.incrementAndGet();
+                return;
+            }
+            waiters = new ArrayList<>();
+            waiters.add(waiter);
+            inFlight.put(key, waiters);
+        }
+        started.incrementAndGet();
+
+        call.start(new Result<V>() {
+            @Override
+            public void onSuccess(V value) {
+                for (Waiter<V> w : release(key)) {
+                    w.onSuccess.accept(value);
+                }
+            }
+
+            @Override
+            public void onError(String error) {
+                for (Waiter<V> w : release(key)) {
+                    w.onError.accept(error);
+                }
+            }
+        });
+    }
+
+    /**
+     * @return number of network calls actually started
+     */
+    public long getStartedCount() {
+        return started.get();
+    }
+
+    /**
+     * @return number of callers that shared another caller's request
+     */
+    public long getSavedCount() {
+        return saved.get();
+    }
+
+    /**
+     * @return calls saved by every SingleFlight in the process
+     */
+    public static long getTotalSavedCount() {
+        return TOTAL_SAVED.get();
+    }
+
+    private List<Waiter<V>> release(String key) {
+        synchronized (inFlight) {
+            List<Waiter<V>> waiters = inFlight.remove(key);
+            return waiters != null ? waiters : new ArrayList<>();
+        }
+    }
+}
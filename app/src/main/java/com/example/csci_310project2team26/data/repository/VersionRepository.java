@@ -6,19 +6,17 @@ import com.example.csci_310project2team26.data.network.ApiService;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 import retrofit2.Response;
 
 public class VersionRepository {
 
     private final ApiService apiService;
-    private final ExecutorService executorService;
+    private final IoDispatcher dispatcher;
 
     public VersionRepository() {
         this.apiService = ApiService.getInstance();
-        this.executorService = Executors.newSingleThreadExecutor();
+        this.dispatcher = IoDispatcher.getInstance();
     }
 
     public interface Callback<T> {
@@ -27,7 +25,7 @@ public class VersionRepository {
     }
 
     public void getPostVersions(String postId, Callback<List<PostVersion>> callback) {
-        executorService.execute(() -> {
+        dispatcher.execute(() -> {
             try {
                 String token = SessionManager.getToken();
                 if (token == null) {
@@ -65,7 +63,7 @@ public class VersionRepository {
     }
 
     public void revertToVersion(String postId, String versionId, Callback<Post> callback) {
-        executorService.execute(() -> {
+        dispatcher.execute("post:" + postId, () -> {
             try {
                 String token = SessionManager.getToken();
                 if (token == null) {
@@ -82,7 +80,14 @@ public class VersionRepository {
                 Response<ApiService.PostResponse> response = call.execute();
 
                 if (response.isSuccessful() && response.body() != null && response.body().post != null) {
-                    callback.onSuccess(response.body().post);
+                    ApiService.Factory.invalidateCache("api/posts/" + postId);
+                    Post reverted = response.body().post;
+                    PostRepository.invalidateCachedSearches(postId, reverted);
+                    if (EntityStore.posts().update(postId, stored -> PostRepository.withEditedContent(stored, reverted)) == null) {
+                        PostSearchIndex.get().remove(postId);
+                    }
+                    PostRepository.storeSummary(reverted);
+                    callback.onSuccess(reverted);
                 } else {
                     String errorMsg = "Failed to revert to version";
                     if (response.code() == 401) {
@@ -10,6 +10,8 @@ import androidx.appcompat.app.AppCompatActivity;
 import androidx.lifecycle.ViewModelProvider;
 
 import com.example.csci_310project2team26.MainActivity;
+import com.example.csci_310project2team26.data.local.FeedDiskCache;
+import com.example.csci_310project2team26.data.network.ApiService;
 import com.example.csci_310project2team26.databinding.ActivityLoginBinding;
 import com.example.csci_310project2team26.viewmodel.AuthViewModel;
 
@@ -31,6 +33,9 @@ public class LoginActivity extends AppCompatActivity {
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
+        // Launcher activity: enable the response cache before any request is made
+        ApiService.Factory.installCache(getCacheDir());
+        FeedDiskCache.install(this);
         binding = ActivityLoginBinding.inflate(getLayoutInflater());
         setContentView(binding.getRoot());
         
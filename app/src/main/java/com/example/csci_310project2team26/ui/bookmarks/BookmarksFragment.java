@@ -79,7 +79,7 @@ public class BookmarksFragment extends Fragment {
 
     private void observeViewModel() {
         bookmarksViewModel.getBookmarks().observe(getViewLifecycleOwner(), posts -> {
-            postsAdapter.submitList(posts);
+            postsAdapter.submitPosts(posts);
             boolean isEmpty = posts == null || posts.isEmpty();
             binding.bookmarksEmptyStateTextView.setVisibility(isEmpty ? View.VISIBLE : View.GONE);
             binding.bookmarkedPostsRecyclerView.setVisibility(isEmpty ? View.GONE : View.VISIBLE);
@@ -15,9 +15,11 @@ import androidx.fragment.app.Fragment;
 import androidx.lifecycle.ViewModelProvider;
 import androidx.navigation.Navigation;
 import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.csci_310project2team26.R;
 import com.example.csci_310project2team26.data.model.Post;
+import com.example.csci_310project2team26.data.repository.PostPager;
 import com.example.csci_310project2team26.data.repository.PostRepository;
 import com.example.csci_310project2team26.databinding.FragmentDashboardBinding;
 import com.example.csci_310project2team26.ui.home.PostsAdapter;
@@ -25,7 +27,8 @@ import com.example.csci_310project2team26.viewmodel.PostsViewModel;
 
 public class DashboardFragment extends Fragment {
 
-    private static final int DEFAULT_LIMIT = 50;
+    // Page size for the feed; further pages load as the list nears the end
+    private static final int DEFAULT_LIMIT = PostPager.DEFAULT_PAGE_SIZE;
     private static final int DEFAULT_OFFSET = 0;
 
     private FragmentDashboardBinding binding;
@@ -87,6 +90,16 @@ public class DashboardFragment extends Fragment {
         postsAdapter.setOnPostVoteListener((post, type) -> postsViewModel.voteOnPost(post.getId(), type));
         binding.promptPostsRecyclerView.setLayoutManager(new LinearLayoutManager(requireContext()));
         binding.promptPostsRecyclerView.setAdapter(postsAdapter);
+        binding.promptPostsRecyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+                LinearLayoutManager layoutManager = (LinearLayoutManager) recyclerView.getLayoutManager();
+                if (layoutManager == null) return;
+                postsViewModel.onFeedScrolled(
+                        layoutManager.findFirstVisibleItemPosition(),
+                        layoutManager.findLastVisibleItemPosition());
+            }
+        });
 
         setupFilterControls();
         observeViewModel();
@@ -174,7 +187,7 @@ public class DashboardFragment extends Fragment {
 
     private void observeViewModel() {
         postsViewModel.getPosts().observe(getViewLifecycleOwner(), posts -> {
-            postsAdapter.submitList(posts);
+            postsAdapter.submitPosts(posts);
             boolean isEmpty = posts == null || posts.isEmpty();
             binding.promptEmptyStateTextView.setVisibility(isEmpty ? View.VISIBLE : View.GONE);
             binding.promptPostsRecyclerView.setVisibility(isEmpty ? View.GONE : View.VISIBLE);
@@ -201,6 +214,18 @@ public class DashboardFragment extends Fragment {
         Navigation.findNavController(binding.getRoot()).navigate(R.id.postDetailFragment, args);
     }
 
+    @Override
+    public void onLowMemory() {
+        super.onLowMemory();
+        if (binding == null) return;
+        LinearLayoutManager layoutManager = (LinearLayoutManager) binding.promptPostsRecyclerView.getLayoutManager();
+        if (layoutManager != null) {
+            postsViewModel.trimMemory(
+                    layoutManager.findFirstVisibleItemPosition(),
+                    layoutManager.findLastVisibleItemPosition());
+        }
+    }
+
     @Override
     public void onDestroyView() {
         if (binding != null) {
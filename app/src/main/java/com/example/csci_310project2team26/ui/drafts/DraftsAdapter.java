@@ -12,6 +12,7 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.csci_310project2team26.R;
 import com.example.csci_310project2team26.data.model.Draft;
+import com.example.csci_310project2team26.util.IsoTimestamps;
 import com.google.android.material.button.MaterialButton;
 
 import java.util.ArrayList;
@@ -77,7 +78,7 @@ public class DraftsAdapter extends RecyclerView.Adapter<DraftsAdapter.DraftViewH
             if (!TextUtils.isEmpty(draft.getTag())) {
                 metaBuilder.append(" • ").append(draft.getTag());
             }
-            long updatedAtTimestamp = parseTimestamp(draft.getUpdatedAt());
+            long updatedAtTimestamp = IsoTimestamps.parseMillis(draft.getUpdatedAt(), 0L);
             CharSequence relativeTime = DateUtils.getRelativeTimeSpanString(
                     updatedAtTimestamp > 0 ? updatedAtTimestamp : System.currentTimeMillis(),
                     System.currentTimeMillis(),
@@ -104,29 +105,6 @@ public class DraftsAdapter extends RecyclerView.Adapter<DraftsAdapter.DraftViewH
             useDraftButton.setOnClickListener(v -> actionListener.onUseDraft(draft));
             deleteDraftButton.setOnClickListener(v -> actionListener.onDeleteDraft(draft));
         }
-
-        private long parseTimestamp(String dateString) {
-            if (TextUtils.isEmpty(dateString)) {
-                return 0L;
-            }
-            try {
-                // Try parsing as ISO 8601 date string
-                java.text.SimpleDateFormat format = new java.text.SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss", java.util.Locale.getDefault());
-                format.setTimeZone(java.util.TimeZone.getTimeZone("UTC"));
-                java.util.Date date = format.parse(dateString);
-                if (date != null) {
-                    return date.getTime();
-                }
-            } catch (Exception e) {
-                // Try parsing as long timestamp
-                try {
-                    return Long.parseLong(dateString);
-                } catch (NumberFormatException e2) {
-                    return 0L;
-                }
-            }
-            return 0L;
-        }
     }
 
     public interface DraftActionListener {
@@ -15,16 +15,19 @@ import androidx.fragment.app.Fragment;
 import androidx.lifecycle.ViewModelProvider;
 import androidx.navigation.Navigation;
 import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.csci_310project2team26.R;
 import com.example.csci_310project2team26.data.model.Post;
+import com.example.csci_310project2team26.data.repository.PostPager;
 import com.example.csci_310project2team26.data.repository.PostRepository;
 import com.example.csci_310project2team26.databinding.FragmentHomeBinding;
 import com.example.csci_310project2team26.viewmodel.PostsViewModel;
 
 public class HomeFragment extends Fragment {
 
-    private static final int DEFAULT_LIMIT = 50;
+    // Page size for the feed; further pages load as the list nears the end
+    private static final int DEFAULT_LIMIT = PostPager.DEFAULT_PAGE_SIZE;
     private static final int DEFAULT_OFFSET = 0;
 
     private FragmentHomeBinding binding;
@@ -88,6 +91,16 @@ public class HomeFragment extends Fragment {
         postsAdapter.setOnPostVoteListener((post, type) -> postsViewModel.voteOnPost(post.getId(), type));
         binding.postsRecyclerView.setLayoutManager(new LinearLayoutManager(requireContext()));
         binding.postsRecyclerView.setAdapter(postsAdapter);
+        binding.postsRecyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+                LinearLayoutManager layoutManager = (LinearLayoutManager) recyclerView.getLayoutManager();
+                if (layoutManager == null) return;
+                postsViewModel.onFeedScrolled(
+                        layoutManager.findFirstVisibleItemPosition(),
+                        layoutManager.findLastVisibleItemPosition());
+            }
+        });
 
         setupFilterControls();
         observeViewModel();
@@ -178,7 +191,7 @@ public class HomeFragment extends Fragment {
 
     private void observeViewModel() {
         postsViewModel.getPosts().observe(getViewLifecycleOwner(), posts -> {
-            postsAdapter.submitList(posts);
+            postsAdapter.submitPosts(posts);
             boolean isEmpty = posts == null || posts.isEmpty();
             binding.emptyStateTextView.setVisibility(isEmpty ? View.VISIBLE : View.GONE);
             binding.postsRecyclerView.setVisibility(isEmpty ? View.GONE : View.VISIBLE);
@@ -205,6 +218,18 @@ public class HomeFragment extends Fragment {
         Navigation.findNavController(binding.getRoot()).navigate(R.id.action_navigation_home_to_postDetailFragment, args);
     }
 
+    @Override
+    public void onLowMemory() {
+        super.onLowMemory();
+        if (binding == null) return;
+        LinearLayoutManager layoutManager = (LinearLayoutManager) binding.postsRecyclerView.getLayoutManager();
+        if (layoutManager != null) {
+            postsViewModel.trimMemory(
+                    layoutManager.findFirstVisibleItemPosition(),
+                    layoutManager.findLastVisibleItemPosition());
+        }
+    }
+
     @Override
     public void onDestroyView() {
         if (binding != null) {
@@ -0,0 +1,484 @@
+package com.example.csci_310project2team26.ui.home;
+
+import android.content.res.Resources;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.Button;
+import android.widget.ImageButton;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.csci_310project2team26.R;
+import com.example.csci_310project2team26.data.model.Comment;
+import com.example.csci_310project2team26.data.model.Post;
+import com.example.csci_310project2team26.data.model.VoteType;
+import com.example.csci_310project2team26.data.repository.SessionManager;
+import com.example.csci_310project2team26.util.RelativeTimeFormatter;
+
+import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * PostDetailAdapter - The whole post detail screen as one recycled list: the
+ * post header, then the loaded comments, then a progress row while more
+ * comments can be loaded. Only the rows on screen are inflated and bound, so
+ * long threads cost memory in proportion to the viewport, not the thread.
+ *
+ * Items are the {@link Post} itself, {@link Comment}s and {@link #LOADING_MORE};
+ * the list is diffed off the main thread by ListAdapter.
+ */
+public class PostDetailAdapter extends ListAdapter<Object, RecyclerView.ViewHolder> {
+
+    public interface OnHeaderActionListener {
+        void onVote(String type);
+        void onEditPost();
+        void onShowVersions();
+        void onDeletePost();
+        void onAddComment();
+    }
+
+    public interface OnCommentVoteListener {
+        void onVote(Comment comment, String type);
+    }
+
+    public interface OnCommentEditListener {
+        void onEdit(Comment comment);
+    }
+
+    public interface OnCommentDeleteListener {
+        void onDelete(Comment comment);
+    }
+
+    public interface OnCommentRetryListener {
+        void onRetry(Comment comment);
+    }
+
+    static final int TYPE_HEADER = 0;
+    static final int TYPE_COMMENT = 1;
+    static final int TYPE_LOADING_MORE = 2;
+
+    static final Object LOADING_MORE = new Object();
+
+    static final DiffUtil.ItemCallback<Object> DIFF_CALLBACK = new DiffUtil.ItemCallback<Object>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull Object oldItem, @NonNull Object newItem) {
+            if (oldItem instanceof Post && newItem instanceof Post) {
+                // One header per screen
+                return true;
+            }
+            if (oldItem instanceof Comment && newItem instanceof Comment) {
+                return Objects.equals(((Comment) oldItem).getId(), ((Comment) newItem).getId());
+            }
+            return oldItem == newItem;
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull Object oldItem, @NonNull Object newItem) {
+            if (oldItem instanceof Comment && newItem instanceof Comment) {
+                return sameComment((Comment) oldItem, (Comment) newItem);
+            }
+            // Posts are replaced, never mutated, when anything about them changes
+            return oldItem == newItem;
+        }
+    };
+
+    private OnHeaderActionListener headerListener;
+    private OnCommentVoteListener voteListener;
+    private OnCommentEditListener editListener;
+    private OnCommentDeleteListener deleteListener;
+    private OnCommentRetryListener retryListener;
+
+    private Post post;
+    private List<Comment> comments = new ArrayList<>();
+    private boolean loadingMore;
+    private int commentCount = -1;
+
+    public PostDetailAdapter() {
+        super(DIFF_CALLBACK);
+    }
+
+    public void setOnHeaderActionListener(OnHeaderActionListener listener) {
+        this.headerListener = listener;
+    }
+
+    public void setOnCommentVoteListener(OnCommentVoteListener listener) {
+        this.voteListener = listener;
+    }
+
+    public void setOnCommentEditListener(OnCommentEditListener listener) {
+        this.editListener = listener;
+    }
+
+    public void setOnCommentDeleteListener(OnCommentDeleteListener listener) {
+        this.deleteListener = listener;
+    }
+
+    public void setOnCommentRetryListener(OnCommentRetryListener listener) {
+        this.retryListener = listener;
+    }
+
+    public void setPost(Post newPost) {
+        boolean promptChanged = post == null || newPost == null
+                || post.isIs_prompt_post() != newPost.isIs_prompt_post();
+        post = newPost;
+        rebuild(promptChanged);
+    }
+
+    public void setComments(List<Comment> newComments) {
+        comments = newComments != null ? newComments : new ArrayList<>();
+        rebuild(false);
+    }
+
+    public void setLoadingMore(boolean hasMore) {
+        if (loadingMore != hasMore) {
+            loadingMore = hasMore;
+            rebuild(false);
+        }
+    }
+
+    /**
+     * Total comments on the post, shown in the header; -1 uses the post's own count.
+     */
+    public void setCommentCount(int count) {
+        if (commentCount != count) {
+            commentCount = count;
+            if (post != null && getItemCount() > 0) {
+                notifyItemChanged(0);
+            }
+        }
+    }
+
+    /**
+     * @return the index of a comment within the comments, or -1 for the header and footer
+     */
+    public int toCommentIndex(int adapterPosition) {
+        int index = adapterPosition - (post != null ? 1 : 0);
+        return index >= 0 && index < comments.size() ? index : -1;
+    }
+
+    private void rebuild(boolean rebindComments) {
+        List<Object> items = new ArrayList<>(comments.size() + 2);
+        if (post != null) {
+            items.add(post);
+        }
+        items.addAll(comments);
+        if (loadingMore && !comments.isEmpty()) {
+            items.add(LOADING_MORE);
+        }
+        submitList(items, rebindComments ? () -> {
+            // The "on a post/prompt" label of every comment depends on the header
+            int first = post != null ? 1 : 0;
+            notifyItemRangeChanged(first, comments.size());
+        } : null);
+    }
+
+    @Override
+    public int getItemViewType(int position) {
+        Object item = getItem(position);
+        if (item instanceof Post) {
+            return TYPE_HEADER;
+        }
+        return item instanceof Comment ? TYPE_COMMENT : TYPE_LOADING_MORE;
+    }
+
+    @NonNull
+    @Override
+    public RecyclerView.ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        LayoutInflater inflater = LayoutInflater.from(parent.getContext());
+        if (viewType == TYPE_HEADER) {
+            return new HeaderViewHolder(inflater.inflate(R.layout.item_post_detail_header, parent, false));
+        }
+        if (viewType == TYPE_COMMENT) {
+            return new CommentViewHolder(inflater.inflate(R.layout.item_comment, parent, false));
+        }
+        return new LoadingViewHolder(inflater.inflate(R.layout.item_comments_loading, parent, false));
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull RecyclerView.ViewHolder holder, int position) {
+        Object item = getItem(position);
+        if (holder instanceof HeaderViewHolder) {
+            ((HeaderViewHolder) holder).bind((Post) item);
+        } else if (holder instanceof CommentViewHolder) {
+            ((CommentViewHolder) holder).bind((Comment) item);
+        }
+    }
+
+    private static boolean sameComment(Comment a, Comment b) {
+        return Objects.equals(a.getText(), b.getText())
+                && Objects.equals(a.getTitle(), b.getTitle())
+                && Objects.equals(a.getAuthor_id(), b.getAuthor_id())
+                && Objects.equals(a.getAuthor_name(), b.getAuthor_name())
+                && a.getCreatedAtMillis() == b.getCreatedAtMillis()
+                && a.getUpvotes() == b.getUpvotes()
+                && a.getDownvotes() == b.getDownvotes()
+                && a.getUserVote() == b.getUserVote()
+                && a.getSendState() == b.getSendState();
+    }
+
+    private static boolean isCurrentUser(String authorId) {
+        String currentUserId = SessionManager.getUserId();
+        return currentUserId != null && currentUserId.equals(authorId);
+    }
+
+    class HeaderViewHolder extends RecyclerView.ViewHolder {
+        private final TextView titleTextView;
+        private final TextView tagTextView;
+        private final TextView authorTextView;
+        private final TextView dateTextView;
+        private final TextView contentTextView;
+        private final TextView promptSectionLabel;
+        private final TextView promptSectionTextView;
+        private final View promptDivider;
+        private final TextView descriptionSectionLabel;
+        private final TextView descriptionSectionTextView;
+        private final ImageButton upvoteButton;
+        private final ImageButton downvoteButton;
+        private final TextView upvoteCountTextView;
+        private final TextView downvoteCountTextView;
+        private final TextView commentCountTextView;
+        private final View editPostButton;
+        private final View versionHistoryButton;
+        private final View deletePostButton;
+        private final NumberFormat numberFormat = NumberFormat.getIntegerInstance(Locale.getDefault());
+
+        HeaderViewHolder(@NonNull View itemView) {
+            super(itemView);
+            titleTextView = itemView.findViewById(R.id.titleTextView);
+            tagTextView = itemView.findViewById(R.id.tagTextView);
+            authorTextView = itemView.findViewById(R.id.authorTextView);
+            dateTextView = itemView.findViewById(R.id.dateTextView);
+            contentTextView = itemView.findViewById(R.id.contentTextView);
+            promptSectionLabel = itemView.findViewById(R.id.promptSectionLabel);
+            promptSectionTextView = itemView.findViewById(R.id.promptSectionTextView);
+            promptDivider = itemView.findViewById(R.id.promptDivider);
+            descriptionSectionLabel = itemView.findViewById(R.id.descriptionSectionLabel);
+            descriptionSectionTextView = itemView.findViewById(R.id.descriptionSectionTextView);
+            upvoteButton = itemView.findViewById(R.id.upvoteButton);
+            downvoteButton = itemView.findViewById(R.id.downvoteButton);
+            upvoteCountTextView = itemView.findViewById(R.id.upvoteCountTextView);
+            downvoteCountTextView = itemView.findViewById(R.id.downvoteCountTextView);
+            commentCountTextView = itemView.findViewById(R.id.commentCountTextView);
+            editPostButton = itemView.findViewById(R.id.editPostButton);
+            versionHistoryButton = itemView.findViewById(R.id.versionHistoryButton);
+            deletePostButton = itemView.findViewById(R.id.deletePostButton);
+
+            // The listener is read on click so it can be set after the first bind
+            upvoteButton.setOnClickListener(v -> {
+                if (headerListener != null) headerListener.onVote("up");
+            });
+            downvoteButton.setOnClickListener(v -> {
+                if (headerListener != null) headerListener.onVote("down");
+            });
+            editPostButton.setOnClickListener(v -> {
+                if (headerListener != null) headerListener.onEditPost();
+            });
+            versionHistoryButton.setOnClickListener(v -> {
+                if (headerListener != null) headerListener.onShowVersions();
+            });
+            deletePostButton.setOnClickListener(v -> {
+                if (headerListener != null) headerListener.onDeletePost();
+            });
+            itemView.findViewById(R.id.commentButton).setOnClickListener(v -> {
+                if (headerListener != null) headerListener.onAddComment();
+            });
+        }
+
+        void bind(Post post) {
+            Resources resources = itemView.getResources();
+            titleTextView.setText(post.getTitle() != null ? post.getTitle() : "");
+
+            // Display content or prompt sections based on post type
+            boolean isPromptPost = post.isIs_prompt_post();
+            boolean hasPrompt = isPromptPost && post.getPrompt_section() != null
+                    && !post.getPrompt_section().trim().isEmpty();
+            boolean hasDescription = isPromptPost && post.getDescription_section() != null
+                    && !post.getDescription_section().trim().isEmpty();
+            contentTextView.setVisibility(isPromptPost ? View.GONE : View.VISIBLE);
+            if (!isPromptPost) {
+                contentTextView.setText(post.getContent() != null ? post.getContent() : "");
+            }
+            promptSectionLabel.setVisibility(hasPrompt ? View.VISIBLE : View.GONE);
+            promptSectionTextView.setVisibility(hasPrompt ? View.VISIBLE : View.GONE);
+            if (hasPrompt) {
+                promptSectionTextView.setText(post.getPrompt_section());
+            }
+            descriptionSectionLabel.setVisibility(hasDescription ? View.VISIBLE : View.GONE);
+            descriptionSectionTextView.setVisibility(hasDescription ? View.VISIBLE : View.GONE);
+            if (hasDescription) {
+                descriptionSectionTextView.setText(post.getDescription_section());
+            }
+            promptDivider.setVisibility(View.GONE);
+
+            String author = post.isAnonymous()
+                    ? resources.getString(R.string.post_author_anonymous)
+                    : (post.getAuthor_name() != null && !post.getAuthor_name().isEmpty()
+                        ? post.getAuthor_name()
+                        : resources.getString(R.string.post_meta_unknown_author));
+            boolean hasTag = post.getLlm_tag() != null && !post.getLlm_tag().isEmpty();
+            tagTextView.setText(hasTag
+                    ? resources.getString(R.string.post_tag_format, post.getLlm_tag())
+                    : resources.getString(R.string.post_tag_unknown));
+            authorTextView.setText(resources.getString(R.string.post_author_format, author));
+            dateTextView.setText(RelativeTimeFormatter.get(resources).format(post.getCreatedAtMillis()));
+
+            // Show edit, delete and version history buttons only for own posts
+            int ownPostVisibility = isCurrentUser(post.getAuthor_id()) ? View.VISIBLE : View.GONE;
+            editPostButton.setVisibility(ownPostVisibility);
+            deletePostButton.setVisibility(ownPostVisibility);
+            versionHistoryButton.setVisibility(ownPostVisibility);
+
+            int upvotes = Math.max(post.getUpvotes(), 0);
+            int downvotes = Math.max(post.getDownvotes(), 0);
+            int comments = commentCount >= 0 ? commentCount : Math.max(post.getComment_count(), 0);
+            upvoteCountTextView.setText(resources.getQuantityString(
+                    R.plurals.post_upvotes, upvotes, numberFormat.format(upvotes)));
+            downvoteCountTextView.setText(resources.getQuantityString(
+                    R.plurals.post_downvotes, downvotes, numberFormat.format(downvotes)));
+            commentCountTextView.setText(resources.getQuantityString(
+                    R.plurals.post_comments, comments, numberFormat.format(comments)));
+
+            byte userVote = post.getUserVote();
+            upvoteButton.setImageResource(userVote == VoteType.UP
+                    ? R.drawable.ic_arrow_up_filled_24dp
+                    : R.drawable.ic_arrow_up_outline_24dp);
+            downvoteButton.setImageResource(userVote == VoteType.DOWN
+                    ? R.drawable.ic_arrow_down_filled_24dp
+                    : R.drawable.ic_arrow_down_outline_24dp);
+        }
+    }
+
+    class CommentViewHolder extends RecyclerView.ViewHolder {
+        private final TextView authorTextView;
+        private final TextView dateTextView;
+        private final TextView contextTextView;
+        private final TextView titleTextView;
+        private final TextView textTextView;
+        private final ImageButton upvoteButton;
+        private final ImageButton downvoteButton;
+        private final TextView upvoteCountTextView;
+        private final TextView downvoteCountTextView;
+        private final Button editCommentButton;
+        private final Button deleteCommentButton;
+        private Comment boundComment;
+
+        CommentViewHolder(@NonNull View itemView) {
+            super(itemView);
+            authorTextView = itemView.findViewById(R.id.authorTextView);
+            dateTextView = itemView.findViewById(R.id.dateTextView);
+            contextTextView = itemView.findViewById(R.id.contextTextView);
+            titleTextView = itemView.findViewById(R.id.titleTextView);
+            textTextView = itemView.findViewById(R.id.textTextView);
+            upvoteButton = itemView.findViewById(R.id.btnCommentUpvote);
+            downvoteButton = itemView.findViewById(R.id.btnCommentDownvote);
+            upvoteCountTextView = itemView.findViewById(R.id.upvoteCountTextView);
+            downvoteCountTextView = itemView.findViewById(R.id.downvoteCountTextView);
+            editCommentButton = itemView.findViewById(R.id.editCommentButton);
+            deleteCommentButton = itemView.findViewById(R.id.deleteCommentButton);
+
+            // Handlers read boundComment, so recycled holders never act on a stale row
+            upvoteButton.setOnClickListener(v -> {
+                if (voteListener != null && isSent(boundComment)) {
+                    voteListener.onVote(boundComment, "up");
+                }
+            });
+            downvoteButton.setOnClickListener(v -> {
+                if (voteListener != null && isSent(boundComment)) {
+                    voteListener.onVote(boundComment, "down");
+                }
+            });
+            editCommentButton.setOnClickListener(v -> {
+                if (editListener != null && isSent(boundComment)) {
+                    editListener.onEdit(boundComment);
+                }
+            });
+            deleteCommentButton.setOnClickListener(v -> {
+                if (deleteListener != null && hasId(boundComment)) {
+                    deleteListener.onDelete(boundComment);
+                }
+            });
+            itemView.setOnClickListener(v -> {
+                if (retryListener != null && hasId(boundComment)
+                        && boundComment.getSendState() == Comment.SEND_STATE_FAILED) {
+                    retryListener.onRetry(boundComment);
+                }
+            });
+        }
+
+        void bind(Comment comment) {
+            boundComment = comment;
+            Resources resources = itemView.getResources();
+
+            // Author and date
+            authorTextView.setText(comment.getAuthor_name() != null ? comment.getAuthor_name() : "");
+            int sendState = comment.getSendState();
+            if (sendState == Comment.SEND_STATE_PENDING) {
+                dateTextView.setText(R.string.comment_sending);
+            } else if (sendState == Comment.SEND_STATE_FAILED) {
+                dateTextView.setText(R.string.comment_send_failed);
+            } else {
+                dateTextView.setText(RelativeTimeFormatter.get(resources).format(comment.getCreatedAtMillis()));
+            }
+            itemView.setAlpha(sendState == Comment.SEND_STATE_PENDING ? 0.6f : 1f);
+            itemView.setClickable(sendState == Comment.SEND_STATE_FAILED);
+
+            if (contextTextView != null) {
+                contextTextView.setVisibility(View.VISIBLE);
+                contextTextView.setText(post != null && post.isIs_prompt_post()
+                        ? resources.getString(R.string.comment_context_prompt)
+                        : resources.getString(R.string.comment_context_post));
+            }
+
+            // Title (show only if exists)
+            if (comment.getTitle() != null && !comment.getTitle().trim().isEmpty()) {
+                titleTextView.setText(comment.getTitle());
+                titleTextView.setVisibility(View.VISIBLE);
+            } else {
+                titleTextView.setVisibility(View.GONE);
+            }
+
+            textTextView.setText(comment.getText() != null ? comment.getText() : "");
+
+            upvoteCountTextView.setText(String.valueOf(Math.max(comment.getUpvotes(), 0)));
+            downvoteCountTextView.setText(String.valueOf(Math.max(comment.getDownvotes(), 0)));
+            byte userVote = comment.getUserVote();
+            upvoteButton.setImageResource(userVote == VoteType.UP
+                    ? R.drawable.ic_arrow_up_filled_24dp
+                    : R.drawable.ic_arrow_up_outline_24dp);
+            downvoteButton.setImageResource(userVote == VoteType.DOWN
+                    ? R.drawable.ic_arrow_down_filled_24dp
+                    : R.drawable.ic_arrow_down_outline_24dp);
+
+            upvoteButton.setEnabled(!comment.isUnsent());
+            downvoteButton.setEnabled(!comment.isUnsent());
+
+            // Edit/Delete buttons (only show for own comments); a failed comment can only be discarded
+            boolean ownComment = isCurrentUser(comment.getAuthor_id());
+            editCommentButton.setVisibility(ownComment && !comment.isUnsent() ? View.VISIBLE : View.GONE);
+            deleteCommentButton.setVisibility(ownComment && sendState != Comment.SEND_STATE_PENDING
+                    ? View.VISIBLE : View.GONE);
+        }
+
+        private boolean hasId(Comment comment) {
+            return comment != null && comment.getId() != null && !comment.getId().isEmpty();
+        }
+
+        private boolean isSent(Comment comment) {
+            return hasId(comment) && !comment.isUnsent();
+        }
+    }
+
+    static class LoadingViewHolder extends RecyclerView.ViewHolder {
+        LoadingViewHolder(@NonNull View itemView) {
+            super(itemView);
+        }
+    }
+}
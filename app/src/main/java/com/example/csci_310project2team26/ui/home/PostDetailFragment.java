@@ -1,7 +1,6 @@
 package com.example.csci_310project2team26.ui.home;
 
 import android.content.Context;
-import android.content.res.Resources;
 import android.os.Bundle;
 import android.text.TextUtils;
 import android.view.LayoutInflater;
@@ -16,34 +15,24 @@ import androidx.fragment.app.Fragment;
 import androidx.lifecycle.ViewModelProvider;
 import androidx.navigation.Navigation;
 import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.csci_310project2team26.R;
 import com.example.csci_310project2team26.data.model.Post;
 import com.example.csci_310project2team26.data.repository.PostRepository;
 import com.example.csci_310project2team26.data.repository.SessionManager;
-import com.example.csci_310project2team26.data.repository.VotePreferenceManager;
 import com.example.csci_310project2team26.databinding.FragmentPostDetailBinding;
 import com.example.csci_310project2team26.viewmodel.CommentsViewModel;
 import com.example.csci_310project2team26.viewmodel.PostDetailViewModel;
 
-import java.text.NumberFormat;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
-import java.util.Date;
-import java.util.Locale;
-import java.util.TimeZone;
-import java.util.concurrent.TimeUnit;
-
 public class PostDetailFragment extends Fragment {
 
     private FragmentPostDetailBinding binding;
     private CommentsViewModel commentsViewModel;
     private PostDetailViewModel postDetailViewModel;
     private PostRepository postRepository;
-    private CommentsAdapter commentsAdapter;
+    private PostDetailAdapter detailAdapter;
     private String postId;
-    private int displayedCommentCount = 0;
-    private Post currentPost;
     private long sessionVersionAtLoad = SessionManager.getSessionVersion();
 
     @Nullable
@@ -60,18 +49,40 @@ public class PostDetailFragment extends Fragment {
         postDetailViewModel = new ViewModelProvider(this).get(PostDetailViewModel.class);
         postRepository = new PostRepository();
 
-        commentsAdapter = new CommentsAdapter();
-        commentsAdapter.setOnCommentVoteListener((comment, type) -> {
+        detailAdapter = new PostDetailAdapter();
+        detailAdapter.setOnHeaderActionListener(new PostDetailAdapter.OnHeaderActionListener() {
+            @Override
+            public void onVote(String type) {
+                vote(type);
+            }
+
+            @Override
+            public void onEditPost() {
+                navigateWithPostId(R.id.action_postDetailFragment_to_editPostFragment);
+            }
+
+            @Override
+            public void onShowVersions() {
+                navigateWithPostId(R.id.action_postDetailFragment_to_postVersionsFragment);
+            }
+
+            @Override
+            public void onDeletePost() {
+                deletePost();
+            }
+
+            @Override
+            public void onAddComment() {
+                focusOnCommentField();
+            }
+        });
+        detailAdapter.setOnCommentVoteListener((comment, type) -> {
             if (postId != null && comment != null && comment.getId() != null && !comment.getId().isEmpty()) {
-                // Check if already voting to prevent rapid clicks
-                Boolean isVoting = commentsViewModel.getLoading().getValue();
-                if (Boolean.TRUE.equals(isVoting)) {
-                    return; // Already processing a vote
-                }
+                // Applied optimistically; votes on one comment are sent in order
                 commentsViewModel.voteOnComment(postId, comment.getId(), type);
             }
         });
-        commentsAdapter.setOnCommentEditListener(comment -> {
+        detailAdapter.setOnCommentEditListener(comment -> {
             if (comment != null && comment.getId() != null && postId != null) {
                 // Navigate to edit comment fragment
                 Bundle args = new Bundle();
@@ -80,7 +91,13 @@ public class PostDetailFragment extends Fragment {
                 Navigation.findNavController(binding.getRoot()).navigate(R.id.editCommentFragment, args);
             }
         });
-        commentsAdapter.setOnCommentDeleteListener(comment -> {
+        detailAdapter.setOnCommentRetryListener(comment -> commentsViewModel.retryComment(comment.getId()));
+        detailAdapter.setOnCommentDeleteListener(comment -> {
+            if (comment != null && comment.isUnsent()) {
+                // Never reached the server; nothing to confirm
+                commentsViewModel.discardComment(comment.getId());
+                return;
+            }
             if (comment != null && comment.getId() != null && postId != null && getContext() != null) {
                 // Show confirmation dialog
                 new android.app.AlertDialog.Builder(getContext())
@@ -93,8 +110,18 @@ public class PostDetailFragment extends Fragment {
                         .show();
             }
         });
-        binding.commentsRecyclerView.setLayoutManager(new LinearLayoutManager(requireContext()));
-        binding.commentsRecyclerView.setAdapter(commentsAdapter);
+        LinearLayoutManager layoutManager = new LinearLayoutManager(requireContext());
+        binding.postDetailRecyclerView.setLayoutManager(layoutManager);
+        binding.postDetailRecyclerView.setAdapter(detailAdapter);
+        binding.postDetailRecyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+                int lastComment = detailAdapter.toCommentIndex(layoutManager.findLastVisibleItemPosition());
+                if (lastComment >= 0) {
+                    commentsViewModel.onCommentsScrolled(lastComment);
+                }
+            }
+        });
 
         if (getArguments() != null) {
             postId = getArguments().getString("postId");
@@ -110,9 +137,6 @@ public class PostDetailFragment extends Fragment {
         postDetailViewModel.loadPost(postId);
         commentsViewModel.loadComments(postId);
 
-        binding.upvoteButton.setOnClickListener(v -> vote("up"));
-        binding.downvoteButton.setOnClickListener(v -> vote("down"));
-        binding.commentButton.setOnClickListener(v -> focusOnCommentField());
         binding.addCommentButton.setOnClickListener(v -> addComment());
 
         observeViewModel();
@@ -133,7 +157,7 @@ public class PostDetailFragment extends Fragment {
         // Observe post data (similar to how comments are observed)
         postDetailViewModel.getPost().observe(getViewLifecycleOwner(), post -> {
             if (binding == null || post == null) return;
-            updatePostUI(post);
+            showPost(post);
         });
         
         postDetailViewModel.getLoading().observe(getViewLifecycleOwner(), loading -> {
@@ -150,258 +174,44 @@ public class PostDetailFragment extends Fragment {
         // Observe comments
         commentsViewModel.getComments().observe(getViewLifecycleOwner(), list -> {
             if (binding == null) return;
-            commentsAdapter.submitList(list);
-            displayedCommentCount = list != null ? list.size() : 0;
-            updateCommentCountText(displayedCommentCount);
+            detailAdapter.setComments(list);
+        });
+        commentsViewModel.hasMoreComments().observe(getViewLifecycleOwner(), hasMore -> {
+            if (binding == null) return;
+            detailAdapter.setLoadingMore(Boolean.TRUE.equals(hasMore));
+        });
+        commentsViewModel.getCommentTotal().observe(getViewLifecycleOwner(), total -> {
+            if (binding == null || total == null) return;
+            detailAdapter.setCommentCount(total);
         });
         commentsViewModel.getError().observe(getViewLifecycleOwner(), err -> {
             if (err != null && binding != null && getContext() != null) {
                 Toast.makeText(getContext(), err, Toast.LENGTH_LONG).show();
             }
         });
-        commentsViewModel.isPostingComment().observe(getViewLifecycleOwner(), posting -> {
-            if (binding == null) return;
-            boolean inFlight = Boolean.TRUE.equals(posting);
-            binding.addCommentButton.setEnabled(!inFlight);
-            binding.commentEditText.setEnabled(!inFlight);
-            if (binding.commentTitleEditText != null) {
-                binding.commentTitleEditText.setEnabled(!inFlight);
-            }
-        });
-        commentsViewModel.getLatestPostedComment().observe(getViewLifecycleOwner(), comment -> {
-            if (comment == null || binding == null) return;
-            binding.commentEditText.setText("");
-            if (binding.commentTitleEditText != null) {
-                binding.commentTitleEditText.setText("");
-            }
-            // Comments will be reloaded automatically by the ViewModel
-            // Scroll to top after a brief delay to allow RecyclerView to update
-            binding.commentsRecyclerView.post(() -> {
-                if (binding != null) {
-                    binding.commentsRecyclerView.scrollToPosition(0);
-                }
-            });
-        });
     }
     
-    private void updatePostUI(Post post) {
-        if (binding == null || getContext() == null || post == null) return;
-
-        currentPost = post;
-        
-        binding.titleTextView.setText(post.getTitle() != null ? post.getTitle() : "");
-        
-        // Display content or prompt sections based on post type
-        boolean isPromptPost = post.isIs_prompt_post();
-        commentsAdapter.setParentIsPrompt(isPromptPost);
-        if (isPromptPost) {
-            // For prompt posts, show prompt_section and description_section
-            binding.contentTextView.setVisibility(View.GONE);
-            
-            if (post.getPrompt_section() != null && !post.getPrompt_section().trim().isEmpty()) {
-                if (binding.promptSectionLabel != null) {
-                    binding.promptSectionLabel.setVisibility(View.VISIBLE);
-                }
-                if (binding.promptSectionTextView != null) {
-                    binding.promptSectionTextView.setText(post.getPrompt_section());
-                    binding.promptSectionTextView.setVisibility(View.VISIBLE);
-                }
-            } else {
-                if (binding.promptSectionLabel != null) {
-                    binding.promptSectionLabel.setVisibility(View.GONE);
-                }
-                if (binding.promptSectionTextView != null) {
-                    binding.promptSectionTextView.setVisibility(View.GONE);
-                }
-            }
-            
-            if (post.getDescription_section() != null && !post.getDescription_section().trim().isEmpty()) {
-                if (binding.descriptionSectionLabel != null) {
-                    binding.descriptionSectionLabel.setVisibility(View.VISIBLE);
-                }
-                if (binding.descriptionSectionTextView != null) {
-                    binding.descriptionSectionTextView.setText(post.getDescription_section());
-                    binding.descriptionSectionTextView.setVisibility(View.VISIBLE);
-                }
-            } else {
-                if (binding.descriptionSectionLabel != null) {
-                    binding.descriptionSectionLabel.setVisibility(View.GONE);
-                }
-                if (binding.descriptionSectionTextView != null) {
-                    binding.descriptionSectionTextView.setVisibility(View.GONE);
-                }
-            }
-
-        } else {
-            // For regular posts, show content
-            binding.contentTextView.setVisibility(View.VISIBLE);
-            binding.contentTextView.setText(post.getContent() != null ? post.getContent() : "");
-
-            // Hide prompt sections
-            if (binding.promptSectionLabel != null) {
-                binding.promptSectionLabel.setVisibility(View.GONE);
-            }
-            if (binding.promptSectionTextView != null) {
-                binding.promptSectionTextView.setVisibility(View.GONE);
-            }
-            if (binding.descriptionSectionLabel != null) {
-                binding.descriptionSectionLabel.setVisibility(View.GONE);
-            }
-            if (binding.descriptionSectionTextView != null) {
-                binding.descriptionSectionTextView.setVisibility(View.GONE);
-            }
-            if (binding.promptDivider != null) {
-                binding.promptDivider.setVisibility(View.GONE);
-            }
-        }
-
-        Resources resources = getResources();
-        String author = post.isAnonymous()
-                ? resources.getString(R.string.post_author_anonymous)
-                : (post.getAuthor_name() != null && !post.getAuthor_name().isEmpty()
-                    ? post.getAuthor_name()
-                    : resources.getString(R.string.post_meta_unknown_author));
-        boolean hasTag = post.getLlm_tag() != null && !post.getLlm_tag().isEmpty();
-        String tagLabel = hasTag
-                ? resources.getString(R.string.post_tag_format, post.getLlm_tag())
-                : resources.getString(R.string.post_tag_unknown);
-        binding.tagTextView.setText(tagLabel);
-        binding.authorTextView.setText(resources.getString(R.string.post_author_format, author));
-
-        // Format and display date
-        if (binding.dateTextView != null) {
-            String dateText = formatDate(post.getCreated_at(), resources);
-            binding.dateTextView.setText(dateText);
-        }
-
-        // Show edit, delete and version history buttons only for own posts
-        String currentUserId = SessionManager.getUserId();
-        boolean isOwnPost = currentUserId != null && post.getAuthor_id() != null 
-                && currentUserId.equals(post.getAuthor_id());
-        
-        if (binding.editPostButton != null) {
-            if (isOwnPost) {
-                binding.editPostButton.setVisibility(View.VISIBLE);
-                binding.editPostButton.setOnClickListener(v -> {
-                    if (postId != null && !postId.isEmpty()) {
-                        Bundle args = new Bundle();
-                        args.putString("postId", postId);
-                        Navigation.findNavController(binding.getRoot()).navigate(R.id.action_postDetailFragment_to_editPostFragment, args);
-                    }
-                });
-            } else {
-                binding.editPostButton.setVisibility(View.GONE);
-            }
-        }
-
-        if (binding.deletePostButton != null) {
-            if (isOwnPost) {
-                binding.deletePostButton.setVisibility(View.VISIBLE);
-                binding.deletePostButton.setOnClickListener(v -> deletePost());
-            } else {
-                binding.deletePostButton.setVisibility(View.GONE);
-            }
-        }
-
-        if (binding.versionHistoryButton != null) {
-            if (isOwnPost) {
-                binding.versionHistoryButton.setVisibility(View.VISIBLE);
-                binding.versionHistoryButton.setOnClickListener(v -> {
-                    if (postId != null && !postId.isEmpty()) {
-                        Bundle args = new Bundle();
-                        args.putString("postId", postId);
-                        Navigation.findNavController(binding.getRoot()).navigate(R.id.action_postDetailFragment_to_postVersionsFragment, args);
-                    }
-                });
-            } else {
-                binding.versionHistoryButton.setVisibility(View.GONE);
-            }
-        }
-
-        String persistedVote = VotePreferenceManager.getPostVote(getContext(), post.getId());
-        if (persistedVote != null && (post.getUser_vote_type() == null || post.getUser_vote_type().isEmpty())) {
-            post.setUser_vote_type(persistedVote);
-        }
-
-        NumberFormat numberFormat = NumberFormat.getIntegerInstance(Locale.getDefault());
-        int upvotes = Math.max(post.getUpvotes(), 0);
-        int downvotes = Math.max(post.getDownvotes(), 0);
-        displayedCommentCount = Math.max(post.getComment_count(), 0);
-
-        String upvoteText = resources.getQuantityString(
-                R.plurals.post_upvotes,
-                upvotes,
-                numberFormat.format(upvotes)
-        );
-        String downvoteText = resources.getQuantityString(
-                R.plurals.post_downvotes,
-                downvotes,
-                numberFormat.format(downvotes)
-        );
+    private void showPost(Post post) {
+        if (binding == null || getContext() == null) return;
 
-        // Update vote counts - this will automatically update when post LiveData changes
-        binding.upvoteCountTextView.setText(upvoteText);
-        binding.downvoteCountTextView.setText(downvoteText);
-        updateCommentCountText(displayedCommentCount);
+        detailAdapter.setPost(post);
+    }
 
-        updateVoteButtons(post.getUser_vote_type());
+    private void navigateWithPostId(int destinationId) {
+        if (binding == null || postId == null || postId.isEmpty()) return;
+        Bundle args = new Bundle();
+        args.putString("postId", postId);
+        Navigation.findNavController(binding.getRoot()).navigate(destinationId, args);
     }
 
     private void vote(String type) {
         if (postId == null || binding == null) return;
-        
-        // Check buttons exist before accessing
-        if (binding.upvoteButton == null || binding.downvoteButton == null) {
-            return;
-        }
-        
-        // Check if already voting to prevent rapid clicks (same pattern as comment voting)
-        Boolean isVoting = postDetailViewModel.getLoading().getValue();
-        if (Boolean.TRUE.equals(isVoting)) {
-            return; // Already processing a vote
-        }
-
-        applyLocalVote(type);
 
-        // Use ViewModel to vote (same pattern as comment voting)
-        // This will automatically reload the post and update UI via LiveData
+        // The ViewModel patches the post optimistically and updates the UI via LiveData;
+        // rapid taps are safe because votes on one post are sent in order
         postDetailViewModel.voteOnPost(postId, type);
     }
 
-    private void applyLocalVote(String type) {
-        if (currentPost == null || binding == null) return;
-
-        String currentVote = currentPost.getUser_vote_type();
-        String newVote = type;
-
-        if ("up".equalsIgnoreCase(type) && "up".equalsIgnoreCase(currentVote)) {
-            newVote = null;
-        } else if ("down".equalsIgnoreCase(type) && "down".equalsIgnoreCase(currentVote)) {
-            newVote = null;
-        }
-
-        currentPost.setUser_vote_type(newVote);
-        VotePreferenceManager.setPostVote(getContext(), currentPost.getId(), newVote);
-        updateVoteButtons(newVote);
-    }
-
-    private void updateVoteButtons(String userVoteType) {
-        if (binding == null) return;
-        boolean isUpvoted = "up".equalsIgnoreCase(userVoteType);
-        boolean isDownvoted = "down".equalsIgnoreCase(userVoteType);
-
-        if (binding.upvoteButton != null) {
-            binding.upvoteButton.setImageResource(isUpvoted
-                    ? R.drawable.ic_arrow_up_filled_24dp
-                    : R.drawable.ic_arrow_up_outline_24dp);
-        }
-        if (binding.downvoteButton != null) {
-            binding.downvoteButton.setImageResource(isDownvoted
-                    ? R.drawable.ic_arrow_down_filled_24dp
-                    : R.drawable.ic_arrow_down_outline_24dp);
-        }
-    }
-
     private void addComment() {
         if (binding == null || postId == null) return;
         String text = binding.commentEditText.getText() != null 
@@ -419,92 +229,21 @@ public class PostDetailFragment extends Fragment {
             }
         }
         
+        // Shown right away as a pending comment, so the composer is free for the next one
         commentsViewModel.addComment(postId, text, title);
+        binding.commentEditText.setText("");
+        if (binding.commentTitleEditText != null) {
+            binding.commentTitleEditText.setText("");
+        }
     }
 
     private void focusOnCommentField() {
         if (binding == null || getContext() == null) return;
+        // The composer sits below the list, so it is always on screen
         binding.commentEditText.requestFocus();
-        binding.postDetailScrollView.post(() -> {
-            if (binding == null || getContext() == null) return;
-            binding.postDetailScrollView.smoothScrollTo(0, binding.commentEditText.getBottom());
-            InputMethodManager imm = (InputMethodManager) getContext().getSystemService(Context.INPUT_METHOD_SERVICE);
-            if (imm != null) {
-                imm.showSoftInput(binding.commentEditText, InputMethodManager.SHOW_IMPLICIT);
-            }
-        });
-    }
-
-    private void updateCommentCountText(int commentCount) {
-        if (binding == null || getContext() == null) return;
-        Resources resources = getResources();
-        NumberFormat numberFormat = NumberFormat.getIntegerInstance(Locale.getDefault());
-        String commentsText = resources.getQuantityString(
-                R.plurals.post_comments,
-                commentCount,
-                numberFormat.format(commentCount)
-        );
-        binding.commentCountTextView.setText(commentsText);
-    }
-
-    private String formatDate(String dateString, Resources resources) {
-        if (dateString == null || dateString.isEmpty()) {
-            return "";
-        }
-
-        // PostgreSQL TIMESTAMP returns ISO 8601 format
-        // Try multiple formats: with milliseconds, without, with timezone, without
-        String[] formats = {
-            "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'",  // With milliseconds and Z
-            "yyyy-MM-dd'T'HH:mm:ss.SSSZ",     // With milliseconds and timezone
-            "yyyy-MM-dd'T'HH:mm:ss.SSS",      // With milliseconds, no timezone
-            "yyyy-MM-dd'T'HH:mm:ss'Z'",      // Without milliseconds, with Z
-            "yyyy-MM-dd'T'HH:mm:ssZ",         // Without milliseconds, with timezone
-            "yyyy-MM-dd'T'HH:mm:ss",          // Without milliseconds, no timezone
-            "yyyy-MM-dd HH:mm:ss"             // Space separator (fallback)
-        };
-
-        for (String formatStr : formats) {
-            try {
-                SimpleDateFormat format = new SimpleDateFormat(formatStr, Locale.getDefault());
-                // Set timezone to UTC for parsing
-                format.setTimeZone(TimeZone.getTimeZone("UTC"));
-                Date date = format.parse(dateString);
-                if (date != null) {
-                    return formatRelativeTime(date, resources);
-                }
-            } catch (ParseException e) {
-                // Try next format
-                continue;
-            }
-        }
-
-        // If all parsing fails, return formatted original string
-        return dateString.length() > 10 ? dateString.substring(0, 10) : dateString;
-    }
-
-    private String formatRelativeTime(Date date, Resources resources) {
-        long now = System.currentTimeMillis();
-        long diff = now - date.getTime();
-        long days = TimeUnit.MILLISECONDS.toDays(diff);
-        long hours = TimeUnit.MILLISECONDS.toHours(diff);
-        long minutes = TimeUnit.MILLISECONDS.toMinutes(diff);
-
-        if (days > 0) {
-            if (days == 1) {
-                return resources.getString(R.string.post_date_yesterday);
-            } else if (days < 7) {
-                return resources.getString(R.string.post_date_days_ago, (int)days);
-            } else {
-                SimpleDateFormat displayFormat = new SimpleDateFormat("MMM d, yyyy", Locale.getDefault());
-                return displayFormat.format(date);
-            }
-        } else if (hours > 0) {
-            return resources.getString(R.string.post_date_hours_ago, (int)hours);
-        } else if (minutes > 0) {
-            return resources.getString(R.string.post_date_minutes_ago, (int)minutes);
-        } else {
-            return resources.getString(R.string.post_date_just_now);
+        InputMethodManager imm = (InputMethodManager) getContext().getSystemService(Context.INPUT_METHOD_SERVICE);
+        if (imm != null) {
+            imm.showSoftInput(binding.commentEditText, InputMethodManager.SHOW_IMPLICIT);
         }
     }
 
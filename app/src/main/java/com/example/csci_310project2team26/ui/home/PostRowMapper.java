@@ -0,0 +1,215 @@
+package com.example.csci_310project2team26.ui.home;
+
+import android.content.Context;
+import android.content.res.Resources;
+
+import com.example.csci_310project2team26.R;
+import com.example.csci_310project2team26.data.model.Post;
+import com.example.csci_310project2team26.data.repository.SessionManager;
+import com.example.csci_310project2team26.util.IsoTimestamps;
+import com.example.csci_310project2team26.util.RelativeTimeFormatter;
+
+import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+/**
+ * PostRowMapper - Turns posts into {@link PostRowModel}s off the main thread
+ * when a list arrives, so binding a row does no string work.
+ *
+ * The models of the previous list are kept by post ID and reused when a
+ * post's displayed fields and vote did not change, so a vote or
+ * a new page only rebuilds the affected rows. Relative dates are refreshed
+ * on reuse once they are a minute old.
+ *
+ * All mappers share one background thread, which also keeps each mapper's
+ * NumberFormat and model cache confined to a single thread.
+ */
+final class PostRowMapper {
+
+    interface Callback {
+        /**
+         * Runs on the mapping thread.
+         */
+        void onMapped(List<PostRowModel> rows);
+    }
+
+    private static final long DATE_REFRESH_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    private static final ExecutorService BACKGROUND = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "post-row-mapper");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final RelativeTimeFormatter dateFormatter;
+    private final NumberFormat numberFormat = NumberFormat.getIntegerInstance(Locale.getDefault());
+    private final String anonymousAuthor;
+    private final String unknownAuthor;
+    private final String untagged;
+    private final String typePost;
+    private final String typePrompt;
+    private final String tagFormat;
+    private final String authorFormat;
+    // Comment count -> its unformatted plural, e.g. "%1$s comments"
+    private final IntFunction<String> commentCountFormat;
+
+    // Models of the last mapped list by post ID; mapping thread only
+    private Map<String, PostRowModel> previous = new HashMap<>();
+    private long sessionVersion = SessionManager.getSessionVersion();
+
+    PostRowMapper(Context context) {
+        this(context.getResources());
+    }
+
+    private PostRowMapper(Resources resources) {
+        this(RelativeTimeFormatter.get(resources),
+                resources.getString(R.string.post_author_anonymous),
+                resources.getString(R.string.post_meta_unknown_author),
+                resources.getString(R.string.post_tag_unknown),
+                resources.getString(R.string.post_type_label_post),
+                resources.getString(R.string.post_type_label_prompt),
+                resources.getString(R.string.post_tag_format),
+                resources.getString(R.string.post_author_format),
+                count -> resources.getQuantityString(R.plurals.post_comments, count));
+    }
+
+    /**
+     * Mapper over already loaded strings, so it can run without a Context.
+     * The formats are unformatted, e.g. "By %1$s".
+     */
+    PostRowMapper(RelativeTimeFormatter dateFormatter, String anonymousAuthor, String unknownAuthor,
+                  String untagged, String typePost, String typePrompt, String tagFormat,
+                  String authorFormat, IntFunction<String> commentCountFormat) {
+        this.dateFormatter = dateFormatter;
+        this.anonymousAuthor = anonymousAuthor;
+        this.unknownAuthor = unknownAuthor;
+        this.untagged = untagged;
+        this.typePost = typePost;
+        this.typePrompt = typePrompt;
+        this.tagFormat = tagFormat;
+        this.authorFormat = authorFormat;
+        this.commentCountFormat = commentCountFormat;
+    }
+
+    /**
+     * Map {@code posts} on the background thread. Callbacks run in
+     * submission order.
+     */
+    void map(List<Post> posts, Callback callback) {
+        List<Post> snapshot = new ArrayList<>(posts);
+        BACKGROUND.execute(() -> callback.onMapped(mapNow(snapshot, System.currentTimeMillis())));
+    }
+
+    /**
+     * Map {@code posts} on the calling thread as of {@code now}. Only the
+     * mapping thread, or a test owning the mapper, may call this.
+     */
+    List<PostRowModel> mapNow(List<Post> posts, long now) {
+        long version = SessionManager.getSessionVersion();
+        if (version != sessionVersion) {
+            // Delete buttons and votes belong to the previous user
+            sessionVersion = version;
+            previous = new HashMap<>();
+        }
+        String userId = SessionManager.getUserId();
+
+        Map<String, PostRowModel> current = new HashMap<>(posts.size() * 2);
+        List<PostRowModel> rows = new ArrayList<>(posts.size());
+        for (Post post : posts) {
+            if (post == null || post.getId() == null) {
+                continue;
+            }
+            String vote = post.getUser_vote_type();
+            PostRowModel model = reuse(previous.get(post.getId()), post, vote, now);
+            if (model == null) {
+                model = build(post, vote, userId, now);
+            }
+            current.put(model.id, model);
+            rows.add(model);
+        }
+        previous = current;
+        return rows;
+    }
+
+    private PostRowModel reuse(PostRowModel cached, Post post, String vote, long now) {
+        if (cached == null || !Objects.equals(cached.vote, vote)) {
+            return null;
+        }
+        PostRowModel model;
+        if (cached.post == post) {
+            model = cached;
+        } else if (sameDisplayedFields(cached.post, post)) {
+            model = cached.withPost(post);
+        } else {
+            return null;
+        }
+        if (model.createdAtMillis != IsoTimestamps.INVALID
+                && now - model.dateTextBuiltAt >= DATE_REFRESH_MILLIS) {
+            model = model.withDateText(dateFormatter.format(model.createdAtMillis, now), now);
+        }
+        return model;
+    }
+
+    private PostRowModel build(Post post, String vote, String userId, long now) {
+        String author = post.isAnonymous()
+                ? anonymousAuthor
+                : (post.getAuthor_name() != null && !post.getAuthor_name().isEmpty()
+                    ? post.getAuthor_name()
+                    : unknownAuthor);
+        boolean hasTag = post.getLlm_tag() != null && !post.getLlm_tag().isEmpty();
+        long createdAt = post.getCreatedAtMillis();
+        String dateText = createdAt != IsoTimestamps.INVALID
+                ? dateFormatter.format(createdAt, now)
+                : "";
+        int commentCount = Math.max(post.getComment_count(), 0);
+
+        return new PostRowModel(
+                post,
+                post.getTitle() != null ? post.getTitle() : "",
+                hasTag ? String.format(Locale.getDefault(), tagFormat, post.getLlm_tag()) : untagged,
+                post.isIs_prompt_post() ? typePrompt : typePost,
+                String.format(Locale.getDefault(), authorFormat, author),
+                dateText,
+                post.getContent() != null ? post.getContent() : "",
+                trimmed(post.getPrompt_section()),
+                trimmed(post.getDescription_section()),
+                numberFormat.format(Math.max(post.getUpvotes(), 0)),
+                numberFormat.format(Math.max(post.getDownvotes(), 0)),
+                String.format(Locale.getDefault(), commentCountFormat.apply(commentCount),
+                        numberFormat.format(commentCount)),
+                userId != null && userId.equals(post.getAuthor_id()),
+                vote,
+                createdAt,
+                now);
+    }
+
+    private static String trimmed(String value) {
+        return value != null ? value.trim() : "";
+    }
+
+    private static boolean sameDisplayedFields(Post a, Post b) {
+        return Objects.equals(a.getTitle(), b.getTitle())
+                && Objects.equals(a.getContent(), b.getContent())
+                && Objects.equals(a.getPrompt_section(), b.getPrompt_section())
+                && Objects.equals(a.getDescription_section(), b.getDescription_section())
+                && Objects.equals(a.getLlm_tag(), b.getLlm_tag())
+                && Objects.equals(a.getAuthor_id(), b.getAuthor_id())
+                && Objects.equals(a.getAuthor_name(), b.getAuthor_name())
+                && a.getCreatedAtMillis() == b.getCreatedAtMillis()
+                && a.isIs_prompt_post() == b.isIs_prompt_post()
+                && a.isAnonymous() == b.isAnonymous()
+                && a.getUpvotes() == b.getUpvotes()
+                && a.getDownvotes() == b.getDownvotes()
+                && a.getUserVote() == b.getUserVote()
+                && a.getComment_count() == b.getComment_count();
+    }
+}
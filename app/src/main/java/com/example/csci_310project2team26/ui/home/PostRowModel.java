@@ -0,0 +1,141 @@
+package com.example.csci_310project2team26.ui.home;
+
+import com.example.csci_310project2team26.data.model.Post;
+
+import java.util.Objects;
+
+/**
+ * PostRowModel - Everything one feed row displays, computed ahead of time by
+ * {@link PostRowMapper} so {@link PostsAdapter} only assigns text and
+ * visibility when binding. Immutable; the source {@link Post} is kept for
+ * click and vote handlers.
+ */
+final class PostRowModel {
+
+    final Post post;
+    final String id;
+
+    final CharSequence title;
+    final CharSequence tagLabel;
+    final CharSequence typeLabel;
+    final CharSequence authorLabel;
+    final CharSequence dateText;
+    final CharSequence content;
+    final CharSequence promptSection;
+    final CharSequence descriptionSection;
+    final CharSequence upvotesText;
+    final CharSequence downvotesText;
+    final CharSequence commentCountText;
+
+    final boolean showContent;
+    final boolean showPromptSection;
+    final boolean showDescriptionSection;
+    final boolean showPromptDivider;
+    final boolean canDelete;
+    final boolean upvoted;
+    final boolean downvoted;
+
+    // The server's vote, or the locally remembered one when the response omitted it
+    final String vote;
+    final long createdAtMillis;
+    // When dateText was computed; relative labels go stale
+    final long dateTextBuiltAt;
+
+    PostRowModel(Post post,
+                 CharSequence title,
+                 CharSequence tagLabel,
+                 CharSequence typeLabel,
+                 CharSequence authorLabel,
+                 CharSequence dateText,
+                 CharSequence content,
+                 CharSequence promptSection,
+                 CharSequence descriptionSection,
+                 CharSequence upvotesText,
+                 CharSequence downvotesText,
+                 CharSequence commentCountText,
+                 boolean canDelete,
+                 String vote,
+                 long createdAtMillis,
+                 long dateTextBuiltAt) {
+        this.post = post;
+        this.id = post.getId();
+        this.title = title;
+        this.tagLabel = tagLabel;
+        this.typeLabel = typeLabel;
+        this.authorLabel = authorLabel;
+        this.dateText = dateText;
+        this.content = content;
+        this.promptSection = promptSection;
+        this.descriptionSection = descriptionSection;
+        this.upvotesText = upvotesText;
+        this.downvotesText = downvotesText;
+        this.commentCountText = commentCountText;
+        this.showContent = !post.isIs_prompt_post();
+        this.showPromptSection = post.isIs_prompt_post() && promptSection.length() > 0;
+        this.showDescriptionSection = post.isIs_prompt_post() && descriptionSection.length() > 0;
+        this.showPromptDivider = showPromptSection && showDescriptionSection;
+        this.canDelete = canDelete;
+        this.vote = vote;
+        this.upvoted = "up".equalsIgnoreCase(vote);
+        this.downvoted = "down".equalsIgnoreCase(vote);
+        this.createdAtMillis = createdAtMillis;
+        this.dateTextBuiltAt = dateTextBuiltAt;
+    }
+
+    /**
+     * Same row for an equal post instance, without redoing any text work.
+     */
+    PostRowModel withPost(Post newPost) {
+        return new PostRowModel(newPost, title, tagLabel, typeLabel, authorLabel, dateText,
+                content, promptSection, descriptionSection, upvotesText, downvotesText,
+                commentCountText, canDelete, vote, createdAtMillis, dateTextBuiltAt);
+    }
+
+    PostRowModel withDateText(CharSequence newDateText, long builtAt) {
+        return new PostRowModel(post, title, tagLabel, typeLabel, authorLabel, newDateText,
+                content, promptSection, descriptionSection, upvotesText, downvotesText,
+                commentCountText, canDelete, vote, createdAtMillis, builtAt);
+    }
+
+    boolean sameText(PostRowModel other) {
+        return equal(title, other.title)
+                && equal(tagLabel, other.tagLabel)
+                && equal(typeLabel, other.typeLabel)
+                && equal(authorLabel, other.authorLabel)
+                && equal(dateText, other.dateText)
+                && equal(content, other.content)
+                && equal(promptSection, other.promptSection)
+                && equal(descriptionSection, other.descriptionSection)
+                && showContent == other.showContent
+                && canDelete == other.canDelete;
+    }
+
+    boolean sameVotes(PostRowModel other) {
+        return equal(upvotesText, other.upvotesText)
+                && equal(downvotesText, other.downvotesText)
+                && Objects.equals(vote, other.vote);
+    }
+
+    boolean sameCommentCount(PostRowModel other) {
+        return equal(commentCountText, other.commentCountText);
+    }
+
+    // Same as TextUtils.equals, which JVM unit tests cannot call
+    private static boolean equal(CharSequence a, CharSequence b) {
+        if (a == b) {
+            return true;
+        }
+        if (a == null || b == null || a.length() != b.length()) {
+            return false;
+        }
+        if (a instanceof String && b instanceof String) {
+            return a.equals(b);
+        }
+        for (int i = 0; i < a.length(); i++) {
+            if (a.charAt(i) != b.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.csci_310project2team26.ui.home;
 
-import android.content.res.Resources;
+import android.os.Handler;
+import android.os.Looper;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -8,25 +9,22 @@ import android.widget.ImageButton;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.csci_310project2team26.R;
 import com.example.csci_310project2team26.data.model.Post;
-import com.example.csci_310project2team26.data.repository.SessionManager;
-import com.example.csci_310project2team26.data.repository.VotePreferenceManager;
+import com.example.csci_310project2team26.data.repository.BookmarkManager;
 import com.example.csci_310project2team26.data.repository.BookmarkRepository;
 
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
-import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Locale;
-import java.text.NumberFormat;
-import java.util.TimeZone;
-import java.util.concurrent.TimeUnit;
+import java.util.Map;
+import java.util.Objects;
 
-public class PostsAdapter extends RecyclerView.Adapter<PostsAdapter.PostViewHolder> {
+public class PostsAdapter extends ListAdapter<PostRowModel, PostsAdapter.PostViewHolder> {
 
     public interface OnPostClickListener {
         void onPostClick(Post post);
@@ -44,15 +42,68 @@ public class PostsAdapter extends RecyclerView.Adapter<PostsAdapter.PostViewHold
         void onVote(Post post, String type);
     }
 
-    private final List<Post> items = new ArrayList<>();
+    static final Object PAYLOAD_BOOKMARK = new Object();
+    static final Object PAYLOAD_VOTES = new Object();
+    static final Object PAYLOAD_COMMENT_COUNT = new Object();
+
+    /**
+     * Diffed on a background thread by ListAdapter. A change limited to the
+     * vote counts/selection or the comment count is delivered as a payload so
+     * only those views are rebound.
+     */
+    static final DiffUtil.ItemCallback<PostRowModel> DIFF_CALLBACK = new DiffUtil.ItemCallback<PostRowModel>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull PostRowModel oldItem, @NonNull PostRowModel newItem) {
+            return Objects.equals(oldItem.id, newItem.id);
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull PostRowModel oldItem, @NonNull PostRowModel newItem) {
+            return oldItem == newItem || (oldItem.sameText(newItem) && oldItem.sameVotes(newItem)
+                    && oldItem.sameCommentCount(newItem));
+        }
+
+        @Override
+        public Object getChangePayload(@NonNull PostRowModel oldItem, @NonNull PostRowModel newItem) {
+            if (!oldItem.sameText(newItem)) {
+                return null;
+            }
+            List<Object> payloads = new ArrayList<>(2);
+            if (!oldItem.sameVotes(newItem)) {
+                payloads.add(PAYLOAD_VOTES);
+            }
+            if (!oldItem.sameCommentCount(newItem)) {
+                payloads.add(PAYLOAD_COMMENT_COUNT);
+            }
+            return payloads;
+        }
+    };
+
     private final OnPostClickListener clickListener;
     private OnPostDeletedListener deleteListener;
     private OnBookmarkToggleListener bookmarkToggleListener;
     private OnPostVoteListener voteListener;
-    private long sessionVersion = SessionManager.getSessionVersion();
+    private final BookmarkRepository bookmarkRepository = new BookmarkRepository();
+    // Post IDs are UUID strings; hand out compact stable IDs on first sight (main thread only)
+    private final Map<String, Long> stableIds = new HashMap<>();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private RecyclerView attachedView;
+    private PostRowMapper rowMapper;
+    // Bumped per submitPosts so a slow mapping never overwrites a newer list (main thread only)
+    private int submitGeneration;
+    // Posts submitted before the adapter was attached and could resolve resources
+    private List<Post> pendingPosts;
+    private final BookmarkManager.Listener bookmarkListener = () -> {
+        RecyclerView view = attachedView;
+        if (view != null) {
+            view.post(() -> notifyItemRangeChanged(0, getItemCount(), PAYLOAD_BOOKMARK));
+        }
+    };
 
     public PostsAdapter(OnPostClickListener clickListener) {
+        super(DIFF_CALLBACK);
         this.clickListener = clickListener;
+        setHasStableIds(true);
     }
 
     public void setOnPostDeletedListener(OnPostDeletedListener listener) {
@@ -67,10 +118,48 @@ public class PostsAdapter extends RecyclerView.Adapter<PostsAdapter.PostViewHold
         this.voteListener = listener;
     }
 
-    public void submitList(List<Post> newItems) {
-        items.clear();
-        if (newItems != null) items.addAll(newItems);
-        notifyDataSetChanged();
+    /**
+     * Map {@code posts} to row models and diff them against the shown list,
+     * both off the main thread, then dispatch only the resulting moves,
+     * inserts, removals and payload changes. Publish a new list instance for
+     * every change; posts must not be mutated in place.
+     */
+    public void submitPosts(List<Post> posts) {
+        int generation = ++submitGeneration;
+        if (posts == null) {
+            pendingPosts = null;
+            super.submitList(null);
+            return;
+        }
+        if (rowMapper == null) {
+            pendingPosts = posts;
+            return;
+        }
+        pendingPosts = null;
+        rowMapper.map(posts, rows -> mainHandler.post(() -> {
+            if (generation == submitGeneration) {
+                // After a sign-in or sign-out BookmarkManager has dropped its statuses,
+                // so this also refetches them for the new session
+                super.submitList(rows, this::requestBookmarkStatuses);
+            }
+        }));
+    }
+
+    /**
+     * One lookup for every row whose bookmark status is still unknown,
+     * instead of one request per bound row.
+     */
+    private void requestBookmarkStatuses() {
+        List<PostRowModel> rows = getCurrentList();
+        List<String> postIds = new ArrayList<>(rows.size());
+        for (PostRowModel row : rows) {
+            postIds.add(row.id);
+        }
+        if (BookmarkManager.filterUnknown(postIds).isEmpty()) {
+            return;
+        }
+        // Rows are refreshed through bookmarkListener once statuses land
+        bookmarkRepository.fetchBookmarkStatuses(postIds, null);
     }
 
     @NonNull
@@ -82,28 +171,85 @@ public class PostsAdapter extends RecyclerView.Adapter<PostsAdapter.PostViewHold
 
     @Override
     public void onBindViewHolder(@NonNull PostViewHolder holder, int position) {
-        long latestSession = SessionManager.getSessionVersion();
-        if (latestSession != sessionVersion) {
-            sessionVersion = latestSession;
-            clearLocalVoteSelections();
-        }
-        Post post = items.get(position);
-        if (post == null) {
+        PostRowModel row = getItem(position);
+        if (row == null) {
             return;
         }
-        holder.bind(post, clickListener, deleteListener, bookmarkToggleListener, voteListener);
+        holder.bind(row, clickListener, deleteListener, bookmarkToggleListener, voteListener, bookmarkRepository);
     }
 
     @Override
-    public int getItemCount() { return items.size(); }
+    public void onBindViewHolder(@NonNull PostViewHolder holder, int position, @NonNull List<Object> payloads) {
+        if (payloads.isEmpty()) {
+            onBindViewHolder(holder, position);
+            return;
+        }
+        PostRowModel row = getItem(position);
+        if (row == null) {
+            return;
+        }
+        List<Object> flat = flattenPayloads(payloads);
+        holder.setBoundRow(row);
+        if (flat.contains(PAYLOAD_VOTES)) {
+            holder.bindVotes(row);
+        }
+        if (flat.contains(PAYLOAD_COMMENT_COUNT)) {
+            holder.bindCommentCount(row);
+        }
+        if (flat.contains(PAYLOAD_BOOKMARK)) {
+            holder.bindBookmark(row);
+        }
+    }
 
-    private void clearLocalVoteSelections() {
-        for (Post post : items) {
-            if (post != null) {
-                post.setUser_vote_type(null);
+    /**
+     * Payloads from several changes may be merged, and DIFF_CALLBACK reports
+     * them as lists; this returns the single payloads in order.
+     */
+    static List<Object> flattenPayloads(List<Object> payloads) {
+        List<Object> flat = new ArrayList<>();
+        for (Object payload : payloads) {
+            if (payload instanceof List) {
+                flat.addAll((List<?>) payload);
+            } else {
+                flat.add(payload);
             }
         }
-        notifyDataSetChanged();
+        return flat;
+    }
+
+    @Override
+    public long getItemId(int position) {
+        PostRowModel row = getItem(position);
+        String postId = row != null ? row.id : null;
+        if (postId == null) {
+            return RecyclerView.NO_ID;
+        }
+        Long id = stableIds.get(postId);
+        if (id == null) {
+            id = (long) stableIds.size();
+            stableIds.put(postId, id);
+        }
+        return id;
+    }
+
+    @Override
+    public void onAttachedToRecyclerView(@NonNull RecyclerView recyclerView) {
+        super.onAttachedToRecyclerView(recyclerView);
+        attachedView = recyclerView;
+        if (rowMapper == null) {
+            rowMapper = new PostRowMapper(recyclerView.getContext());
+        }
+        BookmarkManager.addListener(bookmarkListener);
+        if (pendingPosts != null) {
+            submitPosts(pendingPosts);
+        }
+    }
+
+    @Override
+    public void onDetachedFromRecyclerView(@NonNull RecyclerView recyclerView) {
+        super.onDetachedFromRecyclerView(recyclerView);
+        BookmarkManager.removeListener(bookmarkListener);
+        attachedView = null;
     }
 
     static class PostViewHolder extends RecyclerView.ViewHolder {
@@ -123,8 +269,7 @@ public class PostsAdapter extends RecyclerView.Adapter<PostsAdapter.PostViewHold
         private final ImageButton bookmarkButton;
         private final ImageButton upvoteButton;
         private final ImageButton downvoteButton;
-        private final NumberFormat numberFormat;
-        private final SimpleDateFormat dateFormat;
+        private PostRowModel boundRow;
 
         public PostViewHolder(@NonNull View itemView) {
             super(itemView);
@@ -144,133 +289,71 @@ public class PostsAdapter extends RecyclerView.Adapter<PostsAdapter.PostViewHold
             bookmarkButton = itemView.findViewById(R.id.bookmarkButton);
             upvoteButton = itemView.findViewById(R.id.upvoteButton);
             downvoteButton = itemView.findViewById(R.id.downvoteButton);
-            numberFormat = NumberFormat.getIntegerInstance(Locale.getDefault());
-            dateFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'", Locale.getDefault());
         }
 
-        public void bind(Post post,
+        /**
+         * Assigns the precomputed row; all text was built by PostRowMapper.
+         */
+        public void bind(PostRowModel row,
                         OnPostClickListener clickListener,
                         OnPostDeletedListener deleteListener,
                         OnBookmarkToggleListener bookmarkToggleListener,
-                        OnPostVoteListener voteListener) {
-            if (post == null) {
+                        OnPostVoteListener voteListener,
+                        BookmarkRepository bookmarkRepository) {
+            if (row == null) {
                 return;
             }
-            Resources resources = itemView.getResources();
-            titleTextView.setText(post.getTitle() != null ? post.getTitle() : "");
-
-            String author = post.isAnonymous()
-                    ? resources.getString(R.string.post_author_anonymous)
-                    : (post.getAuthor_name() != null && !post.getAuthor_name().isEmpty()
-                        ? post.getAuthor_name()
-                        : resources.getString(R.string.post_meta_unknown_author));
-            boolean hasTag = post.getLlm_tag() != null && !post.getLlm_tag().isEmpty();
-            String tagLabel = hasTag
-                    ? resources.getString(R.string.post_tag_format, post.getLlm_tag())
-                    : resources.getString(R.string.post_tag_unknown);
-            tagTextView.setText(tagLabel);
+            titleTextView.setText(row.title);
+            tagTextView.setText(row.tagLabel);
             if (postTypeTextView != null) {
-                postTypeTextView.setText(post.isIs_prompt_post()
-                        ? resources.getString(R.string.post_type_label_prompt)
-                        : resources.getString(R.string.post_type_label_post));
+                postTypeTextView.setText(row.typeLabel);
             }
-            authorTextView.setText(resources.getString(R.string.post_author_format, author));
-
-            // Format and display date
+            authorTextView.setText(row.authorLabel);
             if (dateTextView != null) {
-                String dateText = formatDate(post.getCreated_at(), resources);
-                dateTextView.setText(dateText);
+                dateTextView.setText(row.dateText);
             }
 
             // For prompt posts, show prompt + description preview; for regular posts, show content
-            if (post.isIs_prompt_post()) {
-                contentTextView.setVisibility(View.GONE);
-                if (promptSectionTextView != null) {
-                    if (post.getPrompt_section() != null && !post.getPrompt_section().trim().isEmpty()) {
-                        promptSectionTextView.setText(post.getPrompt_section().trim());
-                        promptSectionTextView.setVisibility(View.VISIBLE);
-                    } else {
-                        promptSectionTextView.setVisibility(View.GONE);
-                    }
-                }
-                if (descriptionSectionTextView != null) {
-                    if (post.getDescription_section() != null && !post.getDescription_section().trim().isEmpty()) {
-                        descriptionSectionTextView.setText(post.getDescription_section().trim());
-                        descriptionSectionTextView.setVisibility(View.VISIBLE);
-                    } else {
-                        descriptionSectionTextView.setVisibility(View.GONE);
-                    }
-                }
-                if (promptDivider != null) {
-                    boolean showDivider = promptSectionTextView != null
-                            && promptSectionTextView.getVisibility() == View.VISIBLE
-                            && descriptionSectionTextView != null
-                            && descriptionSectionTextView.getVisibility() == View.VISIBLE;
-                    promptDivider.setVisibility(showDivider ? View.VISIBLE : View.GONE);
-                }
-            } else {
-                contentTextView.setVisibility(View.VISIBLE);
-                contentTextView.setText(post.getContent() != null ? post.getContent() : "");
-                if (promptSectionTextView != null) {
-                    promptSectionTextView.setVisibility(View.GONE);
-                }
-                if (descriptionSectionTextView != null) {
-                    descriptionSectionTextView.setVisibility(View.GONE);
+            contentTextView.setVisibility(row.showContent ? View.VISIBLE : View.GONE);
+            if (row.showContent) {
+                contentTextView.setText(row.content);
+            }
+            if (promptSectionTextView != null) {
+                promptSectionTextView.setVisibility(row.showPromptSection ? View.VISIBLE : View.GONE);
+                if (row.showPromptSection) {
+                    promptSectionTextView.setText(row.promptSection);
                 }
-                if (promptDivider != null) {
-                    promptDivider.setVisibility(View.GONE);
+            }
+            if (descriptionSectionTextView != null) {
+                descriptionSectionTextView.setVisibility(row.showDescriptionSection ? View.VISIBLE : View.GONE);
+                if (row.showDescriptionSection) {
+                    descriptionSectionTextView.setText(row.descriptionSection);
                 }
             }
-
-            String persistedVote = VotePreferenceManager.getPostVote(itemView.getContext(), post.getId());
-            if (persistedVote != null && (post.getUser_vote_type() == null || post.getUser_vote_type().isEmpty())) {
-                post.setUser_vote_type(persistedVote);
+            if (promptDivider != null) {
+                promptDivider.setVisibility(row.showPromptDivider ? View.VISIBLE : View.GONE);
             }
 
-            int upvotes = Math.max(post.getUpvotes(), 0);
-            int downvotes = Math.max(post.getDownvotes(), 0);
-            int commentCount = Math.max(post.getComment_count(), 0);
-            String commentsText = resources.getQuantityString(
-                    R.plurals.post_comments,
-                    commentCount,
-                    numberFormat.format(commentCount)
-            );
-
-            upvoteTextView.setText(numberFormat.format(upvotes));
-            downvoteTextView.setText(numberFormat.format(downvotes));
-            commentCountTextView.setText(commentsText);
-
-            updateVoteIcons(post.getUser_vote_type());
+            setBoundRow(row);
+            bindVotes(row);
+            bindCommentCount(row);
 
+            // Click handlers read boundRow so payload-only rebinds keep them current
             if (upvoteButton != null) {
-                upvoteButton.setOnClickListener(v -> {
-                    toggleVoteSelection(post, "up");
-                    if (voteListener != null) {
-                        voteListener.onVote(post, "up");
-                    }
-                });
+                upvoteButton.setOnClickListener(v -> onVoteClicked("up", voteListener));
             }
             if (downvoteButton != null) {
-                downvoteButton.setOnClickListener(v -> {
-                    toggleVoteSelection(post, "down");
-                    if (voteListener != null) {
-                        voteListener.onVote(post, "down");
-                    }
-                });
+                downvoteButton.setOnClickListener(v -> onVoteClicked("down", voteListener));
             }
 
             // Show delete button only for own posts
-            String currentUserId = SessionManager.getUserId();
-            boolean isOwnPost = currentUserId != null && post.getAuthor_id() != null 
-                    && currentUserId.equals(post.getAuthor_id());
-            
             if (deleteButton != null) {
-                if (isOwnPost && deleteListener != null) {
+                if (row.canDelete && deleteListener != null) {
                     deleteButton.setVisibility(View.VISIBLE);
                     deleteButton.setOnClickListener(v -> {
                         // Consume the click event to prevent post click
-                        if (post.getId() != null) {
-                            deleteListener.onPostDeleted(post.getId());
+                        if (boundRow != null) {
+                            deleteListener.onPostDeleted(boundRow.id);
                         }
                     });
                 } else {
@@ -280,88 +363,81 @@ public class PostsAdapter extends RecyclerView.Adapter<PostsAdapter.PostViewHold
             }
 
             if (bookmarkButton != null) {
-                // Check bookmark status asynchronously
-                BookmarkRepository bookmarkRepo = new BookmarkRepository();
-                bookmarkRepo.isBookmarked(post.getId(), new BookmarkRepository.Callback<Boolean>() {
-                    @Override
-                    public void onSuccess(Boolean result) {
-                        if (itemView.getContext() != null) {
-                            itemView.post(() -> updateBookmarkIcon(Boolean.TRUE.equals(result)));
-                        }
-                    }
-
-                    @Override
-                    public void onError(String error) {
-                        // Default to not bookmarked on error
-                        if (itemView.getContext() != null) {
-                            itemView.post(() -> updateBookmarkIcon(false));
-                        }
-                    }
-                });
-
+                // Status comes from the batched lookup made in submitPosts
+                bindBookmark(row);
                 bookmarkButton.setOnClickListener(v -> {
+                    PostRowModel target = boundRow;
+                    if (target == null) {
+                        return;
+                    }
                     bookmarkButton.setEnabled(false);
-                    BookmarkRepository repo = new BookmarkRepository();
-                    repo.isBookmarked(post.getId(), new BookmarkRepository.Callback<Boolean>() {
+                    boolean wasBookmarked = BookmarkManager.isBookmarked(target.id);
+                    BookmarkRepository.Callback<Void> toggleCallback = new BookmarkRepository.Callback<Void>() {
                         @Override
-                        public void onSuccess(Boolean isCurrentlyBookmarked) {
-                            if (Boolean.TRUE.equals(isCurrentlyBookmarked)) {
-                                // Remove bookmark
-                                repo.removeBookmark(post.getId(), new BookmarkRepository.Callback<Void>() {
-                                    @Override
-                                    public void onSuccess(Void result) {
-                                        itemView.post(() -> {
-                                            updateBookmarkIcon(false);
-                                            bookmarkButton.setEnabled(true);
-                                            if (bookmarkToggleListener != null) {
-                                                bookmarkToggleListener.onBookmarkToggle(post, false);
-                                            }
-                                        });
-                                    }
-
-                                    @Override
-                                    public void onError(String error) {
-                                        itemView.post(() -> bookmarkButton.setEnabled(true));
-                                    }
-                                });
-                            } else {
-                                // Add bookmark
-                                repo.addBookmark(post.getId(), new BookmarkRepository.Callback<Void>() {
-                                    @Override
-                                    public void onSuccess(Void result) {
-                                        itemView.post(() -> {
-                                            updateBookmarkIcon(true);
-                                            bookmarkButton.setEnabled(true);
-                                            if (bookmarkToggleListener != null) {
-                                                bookmarkToggleListener.onBookmarkToggle(post, true);
-                                            }
-                                        });
-                                    }
-
-                                    @Override
-                                    public void onError(String error) {
-                                        itemView.post(() -> bookmarkButton.setEnabled(true));
-                                    }
-                                });
-                            }
+                        public void onSuccess(Void result) {
+                            itemView.post(() -> {
+                                updateBookmarkIcon(!wasBookmarked);
+                                bookmarkButton.setEnabled(true);
+                                if (bookmarkToggleListener != null) {
+                                    bookmarkToggleListener.onBookmarkToggle(target.post, !wasBookmarked);
+                                }
+                            });
                         }
 
                         @Override
                         public void onError(String error) {
-                            itemView.post(() -> bookmarkButton.setEnabled(true));
+                            itemView.post(() -> {
+                                bindBookmark(boundRow);
+                                bookmarkButton.setEnabled(true);
+                            });
                         }
-                    });
+                    };
+                    if (wasBookmarked) {
+                        bookmarkRepository.removeBookmark(target.id, toggleCallback);
+                    } else {
+                        bookmarkRepository.addBookmark(target.id, toggleCallback);
+                    }
                 });
             }
 
             // Set click listener for post
             itemView.setOnClickListener(v -> {
-                if (clickListener != null && post.getId() != null && !post.getId().isEmpty()) {
-                    clickListener.onPostClick(post);
+                PostRowModel current = boundRow;
+                if (clickListener != null && current != null && !current.id.isEmpty()) {
+                    clickListener.onPostClick(current.post);
                 }
             });
         }
 
+        void setBoundRow(PostRowModel row) {
+            boundRow = row;
+        }
+
+        void bindVotes(PostRowModel row) {
+            upvoteTextView.setText(row.upvotesText);
+            downvoteTextView.setText(row.downvotesText);
+            updateVoteIcons(row.upvoted, row.downvoted);
+        }
+
+        void bindCommentCount(PostRowModel row) {
+            commentCountTextView.setText(row.commentCountText);
+        }
+
+        private void onVoteClicked(String type, OnPostVoteListener voteListener) {
+            PostRowModel row = boundRow;
+            if (row == null) {
+                return;
+            }
+            // The view model patches counts and selection, and rolls them back on failure
+            if (voteListener != null) {
+                voteListener.onVote(row.post, type);
+            }
+        }
+
+        void bindBookmark(PostRowModel row) {
+            updateBookmarkIcon(row != null && BookmarkManager.isBookmarked(row.id));
+        }
+
         private void updateBookmarkIcon(boolean isBookmarked) {
             if (bookmarkButton == null) return;
             bookmarkButton.setImageResource(isBookmarked
@@ -372,10 +448,7 @@ public class PostsAdapter extends RecyclerView.Adapter<PostsAdapter.PostViewHold
                     : itemView.getResources().getString(R.string.add_bookmark));
         }
 
-        private void updateVoteIcons(String userVoteType) {
-            boolean isUpvoted = "up".equalsIgnoreCase(userVoteType);
-            boolean isDownvoted = "down".equalsIgnoreCase(userVoteType);
-
+        private void updateVoteIcons(boolean isUpvoted, boolean isDownvoted) {
             if (upvoteButton != null) {
                 upvoteButton.setImageResource(isUpvoted
                         ? R.drawable.ic_arrow_up_filled_24dp
@@ -388,83 +461,5 @@ public class PostsAdapter extends RecyclerView.Adapter<PostsAdapter.PostViewHold
                         : R.drawable.ic_arrow_down_outline_24dp);
             }
         }
-
-        private void toggleVoteSelection(Post post, String type) {
-            if (post == null) return;
-
-            String currentVote = post.getUser_vote_type();
-            String newVote = type;
-
-            if ("up".equalsIgnoreCase(type) && "up".equalsIgnoreCase(currentVote)) {
-                newVote = null;
-            } else if ("down".equalsIgnoreCase(type) && "down".equalsIgnoreCase(currentVote)) {
-                newVote = null;
-            }
-
-            post.setUser_vote_type(newVote);
-            VotePreferenceManager.setPostVote(itemView.getContext(), post.getId(), newVote);
-            updateVoteIcons(newVote);
-        }
-
-        private String formatDate(String dateString, Resources resources) {
-            if (dateString == null || dateString.isEmpty()) {
-                return "";
-            }
-
-            // PostgreSQL TIMESTAMP returns ISO 8601 format
-            // Try multiple formats: with milliseconds, without, with timezone, without
-            String[] formats = {
-                "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'",  // With milliseconds and Z
-                "yyyy-MM-dd'T'HH:mm:ss.SSSZ",     // With milliseconds and timezone
-                "yyyy-MM-dd'T'HH:mm:ss.SSS",      // With milliseconds, no timezone
-                "yyyy-MM-dd'T'HH:mm:ss'Z'",      // Without milliseconds, with Z
-                "yyyy-MM-dd'T'HH:mm:ssZ",         // Without milliseconds, with timezone
-                "yyyy-MM-dd'T'HH:mm:ss",          // Without milliseconds, no timezone
-                "yyyy-MM-dd HH:mm:ss"             // Space separator (fallback)
-            };
-
-            for (String formatStr : formats) {
-                try {
-                    SimpleDateFormat format = new SimpleDateFormat(formatStr, Locale.getDefault());
-                    // Set timezone to UTC for parsing
-                    format.setTimeZone(TimeZone.getTimeZone("UTC"));
-                    Date date = format.parse(dateString);
-                    if (date != null) {
-                        return formatRelativeTime(date, resources);
-                    }
-                } catch (ParseException e) {
-                    // Try next format
-                    continue;
-                }
-            }
-
-            // If all parsing fails, return formatted original string
-            return dateString.length() > 10 ? dateString.substring(0, 10) : dateString;
-        }
-
-        private String formatRelativeTime(Date date, Resources resources) {
-            long now = System.currentTimeMillis();
-            long diff = now - date.getTime();
-            long days = TimeUnit.MILLISECONDS.toDays(diff);
-            long hours = TimeUnit.MILLISECONDS.toHours(diff);
-            long minutes = TimeUnit.MILLISECONDS.toMinutes(diff);
-
-            if (days > 0) {
-                if (days == 1) {
-                    return resources.getString(R.string.post_date_yesterday);
-                } else if (days < 7) {
-                    return resources.getString(R.string.post_date_days_ago, (int)days);
-                } else {
-                    SimpleDateFormat displayFormat = new SimpleDateFormat("MMM d, yyyy", Locale.getDefault());
-                    return displayFormat.format(date);
-                }
-            } else if (hours > 0) {
-                return resources.getString(R.string.post_date_hours_ago, (int)hours);
-            } else if (minutes > 0) {
-                return resources.getString(R.string.post_date_minutes_ago, (int)minutes);
-            } else {
-                return resources.getString(R.string.post_date_just_now);
-            }
-        }
     }
-}
\ No newline at end of file
+}
@@ -12,6 +12,7 @@ import androidx.fragment.app.Fragment;
 import androidx.lifecycle.ViewModelProvider;
 import androidx.navigation.Navigation;
 import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.csci_310project2team26.R;
 import com.example.csci_310project2team26.data.repository.SessionManager;
@@ -57,6 +58,14 @@ public class NotificationsFragment extends Fragment {
         });
         binding.activityRecyclerView.setLayoutManager(new LinearLayoutManager(requireContext()));
         binding.activityRecyclerView.setAdapter(adapter);
+        binding.activityRecyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+                LinearLayoutManager layoutManager = (LinearLayoutManager) recyclerView.getLayoutManager();
+                if (layoutManager == null) return;
+                viewModel.onActivityScrolled(layoutManager.findLastVisibleItemPosition());
+            }
+        });
     }
 
     private void observeViewModel() {
@@ -8,20 +8,27 @@ import androidx.lifecycle.ViewModel;
 
 import com.example.csci_310project2team26.data.model.Comment;
 import com.example.csci_310project2team26.data.model.Post;
+import com.example.csci_310project2team26.data.model.PostSummary;
 import com.example.csci_310project2team26.data.repository.CommentRepository;
+import com.example.csci_310project2team26.data.repository.EntityStore;
+import com.example.csci_310project2team26.data.repository.PagedMerge;
 import com.example.csci_310project2team26.data.repository.PostRepository;
 
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 public class NotificationsViewModel extends ViewModel {
 
+    private static final int ACTIVITY_PAGE_SIZE = PagedMerge.DEFAULT_PAGE_SIZE;
+    private static final int ACTIVITY_PREFETCH_DISTANCE = ACTIVITY_PAGE_SIZE / 2;
+
     private final PostRepository postRepository = new PostRepository();
     private final CommentRepository commentRepository = new CommentRepository();
 
@@ -32,6 +39,19 @@ public class NotificationsViewModel extends ViewModel {
     private final MutableLiveData<String> error = new MutableLiveData<>(null);
     private final MutableLiveData<List<UserActivityItem>> activityItems = new MutableLiveData<>(new ArrayList<>());
     private final MutableLiveData<String> successMessage = new MutableLiveData<>(null);
+    private final EntityStore.Listener postListener = this::onPostsStored;
+    private final EntityStore.Listener commentListener = this::onCommentsStored;
+
+    // Posts and comments are merged newest first, a page at a time as the list scrolls
+    private final Object activityLock = new Object();
+    private final List<UserActivityItem> shownItems = new ArrayList<>();
+    private PagedMerge<UserActivityItem> activity;
+    private int activityGeneration;
+
+    public NotificationsViewModel() {
+        EntityStore.posts().addListener(postListener);
+        EntityStore.comments().addListener(commentListener);
+    }
 
     public LiveData<Boolean> getLoading() {
         return loading;
@@ -55,6 +75,7 @@ public class NotificationsViewModel extends ViewModel {
 
     public void loadUserActivity(String userId) {
         if (TextUtils.isEmpty(userId)) {
+            cancelActivity();
             activityItems.postValue(new ArrayList<>());
             return;
         }
@@ -64,31 +85,40 @@ public class NotificationsViewModel extends ViewModel {
         successMessage.postValue(null);
         activityItems.postValue(new ArrayList<>());
 
-        postRepository.fetchPostsForUser(userId, new PostRepository.Callback<List<Post>>() {
-            @Override
-            public void onSuccess(List<Post> posts) {
-                commentRepository.fetchCommentsByUser(userId, new CommentRepository.Callback<List<Comment>>() {
-                    @Override
-                    public void onSuccess(List<Comment> comments) {
-                        loading.postValue(false);
-                        activityItems.postValue(buildItems(posts, comments));
-                        fetchMissingPostTitles(comments);
-                    }
-
-                    @Override
-                    public void onError(String err) {
-                        loading.postValue(false);
-                        error.postValue(err);
-                    }
-                });
-            }
+        PagedMerge<UserActivityItem> merge;
+        PagedMerge<UserActivityItem> previous;
+        synchronized (activityLock) {
+            int generation = ++activityGeneration;
+            previous = activity;
+            shownItems.clear();
+            merge = new PagedMerge<>(
+                    Arrays.asList(postSource(userId), commentSource(userId)),
+                    UserActivityItem::getTimestamp,
+                    activityListener(generation),
+                    ACTIVITY_PAGE_SIZE);
+            activity = merge;
+        }
+        if (previous != null) {
+            previous.cancel();
+        }
+        // Both first pages load in parallel; the first rows show once both arrive
+        merge.request(ACTIVITY_PAGE_SIZE);
+    }
 
-            @Override
-            public void onError(String err) {
-                loading.postValue(false);
-                error.postValue(err);
+    /**
+     * Load the next rows once the list is scrolled near the end of what is shown.
+     */
+    public void onActivityScrolled(int lastVisiblePosition) {
+        PagedMerge<UserActivityItem> merge;
+        synchronized (activityLock) {
+            merge = activity;
+            if (merge == null || lastVisiblePosition < shownItems.size() - ACTIVITY_PREFETCH_DISTANCE) {
+                return;
             }
-        });
+        }
+        if (!merge.isComplete()) {
+            merge.request(ACTIVITY_PAGE_SIZE);
+        }
     }
 
     public void deletePost(String postId) {
@@ -137,104 +167,193 @@ public class NotificationsViewModel extends ViewModel {
         });
     }
 
-    private void removeActivityItem(UserActivityItem.Type type, String id) {
-        List<UserActivityItem> current = activityItems.getValue();
-        if (current == null || current.isEmpty()) {
-            return;
+    @Override
+    protected void onCleared() {
+        cancelActivity();
+        EntityStore.posts().removeListener(postListener);
+        EntityStore.comments().removeListener(commentListener);
+        super.onCleared();
+    }
+
+    private PagedMerge.Source<UserActivityItem> postSource(String userId) {
+        return (after, limit, callback) -> postRepository.fetchPostsByAuthor(userId, limit, after,
+                new PostRepository.Callback<PostRepository.PostsResult>() {
+                    @Override
+                    public void onSuccess(PostRepository.PostsResult result) {
+                        List<UserActivityItem> items = new ArrayList<>();
+                        if (result.getPosts() != null) {
+                            for (Post post : result.getPosts()) {
+                                if (post != null) {
+                                    items.add(toItem(post));
+                                }
+                            }
+                        }
+                        callback.onPage(items, result.getNextCursor());
+                    }
+
+                    @Override
+                    public void onError(String err) {
+                        callback.onError(err);
+                    }
+                });
+    }
+
+    private PagedMerge.Source<UserActivityItem> commentSource(String userId) {
+        return (after, limit, callback) -> commentRepository.fetchCommentsByUserPage(userId, limit, after,
+                new CommentRepository.Callback<CommentRepository.CommentsResult>() {
+                    @Override
+                    public void onSuccess(CommentRepository.CommentsResult result) {
+                        List<UserActivityItem> items = new ArrayList<>();
+                        if (result.getComments() != null) {
+                            for (Comment comment : result.getComments()) {
+                                if (comment != null) {
+                                    items.add(toItem(comment));
+                                }
+                            }
+                        }
+                        callback.onPage(items, result.getNextCursor());
+                    }
+
+                    @Override
+                    public void onError(String err) {
+                        callback.onError(err);
+                    }
+                });
+    }
+
+    private PagedMerge.Listener<UserActivityItem> activityListener(int generation) {
+        return new PagedMerge.Listener<UserActivityItem>() {
+            @Override
+            public void onItems(List<UserActivityItem> added, boolean complete) {
+                List<UserActivityItem> snapshot;
+                synchronized (activityLock) {
+                    if (generation != activityGeneration) {
+                        return;
+                    }
+                    shownItems.addAll(added);
+                    snapshot = new ArrayList<>(shownItems);
+                }
+                loading.postValue(false);
+                activityItems.postValue(snapshot);
+                fetchMissingPostTitles(added);
+            }
+
+            @Override
+            public void onError(String err) {
+                synchronized (activityLock) {
+                    if (generation != activityGeneration) {
+                        return;
+                    }
+                }
+                loading.postValue(false);
+                error.postValue(err);
+            }
+        };
+    }
+
+    private void cancelActivity() {
+        PagedMerge<UserActivityItem> previous;
+        synchronized (activityLock) {
+            activityGeneration++;
+            previous = activity;
+            activity = null;
         }
+        if (previous != null) {
+            previous.cancel();
+        }
+    }
 
-        List<UserActivityItem> updated = new ArrayList<>();
-        for (UserActivityItem item : current) {
-            if (item == null) continue;
-            if (item.getType() == type && id.equals(item.getId())) {
+    /**
+     * Keep titles in step with posts edited or deleted on other screens.
+     */
+    private void onPostsStored(Set<String> ids) {
+        Map<String, PostSummary> changed = new HashMap<>();
+        for (String postId : ids) {
+            Post stored = EntityStore.posts().get(postId);
+            if (stored == null) {
+                removeActivityItem(UserActivityItem.Type.POST, postId);
                 continue;
             }
-            updated.add(item);
+            String cachedTitle = postTitleCache.get(postId);
+            if (cachedTitle == null) {
+                continue;
+            }
+            // Most replacements are vote or count changes; only a new title needs the list redrawn
+            String title = !TextUtils.isEmpty(stored.getTitle()) ? stored.getTitle() : postId;
+            if (!title.equals(cachedTitle) || isPromptPost(postId) != stored.isIs_prompt_post()) {
+                changed.put(postId, new PostSummary(postId, title, stored.isIs_prompt_post()));
+            }
         }
-        activityItems.postValue(updated);
+        applyPostTitles(changed);
     }
 
-    private List<UserActivityItem> buildItems(List<Post> posts, List<Comment> comments) {
-        List<UserActivityItem> items = new ArrayList<>();
-        long now = System.currentTimeMillis();
-
-        if (posts != null) {
-            for (Post post : posts) {
-                long created = parseTimestamp(post.getCreated_at());
-                String tag = !TextUtils.isEmpty(post.getLlm_tag())
-                        ? String.format(Locale.getDefault(), "#%s", post.getLlm_tag())
-                        : "";
-                String detail = !TextUtils.isEmpty(tag) ? tag.toUpperCase(Locale.getDefault()) : "";
-                String title = !TextUtils.isEmpty(post.getTitle()) ? post.getTitle() : "(untitled post)";
-                if (!TextUtils.isEmpty(post.getId())) {
-                    postTitleCache.put(post.getId(), title);
-                    postPromptCache.put(post.getId(), post.isIs_prompt_post());
-                }
-                items.add(new UserActivityItem(
-                        UserActivityItem.Type.POST,
-                        post.getId(),
-                        post.getId(),
-                        title,
-                        detail,
-                        created > 0 ? created : now,
-                        post.isIs_prompt_post()
-                ));
+    private void onCommentsStored(Set<String> ids) {
+        for (String commentId : ids) {
+            if (EntityStore.comments().get(commentId) == null) {
+                removeActivityItem(UserActivityItem.Type.COMMENT, commentId);
             }
         }
+    }
 
-        if (comments != null) {
-            for (Comment comment : comments) {
-                long updated = parseTimestamp(comment.getCreated_at());
-                // Use title if available, otherwise use text
-                String title = !TextUtils.isEmpty(comment.getTitle())
-                        ? comment.getTitle()
-                        : (!TextUtils.isEmpty(comment.getText())
-                                ? truncate(comment.getText(), 80)
-                                : "(comment)");
-                String postTitle = lookupPostTitle(comment.getPost_id());
-                boolean isPromptPost = isPromptPost(comment.getPost_id());
-                String detail = !TextUtils.isEmpty(comment.getPost_id())
-                        ? String.format(Locale.getDefault(), "%s: %s",
-                        isPromptPost ? "Prompt" : "Post",
-                        postTitle)
-                        : "";
-                items.add(new UserActivityItem(
-                        UserActivityItem.Type.COMMENT,
-                        comment.getId(),
-                        comment.getPost_id(),
-                        title,
-                        detail,
-                        updated > 0 ? updated : now,
-                        isPromptPost
-                ));
+    private void removeActivityItem(UserActivityItem.Type type, String id) {
+        List<UserActivityItem> snapshot;
+        synchronized (activityLock) {
+            boolean removed = shownItems.removeIf(item ->
+                    item != null && item.getType() == type && id.equals(item.getId()));
+            if (!removed) {
+                return;
             }
+            snapshot = new ArrayList<>(shownItems);
         }
-
-        Collections.sort(items, Comparator.comparingLong(UserActivityItem::getTimestamp).reversed());
-        return items;
+        activityItems.postValue(snapshot);
     }
 
-    private long parseTimestamp(String value) {
-        if (TextUtils.isEmpty(value)) {
-            return 0L;
-        }
-        try {
-            // Try parsing as ISO 8601 date string
-            java.text.SimpleDateFormat format = new java.text.SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss", java.util.Locale.getDefault());
-            format.setTimeZone(java.util.TimeZone.getTimeZone("UTC"));
-            java.util.Date date = format.parse(value);
-            if (date != null) {
-                return date.getTime();
-            }
-        } catch (Exception e) {
-            // Try parsing as long timestamp
-            try {
-                return Long.parseLong(value);
-            } catch (NumberFormatException e2) {
-                return 0L;
-            }
+    private UserActivityItem toItem(Post post) {
+        long created = post.getCreatedAtMillis();
+        String detail = !TextUtils.isEmpty(post.getLlm_tag())
+                ? "#" + post.getLlm_tag().toUpperCase(Locale.getDefault())
+                : "";
+        String title = !TextUtils.isEmpty(post.getTitle()) ? post.getTitle() : "(untitled post)";
+        if (!TextUtils.isEmpty(post.getId())) {
+            postTitleCache.put(post.getId(), title);
+            postPromptCache.put(post.getId(), post.isIs_prompt_post());
         }
-        return 0L;
+        return new UserActivityItem(
+                UserActivityItem.Type.POST,
+                post.getId(),
+                post.getId(),
+                title,
+                detail,
+                created > 0 ? created : System.currentTimeMillis(),
+                post.isIs_prompt_post()
+        );
+    }
+
+    private UserActivityItem toItem(Comment comment) {
+        long created = comment.getCreatedAtMillis();
+        // Use title if available, otherwise use text
+        String title = !TextUtils.isEmpty(comment.getTitle())
+                ? comment.getTitle()
+                : (!TextUtils.isEmpty(comment.getText())
+                        ? truncate(comment.getText(), 80)
+                        : "(comment)");
+        boolean isPromptPost = isPromptPost(comment.getPost_id());
+        String detail = !TextUtils.isEmpty(comment.getPost_id())
+                ? postDetail(lookupPostTitle(comment.getPost_id()), isPromptPost)
+                : "";
+        return new UserActivityItem(
+                UserActivityItem.Type.COMMENT,
+                comment.getId(),
+                comment.getPost_id(),
+                title,
+                detail,
+                created > 0 ? created : System.currentTimeMillis(),
+                isPromptPost
+        );
+    }
+
+    private static String postDetail(String postTitle, boolean isPromptPost) {
+        return (isPromptPost ? "Prompt: " : "Post: ") + postTitle;
     }
 
     private String lookupPostTitle(String postId) {
@@ -256,61 +375,78 @@ public class NotificationsViewModel extends ViewModel {
         return cached != null && cached;
     }
 
-    private void fetchMissingPostTitles(List<Comment> comments) {
-        if (comments == null || comments.isEmpty()) {
+    /**
+     * Look up, in one batch, the titles of posts that newly shown comments
+     * belong to and that are not among the user's own posts loaded so far.
+     */
+    private void fetchMissingPostTitles(List<UserActivityItem> added) {
+        Set<String> missing = new LinkedHashSet<>();
+        for (UserActivityItem item : added) {
+            if (item == null || item.getType() != UserActivityItem.Type.COMMENT) continue;
+            String postId = item.getPostId();
+            if (TextUtils.isEmpty(postId) || postTitleCache.containsKey(postId)) continue;
+            missing.add(postId);
+        }
+        if (missing.isEmpty()) {
             return;
         }
 
-        Map<String, Boolean> requested = new HashMap<>();
-        for (Comment comment : comments) {
-            if (comment == null || TextUtils.isEmpty(comment.getPost_id())) continue;
-            if (postTitleCache.containsKey(comment.getPost_id())) continue;
-            if (requested.containsKey(comment.getPost_id())) continue;
-            requested.put(comment.getPost_id(), true);
-
-            postRepository.getPostById(comment.getPost_id(), new PostRepository.Callback<Post>() {
-                @Override
-                public void onSuccess(Post result) {
-                    if (result == null || TextUtils.isEmpty(result.getId())) {
-                        return;
+        postRepository.fetchPostSummaries(new ArrayList<>(missing),
+                new PostRepository.Callback<Map<String, PostSummary>>() {
+                    @Override
+                    public void onSuccess(Map<String, PostSummary> summaries) {
+                        applyPostTitles(summaries);
                     }
-                    String title = !TextUtils.isEmpty(result.getTitle()) ? result.getTitle() : result.getId();
-                    postTitleCache.put(result.getId(), title);
-                    postPromptCache.put(result.getId(), result.isIs_prompt_post());
-                    updateCommentTitles(result.getId(), title, result.isIs_prompt_post());
-                }
 
-                @Override
-                public void onError(String error) {
-                    // Swallow errors to avoid interrupting UI; fallback remains post ID
-                }
-            });
-        }
+                    @Override
+                    public void onError(String error) {
+                        // Swallow errors to avoid interrupting UI; fallback remains post ID
+                    }
+                });
     }
 
-    private void updateCommentTitles(String postId, String title, boolean isPromptPost) {
-        List<UserActivityItem> current = activityItems.getValue();
-        if (current == null || current.isEmpty()) {
+    /**
+     * Relabel every comment on the given posts in a single pass and a single
+     * list update.
+     */
+    private void applyPostTitles(Map<String, PostSummary> summaries) {
+        if (summaries == null || summaries.isEmpty()) {
             return;
         }
-        List<UserActivityItem> updated = new ArrayList<>();
-        for (UserActivityItem item : current) {
-            if (item == null) continue;
-            if (item.getType() == UserActivityItem.Type.COMMENT && postId.equals(item.getPostId())) {
-                updated.add(new UserActivityItem(
+        Map<String, String> details = new HashMap<>();
+        for (PostSummary summary : summaries.values()) {
+            if (summary == null || TextUtils.isEmpty(summary.getId())) continue;
+            String title = !TextUtils.isEmpty(summary.getTitle()) ? summary.getTitle() : summary.getId();
+            postTitleCache.put(summary.getId(), title);
+            postPromptCache.put(summary.getId(), summary.isIs_prompt_post());
+            details.put(summary.getId(), postDetail(title, summary.isIs_prompt_post()));
+        }
+
+        List<UserActivityItem> snapshot;
+        synchronized (activityLock) {
+            boolean changed = false;
+            for (int i = 0; i < shownItems.size(); i++) {
+                UserActivityItem item = shownItems.get(i);
+                if (item == null || item.getType() != UserActivityItem.Type.COMMENT) continue;
+                String detail = details.get(item.getPostId());
+                if (detail == null || detail.equals(item.getSubtitle())) continue;
+                shownItems.set(i, new UserActivityItem(
                         item.getType(),
                         item.getId(),
                         item.getPostId(),
                         item.getTitle(),
-                        String.format(Locale.getDefault(), "%s: %s", isPromptPost ? "Prompt" : "Post", title),
+                        detail,
                         item.getTimestamp(),
-                        isPromptPost
+                        isPromptPost(item.getPostId())
                 ));
-            } else {
-                updated.add(item);
+                changed = true;
+            }
+            if (!changed) {
+                return;
             }
+            snapshot = new ArrayList<>(shownItems);
         }
-        activityItems.postValue(updated);
+        activityItems.postValue(snapshot);
     }
 
     private String truncate(String value, int maxLength) {
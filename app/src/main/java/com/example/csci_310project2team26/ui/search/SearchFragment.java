@@ -2,7 +2,6 @@ package com.example.csci_310project2team26.ui.search;
 
 import android.os.Bundle;
 import android.text.Editable;
-import android.text.TextUtils;
 import android.text.TextWatcher;
 import android.view.LayoutInflater;
 import android.view.View;
@@ -180,7 +179,7 @@ public class SearchFragment extends Fragment {
         // Observe ViewModel
         postsViewModel.getPosts().observe(getViewLifecycleOwner(), posts -> {
             if (binding == null) return;
-            postsAdapter.submitList(posts != null ? posts : new java.util.ArrayList<>());
+            postsAdapter.submitPosts(posts != null ? posts : new java.util.ArrayList<>());
         });
 
         postsViewModel.getLoading().observe(getViewLifecycleOwner(), loading -> {
@@ -198,18 +197,11 @@ public class SearchFragment extends Fragment {
     private void performSearch() {
         if (binding == null) return;
 
+        // An empty query clears the results and cancels any search still running
         String query = binding.searchEditText.getText() != null
                 ? binding.searchEditText.getText().toString().trim()
                 : "";
 
-        if (TextUtils.isEmpty(query)) {
-            // Clear results if query is empty
-            if (postsAdapter != null) {
-                postsAdapter.submitList(new java.util.ArrayList<>());
-            }
-            return;
-        }
-
         // Determine post type filter
         Boolean isPromptPost = null;
         if (POST_TYPE_PROMPT.equals(currentPostType)) {
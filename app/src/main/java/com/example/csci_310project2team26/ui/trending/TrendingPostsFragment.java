@@ -93,7 +93,7 @@ public class TrendingPostsFragment extends Fragment {
         // Observe ViewModel
         trendingViewModel.getPosts().observe(getViewLifecycleOwner(), posts -> {
             if (binding == null) return;
-            postsAdapter.submitList(posts != null ? posts : new java.util.ArrayList<>());
+            postsAdapter.submitPosts(posts != null ? posts : new java.util.ArrayList<>());
         });
 
         trendingViewModel.getLoading().observe(getViewLifecycleOwner(), loading -> {
@@ -14,12 +14,9 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.csci_310project2team26.R;
 import com.example.csci_310project2team26.data.model.PostVersion;
+import com.example.csci_310project2team26.util.IsoTimestamps;
 import com.google.android.material.button.MaterialButton;
 
-import java.text.SimpleDateFormat;
-import java.util.Date;
-import java.util.Locale;
-
 public class PostVersionsAdapter extends ListAdapter<PostVersion, PostVersionsAdapter.VersionViewHolder> {
 
     public interface OnVersionClickListener {
@@ -104,31 +101,15 @@ public class PostVersionsAdapter extends ListAdapter<PostVersion, PostVersionsAd
                 return "";
             }
 
-            try {
-                SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss", Locale.getDefault());
-                format.setTimeZone(java.util.TimeZone.getTimeZone("UTC"));
-                Date date = format.parse(dateString);
-                if (date != null) {
-                    return DateUtils.getRelativeTimeSpanString(
-                        date.getTime(),
-                        System.currentTimeMillis(),
-                        DateUtils.MINUTE_IN_MILLIS
-                    ).toString();
-                }
-            } catch (Exception e) {
-                // Try parsing as long
-                try {
-                    long timestamp = Long.parseLong(dateString);
-                    return DateUtils.getRelativeTimeSpanString(
-                        timestamp,
-                        System.currentTimeMillis(),
-                        DateUtils.MINUTE_IN_MILLIS
-                    ).toString();
-                } catch (NumberFormatException e2) {
-                    return dateString;
-                }
+            long millis = IsoTimestamps.parseMillis(dateString);
+            if (millis == IsoTimestamps.INVALID) {
+                return dateString;
             }
-            return dateString;
+            return DateUtils.getRelativeTimeSpanString(
+                millis,
+                System.currentTimeMillis(),
+                DateUtils.MINUTE_IN_MILLIS
+            ).toString();
         }
     }
 
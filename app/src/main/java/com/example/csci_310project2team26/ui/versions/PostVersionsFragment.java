@@ -20,10 +20,6 @@ import com.example.csci_310project2team26.data.model.PostVersion;
 import com.example.csci_310project2team26.databinding.FragmentPostVersionsBinding;
 import com.example.csci_310project2team26.viewmodel.PostVersionsViewModel;
 
-import java.text.SimpleDateFormat;
-import java.util.Date;
-import java.util.Locale;
-
 public class PostVersionsFragment extends Fragment {
 
     private FragmentPostVersionsBinding binding;
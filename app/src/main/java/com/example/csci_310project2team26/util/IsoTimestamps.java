@@ -0,0 +1,224 @@
+package com.example.csci_310project2team26.util;
+
+/**
+ * IsoTimestamps - Parses the timestamps the backend and local storage produce
+ * into epoch milliseconds without allocating.
+ *
+ * Accepts {@code yyyy-MM-dd'T'HH:mm:ss} or {@code yyyy-MM-dd HH:mm:ss}, an
+ * optional fraction of any length (PostgreSQL sends microseconds), and an
+ * optional zone of {@code Z}, {@code +hh}, {@code +hhmm} or {@code +hh:mm}
+ * (or with a minus sign).
+ * Timestamps without a zone are UTC, as the server stores them. A string of
+ * digits only is taken as epoch milliseconds, which is how drafts are saved.
+ *
+ * {@link #format} writes the {@code yyyy-MM-dd'T'HH:mm:ss.SSS'Z'} form back.
+ *
+ * Stateless and safe to call from any thread.
+ */
+public final class IsoTimestamps {
+
+    /**
+     * Returned when the input is null, empty or not a timestamp.
+     */
+    public static final long INVALID = Long.MIN_VALUE;
+
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+
+    private IsoTimestamps() {
+    }
+
+    /**
+     * @return epoch milliseconds, or {@link #INVALID}
+     */
+    public static long parseMillis(CharSequence value) {
+        if (value == null) {
+            return INVALID;
+        }
+        int length = value.length();
+        if (length == 0) {
+            return INVALID;
+        }
+        if (length < 19 || value.charAt(4) != '-') {
+            return parseEpochMillis(value, length);
+        }
+
+        int year = digits(value, 0, 4);
+        int month = digits(value, 5, 2);
+        int day = digits(value, 8, 2);
+        int hour = digits(value, 11, 2);
+        int minute = digits(value, 14, 2);
+        int second = digits(value, 17, 2);
+        char separator = value.charAt(10);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > 31
+                || hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 60
+                || value.charAt(7) != '-' || value.charAt(13) != ':' || value.charAt(16) != ':'
+                || (separator != 'T' && separator != 't' && separator != ' ')) {
+            return INVALID;
+        }
+
+        int pos = 19;
+        int millis = 0;
+        if (pos < length && value.charAt(pos) == '.') {
+            pos++;
+            int start = pos;
+            while (pos < length && isDigit(value.charAt(pos))) {
+                // Keep millisecond precision; further digits are read and dropped
+                if (pos - start < 3) {
+                    millis = millis * 10 + (value.charAt(pos) - '0');
+                }
+                pos++;
+            }
+            int read = pos - start;
+            if (read == 0) {
+                return INVALID;
+            }
+            for (int i = read; i < 3; i++) {
+                millis *= 10;
+            }
+        }
+
+        int offsetMinutes = 0;
+        if (pos < length) {
+            char zone = value.charAt(pos);
+            if (zone == 'Z' || zone == 'z') {
+                pos++;
+            } else if (zone == '+' || zone == '-') {
+                int offsetHours = digits(value, pos + 1, 2);
+                if (offsetHours < 0) {
+                    return INVALID;
+                }
+                pos += 3;
+                int offsetMins = 0;
+                if (pos < length && value.charAt(pos) == ':') {
+                    pos++;
+                }
+                if (pos < length) {
+                    offsetMins = digits(value, pos, 2);
+                    if (offsetMins < 0) {
+                        return INVALID;
+                    }
+                    pos += 2;
+                }
+                offsetMinutes = (offsetHours * 60 + offsetMins) * (zone == '-' ? -1 : 1);
+            } else {
+                return INVALID;
+            }
+            if (pos != length) {
+                return INVALID;
+            }
+        }
+
+        long epochDay = epochDay(year, month, day);
+        return epochDay * MILLIS_PER_DAY
+                + ((hour * 60L + minute - offsetMinutes) * 60L + second) * 1000L
+                + millis;
+    }
+
+    /**
+     * Same as {@link #parseMillis} but returns {@code fallback} for anything
+     * that does not parse.
+     */
+    public static long parseMillis(CharSequence value, long fallback) {
+        long millis = parseMillis(value);
+        return millis != INVALID ? millis : fallback;
+    }
+
+    /**
+     * Format epoch milliseconds as UTC ISO-8601, leaving out the fraction
+     * when it is zero, so {@code format(parseMillis(s))} gives back any
+     * whole-second {@code Z} timestamp unchanged.
+     *
+     * @return the timestamp, or null for {@link #INVALID}
+     */
+    public static String format(long millis) {
+        if (millis == INVALID) {
+            return null;
+        }
+        long epochDay = Math.floorDiv(millis, MILLIS_PER_DAY);
+        int millisOfDay = (int) Math.floorMod(millis, MILLIS_PER_DAY);
+
+        // Inverse of epochDay(): shift to a March-based era of 400 years
+        long shifted = epochDay + 719_468L;
+        long era = Math.floorDiv(shifted, 146_097L);
+        int dayOfEra = (int) (shifted - era * 146_097L);
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int shiftedMonth = (5 * dayOfYear + 2) / 153;
+        int day = dayOfYear - (153 * shiftedMonth + 2) / 5 + 1;
+        int month = shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9;
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+
+        int fraction = millisOfDay % 1000;
+        int seconds = millisOfDay / 1000;
+        StringBuilder out = new StringBuilder(24);
+        pad(out, year, 4).append('-');
+        pad(out, month, 2).append('-');
+        pad(out, day, 2).append('T');
+        pad(out, seconds / 3600, 2).append(':');
+        pad(out, seconds / 60 % 60, 2).append(':');
+        pad(out, seconds % 60, 2);
+        if (fraction != 0) {
+            pad(out.append('.'), fraction, 3);
+        }
+        return out.append('Z').toString();
+    }
+
+    private static StringBuilder pad(StringBuilder out, long value, int width) {
+        String digits = Long.toString(value);
+        for (int i = digits.length(); i < width; i++) {
+            out.append('0');
+        }
+        return out.append(digits);
+    }
+
+    private static long parseEpochMillis(CharSequence value, int length) {
+        if (length > 18) {
+            return INVALID;
+        }
+        long result = 0;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (!isDigit(c)) {
+                return INVALID;
+            }
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
+
+    /**
+     * @return the non-negative number in {@code count} digits at {@code start}, or -1
+     */
+    private static int digits(CharSequence value, int start, int count) {
+        if (start + count > value.length()) {
+            return -1;
+        }
+        int result = 0;
+        for (int i = start; i < start + count; i++) {
+            char c = value.charAt(i);
+            if (!isDigit(c)) {
+                return -1;
+            }
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * Days since 1970-01-01 in the proleptic Gregorian calendar.
+     */
+    private static long epochDay(int year, int month, int day) {
+        // Count years from March so the leap day falls at the end
+        int y = month <= 2 ? year - 1 : year;
+        int era = Math.floorDiv(y, 400);
+        int yearOfEra = y - era * 400;
+        int shiftedMonth = month > 2 ? month - 3 : month + 9;
+        int dayOfYear = (153 * shiftedMonth + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146_097L + dayOfEra - 719_468L;
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.csci_310project2team26.util;
+
+import android.content.res.Resources;
+
+import com.example.csci_310project2team26.R;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RelativeTimeFormatter - Turns post and comment timestamps into "Just now",
+ * "5 minutes ago", "Yesterday", "3 days ago" or, after a week, "Jan 5, 2025".
+ *
+ * Resource strings are read once per locale and every label is built once and
+ * reused, so binding a row costs a parse and an array lookup. Use
+ * {@link #get(Resources)} to share one instance across adapters and screens.
+ */
+public final class RelativeTimeFormatter {
+
+    private static final int MAX_CACHED_DATES = 64;
+
+    private static volatile RelativeTimeFormatter shared;
+
+    private final Locale locale;
+    private final String justNow;
+    private final String minutesAgo;
+    private final String hoursAgo;
+    private final String yesterday;
+    private final String daysAgo;
+    private final String[] minuteLabels = new String[60];
+    private final String[] hourLabels = new String[24];
+    private final String[] dayLabels = new String[7];
+    private final SimpleDateFormat dateFormat;
+    // Local day number -> "MMM d, yyyy", for posts older than a week
+    private final Map<Long, String> dateLabels = new LinkedHashMap<Long, String>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, String> eldest) {
+            return size() > MAX_CACHED_DATES;
+        }
+    };
+
+    /**
+     * Formatter over already loaded, unformatted resource strings. Screens
+     * use {@link #get(Resources)}; this is for callers without a Context.
+     */
+    public RelativeTimeFormatter(Locale locale, String justNow, String minutesAgo, String hoursAgo,
+                                 String yesterday, String daysAgo) {
+        this.locale = locale;
+        this.justNow = justNow;
+        this.minutesAgo = minutesAgo;
+        this.hoursAgo = hoursAgo;
+        this.yesterday = yesterday;
+        this.daysAgo = daysAgo;
+        this.dateFormat = new SimpleDateFormat("MMM d, yyyy", locale);
+    }
+
+    /**
+     * @return the shared formatter, rebuilt when the default locale changes
+     */
+    public static RelativeTimeFormatter get(Resources resources) {
+        Locale locale = Locale.getDefault();
+        RelativeTimeFormatter current = shared;
+        if (current == null || !current.locale.equals(locale)) {
+            // Unformatted patterns, e.g. "%d minutes ago"
+            current = new RelativeTimeFormatter(
+                    locale,
+                    resources.getString(R.string.post_date_just_now),
+                    resources.getString(R.string.post_date_minutes_ago),
+                    resources.getString(R.string.post_date_hours_ago),
+                    resources.getString(R.string.post_date_yesterday),
+                    resources.getString(R.string.post_date_days_ago));
+            shared = current;
+        }
+        return current;
+    }
+
+    /**
+     * Format a raw server timestamp relative to now.
+     *
+     * @return the label, "" for no timestamp, or the date part of an
+     *         unparseable value
+     */
+    public String format(String timestamp) {
+        if (timestamp == null || timestamp.isEmpty()) {
+            return "";
+        }
+        long millis = IsoTimestamps.parseMillis(timestamp);
+        if (millis == IsoTimestamps.INVALID) {
+            return timestamp.length() > 10 ? timestamp.substring(0, 10) : timestamp;
+        }
+        return format(millis, System.currentTimeMillis());
+    }
+
+    /**
+     * Format epoch milliseconds relative to now.
+     *
+     * @return the label, or "" for {@link IsoTimestamps#INVALID}
+     */
+    public String format(long millis) {
+        if (millis == IsoTimestamps.INVALID) {
+            return "";
+        }
+        return format(millis, System.currentTimeMillis());
+    }
+
+    public String format(long millis, long now) {
+        long diff = now - millis;
+        long days = TimeUnit.MILLISECONDS.toDays(diff);
+        long hours = TimeUnit.MILLISECONDS.toHours(diff);
+        long minutes = TimeUnit.MILLISECONDS.toMinutes(diff);
+
+        if (days > 0) {
+            if (days == 1) {
+                return yesterday;
+            } else if (days < 7) {
+                return label(dayLabels, daysAgo, (int) days);
+            } else {
+                return dateLabel(millis);
+            }
+        } else if (hours > 0) {
+            return label(hourLabels, hoursAgo, (int) hours);
+        } else if (minutes > 0) {
+            return label(minuteLabels, minutesAgo, (int) minutes);
+        } else {
+            return justNow;
+        }
+    }
+
+    private String label(String[] cache, String pattern, int count) {
+        // Racing threads at worst build the same string twice
+        String label = cache[count];
+        if (label == null) {
+            label = String.format(locale, pattern, count);
+            cache[count] = label;
+        }
+        return label;
+    }
+
+    private synchronized String dateLabel(long millis) {
+        TimeZone zone = dateFormat.getTimeZone();
+        long localDay = Math.floorDiv(millis + zone.getOffset(millis), TimeUnit.DAYS.toMillis(1));
+        String label = dateLabels.get(localDay);
+        if (label == null) {
+            label = dateFormat.format(new Date(millis));
+            dateLabels.put(localDay, label);
+        }
+        return label;
+    }
+}
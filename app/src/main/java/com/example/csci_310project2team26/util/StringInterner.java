@@ -0,0 +1,61 @@
+package com.example.csci_310project2team26.util;
+
+/**
+ * StringInterner - A small, fixed-size table that makes equal strings
+ * decoded from different responses share one instance.
+ *
+ * Meant for fields with few distinct values, such as author names, author
+ * IDs and LLM tags, which a large feed otherwise holds once per row. The
+ * table is direct-mapped: a string goes in the slot its hash selects and
+ * replaces whatever was there, so memory stays bounded however many
+ * distinct values pass through, and a collision only costs a missed share.
+ * Long strings are returned as they are, since they are unlikely to repeat
+ * and would pin memory.
+ *
+ * Safe to call from any thread without locking: strings are immutable, so
+ * a racing thread at worst misses a share.
+ */
+public final class StringInterner {
+
+    public static final int DEFAULT_SLOTS = 1024;
+    public static final int MAX_LENGTH = 64;
+
+    private static final StringInterner SHARED = new StringInterner(DEFAULT_SLOTS);
+
+    private final String[] slots;
+    private final int mask;
+
+    /**
+     * @param slots table size, rounded up to a power of two
+     */
+    public StringInterner(int slots) {
+        int size = Integer.highestOneBit(Math.max(1, slots - 1)) << 1;
+        this.slots = new String[size];
+        this.mask = size - 1;
+    }
+
+    /**
+     * @return the table the model decoders share
+     */
+    public static StringInterner shared() {
+        return SHARED;
+    }
+
+    /**
+     * @return an instance equal to {@code value}, shared with earlier calls
+     *         when the table still holds one; null for null
+     */
+    public String intern(String value) {
+        if (value == null || value.length() > MAX_LENGTH) {
+            return value;
+        }
+        int hash = value.hashCode();
+        int index = (hash ^ (hash >>> 16)) & mask;
+        String current = slots[index];
+        if (current != null && current.equals(value)) {
+            return current;
+        }
+        slots[index] = value;
+        return value;
+    }
+}
@@ -6,10 +6,14 @@ import androidx.lifecycle.ViewModel;
 
 import com.example.csci_310project2team26.data.model.Post;
 import com.example.csci_310project2team26.data.repository.BookmarkRepository;
+import com.example.csci_310project2team26.data.repository.EntityStore;
+import com.example.csci_310project2team26.data.repository.OptimisticPostVotes;
 import com.example.csci_310project2team26.data.repository.PostRepository;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.function.UnaryOperator;
 
 public class BookmarksViewModel extends ViewModel {
 
@@ -20,11 +24,20 @@ public class BookmarksViewModel extends ViewModel {
     private final MutableLiveData<List<Post>> bookmarks = new MutableLiveData<>(new ArrayList<>());
     private final MutableLiveData<Boolean> loading = new MutableLiveData<>(false);
     private final MutableLiveData<String> error = new MutableLiveData<>(null);
+    private final Object bookmarksLock = new Object();
+    private List<Post> latestBookmarks = new ArrayList<>();
+    private final OptimisticPostVotes pendingVotes = new OptimisticPostVotes();
+    private final String queryKey = EntityStore.newQueryKey("bookmarks");
+    private final EntityStore.Listener storeListener = this::onPostsStored;
     
     private final BookmarkRepository bookmarkRepository = new BookmarkRepository();
     private final PostRepository postRepository = new PostRepository();
     private String currentFilter = FILTER_ALL;
 
+    public BookmarksViewModel() {
+        EntityStore.posts().addListener(storeListener);
+    }
+
     public LiveData<List<Post>> getBookmarks() {
         return bookmarks;
     }
@@ -57,14 +70,14 @@ public class BookmarksViewModel extends ViewModel {
             @Override
             public void onSuccess(List<Post> result) {
                 loading.postValue(false);
-                bookmarks.postValue(result != null ? result : new ArrayList<>());
+                publishBookmarks(result);
             }
 
             @Override
             public void onError(String err) {
                 loading.postValue(false);
                 error.postValue(err);
-                bookmarks.postValue(new ArrayList<>());
+                publishBookmarks(null);
             }
         });
     }
@@ -73,21 +86,80 @@ public class BookmarksViewModel extends ViewModel {
         refreshBookmarks();
     }
 
+    /**
+     * Optimistically apply the vote to the bookmarked post; the list is not
+     * reloaded. A failed vote restores the previous state.
+     */
     public void voteOnPost(String postId, String type) {
         if (postId == null || type == null) {
             return;
         }
 
+        Post current = findPost(postId);
+        String previousVote = current != null ? current.getUser_vote_type() : null;
+        if (current != null) {
+            String optimisticVote = OptimisticPostVotes.nextVote(previousVote, type);
+            patchPost(postId, post -> OptimisticPostVotes.withVote(post, optimisticVote));
+        }
+        pendingVotes.begin(postId, previousVote);
+
         postRepository.votePost(postId, type, new PostRepository.Callback<PostRepository.VoteActionResult>() {
             @Override
             public void onSuccess(PostRepository.VoteActionResult result) {
-                refreshBookmarks();
+                String confirmedVote = OptimisticPostVotes.serverVote(result);
+                if (!pendingVotes.finish(postId, confirmedVote)) {
+                    return;
+                }
+                patchPost(postId, post -> OptimisticPostVotes.withVote(post, confirmedVote));
             }
 
             @Override
             public void onError(String error) {
-                // Silent fail; bookmarks view does not expose errors yet
+                // Bookmarks view does not expose errors yet; just undo the local vote
+                OptimisticPostVotes.Rollback rollback = pendingVotes.fail(postId);
+                if (rollback != null) {
+                    patchPost(postId, post -> OptimisticPostVotes.withVote(post, rollback.vote));
+                }
             }
         });
     }
+
+    @Override
+    protected void onCleared() {
+        EntityStore.posts().removeListener(storeListener);
+        EntityStore.posts().releaseQuery(queryKey);
+        super.onCleared();
+    }
+
+    private void publishBookmarks(List<Post> result) {
+        synchronized (bookmarksLock) {
+            latestBookmarks = EntityStore.posts().setQuery(queryKey, result);
+            bookmarks.postValue(latestBookmarks);
+        }
+    }
+
+    private Post findPost(String postId) {
+        synchronized (bookmarksLock) {
+            for (Post post : latestBookmarks) {
+                if (post != null && postId.equals(post.getId())) {
+                    return post;
+                }
+            }
+            return null;
+        }
+    }
+
+    private void patchPost(String postId, UnaryOperator<Post> patch) {
+        // Every screen showing the post, this one included, updates through onPostsStored
+        EntityStore.posts().update(postId, patch);
+    }
+
+    private void onPostsStored(Set<String> ids) {
+        synchronized (bookmarksLock) {
+            List<Post> updated = EntityStore.posts().applyChanges(latestBookmarks, ids);
+            if (updated != latestBookmarks) {
+                publishBookmarks(updated);
+            }
+        }
+    }
 }
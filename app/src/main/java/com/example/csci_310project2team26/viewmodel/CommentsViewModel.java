@@ -5,86 +5,213 @@ import androidx.lifecycle.MutableLiveData;
 import androidx.lifecycle.ViewModel;
 
 import com.example.csci_310project2team26.data.model.Comment;
+import com.example.csci_310project2team26.data.repository.CommentPager;
 import com.example.csci_310project2team26.data.repository.CommentRepository;
+import com.example.csci_310project2team26.data.repository.EntityStore;
+import com.example.csci_310project2team26.data.repository.SessionManager;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.UUID;
 
 /**
  * CommentsViewModel - Exposes comments for a post and comment creation.
+ *
+ * The thread is loaded from the server a page at a time by a
+ * {@link CommentPager}; the next page is requested as the list is scrolled
+ * towards its end. Creating, editing, voting on and deleting comments patch
+ * the loaded pages rather than downloading the thread again; a new comment
+ * is shown as a pending placeholder until the server confirms it.
  */
 public class CommentsViewModel extends ViewModel {
 
+    public static final int COMMENT_PAGE_SIZE = CommentPager.DEFAULT_PAGE_SIZE;
+    private static final String TEMP_ID_PREFIX = "local-";
+
     private final CommentRepository commentRepository = new CommentRepository();
 
     private final MutableLiveData<Boolean> loading = new MutableLiveData<>(false);
     private final MutableLiveData<String> error = new MutableLiveData<>(null);
     private final MutableLiveData<List<Comment>> comments = new MutableLiveData<>(new ArrayList<>());
-    private final MutableLiveData<Boolean> postingComment = new MutableLiveData<>(false);
     private final MutableLiveData<Comment> latestPostedComment = new MutableLiveData<>(null);
+    private final MutableLiveData<Boolean> hasMoreComments = new MutableLiveData<>(false);
+    private final MutableLiveData<Integer> commentTotal = new MutableLiveData<>(0);
+    private final Object commentsLock = new Object();
+    private List<Comment> latestComments = new ArrayList<>();
+    private final String queryKey = EntityStore.newQueryKey("comments");
+    private final EntityStore.Listener storeListener = this::onCommentsStored;
+
+    private volatile CommentPager pager;
+    private volatile PagerListener pagerListener;
+    private String sort = CommentRepository.SORT_OLDEST;
+
+    public CommentsViewModel() {
+        EntityStore.comments().addListener(storeListener);
+    }
 
     public LiveData<Boolean> getLoading() { return loading; }
     public LiveData<String> getError() { return error; }
     public LiveData<List<Comment>> getComments() { return comments; }
-    public LiveData<Boolean> isPostingComment() { return postingComment; }
     public LiveData<Comment> getLatestPostedComment() { return latestPostedComment; }
+    public LiveData<Boolean> hasMoreComments() { return hasMoreComments; }
+    public LiveData<Integer> getCommentTotal() { return commentTotal; }
+
+    /**
+     * Called as the comment list scrolls; loads the next page once
+     * {@code lastVisibleComment} is near the end of what is loaded.
+     */
+    public void onCommentsScrolled(int lastVisibleComment) {
+        CommentPager current = pager;
+        if (current != null) {
+            current.onVisibleRange(lastVisibleComment);
+        }
+    }
 
+    /**
+     * Order the thread by {@link CommentRepository#SORT_OLDEST},
+     * {@link CommentRepository#SORT_NEW} or {@link CommentRepository#SORT_TOP}
+     * and load it again from the first page.
+     */
+    public void setSort(String postId, String newSort) {
+        synchronized (commentsLock) {
+            if (newSort == null || newSort.equals(sort)) {
+                return;
+            }
+            sort = newSort;
+        }
+        loadComments(postId);
+    }
+
+    /**
+     * Load the first page from the network. When the list is still empty, a
+     * copy from the disk cache is shown until the network answers.
+     */
     public void loadComments(String postId) {
-        loading.postValue(true);
         error.postValue(null);
-        commentRepository.fetchComments(postId, new CommentRepository.Callback<CommentRepository.CommentsResult>() {
-            @Override
-            public void onSuccess(CommentRepository.CommentsResult result) {
-                loading.postValue(false);
-                comments.postValue(result.getComments() != null ? result.getComments() : new ArrayList<>());
-            }
+        final String pageSort;
+        synchronized (commentsLock) {
+            pageSort = sort;
+        }
+        PagerListener listener = new PagerListener();
+        CommentPager newPager = new CommentPager(
+                (after, limit, callback) -> commentRepository.fetchCommentPage(postId, pageSort, after, limit, callback),
+                listener,
+                CommentRepository.SORT_NEW.equals(pageSort));
+        pagerListener = listener;
+        pager = newPager;
+        newPager.reset();
+        if (CommentRepository.SORT_OLDEST.equals(pageSort)) {
+            commentRepository.getCachedComments(postId, new CommentRepository.Callback<CommentRepository.CommentsResult>() {
+                @Override
+                public void onSuccess(CommentRepository.CommentsResult cached) {
+                    newPager.showCached(cached.getComments());
+                }
 
-            @Override
-            public void onError(String err) {
-                loading.postValue(false);
-                error.postValue(err);
-                comments.postValue(new ArrayList<>());
-            }
-        });
+                @Override
+                public void onError(String err) {
+                    // Nothing cached; wait for the network
+                }
+            });
+        }
     }
 
     public void addComment(String postId, String text) {
         addComment(postId, text, null);
     }
 
+    /**
+     * Show the comment at once as a pending placeholder with a temporary ID,
+     * then swap it for the server's comment, or mark it failed so it can be
+     * retried or discarded. The post's comment_count follows along locally.
+     */
     public void addComment(String postId, String text, String title) {
-        loading.postValue(true);
         error.postValue(null);
-        latestPostedComment.postValue(null);
-        postingComment.postValue(true);
-        commentRepository.createComment(postId, text, title, new CommentRepository.Callback<Comment>() {
+        Comment placeholder = new Comment();
+        placeholder.setId(TEMP_ID_PREFIX + UUID.randomUUID());
+        placeholder.setPost_id(postId);
+        placeholder.setAuthor_id(SessionManager.getUserId());
+        placeholder.setText(text);
+        placeholder.setTitle(title);
+        placeholder.setSendState(Comment.SEND_STATE_PENDING);
+
+        EntityStore.comments().put(placeholder);
+        CommentPager current = pager;
+        if (current != null) {
+            current.addComment(placeholder);
+        }
+        CommentRepository.adjustCommentCount(postId, 1);
+        latestPostedComment.postValue(placeholder);
+        send(placeholder);
+    }
+
+    /**
+     * Send a comment that failed to post again.
+     */
+    public void retryComment(String commentId) {
+        Comment failed = EntityStore.comments().get(commentId);
+        if (failed == null || failed.getSendState() != Comment.SEND_STATE_FAILED) {
+            return;
+        }
+        error.postValue(null);
+        Comment pending = EntityStore.comments().update(commentId,
+                stored -> withSendState(stored, Comment.SEND_STATE_PENDING));
+        if (pending == null) {
+            return;
+        }
+        CommentRepository.adjustCommentCount(pending.getPost_id(), 1);
+        send(pending);
+    }
+
+    /**
+     * Drop a comment that failed to post; it was never on the server.
+     */
+    public void discardComment(String commentId) {
+        Comment failed = EntityStore.comments().get(commentId);
+        if (failed != null && failed.getSendState() == Comment.SEND_STATE_FAILED) {
+            // The store listener removes it from the loaded pages
+            EntityStore.comments().remove(commentId);
+        }
+    }
+
+    private void send(Comment placeholder) {
+        String tempId = placeholder.getId();
+        String postId = placeholder.getPost_id();
+        commentRepository.createComment(postId, placeholder.getText(), placeholder.getTitle(),
+                new CommentRepository.Callback<Comment>() {
             @Override
             public void onSuccess(Comment result) {
-                postingComment.postValue(false);
-                latestPostedComment.postValue(result);
-                // Reload comments from server to ensure we have the latest data
-                // This ensures the comment count and all comments are up-to-date
-                loadComments(postId);
+                CommentPager current = pager;
+                if (current != null) {
+                    current.replaceComment(tempId, result);
+                }
+                EntityStore.comments().remove(tempId);
             }
 
             @Override
             public void onError(String err) {
-                loading.postValue(false);
-                postingComment.postValue(false);
+                EntityStore.comments().update(tempId,
+                        stored -> withSendState(stored, Comment.SEND_STATE_FAILED));
+                CommentRepository.adjustCommentCount(postId, -1);
                 error.postValue(err);
             }
         });
     }
 
+    private static Comment withSendState(Comment comment, int sendState) {
+        Comment patched = new Comment(comment);
+        patched.setSendState(sendState);
+        return patched;
+    }
+
     public void editComment(String postId, String commentId, String text, String title) {
         loading.postValue(true);
         error.postValue(null);
         commentRepository.updateComment(postId, commentId, text, title, new CommentRepository.Callback<Comment>() {
             @Override
             public void onSuccess(Comment result) {
+                // The repository patched the stored comment; onCommentsStored updates the list
                 loading.postValue(false);
-                // Reload comments to get updated data
-                loadComments(postId);
             }
 
             @Override
@@ -101,9 +228,8 @@ public class CommentsViewModel extends ViewModel {
         commentRepository.deleteComment(commentId, new CommentRepository.Callback<Void>() {
             @Override
             public void onSuccess(Void result) {
+                // The repository removed the stored comment; onCommentsStored updates the list
                 loading.postValue(false);
-                // Reload comments to reflect deletion
-                loadComments(postId);
             }
 
             @Override
@@ -119,50 +245,79 @@ public class CommentsViewModel extends ViewModel {
             error.postValue("Invalid vote parameters");
             return;
         }
-        
-        loading.postValue(true);
+
         error.postValue(null);
-        
+
+        // The repository patches the stored comment at once, so the list updates through
+        // onCommentsStored; rapid taps are safe because votes on one comment are sent in order
         commentRepository.voteOnComment(postId, commentId, type, new CommentRepository.Callback<CommentRepository.VoteResult>() {
             @Override
             public void onSuccess(CommentRepository.VoteResult result) {
-                loading.postValue(false);
-                if (result == null || result.getComment() == null || result.getComment().getId() == null) {
-                    error.postValue("Invalid vote result");
-                    return;
-                }
-                
-                List<Comment> current = comments.getValue();
-                if (current == null) {
-                    current = new ArrayList<>();
-                } else {
-                    current = new ArrayList<>(current);
-                }
-                
-                String updatedCommentId = result.getComment().getId();
-                boolean found = false;
-                for (int i = 0; i < current.size(); i++) {
-                    Comment item = current.get(i);
-                    if (item != null && item.getId() != null && item.getId().equals(updatedCommentId)) {
-                        current.set(i, result.getComment());
-                        found = true;
-                        break;
-                    }
-                }
-                
-                if (!found) {
-                    // Comment not found in list, reload all comments
-                    loadComments(postId);
-                } else {
-                    comments.postValue(current);
-                }
+                // Reconciled in the store
             }
 
             @Override
             public void onError(String err) {
-                loading.postValue(false);
                 error.postValue(err != null ? err : "Failed to vote on comment");
             }
         });
     }
-}
\ No newline at end of file
+
+    @Override
+    protected void onCleared() {
+        EntityStore.comments().removeListener(storeListener);
+        EntityStore.comments().releaseQuery(queryKey);
+        super.onCleared();
+    }
+
+    private void publishComments(List<Comment> result, int total, boolean hasMore) {
+        synchronized (commentsLock) {
+            latestComments = EntityStore.comments().setQuery(queryKey, result);
+            comments.postValue(latestComments);
+            hasMoreComments.postValue(hasMore);
+            commentTotal.postValue(total);
+        }
+    }
+
+    private void onCommentsStored(Set<String> ids) {
+        CommentPager current = pager;
+        if (current != null) {
+            EntityStore<Comment> store = EntityStore.comments();
+            current.patchComments(list -> store.applyChanges(list, ids));
+        }
+    }
+
+    private class PagerListener implements CommentPager.Listener {
+        @Override
+        public void onCommentsChanged(List<Comment> loaded, int total, boolean hasMore) {
+            if (isCurrent(this)) {
+                publishComments(loaded, total, hasMore);
+            }
+        }
+
+        @Override
+        public void onLoadingChanged(boolean isLoading) {
+            if (!isCurrent(this)) {
+                return;
+            }
+            // Only the first page counts as loading; later pages show the list footer
+            boolean empty;
+            synchronized (commentsLock) {
+                empty = latestComments.isEmpty();
+            }
+            loading.postValue(isLoading && empty);
+        }
+
+        @Override
+        public void onError(String err) {
+            if (isCurrent(this)) {
+                // Keep whatever is shown (e.g. the cached thread) when offline
+                error.postValue(err);
+            }
+        }
+    }
+
+    private boolean isCurrent(PagerListener listener) {
+        return pagerListener == listener;
+    }
+}
@@ -5,8 +5,13 @@ import androidx.lifecycle.MutableLiveData;
 import androidx.lifecycle.ViewModel;
 
 import com.example.csci_310project2team26.data.model.Post;
+import com.example.csci_310project2team26.data.repository.EntityStore;
+import com.example.csci_310project2team26.data.repository.OptimisticPostVotes;
 import com.example.csci_310project2team26.data.repository.PostRepository;
 
+import java.util.Collections;
+import java.util.Set;
+
 /**
  * PostDetailViewModel - Manages post detail state and voting
  * Similar to CommentsViewModel pattern
@@ -18,19 +23,53 @@ public class PostDetailViewModel extends ViewModel {
     private final MutableLiveData<Boolean> loading = new MutableLiveData<>(false);
     private final MutableLiveData<String> error = new MutableLiveData<>(null);
     private final MutableLiveData<Post> post = new MutableLiveData<>(null);
+    private final Object postLock = new Object();
+    private Post latestPost;
+    private final OptimisticPostVotes pendingVotes = new OptimisticPostVotes();
+    private final String queryKey = EntityStore.newQueryKey("post");
+    private final EntityStore.Listener storeListener = this::onPostsStored;
+
+    public PostDetailViewModel() {
+        EntityStore.posts().addListener(storeListener);
+    }
 
     public LiveData<Boolean> getLoading() { return loading; }
     public LiveData<String> getError() { return error; }
     public LiveData<Post> getPost() { return post; }
 
+    /**
+     * Load the post from the network. A copy from the disk cache is shown
+     * first if nothing of this post is on screen yet.
+     */
     public void loadPost(String postId) {
         loading.postValue(true);
         error.postValue(null);
+        postRepository.getCachedPost(postId, new PostRepository.Callback<Post>() {
+            @Override
+            public void onSuccess(Post cached) {
+                synchronized (postLock) {
+                    if (latestPost != null && postId.equals(latestPost.getId())) {
+                        return;
+                    }
+                    Post stored = EntityStore.posts().get(postId);
+                    publishPost(stored != null ? stored : cached);
+                }
+                loading.postValue(false);
+            }
+
+            @Override
+            public void onError(String err) {
+                // Nothing cached; wait for the network
+            }
+        });
         postRepository.getPostById(postId, new PostRepository.Callback<Post>() {
             @Override
             public void onSuccess(Post result) {
                 loading.postValue(false);
-                Post existing = post.getValue();
+                Post existing;
+                synchronized (postLock) {
+                    existing = latestPost;
+                }
                 if (result != null
                         && result.getUser_vote_type() == null
                         && existing != null
@@ -38,9 +77,12 @@ public class PostDetailViewModel extends ViewModel {
                     // Preserve the user's known vote selection when the backend response
                     // does not echo it back. This keeps the arrow fill state from
                     // clearing after a vote even if the server omits the user_vote_type.
-                    result.setUser_vote_type(existing.getUser_vote_type());
+                    // The result is the shared store record, so patch a copy through the store.
+                    String vote = existing.getUser_vote_type();
+                    Post stored = EntityStore.posts().update(result.getId(), current -> withUserVote(current, vote));
+                    result = stored != null ? stored : withUserVote(result, vote);
                 }
-                post.postValue(result);
+                publishPost(result);
             }
 
             @Override
@@ -51,29 +93,84 @@ public class PostDetailViewModel extends ViewModel {
         });
     }
 
+    /**
+     * Patch the shown post with the vote immediately and send it; the post is
+     * not reloaded. The response confirms the final vote, an error rolls back.
+     */
     public void voteOnPost(String postId, String type) {
         if (postId == null || type == null) {
             error.postValue("Invalid vote parameters");
             return;
         }
-        
-        loading.postValue(true);
+
+        String previousVote;
+        synchronized (postLock) {
+            previousVote = latestPost != null ? latestPost.getUser_vote_type() : null;
+        }
+        String optimisticVote = OptimisticPostVotes.nextVote(previousVote, type);
+        applyVote(postId, optimisticVote);
         error.postValue(null);
-        
+        pendingVotes.begin(postId, previousVote);
+
         postRepository.votePost(postId, type, new PostRepository.Callback<PostRepository.VoteActionResult>() {
             @Override
             public void onSuccess(PostRepository.VoteActionResult result) {
-                // After voting, reload the post to get updated vote counts
-                // This follows the same pattern as comment voting
-                loadPost(postId);
+                String confirmedVote = OptimisticPostVotes.serverVote(result);
+                if (pendingVotes.finish(postId, confirmedVote)) {
+                    applyVote(postId, confirmedVote);
+                }
             }
 
             @Override
             public void onError(String err) {
-                loading.postValue(false);
+                OptimisticPostVotes.Rollback rollback = pendingVotes.fail(postId);
+                if (rollback != null) {
+                    applyVote(postId, rollback.vote);
+                }
                 error.postValue(err != null ? err : "Failed to vote on post");
             }
         });
     }
-}
 
+    @Override
+    protected void onCleared() {
+        EntityStore.posts().removeListener(storeListener);
+        EntityStore.posts().releaseQuery(queryKey);
+        super.onCleared();
+    }
+
+    private void publishPost(Post result) {
+        synchronized (postLock) {
+            latestPost = result;
+            if (result != null) {
+                EntityStore.posts().setQuery(queryKey, Collections.singletonList(result));
+            }
+            post.postValue(result);
+        }
+    }
+
+    private static Post withUserVote(Post post, String vote) {
+        Post patched = new Post(post);
+        patched.setUser_vote_type(vote);
+        return patched;
+    }
+
+    private void applyVote(String postId, String vote) {
+        // Every screen showing the post, this one included, updates through onPostsStored
+        EntityStore.posts().update(postId, current -> OptimisticPostVotes.withVote(current, vote));
+    }
+
+    private void onPostsStored(Set<String> ids) {
+        synchronized (postLock) {
+            if (latestPost == null || !ids.contains(latestPost.getId())) {
+                return;
+            }
+            Post stored = EntityStore.posts().get(latestPost.getId());
+            // A deleted post stays on screen until the user leaves it
+            if (stored != null && stored != latestPost) {
+                latestPost = stored;
+                post.postValue(stored);
+            }
+        }
+    }
+}
@@ -5,10 +5,18 @@ import androidx.lifecycle.MutableLiveData;
 import androidx.lifecycle.ViewModel;
 
 import com.example.csci_310project2team26.data.model.Post;
+import com.example.csci_310project2team26.data.repository.Cancellable;
+import com.example.csci_310project2team26.data.repository.EntityStore;
+import com.example.csci_310project2team26.data.repository.OptimisticPostVotes;
+import com.example.csci_310project2team26.data.repository.PostPager;
 import com.example.csci_310project2team26.data.repository.PostRepository;
+import com.example.csci_310project2team26.data.repository.SearchSession;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.UnaryOperator;
 
 /**
  * PostsViewModel - Exposes posts feed and actions.
@@ -18,12 +26,23 @@ public class PostsViewModel extends ViewModel {
     public static final String SORT_NEW = "new";
     public static final String SORT_TOP = "top";
     private static final String DEFAULT_SEARCH_TYPE = "full_text";
+    private static final int DEFAULT_SEARCH_LIMIT = 50;
 
     private final PostRepository postRepository = new PostRepository();
 
     private final MutableLiveData<Boolean> loading = new MutableLiveData<>(false);
     private final MutableLiveData<String> error = new MutableLiveData<>(null);
     private final MutableLiveData<List<Post>> posts = new MutableLiveData<>(new ArrayList<>());
+    // Last published list; postValue is asynchronous so getValue may lag behind
+    private final Object postsLock = new Object();
+    private List<Post> latestPosts = new ArrayList<>();
+    private final OptimisticPostVotes pendingVotes = new OptimisticPostVotes();
+    private volatile PostPager feedPager;
+    private volatile FeedListener feedListener;
+    private final String queryKey = EntityStore.newQueryKey("posts");
+    private final EntityStore.Listener storeListener = this::onPostsStored;
+    private final SearchSession searchSession = new SearchSession(
+            this::loadSearchPage, this::searchLocally, new SearchListener());
 
     private String currentSort = SORT_NEW;
     private String currentQuery = "";
@@ -31,6 +50,10 @@ public class PostsViewModel extends ViewModel {
     private Integer currentOffset = null;
     private Boolean currentIsPromptPost = null;
 
+    public PostsViewModel() {
+        EntityStore.posts().addListener(storeListener);
+    }
+
     public LiveData<Boolean> getLoading() { return loading; }
     public LiveData<String> getError() { return error; }
     public LiveData<List<Post>> getPosts() { return posts; }
@@ -55,47 +78,120 @@ public class PostsViewModel extends ViewModel {
         return currentIsPromptPost;
     }
 
+    /**
+     * Load the feed, or run a search when a query is given. Feed loads are
+     * paged: {@code limit} is the page size and further pages are requested
+     * through {@link #onFeedScrolled}, by cursor when the server provides one
+     * and by offset otherwise. Calling this again with the same sort
+     * and filter refreshes the loaded pages instead of starting over.
+     */
     public void loadPosts(String sort,
                           String query,
                           Integer limit,
                           Integer offset,
                           Boolean isPromptPost) {
+        String previousSort = currentSort;
+        Boolean previousIsPromptPost = currentIsPromptPost;
         currentSort = sort != null ? sort : SORT_NEW;
         currentQuery = query != null ? query.trim() : "";
         currentLimit = limit;
         currentOffset = offset;
         currentIsPromptPost = isPromptPost;
 
-        loading.postValue(true);
         error.postValue(null);
 
         if (currentQuery.isEmpty()) {
-            postRepository.fetchPosts(currentSort, currentLimit, currentOffset, currentIsPromptPost,
-                    new PostRepository.Callback<PostRepository.PostsResult>() {
-                        @Override
-                        public void onSuccess(PostRepository.PostsResult result) {
-                            loading.postValue(false);
-                            posts.postValue(result != null && result.getPosts() != null
-                                    ? result.getPosts() : new ArrayList<>());
-                        }
-
-                        @Override
-                        public void onError(String err) {
-                            loading.postValue(false);
-                            error.postValue(err);
+            int pageSize = limit != null && limit > 0 ? limit : PostPager.DEFAULT_PAGE_SIZE;
+            PostPager pager = feedPager;
+            boolean sameFeed = pager != null
+                    && pager.getPageSize() == pageSize
+                    && currentSort.equals(previousSort)
+                    && Objects.equals(currentIsPromptPost, previousIsPromptPost);
+            if (sameFeed) {
+                pager.refresh();
+                return;
+            }
+            final String feedSort = currentSort;
+            final Boolean feedIsPromptPost = currentIsPromptPost;
+            pager = new PostPager(
+                    (pageOffset, after, pageLimit, callback) -> {
+                        if (after != null) {
+                            postRepository.fetchPostsAfter(feedSort, pageLimit, after, feedIsPromptPost, callback);
+                        } else {
+                            postRepository.fetchPosts(feedSort, pageLimit, pageOffset, feedIsPromptPost, callback);
                         }
-                    });
+                    },
+                    feedListener = new FeedListener(),
+                    pageSize,
+                    PostPager.DEFAULT_MAX_PAGES);
+            feedPager = pager;
+            searchSession.cancel();
+            publishPosts(new ArrayList<>());
+            pager.reset();
+            showCachedFirstPage(pager, feedSort, pageSize, feedIsPromptPost);
         } else {
+            feedPager = null;
+            feedListener = null;
             performSearch(currentQuery, DEFAULT_SEARCH_TYPE, currentSort, currentLimit, currentOffset, currentIsPromptPost);
         }
     }
 
+    /**
+     * Render the last saved first page right away; the pager drops it as soon
+     * as the network page arrives.
+     */
+    private void showCachedFirstPage(PostPager pager, String sort, int pageSize, Boolean isPromptPost) {
+        postRepository.getCachedPosts(sort, pageSize, 0, isPromptPost,
+                new PostRepository.Callback<PostRepository.PostsResult>() {
+                    @Override
+                    public void onSuccess(PostRepository.PostsResult result) {
+                        if (feedPager == pager) {
+                            pager.showCached(result.getPosts());
+                        }
+                    }
+
+                    @Override
+                    public void onError(String err) {
+                        // Nothing cached; the network load fills the feed
+                    }
+                });
+    }
+
+    /**
+     * Report the visible rows of the feed so the next page can be prefetched
+     * and far-away pages dropped.
+     */
+    public void onFeedScrolled(int firstVisible, int lastVisible) {
+        PostPager pager = feedPager;
+        if (pager != null) {
+            pager.onVisibleRange(firstVisible, lastVisible);
+        }
+    }
+
+    /**
+     * Drop every loaded page except those around the visible rows.
+     */
+    public void trimMemory(int firstVisible, int lastVisible) {
+        PostPager pager = feedPager;
+        if (pager != null) {
+            pager.trimToVisible(firstVisible, lastVisible);
+        }
+    }
+
+    /**
+     * Search as the user types. The search runs once the parameters have
+     * stopped changing for a moment; a newer call cancels the older search,
+     * and results appear page by page as they arrive. Matches among posts
+     * already on the device show immediately, even offline.
+     */
     public void searchPosts(String query,
                             String searchType,
                             String sort,
                             Integer limit,
                             Integer offset,
                             Boolean isPromptPost) {
+        feedPager = null;
+        feedListener = null;
         currentSort = sort != null ? sort : SORT_NEW;
         currentQuery = query != null ? query.trim() : "";
         currentLimit = limit;
@@ -116,45 +212,176 @@ public class PostsViewModel extends ViewModel {
                                Integer limit,
                                Integer offset,
                                Boolean isPromptPost) {
-        loading.postValue(true);
         error.postValue(null);
-        postRepository.searchPosts(query, searchType, sort, limit, offset, isPromptPost,
-                new PostRepository.Callback<PostRepository.PostsResult>() {
-                    @Override
-                    public void onSuccess(PostRepository.PostsResult result) {
-                        loading.postValue(false);
-                        posts.postValue(result != null && result.getPosts() != null
-                                ? result.getPosts() : new ArrayList<>());
-                    }
+        searchSession.submit(new SearchSession.Request(
+                query,
+                searchType,
+                sort,
+                limit != null ? limit : DEFAULT_SEARCH_LIMIT,
+                offset != null ? offset : 0,
+                isPromptPost));
+    }
 
-                    @Override
-                    public void onError(String err) {
-                        loading.postValue(false);
-                    error.postValue(err);
-                }
-            });
+    private List<Post> searchLocally(SearchSession.Request request) {
+        return postRepository.searchLocal(request.getQuery(), request.getSearchType(), request.getSort(),
+                request.getIsPromptPost(), request.getLimit());
     }
 
+    private Cancellable loadSearchPage(SearchSession.Request request, int offset, int limit,
+                                       PostRepository.Callback<PostRepository.PostsResult> callback) {
+        return postRepository.searchPosts(request.getQuery(), request.getSearchType(), request.getSort(),
+                limit, offset, request.getIsPromptPost(), callback);
+    }
+
+    /**
+     * Apply the vote to the cached post right away and send it. The feed is
+     * never refetched; the server response only corrects or rolls back the
+     * one post that was voted on.
+     */
     public void voteOnPost(String postId, String type) {
         if (postId == null || type == null) {
             error.postValue("Invalid vote request");
             return;
         }
 
-        loading.postValue(true);
+        Post current = findPost(postId);
+        String previousVote = current != null ? current.getUser_vote_type() : null;
+        if (current != null) {
+            String optimisticVote = OptimisticPostVotes.nextVote(previousVote, type);
+            patchPost(postId, post -> OptimisticPostVotes.withVote(post, optimisticVote));
+        }
         error.postValue(null);
+        pendingVotes.begin(postId, previousVote);
 
         postRepository.votePost(postId, type, new PostRepository.Callback<PostRepository.VoteActionResult>() {
             @Override
             public void onSuccess(PostRepository.VoteActionResult result) {
-                loadPosts(currentSort, currentQuery, currentLimit, currentOffset, currentIsPromptPost);
+                String confirmedVote = OptimisticPostVotes.serverVote(result);
+                if (!pendingVotes.finish(postId, confirmedVote)) {
+                    return;
+                }
+                patchPost(postId, post -> OptimisticPostVotes.withVote(post, confirmedVote));
             }
 
             @Override
             public void onError(String err) {
-                loading.postValue(false);
+                OptimisticPostVotes.Rollback rollback = pendingVotes.fail(postId);
+                if (rollback != null) {
+                    patchPost(postId, post -> OptimisticPostVotes.withVote(post, rollback.vote));
+                }
                 error.postValue(err != null ? err : "Failed to vote on post");
             }
         });
     }
-}
\ No newline at end of file
+
+    @Override
+    protected void onCleared() {
+        searchSession.cancel();
+        EntityStore.posts().removeListener(storeListener);
+        EntityStore.posts().releaseQuery(queryKey);
+        super.onCleared();
+    }
+
+    private void publishPosts(List<Post> result) {
+        synchronized (postsLock) {
+            latestPosts = EntityStore.posts().setQuery(queryKey, result);
+            posts.postValue(latestPosts);
+        }
+    }
+
+    private Post findPost(String postId) {
+        synchronized (postsLock) {
+            for (Post post : latestPosts) {
+                if (post != null && postId.equals(post.getId())) {
+                    return post;
+                }
+            }
+            return null;
+        }
+    }
+
+    private void patchPost(String postId, UnaryOperator<Post> patch) {
+        // Every screen showing the post, this one included, updates through onPostsStored
+        EntityStore.posts().update(postId, patch);
+    }
+
+    private void onPostsStored(Set<String> ids) {
+        EntityStore<Post> store = EntityStore.posts();
+        PostPager pager = feedPager;
+        if (pager != null) {
+            // The pager republishes through FeedListener
+            pager.patchPages(page -> store.applyChanges(page, ids));
+            return;
+        }
+        synchronized (postsLock) {
+            List<Post> updated = store.applyChanges(latestPosts, ids);
+            if (updated != latestPosts) {
+                publishPosts(updated);
+            }
+        }
+    }
+
+    private class FeedListener implements PostPager.Listener {
+        @Override
+        public void onPostsChanged(List<Post> pagePosts, int firstOffset) {
+            if (isCurrentFeed(this)) {
+                publishPosts(pagePosts);
+                if (!pagePosts.isEmpty()) {
+                    // Rows (possibly cached ones) are showing; refreshes continue silently
+                    loading.postValue(false);
+                }
+            }
+        }
+
+        @Override
+        public void onLoadingChanged(boolean isLoading) {
+            if (!isCurrentFeed(this)) {
+                return;
+            }
+            // Only the first page shows the full-screen spinner
+            boolean empty;
+            synchronized (postsLock) {
+                empty = latestPosts.isEmpty();
+            }
+            loading.postValue(isLoading && empty);
+        }
+
+        @Override
+        public void onError(String err) {
+            if (isCurrentFeed(this)) {
+                error.postValue(err);
+            }
+        }
+    }
+
+    private class SearchListener implements SearchSession.Listener {
+        @Override
+        public void onResults(List<Post> results, boolean complete) {
+            if (feedPager == null) {
+                publishPosts(results);
+                if (!results.isEmpty()) {
+                    // The first matches are showing; later pages are appended silently
+                    loading.postValue(false);
+                }
+            }
+        }
+
+        @Override
+        public void onLoadingChanged(boolean isLoading) {
+            if (feedPager == null) {
+                loading.postValue(isLoading);
+            }
+        }
+
+        @Override
+        public void onError(String err) {
+            if (feedPager == null) {
+                error.postValue(err);
+            }
+        }
+    }
+
+    private boolean isCurrentFeed(FeedListener listener) {
+        return feedListener == listener;
+    }
+}
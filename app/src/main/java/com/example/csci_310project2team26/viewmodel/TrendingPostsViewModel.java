@@ -5,10 +5,12 @@ import androidx.lifecycle.MutableLiveData;
 import androidx.lifecycle.ViewModel;
 
 import com.example.csci_310project2team26.data.model.Post;
+import com.example.csci_310project2team26.data.repository.EntityStore;
 import com.example.csci_310project2team26.data.repository.PostRepository;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 /**
  * TrendingPostsViewModel - Manages trending posts data
@@ -20,6 +22,14 @@ public class TrendingPostsViewModel extends ViewModel {
     private final MutableLiveData<Boolean> loading = new MutableLiveData<>(false);
     private final MutableLiveData<String> error = new MutableLiveData<>(null);
     private final MutableLiveData<List<Post>> posts = new MutableLiveData<>(new ArrayList<>());
+    private final Object postsLock = new Object();
+    private List<Post> latestPosts = new ArrayList<>();
+    private final String queryKey = EntityStore.newQueryKey("trending");
+    private final EntityStore.Listener storeListener = this::onPostsStored;
+
+    public TrendingPostsViewModel() {
+        EntityStore.posts().addListener(storeListener);
+    }
 
     public LiveData<Boolean> getLoading() { return loading; }
     public LiveData<String> getError() { return error; }
@@ -33,17 +43,39 @@ public class TrendingPostsViewModel extends ViewModel {
             @Override
             public void onSuccess(PostRepository.PostsResult result) {
                 loading.postValue(false);
-                posts.postValue(result != null && result.getPosts() != null
-                        ? result.getPosts() : new ArrayList<>());
+                publishPosts(result != null ? result.getPosts() : null);
             }
 
             @Override
             public void onError(String err) {
                 loading.postValue(false);
                 error.postValue(err);
-                posts.postValue(new ArrayList<>());
+                publishPosts(null);
             }
         });
     }
+
+    @Override
+    protected void onCleared() {
+        EntityStore.posts().removeListener(storeListener);
+        EntityStore.posts().releaseQuery(queryKey);
+        super.onCleared();
+    }
+
+    private void publishPosts(List<Post> result) {
+        synchronized (postsLock) {
+            latestPosts = EntityStore.posts().setQuery(queryKey, result);
+            posts.postValue(latestPosts);
+        }
+    }
+
+    private void onPostsStored(Set<String> ids) {
+        synchronized (postsLock) {
+            List<Post> updated = EntityStore.posts().applyChanges(latestPosts, ids);
+            if (updated != latestPosts) {
+                publishPosts(updated);
+            }
+        }
+    }
 }
 
@@ -0,0 +1,218 @@
+package com.example.csci_310project2team26.data.model;
+
+import com.example.csci_310project2team26.util.IsoTimestamps;
+import com.google.gson.Gson;
+import com.google.gson.annotations.SerializedName;
+import com.google.gson.reflect.TypeToken;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * White-box Test: Compact Post and Comment fields
+ *
+ * Location: app/src/test/java/com/example/csci_310project2team26/data/model/CompactModelTest.java
+ * Test Class: CompactModelTest
+ *
+ * Description: Tests that timestamps, votes and repeated strings are decoded once into
+ * their compact form, and compares the retained heap of a 10k-post feed decoded into the
+ * compact Post against the same feed decoded into the previous all-String shape.
+ *
+ * How to Execute: Run as JUnit test in Android Studio or via: ./gradlew test --tests CompactModelTest
+ *
+ * Coverage: Tests decoding, writing back the server format, missing values, sharing of
+ * author and tag strings, and the heap saved on a 10k-post feed.
+ */
+public class CompactModelTest {
+
+    private static final int FEED_SIZE = 10_000;
+    private static final String[] TAGS = { "GPT-4", "Claude", "Gemini", "Llama", "Mistral", "Other" };
+    private static final String[] VOTES = { null, "up", "down" };
+
+    private final Gson gson = new Gson();
+
+    /** Post as it was decoded before: every field a String of its own. */
+    @SuppressWarnings("unused")
+    private static class LegacyPost {
+        @SerializedName("id") String id;
+        @SerializedName("author_id") String author_id;
+        @SerializedName("author_name") String author_name;
+        @SerializedName("title") String title;
+        @SerializedName("content") String content;
+        @SerializedName("prompt_section") String prompt_section;
+        @SerializedName("description_section") String description_section;
+        @SerializedName("llm_tag") String llm_tag;
+        @SerializedName("is_prompt_post") boolean is_prompt_post;
+        @SerializedName("user_vote_type") String user_vote_type;
+        @SerializedName("created_at") String created_at;
+        @SerializedName("updated_at") String updated_at;
+        @SerializedName("anonymous") boolean anonymous;
+        @SerializedName("upvotes") int upvotes;
+        @SerializedName("downvotes") int downvotes;
+        @SerializedName("comment_count") int comment_count;
+    }
+
+    /** A feed page as the server sends it: 50 authors, a handful of tags. */
+    private static String feedJson(int size) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) json.append(',');
+            int author = i % 50;
+            long created = 1_740_000_000_000L + i * 61_007L;
+            String vote = VOTES[i % VOTES.length];
+            json.append("{\"id\":\"").append(String.format("%08d-0000-4000-8000-%012d", i, i))
+                    .append("\",\"author_id\":\"").append(String.format("%08d-aaaa-4000-8000-%012d", author, author))
+                    .append("\",\"author_name\":\"Author Number ").append(author)
+                    .append("\",\"title\":\"Prompt idea number ").append(i).append(" for the feed")
+                    .append("\",\"content\":\"");
+            for (int w = 0; w < 24; w++) {
+                json.append("word").append((i + w) % 97).append(' ');
+            }
+            json.append("\",\"llm_tag\":\"").append(TAGS[i % TAGS.length])
+                    .append("\",\"is_prompt_post\":").append(i % 2 == 0)
+                    .append(",\"user_vote_type\":").append(vote != null ? "\"" + vote + "\"" : "null")
+                    .append(",\"created_at\":\"").append(IsoTimestamps.format(created | 1))
+                    .append("\",\"updated_at\":\"").append(IsoTimestamps.format(created + 1_001))
+                    .append("\",\"anonymous\":false,\"upvotes\":").append(i % 13)
+                    .append(",\"downvotes\":").append(i % 5)
+                    .append(",\"comment_count\":").append(i % 7).append('}');
+        }
+        return json.append(']').toString();
+    }
+
+    @Test
+    public void testDecodesCompactFields() {
+        // Rationale: Parsing and interning happen once, while the response is read
+        // Input: Two posts by the same author with ISO and epoch-millis timestamps
+        // Expected: Millis, byte votes and one shared author name instance
+        String json = "[{\"id\":\"a\",\"author_name\":\"Jane\",\"llm_tag\":\"GPT-4\",\"user_vote_type\":\"up\","
+                + "\"created_at\":\"2025-03-14T15:09:26.535Z\",\"updated_at\":1741964966535},"
+                + "{\"id\":\"b\",\"author_name\":\"Jane\",\"llm_tag\":\"GPT-4\",\"user_vote_type\":\"DOWN\"}]";
+        List<Post> posts = gson.fromJson(json, new TypeToken<List<Post>>() {}.getType());
+        Post first = posts.get(0);
+        Post second = posts.get(1);
+
+        assertEquals(1_741_964_966_535L, first.getCreatedAtMillis());
+        assertEquals(1_741_964_966_535L, first.getUpdatedAtMillis());
+        assertEquals("2025-03-14T15:09:26.535Z", first.getCreated_at());
+        assertEquals(VoteType.UP, first.getUserVote());
+        assertEquals("up", first.getUser_vote_type());
+        assertEquals(VoteType.DOWN, second.getUserVote());
+        assertSame(first.getAuthor_name(), second.getAuthor_name());
+        assertSame(first.getLlm_tag(), second.getLlm_tag());
+    }
+
+    @Test
+    public void testMissingValuesAndRoundTrip() {
+        // Rationale: Cached posts are written with Gson and read back, and the server omits fields
+        // Input: A post with no timestamps or vote, then one written and read back
+        // Expected: INVALID and NONE for missing values; the server format written back unchanged
+        Post empty = gson.fromJson("{\"id\":\"a\",\"created_at\":null,\"user_vote_type\":\"\"}", Post.class);
+        assertEquals(IsoTimestamps.INVALID, empty.getCreatedAtMillis());
+        assertEquals(IsoTimestamps.INVALID, empty.getUpdatedAtMillis());
+        assertNull(empty.getCreated_at());
+        assertEquals(VoteType.NONE, empty.getUserVote());
+        assertNull(empty.getUser_vote_type());
+
+        Comment comment = new Comment("c", "p", "u", "Jane", "Hi", "2025-01-01T00:00:00Z", null, 1, 0);
+        comment.setUser_vote_type("down");
+        String written = gson.toJson(comment);
+        assertTrue(written, written.contains("\"created_at\":\"2025-01-01T00:00:00Z\""));
+        assertTrue(written, written.contains("\"user_vote_type\":\"down\""));
+        Comment read = gson.fromJson(written, Comment.class);
+        assertEquals(comment.getCreatedAtMillis(), read.getCreatedAtMillis());
+        assertEquals(IsoTimestamps.INVALID, read.getUpdatedAtMillis());
+        assertEquals(VoteType.DOWN, read.getUserVote());
+    }
+
+    @Test
+    public void testTenThousandPostFeedRetainsLessHeap() {
+        // Rationale: The feed cache holds thousands of posts; repeated strings and timestamp text dominated
+        // Input: The same 10k-post JSON decoded into Post and into the previous all-String shape
+        // Expected: Same content, and the compact posts retain at least a third less heap
+        String json = feedJson(FEED_SIZE);
+        List<LegacyPost> legacy = gson.fromJson(json, new TypeToken<List<LegacyPost>>() {}.getType());
+        List<Post> compact = gson.fromJson(json, new TypeToken<List<Post>>() {}.getType());
+
+        for (int i = 0; i < FEED_SIZE; i += 997) {
+            LegacyPost before = legacy.get(i);
+            Post after = compact.get(i);
+            assertEquals(before.author_name, after.getAuthor_name());
+            assertEquals(IsoTimestamps.parseMillis(before.created_at), after.getCreatedAtMillis());
+            assertEquals(before.user_vote_type, after.getUser_vote_type());
+        }
+
+        long legacyBytes = retainedBytes(legacy);
+        long compactBytes = retainedBytes(compact);
+        long saved = legacyBytes - compactBytes;
+        assertTrue("Saved only " + saved + " of " + legacyBytes, saved * 3 >= legacyBytes);
+    }
+
+    // --- Retained size estimate, assuming a 64-bit VM with compressed references ---
+
+    private static final int HEADER = 12;
+    private static final int REFERENCE = 4;
+
+    /**
+     * Sum of the shallow sizes of every object reachable from {@code posts},
+     * each counted once. Strings are sized as Latin-1 compact strings.
+     */
+    private static long retainedBytes(List<?> posts) {
+        Set<Object> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        ArrayDeque<Object> pending = new ArrayDeque<>(posts);
+        long bytes = align(16 + (long) REFERENCE * posts.size());
+        while (!pending.isEmpty()) {
+            Object object = pending.poll();
+            if (!seen.add(object)) {
+                continue;
+            }
+            if (object instanceof String) {
+                bytes += align(HEADER + 12) + align(16 + ((String) object).length());
+                continue;
+            }
+            long shallow = HEADER;
+            for (Class<?> type = object.getClass(); type != Object.class; type = type.getSuperclass()) {
+                for (Field field : type.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers())) {
+                        continue;
+                    }
+                    Class<?> fieldType = field.getType();
+                    if (!fieldType.isPrimitive()) {
+                        shallow += REFERENCE;
+                        field.setAccessible(true);
+                        try {
+                            Object value = field.get(object);
+                            if (value != null) {
+                                pending.add(value);
+                            }
+                        } catch (IllegalAccessException e) {
+                            throw new AssertionError(e);
+                        }
+                    } else if (fieldType == long.class || fieldType == double.class) {
+                        shallow += 8;
+                    } else if (fieldType == int.class || fieldType == float.class) {
+                        shallow += 4;
+                    } else if (fieldType == short.class || fieldType == char.class) {
+                        shallow += 2;
+                    } else {
+                        shallow += 1;
+                    }
+                }
+            }
+            bytes += align(shallow);
+        }
+        return bytes;
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+}
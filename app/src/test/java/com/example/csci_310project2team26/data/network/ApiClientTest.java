@@ -0,0 +1,111 @@
+package com.example.csci_310project2team26.data.network;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import retrofit2.Response;
+
+/**
+ * White-box Test: ApiClient
+ *
+ * Location: app/src/test/java/com/example/csci_310project2team26/data/network/ApiClientTest.java
+ * Test Class: ApiClientTest
+ *
+ * Description: Tests the shared HTTP client behind ApiService, using a local MockWebServer
+ * as a stand-in for the hosted backend.
+ *
+ * How to Execute: Run as JUnit test in Android Studio or via: ./gradlew test --tests ApiClientTest
+ *
+ * Coverage: Tests single instance under concurrent first use, shared connection pool,
+ * base URL override and per-endpoint timeouts.
+ */
+public class ApiClientTest {
+
+    private MockWebServer server;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        ApiClient.setBaseUrlOverride(server.url("/").toString());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        ApiClient.setBaseUrlOverride(null);
+        server.shutdown();
+    }
+
+    @Test
+    public void testConcurrentFirstUseBuildsOneInstance() throws InterruptedException {
+        // Rationale: Repository threads racing on first use must share one service
+        // Input: 16 threads calling getInstance at the same moment
+        // Expected: Every thread receives the same instance
+        Set<ApiService> instances = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(16);
+        for (int i = 0; i < 16; i++) {
+            new Thread(() -> {
+                try {
+                    start.await();
+                    instances.add(ApiService.Factory.getInstance());
+                } catch (InterruptedException ignored) {
+                } finally {
+                    done.countDown();
+                }
+            }).start();
+        }
+        start.countDown();
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(1, instances.size());
+    }
+
+    @Test
+    public void testOverrideRedirectsRequestsToStandInServer() throws Exception {
+        // Rationale: Benchmarks and tests must be able to point the real stack at a local server
+        // Input: getPosts through the production ApiService with the override set
+        // Expected: The MockWebServer receives the request with its path and query intact
+        server.enqueue(new MockResponse().setBody("{\"posts\":[],\"count\":0}"));
+
+        Response<ApiService.PostsResponse> response = ApiService.Factory.getInstance()
+                .getPosts(null, "new", 20, 0, null, null, null)
+                .execute();
+
+        assertTrue(response.isSuccessful());
+        RecordedRequest request = server.takeRequest(5, TimeUnit.SECONDS);
+        assertNotNull(request);
+        assertEquals("/api/posts?sort=new&limit=20&offset=0", request.getPath());
+    }
+
+    @Test
+    public void testDerivedClientsSharePoolAndDispatcher() {
+        // Rationale: Installing the cache must not create a second connection pool
+        // Input: The current client and a fresh derived client
+        // Expected: Same connection pool and dispatcher instances
+        assertSame(ApiClient.get().connectionPool(), ApiClient.get().newBuilder().build().connectionPool());
+        assertSame(ApiClient.get().dispatcher(), ApiClient.get().newBuilder().build().dispatcher());
+    }
+
+    @Test
+    public void testEndpointTimeouts() {
+        // Rationale: Slow endpoints get more time, auth fails fast
+        // Input: Representative method/path pairs
+        // Expected: The configured timeout for each family
+        assertEquals(ApiClient.AUTH_TIMEOUT_SECONDS, ApiClient.timeoutFor("POST", "/api/auth/login"));
+        assertEquals(ApiClient.SEARCH_TIMEOUT_SECONDS, ApiClient.timeoutFor("GET", "/api/posts/search"));
+        assertEquals(ApiClient.UPLOAD_TIMEOUT_SECONDS, ApiClient.timeoutFor("POST", "/api/posts"));
+        assertEquals(ApiClient.DEFAULT_TIMEOUT_SECONDS, ApiClient.timeoutFor("GET", "/api/posts"));
+    }
+}
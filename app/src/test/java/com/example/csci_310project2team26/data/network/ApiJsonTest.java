@@ -0,0 +1,163 @@
+package com.example.csci_310project2team26.data.network;
+
+import com.example.csci_310project2team26.data.model.Comment;
+import com.example.csci_310project2team26.data.model.Post;
+import com.example.csci_310project2team26.data.model.VoteType;
+import com.google.gson.Gson;
+import com.google.gson.annotations.SerializedName;
+import com.google.gson.reflect.TypeToken;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.List;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import retrofit2.Response;
+
+/**
+ * White-box Test: ApiJson
+ *
+ * Location: app/src/test/java/com/example/csci_310project2team26/data/network/ApiJsonTest.java
+ * Test Class: ApiJsonTest
+ *
+ * Description: Tests the hand-written adapters on the shared Gson against Gson's
+ * reflective binding of the same classes, which they replace.
+ *
+ * How to Execute: Run as JUnit test in Android Studio or via: ./gradlew test --tests ApiJsonTest
+ *
+ * Coverage: Tests that the adapters cover every model field, decode to the same values
+ * as reflection, unknown and null fields, reflective wrappers of posts and comments,
+ * writing for the disk cache, and use through Retrofit.
+ */
+public class ApiJsonTest {
+
+    private static final String POST_JSON = "{\"id\":\"p1\",\"author_id\":\"u1\",\"author_name\":\"Jane\","
+            + "\"title\":\"T\",\"content\":\"C\",\"prompt_section\":\"P\",\"description_section\":\"D\","
+            + "\"llm_tag\":\"GPT-4\",\"is_prompt_post\":true,\"user_vote_type\":\"down\","
+            + "\"created_at\":\"2025-03-14T15:09:26.535Z\",\"updated_at\":\"2025-03-15T00:00:00Z\","
+            + "\"anonymous\":false,\"upvotes\":\"7\",\"downvotes\":2,\"comment_count\":3,"
+            + "\"bookmark_count\":4,\"extra\":{\"nested\":[1,2,{\"a\":null}]}}";
+
+    private static final String COMMENT_JSON = "{\"id\":\"c1\",\"post_id\":\"p1\",\"author_id\":\"u2\","
+            + "\"author_name\":\"Sam\",\"title\":null,\"text\":\"Hi\",\"created_at\":\"2025-03-14 15:09:26\","
+            + "\"upvotes\":1,\"downvotes\":null,\"user_vote_type\":\"up\",\"post_title\":\"ignored\"}";
+
+    private final Gson reflective = new Gson();
+
+    /** Same JSON through both Gsons, compared by what reflection writes back. */
+    private <T> void assertSameAsReflection(String json, Class<T> type) {
+        T handWritten = ApiJson.get().fromJson(json, type);
+        T bound = reflective.fromJson(json, type);
+        assertEquals(type.getSimpleName(), reflective.toJson(bound), reflective.toJson(handWritten));
+    }
+
+    @Test
+    public void testAdaptersCoverEveryModelField() throws Exception {
+        // Rationale: A field added to Post or Comment but not to its adapter would be dropped silently
+        // Input: Each model with every @SerializedName field set, as reflection writes it
+        // Expected: The hand-written adapter reads and writes back the same JSON
+        for (Class<?> type : new Class<?>[] { Post.class, Comment.class }) {
+            assertTrue(type.getName(), ApiJson.hasAdapter(type));
+            Object model = type.getConstructor().newInstance();
+            int value = 1;
+            for (Field field : type.getDeclaredFields()) {
+                if (!field.isAnnotationPresent(SerializedName.class)) {
+                    continue;
+                }
+                field.setAccessible(true);
+                Class<?> fieldType = field.getType();
+                if (fieldType == String.class) {
+                    field.set(model, "v" + value);
+                } else if (fieldType == long.class) {
+                    field.setLong(model, 1_741_964_966_000L + value);
+                } else if (fieldType == int.class) {
+                    field.setInt(model, value);
+                } else if (fieldType == boolean.class) {
+                    field.setBoolean(model, true);
+                } else if (fieldType == byte.class) {
+                    field.setByte(model, VoteType.UP);
+                } else {
+                    fail("No test value for " + type.getSimpleName() + "." + field.getName());
+                }
+                value++;
+            }
+            String json = reflective.toJson(model);
+            assertEquals(type.getSimpleName(), json, reflective.toJson(ApiJson.get().fromJson(json, type)));
+            assertEquals(type.getSimpleName(), json, ApiJson.get().toJson(model));
+        }
+        assertTrue(ApiJson.hasAdapter(ApiService.PostsResponse.class));
+    }
+
+    @Test
+    public void testDecodesLikeReflection() {
+        // Rationale: Replacing reflection must not change any decoded value
+        // Input: Feed, post and comment payloads with unknown fields, nulls and quoted numbers
+        // Expected: The same object graph as Gson's reflective binding
+        assertSameAsReflection("{\"posts\":[" + POST_JSON + ",null],\"count\":2,\"next_cursor\":\"abc\",\"limit\":20}",
+                ApiService.PostsResponse.class);
+        assertSameAsReflection("{\"post\":" + POST_JSON + ",\"message\":\"ok\"}", ApiService.PostResponse.class);
+        assertSameAsReflection("{\"comments\":[" + COMMENT_JSON + "],\"count\":1,\"total\":9,\"next_cursor\":null}",
+                ApiService.CommentsResponse.class);
+        assertSameAsReflection("{\"comment\":" + COMMENT_JSON + "}", ApiService.CommentResponse.class);
+    }
+
+    @Test
+    public void testReflectiveWrappersUseModelAdapters() {
+        // Rationale: Wrappers without their own adapter still decode many comments per page
+        // Input: A comments page with two comments by the same author
+        // Expected: Elements go through the Comment adapter, so the author name is shared
+        ApiService.CommentsResponse page = ApiJson.get().fromJson(
+                "{\"comments\":[" + COMMENT_JSON + "," + COMMENT_JSON + "],\"count\":2}",
+                ApiService.CommentsResponse.class);
+        assertFalse(ApiJson.hasAdapter(ApiService.CommentsResponse.class));
+        assertSame(page.comments.get(0).getAuthor_name(), page.comments.get(1).getAuthor_name());
+        assertEquals(VoteType.UP, page.comments.get(0).getUserVote());
+    }
+
+    @Test
+    public void testWritesWhatItReads() {
+        // Rationale: The disk cache writes posts and comments with the shared Gson and reads them back later
+        // Input: Decoded posts and comments written and read again, and a Post written by reflection
+        // Expected: Identical values; reflection-written JSON from older caches still reads
+        List<Post> posts = ApiJson.get().fromJson("[" + POST_JSON + "]", new TypeToken<List<Post>>() {}.getType());
+        String written = ApiJson.get().toJson(posts);
+        List<Post> again = ApiJson.get().fromJson(written, new TypeToken<List<Post>>() {}.getType());
+        assertEquals(reflective.toJson(posts), reflective.toJson(again));
+        assertFalse(written, written.contains("bookmark_count"));
+        assertEquals(VoteType.DOWN, again.get(0).getUserVote());
+
+        Comment comment = ApiJson.get().fromJson(COMMENT_JSON, Comment.class);
+        Comment copy = ApiJson.get().fromJson(ApiJson.get().toJson(comment), Comment.class);
+        assertEquals(reflective.toJson(comment), reflective.toJson(copy));
+
+        Post old = ApiJson.get().fromJson(reflective.toJson(posts.get(0)), Post.class);
+        assertEquals(posts.get(0).getCreatedAtMillis(), old.getCreatedAtMillis());
+        assertEquals(7, old.getUpvotes());
+    }
+
+    @Test
+    public void testRetrofitUsesSharedGson() throws Exception {
+        // Rationale: The adapters only help if Retrofit decodes through them
+        // Input: A posts page from a local server through ApiService
+        // Expected: Decoded posts with interned authors and parsed timestamps
+        MockWebServer server = new MockWebServer();
+        server.enqueue(new MockResponse().setBody("{\"posts\":[" + POST_JSON + "," + POST_JSON + "],\"count\":2}"));
+        server.start();
+        try {
+            ApiService api = ApiService.Factory.create(server.url("/").toString());
+            Response<ApiService.PostsResponse> response =
+                    api.getPosts(null, null, null, null, null, null, null).execute();
+            List<Post> posts = response.body().posts;
+            assertEquals(2, posts.size());
+            assertSame(posts.get(0).getAuthor_name(), posts.get(1).getAuthor_name());
+            assertEquals(1_741_964_966_535L, posts.get(0).getCreatedAtMillis());
+            assertEquals(Arrays.asList(7, 7), Arrays.asList(posts.get(0).getUpvotes(), posts.get(1).getUpvotes()));
+        } finally {
+            server.shutdown();
+        }
+    }
+}
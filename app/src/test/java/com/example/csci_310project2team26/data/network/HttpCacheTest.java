@@ -0,0 +1,129 @@
+package com.example.csci_310project2team26.data.network;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+/**
+ * White-box Test: HttpCache
+ *
+ * Location: app/src/test/java/com/example/csci_310project2team26/data/network/HttpCacheTest.java
+ * Test Class: HttpCacheTest
+ *
+ * Description: Tests the on-disk response cache against a local MockWebServer that
+ * behaves like the Express backend (ETag on every body, 304 on a matching If-None-Match).
+ *
+ * How to Execute: Run as JUnit test in Android Studio or via: ./gradlew test --tests HttpCacheTest
+ *
+ * Coverage: Tests endpoint policy matching, ETag revalidation, max-age hits,
+ * per-user variation, invalidation and counters.
+ */
+public class HttpCacheTest {
+
+    private MockWebServer server;
+    private File cacheDir;
+    private HttpCache httpCache;
+    private OkHttpClient client;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+        cacheDir = Files.createTempDirectory("http-cache-test").toFile();
+        httpCache = new HttpCache(cacheDir, 1024 * 1024);
+        client = httpCache.applyTo(new OkHttpClient.Builder()).build();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    private String get(String path, String token) throws IOException {
+        Request.Builder request = new Request.Builder().url(server.url(path));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        try (Response response = client.newCall(request.build()).execute()) {
+            return response.body() != null ? response.body().string() : null;
+        }
+    }
+
+    @Test
+    public void testPolicyMatchesConfiguredEndpoints() {
+        // Rationale: Only the listed read endpoints get a cache policy
+        // Input: Paths for each endpoint family
+        // Expected: Revalidate for feeds, max-age for profile and versions, none for search
+        assertEquals(HttpCache.REVALIDATE, HttpCache.maxAgeFor("/api/posts"));
+        assertEquals(HttpCache.REVALIDATE, HttpCache.maxAgeFor("/api/posts/abc"));
+        assertEquals(HttpCache.REVALIDATE, HttpCache.maxAgeFor("/api/comments/post/abc"));
+        assertEquals(HttpCache.REVALIDATE, HttpCache.maxAgeFor("/api/bookmarks"));
+        assertEquals(30, HttpCache.maxAgeFor("/api/posts/abc/versions"));
+        assertEquals(60, HttpCache.maxAgeFor("/api/profile/u1"));
+        assertEquals(-1, HttpCache.maxAgeFor("/api/posts/search"));
+        assertEquals(-1, HttpCache.maxAgeFor("/api/bookmarks/status"));
+    }
+
+    @Test
+    public void testUnchangedFeedRevalidatesWith304() throws Exception {
+        // Rationale: An unchanged feed should cost a 304 instead of the full body
+        // Input: Two loads of /api/posts; the second is answered with 304
+        // Expected: Second request carries If-None-Match and the cached body is returned
+        server.enqueue(new MockResponse().setHeader("ETag", "W/\"v1\"").setBody("{\"posts\":[]}"));
+        server.enqueue(new MockResponse().setResponseCode(304).setHeader("ETag", "W/\"v1\""));
+
+        assertEquals("{\"posts\":[]}", get("/api/posts?sort=new", "t1"));
+        assertEquals("{\"posts\":[]}", get("/api/posts?sort=new", "t1"));
+
+        server.takeRequest();
+        RecordedRequest second = server.takeRequest();
+        assertEquals("W/\"v1\"", second.getHeader("If-None-Match"));
+
+        HttpCache.Stats stats = httpCache.getStats();
+        assertEquals(1, stats.getRevalidated());
+        assertEquals(1, stats.getMisses());
+    }
+
+    @Test
+    public void testProfileIsServedFromDiskUntilInvalidated() throws Exception {
+        // Rationale: Profiles rarely change, so they are fresh for a minute unless edited
+        // Input: Load a profile twice, invalidate, load again
+        // Expected: One fresh hit without a request, then a new request after invalidation
+        server.enqueue(new MockResponse().setHeader("ETag", "W/\"p1\"").setBody("{\"bio\":\"a\"}"));
+        server.enqueue(new MockResponse().setHeader("ETag", "W/\"p2\"").setBody("{\"bio\":\"b\"}"));
+
+        assertEquals("{\"bio\":\"a\"}", get("/api/profile/u1", null));
+        assertEquals("{\"bio\":\"a\"}", get("/api/profile/u1", null));
+        assertEquals(1, server.getRequestCount());
+        assertEquals(1, httpCache.getStats().getFreshHits());
+
+        httpCache.invalidate("api/profile/u1");
+        assertEquals("{\"bio\":\"b\"}", get("/api/profile/u1", null));
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    public void testResponsesVaryByUser() throws Exception {
+        // Rationale: Bodies embed the caller's own votes and must not leak across accounts
+        // Input: Same profile URL requested with two different tokens
+        // Expected: The second user's request goes to the server
+        server.enqueue(new MockResponse().setHeader("ETag", "W/\"a\"").setBody("user-a"));
+        server.enqueue(new MockResponse().setHeader("ETag", "W/\"b\"").setBody("user-b"));
+
+        assertEquals("user-a", get("/api/profile/u1", "token-a"));
+        assertEquals("user-b", get("/api/profile/u1", "token-b"));
+        assertEquals(2, server.getRequestCount());
+    }
+}
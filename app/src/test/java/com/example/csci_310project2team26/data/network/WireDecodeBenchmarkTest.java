@@ -0,0 +1,126 @@
+package com.example.csci_310project2team26.data.network;
+
+import com.example.csci_310project2team26.util.IsoTimestamps;
+import com.google.gson.Gson;
+
+import org.junit.Assume;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.io.StringReader;
+
+/**
+ * White-box Test: Posts page decode throughput
+ *
+ * Location: app/src/test/java/com/example/csci_310project2team26/data/network/WireDecodeBenchmarkTest.java
+ * Test Class: WireDecodeBenchmarkTest
+ *
+ * Description: JVM microbenchmark decoding PostsResponse payloads of 1,000 and 10,000
+ * posts with Gson's reflective binding, as GsonConverterFactory.create() did, and with
+ * the shared ApiJson instance. Prints posts and megabytes decoded per second.
+ *
+ * How to Execute: Run as JUnit test in Android Studio or via: ./gradlew test --tests WireDecodeBenchmarkTest -Dbenchmarks=true
+ *
+ * Coverage: Checks both paths decode the same posts. The throughput runs are skipped
+ * unless -Dbenchmarks=true is set, and print rather than assert: on a warmed-up desktop
+ * JVM the difference is within the run-to-run noise of a shared machine.
+ */
+public class WireDecodeBenchmarkTest {
+
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int ROUNDS = 15;
+    private static final String[] TAGS = { "GPT-4", "Claude", "Gemini", "Llama", "Mistral", "Other" };
+
+    private final Gson reflective = new Gson();
+
+    /** A page as the server sends it, including columns the app does not read. */
+    private static String postsPayload(int size) {
+        StringBuilder json = new StringBuilder("{\"posts\":[");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) json.append(',');
+            int author = i % 50;
+            long created = 1_740_000_000_000L + i * 61_007L;
+            json.append("{\"id\":\"").append(String.format("%08d-0000-4000-8000-%012d", i, i))
+                    .append("\",\"author_id\":\"").append(String.format("%08d-aaaa-4000-8000-%012d", author, author))
+                    .append("\",\"author_name\":\"Author Number ").append(author)
+                    .append("\",\"title\":\"Prompt idea number ").append(i)
+                    .append("\",\"content\":\"");
+            for (int w = 0; w < 24; w++) {
+                json.append("word").append((i + w) % 97).append(' ');
+            }
+            json.append("\",\"prompt_section\":null,\"description_section\":null,\"llm_tag\":\"")
+                    .append(TAGS[i % TAGS.length])
+                    .append("\",\"is_prompt_post\":").append(i % 2 == 0)
+                    .append(",\"user_vote_type\":").append(i % 3 == 0 ? "\"up\"" : "null")
+                    .append(",\"created_at\":\"").append(IsoTimestamps.format(created | 1))
+                    .append("\",\"updated_at\":\"").append(IsoTimestamps.format(created + 1_001))
+                    .append("\",\"anonymous\":false,\"upvotes\":").append(i % 13)
+                    .append(",\"downvotes\":").append(i % 5)
+                    .append(",\"comment_count\":").append(i % 7)
+                    .append(",\"bookmark_count\":").append(i % 11)
+                    .append(",\"search_rank\":0.").append(i % 1000).append('}');
+        }
+        return json.append("],\"count\":").append(size).append(",\"next_cursor\":\"c\"}").toString();
+    }
+
+    private static long decodeNanos(Gson gson, String json, int expectedPosts) {
+        long start = System.nanoTime();
+        ApiService.PostsResponse response = gson.fromJson(new StringReader(json), ApiService.PostsResponse.class);
+        long elapsed = System.nanoTime() - start;
+        assertEquals(expectedPosts, response.posts.size());
+        return elapsed;
+    }
+
+    private void compare(int size) {
+        Assume.assumeTrue("Set -Dbenchmarks=true to run", Boolean.getBoolean("benchmarks"));
+        String json = postsPayload(size);
+        // Warm up both paths, then alternate them so drift in machine load hits both alike
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            decodeNanos(reflective, json, size);
+            decodeNanos(ApiJson.get(), json, size);
+        }
+        long before = Long.MAX_VALUE;
+        long after = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            before = Math.min(before, decodeNanos(reflective, json, size));
+            after = Math.min(after, decodeNanos(ApiJson.get(), json, size));
+        }
+        double megabytes = json.length() / 1_000_000.0;
+        System.out.println(String.format(
+                "PostsResponse with %,d posts (%.1f MB): reflective %,.0f posts/s (%.0f MB/s), "
+                        + "hand-written %,.0f posts/s (%.0f MB/s), %.2fx",
+                size, megabytes,
+                size * 1e9 / before, megabytes * 1e9 / before,
+                size * 1e9 / after, megabytes * 1e9 / after,
+                (double) before / after));
+
+    }
+
+    @Test
+    public void testDecodesSamePosts() {
+        // Rationale: The speed-up must not change what is decoded
+        // Input: A 1,000-post payload through both paths
+        // Expected: The same posts, as written back by reflection
+        String json = postsPayload(1_000);
+        ApiService.PostsResponse bound = reflective.fromJson(json, ApiService.PostsResponse.class);
+        ApiService.PostsResponse handWritten = ApiJson.get().fromJson(json, ApiService.PostsResponse.class);
+        assertEquals(reflective.toJson(bound), reflective.toJson(handWritten));
+        assertEquals("c", handWritten.next_cursor);
+    }
+
+    @Test
+    public void testThousandPostPageThroughput() {
+        // Rationale: A typical long feed session pages through about a thousand posts
+        // Input: 1,000 posts, best of fifteen alternating rounds after warm-up
+        // Expected: Throughput printed when benchmarks are enabled
+        compare(1_000);
+    }
+
+    @Test
+    public void testTenThousandPostPageThroughput() {
+        // Rationale: Bulk loads, such as a user's full history, decode ten times that
+        // Input: 10,000 posts, best of fifteen alternating rounds after warm-up
+        // Expected: Throughput printed when benchmarks are enabled
+        compare(10_000);
+    }
+}
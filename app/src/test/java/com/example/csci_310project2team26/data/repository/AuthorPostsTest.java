@@ -0,0 +1,136 @@
+package com.example.csci_310project2team26.data.repository;
+
+import com.example.csci_310project2team26.data.model.Post;
+import com.example.csci_310project2team26.data.network.ApiClient;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.HttpUrl;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+
+/**
+ * White-box Test: One author's posts by cursor
+ *
+ * Location: app/src/test/java/com/example/csci_310project2team26/data/repository/AuthorPostsTest.java
+ * Test Class: AuthorPostsTest
+ *
+ * Description: Tests PostRepository.fetchPostsByAuthor against a local MockWebServer
+ * standing in for GET api/posts?author_id=&sort=newest&limit=&after=.
+ *
+ * How to Execute: Run as JUnit test in Android Studio or via: ./gradlew test --tests AuthorPostsTest
+ *
+ * Coverage: Tests the author_id, sort, limit and after query parameters, that
+ * next_cursor is passed through, and walking every page until the cursor runs out.
+ */
+public class AuthorPostsTest {
+
+    private static final String AUTHOR = "00000000-0000-4000-8000-000000000001";
+
+    private MockWebServer server;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        ApiClient.setBaseUrlOverride(server.url("/").toString());
+        PostRepository.setFeedPageStore((feedKey, offset, posts) -> { });
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        PostRepository.setFeedPageStore(null);
+        ApiClient.setBaseUrlOverride(null);
+        server.shutdown();
+        EntityStore.posts().clear();
+    }
+
+    private void enqueuePage(String nextCursor, String... ids) {
+        StringBuilder body = new StringBuilder("{\"posts\":[");
+        for (int i = 0; i < ids.length; i++) {
+            if (i > 0) body.append(',');
+            body.append("{\"id\":\"").append(ids[i]).append("\",\"author_id\":\"").append(AUTHOR)
+                    .append("\",\"title\":\"T\"}");
+        }
+        body.append("],\"count\":").append(ids.length).append(",\"next_cursor\":")
+                .append(nextCursor != null ? "\"" + nextCursor + "\"" : "null").append('}');
+        server.enqueue(new MockResponse().setBody(body.toString()));
+    }
+
+    private static PostRepository.PostsResult fetch(String after) throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        PostRepository.PostsResult[] result = new PostRepository.PostsResult[1];
+        String[] error = new String[1];
+        new PostRepository().fetchPostsByAuthor(AUTHOR, 2, after, new PostRepository.Callback<PostRepository.PostsResult>() {
+            @Override
+            public void onSuccess(PostRepository.PostsResult page) {
+                result[0] = page;
+                done.countDown();
+            }
+
+            @Override
+            public void onError(String message) {
+                error[0] = message;
+                done.countDown();
+            }
+        });
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertNull(error[0]);
+        return result[0];
+    }
+
+    @Test
+    public void testFirstPageSendsAuthorAndLimit() throws Exception {
+        // Rationale: The server pages one author's posts by (author_id, created_at, id)
+        // Input: The newest page for one author, answered with a next_cursor
+        // Expected: author_id, sort=newest and limit sent without after; the cursor passed through
+        enqueuePage("cursor-1", "p1", "p2");
+
+        PostRepository.PostsResult page = fetch(null);
+
+        HttpUrl url = server.takeRequest(5, TimeUnit.SECONDS).getRequestUrl();
+        assertEquals(AUTHOR, url.queryParameter("author_id"));
+        assertEquals("newest", url.queryParameter("sort"));
+        assertEquals("2", url.queryParameter("limit"));
+        assertNull(url.queryParameter("after"));
+        assertEquals("cursor-1", page.getNextCursor());
+        assertEquals(2, page.getPosts().size());
+    }
+
+    @Test
+    public void testWalksEveryPageByCursor() throws Exception {
+        // Rationale: Callers walk a user's history by passing each next_cursor back as after
+        // Input: Two pages; the second has no next_cursor
+        // Expected: Two requests, the second with after=cursor-1, and all three posts in order
+        enqueuePage("cursor-1", "p1", "p2");
+        enqueuePage(null, "p3");
+
+        List<String> ids = new ArrayList<>();
+        String after = null;
+        int pages = 0;
+        do {
+            PostRepository.PostsResult page = fetch(after);
+            for (Post post : page.getPosts()) {
+                ids.add(post.getId());
+            }
+            after = page.getNextCursor();
+            pages++;
+        } while (after != null && pages < 5);
+
+        assertEquals(2, pages);
+        assertEquals(Arrays.asList("p1", "p2", "p3"), ids);
+        assertNull(server.takeRequest(5, TimeUnit.SECONDS).getRequestUrl().queryParameter("after"));
+        HttpUrl second = server.takeRequest(5, TimeUnit.SECONDS).getRequestUrl();
+        assertEquals("cursor-1", second.queryParameter("after"));
+        assertEquals(AUTHOR, second.queryParameter("author_id"));
+        assertEquals("2", second.queryParameter("limit"));
+    }
+}
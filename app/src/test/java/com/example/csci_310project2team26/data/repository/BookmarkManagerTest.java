@@ -0,0 +1,88 @@
+package com.example.csci_310project2team26.data.repository;
+
+import org.junit.Test;
+import org.junit.Before;
+import static org.junit.Assert.*;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * White-box Test: BookmarkManager
+ *
+ * Location: app/src/test/java/com/example/csci_310project2team26/data/repository/BookmarkManagerTest.java
+ * Test Class: BookmarkManagerTest
+ *
+ * Description: Tests the local bookmark status store that lets feed rows render
+ * bookmark icons from one batched lookup instead of a request per row.
+ *
+ * How to Execute: Run as JUnit test in Android Studio or via: ./gradlew test --tests BookmarkManagerTest
+ *
+ * Coverage: Tests bulk status application, unknown filtering, single updates,
+ * listener notification and reset on session change.
+ */
+public class BookmarkManagerTest {
+
+    @Before
+    public void setUp() {
+        // A new session starts every test with an empty store
+        SessionManager.setSession("token", "user-1");
+    }
+
+    @Test
+    public void testApplyStatusesMarksCheckedIds() {
+        // Rationale: A batched response only lists bookmarked IDs; the rest must become known-false
+        // Input: Three IDs checked, one bookmarked
+        // Expected: All three known, only the bookmarked one reports true
+        BookmarkManager.applyStatuses(Arrays.asList("a", "b", "c"), Collections.singletonList("b"));
+
+        assertTrue(BookmarkManager.isStatusKnown("a"));
+        assertTrue(BookmarkManager.isStatusKnown("c"));
+        assertFalse(BookmarkManager.isBookmarked("a"));
+        assertTrue(BookmarkManager.isBookmarked("b"));
+        assertFalse(BookmarkManager.isBookmarked("c"));
+    }
+
+    @Test
+    public void testFilterUnknownSkipsResolvedAndDuplicates() {
+        // Rationale: A page should only ask the server about posts it has not resolved yet
+        // Input: "a" resolved, list with duplicates, nulls and new IDs
+        // Expected: Only the new IDs, once each, in order
+        BookmarkManager.applyStatuses(Collections.singletonList("a"), Collections.emptyList());
+
+        List<String> unknown = BookmarkManager.filterUnknown(Arrays.asList("a", "b", null, "b", "c", ""));
+        assertEquals(Arrays.asList("b", "c"), unknown);
+    }
+
+    @Test
+    public void testSetBookmarkedNotifiesListeners() {
+        // Rationale: Visible rows must refresh when a bookmark is toggled elsewhere
+        // Input: One listener, two updates
+        // Expected: Listener called twice and status follows the last update
+        AtomicInteger calls = new AtomicInteger();
+        BookmarkManager.Listener listener = calls::incrementAndGet;
+        BookmarkManager.addListener(listener);
+        try {
+            BookmarkManager.setBookmarked("p1", true);
+            assertTrue(BookmarkManager.isBookmarked("p1"));
+            BookmarkManager.setBookmarked("p1", false);
+            assertFalse(BookmarkManager.isBookmarked("p1"));
+            assertEquals(2, calls.get());
+        } finally {
+            BookmarkManager.removeListener(listener);
+        }
+    }
+
+    @Test
+    public void testSessionChangeClearsStatuses() {
+        // Rationale: Bookmark state belongs to a user and must not leak across logins
+        // Input: Bookmark under one session, then switch user
+        // Expected: Status is unknown and not bookmarked after the switch
+        BookmarkManager.setBookmarked("p1", true);
+        SessionManager.setSession("other-token", "user-2");
+
+        assertFalse(BookmarkManager.isStatusKnown("p1"));
+        assertFalse(BookmarkManager.isBookmarked("p1"));
+    }
+}
@@ -0,0 +1,270 @@
+package com.example.csci_310project2team26.data.repository;
+
+import com.example.csci_310project2team26.data.model.Comment;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * White-box Test: CommentPager
+ *
+ * Location: app/src/test/java/com/example/csci_310project2team26/data/repository/CommentPagerTest.java
+ * Test Class: CommentPagerTest
+ *
+ * Description: Tests comment paging against an in-memory stand-in for the paged
+ * comments endpoint (limit, keyset cursor, total).
+ *
+ * How to Execute: Run as JUnit test in Android Studio or via: ./gradlew test --tests CommentPagerTest
+ *
+ * Coverage: Tests first page load, cursor threading, end of thread detection,
+ * local additions without reloading, placeholder swaps, deletions patched
+ * into the total, cached first pages and results of superseded loads.
+ */
+public class CommentPagerTest {
+
+    private static final int TOTAL_COMMENTS = 45;
+    private static final int PAGE_SIZE = 10;
+
+    private final List<Comment> thread = new ArrayList<>();
+    private final List<String> requestedCursors = new ArrayList<>();
+    private final List<Runnable> deferred = new ArrayList<>();
+    private boolean deferLoads;
+    private List<Comment> lastSnapshot = new ArrayList<>();
+    private int lastTotal;
+    private boolean lastHasMore;
+
+    @Before
+    public void setUp() {
+        for (int i = 0; i < TOTAL_COMMENTS; i++) {
+            thread.add(comment("comment-" + i));
+        }
+    }
+
+    private CommentPager newPager(boolean newestFirst) {
+        // Cursor is the ID of the last comment on the page, like the server's (created_at, id) key
+        CommentPager.PageLoader loader = (after, limit, callback) -> {
+            requestedCursors.add(after);
+            int start = 0;
+            if (after != null) {
+                while (start < thread.size() && !thread.get(start).getId().equals(after)) {
+                    start++;
+                }
+                start++;
+            }
+            List<Comment> page = new ArrayList<>(thread.subList(Math.min(start, thread.size()),
+                    Math.min(start + limit, thread.size())));
+            String nextCursor = page.size() == limit ? page.get(page.size() - 1).getId() : null;
+            int total = thread.size();
+            Runnable answer = () -> callback.onSuccess(new CommentRepository.CommentsResult(page, total, nextCursor));
+            if (deferLoads) {
+                deferred.add(answer);
+            } else {
+                answer.run();
+            }
+        };
+        CommentPager.Listener listener = new CommentPager.Listener() {
+            @Override
+            public void onCommentsChanged(List<Comment> comments, int total, boolean hasMore) {
+                lastSnapshot = comments;
+                lastTotal = total;
+                lastHasMore = hasMore;
+            }
+
+            @Override
+            public void onLoadingChanged(boolean loading) { }
+
+            @Override
+            public void onError(String error) {
+                fail("Unexpected error: " + error);
+            }
+        };
+        return new CommentPager(loader, listener, newestFirst, PAGE_SIZE);
+    }
+
+    private static Comment comment(String id) {
+        Comment comment = new Comment();
+        comment.setId(id);
+        return comment;
+    }
+
+    private void scrollToEnd(CommentPager pager) {
+        for (int step = 0; step < 20; step++) {
+            pager.onVisibleRange(lastSnapshot.size() - 1);
+        }
+    }
+
+    @Test
+    public void testResetLoadsOnlyFirstPage() {
+        // Rationale: Opening a long thread should download one page, not every comment
+        // Input: reset() on a 45-comment thread
+        // Expected: One request without cursor, ten comments shown, total of 45, more available
+        CommentPager pager = newPager(false);
+        pager.reset();
+
+        assertEquals(1, requestedCursors.size());
+        assertNull(requestedCursors.get(0));
+        assertEquals(PAGE_SIZE, lastSnapshot.size());
+        assertEquals(TOTAL_COMMENTS, lastTotal);
+        assertTrue(lastHasMore);
+    }
+
+    @Test
+    public void testScrollingAppendsPagesWithCursorsUntilEnd() {
+        // Rationale: Later pages must continue from the previous page's cursor and stop at the end
+        // Input: Scroll to the bottom repeatedly
+        // Expected: Five requests, each after the last loaded ID; the whole thread once, in order
+        CommentPager pager = newPager(false);
+        pager.reset();
+        pager.onVisibleRange(2);
+        assertEquals(1, requestedCursors.size());
+
+        scrollToEnd(pager);
+
+        assertEquals(5, requestedCursors.size());
+        assertEquals("comment-9", requestedCursors.get(1));
+        assertEquals("comment-39", requestedCursors.get(4));
+        assertEquals(TOTAL_COMMENTS, lastSnapshot.size());
+        for (int i = 0; i < TOTAL_COMMENTS; i++) {
+            assertEquals("comment-" + i, lastSnapshot.get(i).getId());
+        }
+        assertFalse(lastHasMore);
+        assertFalse(pager.hasMore());
+    }
+
+    @Test
+    public void testPostedCommentShowsWithoutReloadAndIsNotDuplicated() {
+        // Rationale: Posting must not re-download the thread, and the later page holding it must not repeat it
+        // Input: Add a comment after page one, then the server gains it and the user scrolls to the end
+        // Expected: Shown at once at the end, no extra request, total +1, exactly once after all pages load
+        CommentPager pager = newPager(false);
+        pager.reset();
+        Comment posted = comment("comment-new");
+
+        pager.addComment(posted);
+        assertEquals(1, requestedCursors.size());
+        assertEquals(PAGE_SIZE + 1, lastSnapshot.size());
+        assertEquals("comment-new", lastSnapshot.get(lastSnapshot.size() - 1).getId());
+        assertEquals(TOTAL_COMMENTS + 1, lastTotal);
+
+        thread.add(posted);
+        scrollToEnd(pager);
+
+        Set<String> ids = new HashSet<>();
+        for (Comment comment : lastSnapshot) {
+            assertTrue("Duplicate " + comment.getId(), ids.add(comment.getId()));
+        }
+        assertEquals(TOTAL_COMMENTS + 1, lastSnapshot.size());
+        assertEquals("comment-new", lastSnapshot.get(lastSnapshot.size() - 1).getId());
+    }
+
+    @Test
+    public void testPostedCommentGoesFirstInNewestFirstThread() {
+        // Rationale: In newest-first order a new comment can never arrive on a later page
+        // Input: addComment on a newest-first pager
+        // Expected: The comment is at the top
+        CommentPager pager = newPager(true);
+        pager.reset();
+
+        pager.addComment(comment("comment-new"));
+
+        assertEquals("comment-new", lastSnapshot.get(0).getId());
+        assertEquals(TOTAL_COMMENTS + 1, lastTotal);
+    }
+
+    @Test
+    public void testPlaceholderIsSwappedInPlace() {
+        // Rationale: The pending comment must turn into the server's comment without moving or reloading
+        // Input: Whole thread loaded, placeholder added, then replaced by the created comment
+        // Expected: Same last position, server ID, total counted once, no extra request
+        CommentPager pager = newPager(false);
+        pager.reset();
+        scrollToEnd(pager);
+        int requests = requestedCursors.size();
+        pager.addComment(comment("local-1"));
+
+        pager.replaceComment("local-1", comment("comment-new"));
+
+        assertEquals(requests, requestedCursors.size());
+        assertEquals(TOTAL_COMMENTS + 1, lastSnapshot.size());
+        assertEquals("comment-new", lastSnapshot.get(TOTAL_COMMENTS).getId());
+        assertEquals(TOTAL_COMMENTS + 1, lastTotal);
+    }
+
+    @Test
+    public void testPlaceholderDroppedWhenPageAlreadyHasComment() {
+        // Rationale: A page may deliver the new comment before the create call returns
+        // Input: Placeholder pending, the server comment arrives on a later page, then the swap
+        // Expected: The comment is shown once and counted once
+        CommentPager pager = newPager(false);
+        pager.reset();
+        pager.addComment(comment("local-1"));
+        thread.add(comment("comment-new"));
+        scrollToEnd(pager);
+
+        pager.replaceComment("local-1", comment("comment-new"));
+
+        assertEquals(TOTAL_COMMENTS + 1, lastSnapshot.size());
+        assertEquals("comment-new", lastSnapshot.get(TOTAL_COMMENTS).getId());
+        assertEquals(TOTAL_COMMENTS + 1, lastTotal);
+    }
+
+    @Test
+    public void testPatchDroppingCommentLowersTotal() {
+        // Rationale: Deletes are applied by patching the loaded pages, which must keep the count right
+        // Input: A patch that removes comment-3
+        // Expected: Nine comments shown, total 44, no reload
+        CommentPager pager = newPager(false);
+        pager.reset();
+
+        pager.patchComments(list -> {
+            List<Comment> patched = new ArrayList<>(list);
+            patched.removeIf(comment -> "comment-3".equals(comment.getId()));
+            return patched;
+        });
+
+        assertEquals(1, requestedCursors.size());
+        assertEquals(PAGE_SIZE - 1, lastSnapshot.size());
+        assertEquals(TOTAL_COMMENTS - 1, lastTotal);
+    }
+
+    @Test
+    public void testCachedPageIsReplacedByNetworkPage() {
+        // Rationale: The disk copy is only a placeholder until the server answers
+        // Input: Network load in flight, a stale cached page shown, then the network answers
+        // Expected: The cached comments are shown, then replaced by the first network page
+        deferLoads = true;
+        CommentPager pager = newPager(false);
+        pager.reset();
+        List<Comment> cached = new ArrayList<>();
+        cached.add(comment("cached-0"));
+        pager.showCached(cached);
+        assertEquals("cached-0", lastSnapshot.get(0).getId());
+
+        deferred.get(0).run();
+
+        assertEquals(PAGE_SIZE, lastSnapshot.size());
+        assertEquals("comment-0", lastSnapshot.get(0).getId());
+    }
+
+    @Test
+    public void testLoadFromBeforeResetIsIgnored() {
+        // Rationale: An answer for the previous thread state must not land in the reloaded one
+        // Input: reset, reset again, then both answers arrive oldest first
+        // Expected: Only one first page is shown
+        deferLoads = true;
+        CommentPager pager = newPager(false);
+        pager.reset();
+        pager.reset();
+
+        deferred.get(0).run();
+        assertTrue(lastSnapshot.isEmpty());
+        deferred.get(1).run();
+
+        assertEquals(PAGE_SIZE, lastSnapshot.size());
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.csci_310project2team26.data.repository;
+
+import com.example.csci_310project2team26.data.model.Post;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * White-box Test: EntityStore
+ *
+ * Location: app/src/test/java/com/example/csci_310project2team26/data/repository/EntityStoreTest.java
+ * Test Class: EntityStoreTest
+ *
+ * Description: Tests the normalized post/comment store shared by all ViewModels,
+ * using a private store instance so tests do not interfere with the app-wide ones.
+ *
+ * How to Execute: Run as JUnit test in Android Studio or via: ./gradlew test --tests EntityStoreTest
+ *
+ * Coverage: Tests cross-query patching, listener notification, removal,
+ * list reconciliation and LRU eviction of unreferenced records.
+ */
+public class EntityStoreTest {
+
+    private EntityStore<Post> store;
+    private List<Set<String>> notifications;
+
+    private static Post post(String id, int upvotes) {
+        Post post = new Post();
+        post.setId(id);
+        post.setUpvotes(upvotes);
+        return post;
+    }
+
+    @Before
+    public void setUp() {
+        store = new EntityStore<>(Post::getId, 2);
+        notifications = new ArrayList<>();
+        store.addListener(ids -> notifications.add(new HashSet<>(ids)));
+    }
+
+    @Test
+    public void testUpdateIsVisibleToEveryQuery() {
+        // Rationale: A vote on the feed must show up in bookmarks without a refetch
+        // Input: Same post in two queries, then one update
+        // Expected: Both queries resolve to the patched record and listeners hear about it once
+        store.setQuery("feed", Arrays.asList(post("a", 1), post("b", 1)));
+        store.setQuery("bookmarks", Arrays.asList(post("a", 1)));
+
+        store.update("a", p -> post("a", 2));
+
+        assertEquals(2, store.getQuery("feed").get(0).getUpvotes());
+        assertEquals(2, store.getQuery("bookmarks").get(0).getUpvotes());
+        assertEquals(1, notifications.size());
+        assertTrue(notifications.get(0).contains("a"));
+    }
+
+    @Test
+    public void testRemoveDropsRecordFromQueries() {
+        // Rationale: A deleted post disappears from every list at once
+        // Input: Remove one of two posts in a query
+        // Expected: The query resolves only the remaining post
+        store.setQuery("feed", Arrays.asList(post("a", 1), post("b", 1)));
+
+        store.remove("a");
+
+        List<Post> feed = store.getQuery("feed");
+        assertEquals(1, feed.size());
+        assertEquals("b", feed.get(0).getId());
+        assertNull(store.get("a"));
+    }
+
+    @Test
+    public void testApplyChangesReconcilesScreenCopy() {
+        // Rationale: ViewModels hold their own list and patch it on notification
+        // Input: A list holding an outdated and a removed post
+        // Expected: Outdated post replaced, removed post dropped; unrelated list returned as-is
+        Post a = post("a", 1);
+        Post b = post("b", 1);
+        List<Post> shown = store.setQuery("feed", Arrays.asList(a, b));
+        store.update("a", p -> post("a", 5));
+        store.remove("b");
+
+        List<Post> updated = store.applyChanges(shown, new HashSet<>(Arrays.asList("a", "b")));
+        assertEquals(1, updated.size());
+        assertEquals(5, updated.get(0).getUpvotes());
+
+        assertSame(shown, store.applyChanges(shown, new HashSet<>(Arrays.asList("z"))));
+    }
+
+    @Test
+    public void testUnreferencedRecordsAreEvictedLeastRecentlyUsedFirst() {
+        // Rationale: Memory is bounded, but records on screen must stay
+        // Input: One pinned post, then four unreferenced posts with a limit of two
+        // Expected: Pinned post and the two most recent unreferenced posts remain
+        store.setQuery("detail", Arrays.asList(post("pinned", 0)));
+        store.putAll(Arrays.asList(post("u1", 0), post("u2", 0), post("u3", 0), post("u4", 0)));
+
+        assertNotNull(store.get("pinned"));
+        assertNull(store.get("u1"));
+        assertNull(store.get("u2"));
+        assertNotNull(store.get("u3"));
+        assertNotNull(store.get("u4"));
+
+        store.releaseQuery("detail");
+        assertEquals(2, store.size());
+    }
+}
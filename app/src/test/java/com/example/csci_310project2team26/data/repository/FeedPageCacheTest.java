@@ -0,0 +1,136 @@
+package com.example.csci_310project2team26.data.repository;
+
+import com.example.csci_310project2team26.data.model.Post;
+import com.example.csci_310project2team26.data.network.ApiClient;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+
+/**
+ * White-box Test: Feed pages saved for cold starts
+ *
+ * Location: app/src/test/java/com/example/csci_310project2team26/data/repository/FeedPageCacheTest.java
+ * Test Class: FeedPageCacheTest
+ *
+ * Description: Tests which feed pages PostRepository saves for the next cold start,
+ * with a local MockWebServer as the backend and a recording store in place of
+ * FeedDiskCache.
+ *
+ * How to Execute: Run as JUnit test in Android Studio or via: ./gradlew test --tests FeedPageCacheTest
+ *
+ * Coverage: Tests that offset pages are saved under their offset, and that cursor
+ * pages and author pages do not replace the saved first page.
+ */
+public class FeedPageCacheTest {
+
+    private MockWebServer server;
+    // Saved pages by "feedKey|offset", as FeedDiskCache keys them
+    private final Map<String, List<String>> saved = new LinkedHashMap<>();
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        ApiClient.setBaseUrlOverride(server.url("/").toString());
+        PostRepository.setFeedPageStore((feedKey, offset, posts) -> {
+            List<String> ids = new ArrayList<>();
+            for (Post post : posts) {
+                ids.add(post.getId());
+            }
+            synchronized (saved) {
+                saved.put(feedKey + "|" + offset, ids);
+            }
+        });
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        PostRepository.setFeedPageStore(null);
+        ApiClient.setBaseUrlOverride(null);
+        server.shutdown();
+        EntityStore.posts().clear();
+    }
+
+    private void enqueuePage(String... ids) {
+        StringBuilder body = new StringBuilder("{\"posts\":[");
+        for (int i = 0; i < ids.length; i++) {
+            if (i > 0) body.append(',');
+            body.append("{\"id\":\"").append(ids[i]).append("\",\"title\":\"T\"}");
+        }
+        body.append("],\"count\":").append(ids.length).append(",\"next_cursor\":\"next\"}");
+        server.enqueue(new MockResponse().setBody(body.toString()));
+    }
+
+    private static PostRepository.Callback<PostRepository.PostsResult> await(CountDownLatch done, String[] error) {
+        return new PostRepository.Callback<PostRepository.PostsResult>() {
+            @Override
+            public void onSuccess(PostRepository.PostsResult result) {
+                done.countDown();
+            }
+
+            @Override
+            public void onError(String message) {
+                error[0] = message;
+                done.countDown();
+            }
+        };
+    }
+
+    private void fetchFirstPage() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        String[] error = new String[1];
+        new PostRepository().fetchPosts("newest", 2, 0, null, await(done, error));
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertNull(error[0]);
+    }
+
+    @Test
+    public void testCursorPageDoesNotReplaceFirstPage() throws Exception {
+        // Rationale: Cursor pages used to be saved under offset 0, so a cold start showed page N as the top
+        // Input: The first page by offset, then the following page by cursor
+        // Expected: Only the first page is saved, under offset 0
+        enqueuePage("p1", "p2");
+        enqueuePage("p3", "p4");
+        fetchFirstPage();
+
+        CountDownLatch done = new CountDownLatch(1);
+        String[] error = new String[1];
+        new PostRepository().fetchPostsAfter("newest", 2, "next", null, await(done, error));
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertNull(error[0]);
+
+        synchronized (saved) {
+            assertEquals(1, saved.size());
+            assertEquals(Arrays.asList("p1", "p2"), saved.get("newest|prompt=null|0"));
+        }
+    }
+
+    @Test
+    public void testAuthorPageIsNotSaved() throws Exception {
+        // Rationale: Feed keys have no author, so a user's posts would overwrite the feed
+        // Input: The first page of one author's posts
+        // Expected: Nothing saved
+        enqueuePage("a1");
+        CountDownLatch done = new CountDownLatch(1);
+        String[] error = new String[1];
+        new PostRepository().fetchPostsByAuthor("00000000-0000-4000-8000-000000000001", 2, null, await(done, error));
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertNull(error[0]);
+
+        synchronized (saved) {
+            assertTrue(saved.isEmpty());
+        }
+    }
+}
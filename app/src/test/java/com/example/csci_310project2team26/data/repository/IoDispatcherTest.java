@@ -0,0 +1,134 @@
+package com.example.csci_310project2team26.data.repository;
+
+import org.junit.Test;
+import org.junit.Before;
+import static org.junit.Assert.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * White-box Test: IoDispatcher
+ *
+ * Location: app/src/test/java/com/example/csci_310project2team26/data/repository/IoDispatcherTest.java
+ * Test Class: IoDispatcherTest
+ *
+ * Description: Tests the shared repository executor to ensure unkeyed work runs in parallel,
+ * keyed work stays ordered per key, the concurrency limit is honored and metrics are reported.
+ *
+ * How to Execute: Run as JUnit test in Android Studio or via: ./gradlew test --tests IoDispatcherTest
+ *
+ * Coverage: Tests parallel execution, per-key ordering, concurrency bound and stats.
+ */
+public class IoDispatcherTest {
+
+    private IoDispatcher dispatcher;
+
+    @Before
+    public void setUp() {
+        dispatcher = new IoDispatcher(4);
+    }
+
+    @Test
+    public void testUnkeyedTasksRunInParallel() throws InterruptedException {
+        // Rationale: Independent calls must not wait behind each other
+        // Input: Two tasks that each wait for the other to start
+        // Expected: Both complete, which is only possible if they overlap
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        CountDownLatch done = new CountDownLatch(2);
+
+        for (int i = 0; i < 2; i++) {
+            dispatcher.execute(() -> {
+                bothStarted.countDown();
+                try {
+                    bothStarted.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException ignored) { }
+                done.countDown();
+            });
+        }
+
+        assertTrue("Unkeyed tasks should overlap", done.await(5, TimeUnit.SECONDS));
+        assertEquals(0, bothStarted.getCount());
+    }
+
+    @Test
+    public void testKeyedTasksKeepSubmissionOrder() throws InterruptedException {
+        // Rationale: Mutations on one entity must never overtake each other
+        // Input: 50 tasks on the same key with varying durations
+        // Expected: Tasks finish in exactly the order they were submitted
+        List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(50);
+
+        for (int i = 0; i < 50; i++) {
+            final int index = i;
+            dispatcher.execute("post:1", () -> {
+                if (index % 7 == 0) {
+                    try {
+                        Thread.sleep(2);
+                    } catch (InterruptedException ignored) { }
+                }
+                order.add(index);
+                done.countDown();
+            });
+        }
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        for (int i = 0; i < 50; i++) {
+            assertEquals("Keyed task out of order", Integer.valueOf(i), order.get(i));
+        }
+    }
+
+    @Test
+    public void testConcurrencyLimitIsHonored() throws InterruptedException {
+        // Rationale: The dispatcher must stay bounded no matter how many repositories exist
+        // Input: 20 slow tasks on a dispatcher limited to 2 concurrent tasks
+        // Expected: No more than 2 tasks ever run at once
+        IoDispatcher limited = new IoDispatcher(2);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(20);
+
+        for (int i = 0; i < 20; i++) {
+            limited.execute(() -> {
+                int now = running.incrementAndGet();
+                peak.accumulateAndGet(now, Math::max);
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException ignored) { }
+                running.decrementAndGet();
+                done.countDown();
+            });
+        }
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertTrue("Peak concurrency should not exceed the limit", peak.get() <= 2);
+    }
+
+    @Test
+    public void testStatsReportCompletedWork() throws InterruptedException {
+        // Rationale: Queue depth and wait time must be observable
+        // Input: 10 tasks, keyed and unkeyed
+        // Expected: All are counted as completed and the queue drains to zero
+        CountDownLatch done = new CountDownLatch(10);
+        for (int i = 0; i < 10; i++) {
+            String key = i % 2 == 0 ? "comment:" + i : null;
+            dispatcher.execute(key, done::countDown);
+        }
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+
+        // completion counter is bumped after the task body returns
+        long deadline = System.currentTimeMillis() + 2000;
+        while (dispatcher.getStats().getCompletedCount() < 10 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+
+        IoDispatcher.Stats stats = dispatcher.getStats();
+        assertEquals(10, stats.getCompletedCount());
+        assertEquals(0, stats.getQueueDepth());
+        assertEquals(4, stats.getMaxConcurrency());
+        assertTrue(stats.getMaxWaitMillis() >= stats.getAverageWaitMillis());
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.csci_310project2team26.data.repository;
+
+import com.example.csci_310project2team26.data.model.Comment;
+
+import org.junit.After;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * White-box Test: OptimisticCommentVotes
+ *
+ * Location: app/src/test/java/com/example/csci_310project2team26/data/repository/OptimisticCommentVotesTest.java
+ * Test Class: OptimisticCommentVotesTest
+ *
+ * Description: Tests the local comment vote patching used instead of refetching the thread after a vote.
+ *
+ * How to Execute: Run as JUnit test in Android Studio or via: ./gradlew test --tests OptimisticCommentVotesTest
+ *
+ * Coverage: Tests count deltas, rollback, reconciliation with and without server counts,
+ * patching through the shared store and in-flight tracking.
+ */
+public class OptimisticCommentVotesTest {
+
+    @After
+    public void tearDown() {
+        EntityStore.comments().clear();
+    }
+
+    private Comment comment(int upvotes, int downvotes, String vote) {
+        Comment comment = new Comment();
+        comment.setId("c1");
+        comment.setUpvotes(upvotes);
+        comment.setDownvotes(downvotes);
+        comment.setUser_vote_type(vote);
+        return comment;
+    }
+
+    @Test
+    public void testWithVoteAdjustsCountsWithoutMutatingOriginal() {
+        // Rationale: The comment row may still be bound to the original instance
+        // Input: Comment with an upvote switched to a downvote
+        // Expected: Copy has one fewer upvote and one more downvote, original untouched
+        Comment original = comment(5, 2, "up");
+        Comment patched = OptimisticCommentVotes.withVote(original, "down");
+
+        assertEquals(4, patched.getUpvotes());
+        assertEquals(3, patched.getDownvotes());
+        assertEquals("down", patched.getUser_vote_type());
+        assertEquals(5, original.getUpvotes());
+        assertEquals("up", original.getUser_vote_type());
+    }
+
+    @Test
+    public void testRollbackRestoresOriginalCounts() {
+        // Rationale: A failed vote must leave the comment exactly as it was
+        // Input: Apply an upvote, then re-apply the previous (empty) vote
+        // Expected: Counts and selection match the starting comment
+        Comment original = comment(3, 1, null);
+        Comment voted = OptimisticCommentVotes.withVote(original, "up");
+        Comment rolledBack = OptimisticCommentVotes.withVote(voted, null);
+
+        assertEquals(4, voted.getUpvotes());
+        assertEquals(3, rolledBack.getUpvotes());
+        assertEquals(1, rolledBack.getDownvotes());
+        assertNull(rolledBack.getUser_vote_type());
+    }
+
+    @Test
+    public void testReconcileTakesServerCounts() {
+        // Rationale: Other users may have voted meanwhile; the response has the true counts
+        // Input: Optimistic upvote (4 up), server says created/up with 7 up and 2 down
+        // Expected: 7 up, 2 down, vote "up"
+        Comment optimistic = OptimisticCommentVotes.withVote(comment(3, 2, null), "up");
+        Comment reconciled = OptimisticCommentVotes.reconciled(optimistic, "created", "up", 7, 2);
+
+        assertEquals(7, reconciled.getUpvotes());
+        assertEquals(2, reconciled.getDownvotes());
+        assertEquals("up", reconciled.getUser_vote_type());
+    }
+
+    @Test
+    public void testReconcileWithoutCountsKeepsLocalDelta() {
+        // Rationale: An older server answers without counts; the local delta must still be right
+        // Input: Optimistic upvote, server reports the vote was removed instead
+        // Expected: The upvote is taken back off the count and deselected
+        Comment optimistic = OptimisticCommentVotes.withVote(comment(3, 0, null), "up");
+        Comment reconciled = OptimisticCommentVotes.reconciled(optimistic, "removed", null, null, null);
+
+        assertEquals(3, reconciled.getUpvotes());
+        assertNull(reconciled.getUser_vote_type());
+    }
+
+    @Test
+    public void testStorePatchReachesListeners() {
+        // Rationale: The vote is applied through the shared store so every screen updates without a refetch
+        // Input: A stored comment patched with an upvote while a listener is registered
+        // Expected: The listener hears about c1 and the stored copy has the new vote
+        EntityStore<Comment> store = EntityStore.comments();
+        store.put(comment(0, 0, null));
+        Set<String> heard = new HashSet<>();
+        EntityStore.Listener listener = heard::addAll;
+        store.addListener(listener);
+        try {
+            store.update("c1", stored -> OptimisticCommentVotes.withVote(stored, "up"));
+        } finally {
+            store.removeListener(listener);
+        }
+
+        assertTrue(heard.contains("c1"));
+        assertEquals(1, store.get("c1").getUpvotes());
+        assertEquals("up", store.get("c1").getUser_vote_type());
+    }
+
+    @Test
+    public void testOnlyLastInFlightVoteReconciles() {
+        // Rationale: An earlier response must not overwrite the state of a later tap
+        // Input: Two votes begin, then both finish
+        // Expected: Only the second finish reports that it may reconcile
+        OptimisticCommentVotes tracker = new OptimisticCommentVotes();
+        tracker.begin("c1", null);
+        tracker.begin("c1", "up");
+
+        assertFalse(tracker.finish("c1", "up"));
+        assertTrue(tracker.finish("c1", null));
+    }
+
+    @Test
+    public void testOverlappingFailuresRollBackToConfirmedVote() {
+        // Rationale: The second tap starts from the first tap's optimistic vote, not the server's
+        // Input: Up confirmed, then taps to down and to none both sent, and both fail
+        // Expected: Only the last failure rolls back, and to the confirmed up vote
+        OptimisticCommentVotes tracker = new OptimisticCommentVotes();
+        tracker.begin("c1", "up");
+        tracker.begin("c1", "down");
+
+        assertNull(tracker.fail("c1"));
+        OptimisticCommentVotes.Rollback rollback = tracker.fail("c1");
+        assertNotNull(rollback);
+        assertEquals("up", rollback.vote);
+    }
+
+    @Test
+    public void testFailureAfterSuccessRollsBackToServerVote() {
+        // Rationale: A response that succeeded while another vote was in flight is the new confirmed state
+        // Input: No vote confirmed, a tap to up succeeds, then a later tap fails
+        // Expected: The rollback restores the up vote the server recorded
+        OptimisticCommentVotes tracker = new OptimisticCommentVotes();
+        tracker.begin("c1", null);
+        tracker.begin("c1", "up");
+
+        assertFalse(tracker.finish("c1", "up"));
+        assertEquals("up", tracker.fail("c1").vote);
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.csci_310project2team26.data.repository;
+
+import com.example.csci_310project2team26.data.model.Post;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * White-box Test: OptimisticPostVotes
+ *
+ * Location: app/src/test/java/com/example/csci_310project2team26/data/repository/OptimisticPostVotesTest.java
+ * Test Class: OptimisticPostVotesTest
+ *
+ * Description: Tests the local vote patching used instead of reloading the feed after a vote.
+ *
+ * How to Execute: Run as JUnit test in Android Studio or via: ./gradlew test --tests OptimisticPostVotesTest
+ *
+ * Coverage: Tests vote toggling, count deltas, rollback, server reconciliation and in-flight tracking.
+ */
+public class OptimisticPostVotesTest {
+
+    private Post post(int upvotes, int downvotes, String vote) {
+        Post post = new Post("p1", "u1", "Author", "Title", "Body", "gpt", false, false,
+                "2024-01-01T00:00:00.000Z", "2024-01-01T00:00:00.000Z", upvotes, downvotes, 0);
+        post.setUser_vote_type(vote);
+        return post;
+    }
+
+    @Test
+    public void testNextVoteTogglesSameDirection() {
+        // Rationale: Tapping the selected arrow removes the vote, the other arrow switches
+        // Input: Combinations of current and requested votes
+        // Expected: Matches the backend toggle rules
+        assertEquals("up", OptimisticPostVotes.nextVote(null, "up"));
+        assertNull(OptimisticPostVotes.nextVote("up", "up"));
+        assertEquals("down", OptimisticPostVotes.nextVote("up", "down"));
+        assertEquals("up", OptimisticPostVotes.nextVote("", "UP"));
+    }
+
+    @Test
+    public void testWithVoteAdjustsCountsWithoutMutatingOriginal() {
+        // Rationale: The adapter may still be showing the original instance
+        // Input: Post with an upvote switched to a downvote
+        // Expected: Copy has one fewer upvote and one more downvote, original untouched
+        Post original = post(5, 2, "up");
+        Post patched = OptimisticPostVotes.withVote(original, "down");
+
+        assertEquals(4, patched.getUpvotes());
+        assertEquals(3, patched.getDownvotes());
+        assertEquals("down", patched.getUser_vote_type());
+        assertEquals(5, original.getUpvotes());
+        assertEquals("up", original.getUser_vote_type());
+    }
+
+    @Test
+    public void testRollbackRestoresOriginalCounts() {
+        // Rationale: A failed vote must leave the post exactly as it was
+        // Input: Apply an upvote, then re-apply the previous (empty) vote
+        // Expected: Counts and selection match the starting post
+        Post original = post(3, 1, null);
+        Post voted = OptimisticPostVotes.withVote(original, OptimisticPostVotes.nextVote(null, "up"));
+        Post rolledBack = OptimisticPostVotes.withVote(voted, original.getUser_vote_type());
+
+        assertEquals(4, voted.getUpvotes());
+        assertEquals(3, rolledBack.getUpvotes());
+        assertEquals(1, rolledBack.getDownvotes());
+        assertNull(rolledBack.getUser_vote_type());
+    }
+
+    @Test
+    public void testServerVoteFollowsResponseAction() {
+        // Rationale: The response is the final word on the user's vote
+        // Input: Created, updated and removed responses
+        // Expected: Removed maps to no vote, otherwise the response type
+        assertEquals("up", OptimisticPostVotes.serverVote(new PostRepository.VoteActionResult("ok", "created", "up")));
+        assertEquals("down", OptimisticPostVotes.serverVote(new PostRepository.VoteActionResult("ok", "updated", "down")));
+        assertNull(OptimisticPostVotes.serverVote(new PostRepository.VoteActionResult("ok", "removed", null)));
+    }
+
+    @Test
+    public void testOnlyLastInFlightVoteFinishes() {
+        // Rationale: Responses to earlier rapid taps must not overwrite newer optimistic state
+        // Input: Two votes begun on the same post
+        // Expected: Only the second finish reports that nothing is pending
+        OptimisticPostVotes tracker = new OptimisticPostVotes();
+        tracker.begin("p1", null);
+        tracker.begin("p1", "up");
+
+        assertFalse(tracker.finish("p1", "up"));
+        assertTrue(tracker.finish("p1", null));
+    }
+
+    @Test
+    public void testOverlappingFailuresRollBackToConfirmedVote() {
+        // Rationale: The second tap starts from the first tap's optimistic vote, not the server's
+        // Input: Up confirmed, then taps to down and to none both sent, and both fail
+        // Expected: Only the last failure rolls back, and to the confirmed up vote
+        OptimisticPostVotes tracker = new OptimisticPostVotes();
+        tracker.begin("p1", "up");
+        tracker.begin("p1", "down");
+
+        assertNull(tracker.fail("p1"));
+        OptimisticPostVotes.Rollback rollback = tracker.fail("p1");
+        assertNotNull(rollback);
+        assertEquals("up", rollback.vote);
+    }
+
+    @Test
+    public void testFailureAfterSuccessRollsBackToServerVote() {
+        // Rationale: A response that succeeded while another vote was in flight is the new confirmed state
+        // Input: No vote confirmed, a tap to up succeeds, then a later tap fails
+        // Expected: The rollback restores the up vote the server recorded
+        OptimisticPostVotes tracker = new OptimisticPostVotes();
+        tracker.begin("p1", null);
+        tracker.begin("p1", "up");
+
+        assertFalse(tracker.finish("p1", "up"));
+        assertEquals("up", tracker.fail("p1").vote);
+    }
+}
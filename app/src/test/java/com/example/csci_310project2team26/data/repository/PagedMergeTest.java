@@ -0,0 +1,200 @@
+package com.example.csci_310project2team26.data.repository;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * White-box Test: PagedMerge
+ *
+ * Location: app/src/test/java/com/example/csci_310project2team26/data/repository/PagedMergeTest.java
+ * Test Class: PagedMergeTest
+ *
+ * Description: Tests merging newest-first paged sources, using in-memory sources
+ * whose pages are answered by the test so parallel loads can be observed.
+ *
+ * How to Execute: Run as JUnit test in Android Studio or via: ./gradlew test --tests PagedMergeTest
+ *
+ * Coverage: Tests merged ordering, parallel first pages, loading only the pages
+ * needed for what is shown, completion, errors with retry and cancellation.
+ */
+public class PagedMergeTest {
+
+    private static final int PAGE_SIZE = 3;
+
+    /** Timestamps served newest first, a page per cursor; pages wait until answered. */
+    private static class ListSource implements PagedMerge.Source<Long> {
+        final List<Long> items;
+        final List<PagedMerge.PageCallback<Long>> pending = new ArrayList<>();
+        final List<String> cursors = new ArrayList<>();
+        boolean autoAnswer;
+
+        ListSource(Long... newestFirst) {
+            this.items = Arrays.asList(newestFirst);
+        }
+
+        @Override
+        public void loadPage(String after, int limit, PagedMerge.PageCallback<Long> callback) {
+            cursors.add(after);
+            pending.add(callback);
+            if (autoAnswer) {
+                answer();
+            }
+        }
+
+        void answer() {
+            int start = cursors.get(cursors.size() - 1) != null
+                    ? Integer.parseInt(cursors.get(cursors.size() - 1)) : 0;
+            int end = Math.min(items.size(), start + PAGE_SIZE);
+            String next = end - start == PAGE_SIZE ? String.valueOf(end) : null;
+            pending.remove(pending.size() - 1).onPage(new ArrayList<>(items.subList(start, end)), next);
+        }
+    }
+
+    private final List<Long> shown = new ArrayList<>();
+    private int deliveries;
+    private boolean complete;
+    private String lastError;
+
+    private final PagedMerge.Listener<Long> listener = new PagedMerge.Listener<Long>() {
+        @Override
+        public void onItems(List<Long> added, boolean done) {
+            shown.addAll(added);
+            deliveries++;
+            complete = done;
+        }
+
+        @Override
+        public void onError(String error) {
+            lastError = error;
+        }
+    };
+
+    private ListSource posts;
+    private ListSource comments;
+    private PagedMerge<Long> merge;
+
+    @Before
+    public void setUp() {
+        posts = new ListSource(100L, 90L, 50L, 40L, 10L);
+        comments = new ListSource(95L, 80L, 70L, 60L, 30L, 20L);
+        merge = new PagedMerge<>(Arrays.asList(posts, comments), value -> value, listener, PAGE_SIZE);
+    }
+
+    @Test
+    public void testFirstItemsWaitForBothFirstPages() {
+        // Rationale: The newest item overall is unknown until every source has answered
+        // Input: Request 3; both sources are asked at once, posts answer first
+        // Expected: Nothing shown until comments answer, then the 3 newest across both
+        merge.request(3);
+        assertEquals(1, posts.pending.size());
+        assertEquals(1, comments.pending.size());
+
+        posts.answer();
+        assertTrue(shown.isEmpty());
+
+        comments.answer();
+        assertEquals(Arrays.asList(100L, 95L, 90L), shown);
+        assertFalse(complete);
+    }
+
+    @Test
+    public void testLoadsOnlyPagesNeededForWhatIsShown() {
+        // Rationale: Cost should follow what is shown, not the size of either history
+        // Input: Request 3 from two sources with pages of 3
+        // Expected: One page from each source and no more
+        posts.autoAnswer = true;
+        comments.autoAnswer = true;
+
+        merge.request(3);
+
+        assertEquals(1, posts.cursors.size());
+        assertEquals(1, comments.cursors.size());
+        assertEquals(3, shown.size());
+    }
+
+    @Test
+    public void testMergesWholeHistoryNewestFirst() {
+        // Rationale: Paging must not reorder or drop items across page boundaries
+        // Input: Keep requesting until complete
+        // Expected: All 11 items in timestamp order, then complete
+        posts.autoAnswer = true;
+        comments.autoAnswer = true;
+
+        for (int i = 0; i < 10 && !merge.isComplete(); i++) {
+            merge.request(4);
+        }
+
+        assertEquals(Arrays.asList(100L, 95L, 90L, 80L, 70L, 60L, 50L, 40L, 30L, 20L, 10L), shown);
+        assertTrue(complete);
+        assertTrue(merge.isComplete());
+    }
+
+    @Test
+    public void testRepeatedRequestDoesNotAddDemand() {
+        // Rationale: Scroll callbacks fire many times while a page is loading
+        // Input: request(3) three times before any page arrives
+        // Expected: Still only 3 items once the pages arrive
+        merge.request(3);
+        merge.request(3);
+        merge.request(3);
+
+        posts.answer();
+        comments.answer();
+
+        assertEquals(3, shown.size());
+        assertEquals(1, deliveries);
+    }
+
+    @Test
+    public void testEmptySourcesComplete() {
+        // Rationale: A user with no activity should see the empty state, not a spinner
+        // Input: Two empty sources
+        // Expected: One empty, complete delivery
+        ListSource a = new ListSource();
+        ListSource b = new ListSource();
+        a.autoAnswer = true;
+        b.autoAnswer = true;
+        merge = new PagedMerge<>(Arrays.asList(a, b), value -> value, listener, PAGE_SIZE);
+        merge.request(3);
+
+        assertTrue(shown.isEmpty());
+        assertEquals(1, deliveries);
+        assertTrue(complete);
+    }
+
+    @Test
+    public void testFailedSourceRetriedOnNextRequest() {
+        // Rationale: A failed page should be reported and retried when the user scrolls again
+        // Input: Comments fail on the first page, then request again
+        // Expected: Error reported, nothing shown; the retry loads comments and shows items
+        merge.request(3);
+        posts.answer();
+        comments.pending.remove(0).onError("Network error");
+
+        assertEquals("Network error", lastError);
+        assertTrue(shown.isEmpty());
+
+        merge.request(3);
+        assertEquals(2, comments.cursors.size());
+        comments.answer();
+        assertEquals(Arrays.asList(100L, 95L, 90L), shown);
+    }
+
+    @Test
+    public void testCancelDropsPagesInFlight() {
+        // Rationale: Reloading the screen must not append results of the old load
+        // Input: Cancel while both first pages are in flight, then they arrive
+        // Expected: Nothing delivered
+        merge.request(3);
+        merge.cancel();
+        posts.answer();
+        comments.answer();
+
+        assertTrue(shown.isEmpty());
+        assertEquals(0, deliveries);
+    }
+}
@@ -0,0 +1,228 @@
+package com.example.csci_310project2team26.data.repository;
+
+import com.example.csci_310project2team26.data.model.Post;
+
+import org.junit.Test;
+import org.junit.Before;
+import static org.junit.Assert.*;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * White-box Test: PostPager
+ *
+ * Location: app/src/test/java/com/example/csci_310project2team26/data/repository/PostPagerTest.java
+ * Test Class: PostPagerTest
+ *
+ * Description: Tests the feed paging layer with an in-memory loader that answers synchronously.
+ *
+ * How to Execute: Run as JUnit test in Android Studio or via: ./gradlew test --tests PostPagerTest
+ *
+ * Coverage: Tests first page load, prefetch near the end, end of feed detection,
+ * bounded page window, reloading dropped pages, cursor paging, offset fallback
+ * and cached first pages.
+ */
+public class PostPagerTest {
+
+    private static final int TOTAL_POSTS = 95;
+    private static final int PAGE_SIZE = 10;
+
+    private final List<Integer> requestedOffsets = new ArrayList<>();
+    private final List<String> requestedCursors = new ArrayList<>();
+    private final List<Post> feed = new ArrayList<>();
+    private boolean serverSendsCursors;
+    private List<Post> lastSnapshot = new ArrayList<>();
+    private int lastFirstOffset;
+    private PostPager pager;
+
+    @Before
+    public void setUp() {
+        for (int i = 0; i < TOTAL_POSTS; i++) {
+            feed.add(post("post-" + i));
+        }
+        // Cursor is the ID of the last post on the page, like the server's (created_at, id) key
+        PostPager.PageLoader loader = (offset, after, limit, callback) -> {
+            requestedOffsets.add(offset);
+            requestedCursors.add(after);
+            int start = offset;
+            if (after != null) {
+                start = 0;
+                while (start < feed.size() && !feed.get(start).getId().equals(after)) {
+                    start++;
+                }
+                start++;
+            }
+            List<Post> page = new ArrayList<>(feed.subList(Math.min(start, feed.size()), Math.min(start + limit, feed.size())));
+            String nextCursor = serverSendsCursors && page.size() == limit ? page.get(page.size() - 1).getId() : null;
+            callback.onSuccess(new PostRepository.PostsResult(page, page.size(), limit, offset, nextCursor));
+        };
+        PostPager.Listener listener = new PostPager.Listener() {
+            @Override
+            public void onPostsChanged(List<Post> posts, int firstOffset) {
+                lastSnapshot = posts;
+                lastFirstOffset = firstOffset;
+            }
+
+            @Override
+            public void onLoadingChanged(boolean loading) { }
+
+            @Override
+            public void onError(String error) {
+                fail("Unexpected error: " + error);
+            }
+        };
+        pager = new PostPager(loader, listener, PAGE_SIZE, 3);
+    }
+
+    private static Post post(String id) {
+        Post post = new Post();
+        post.setId(id);
+        return post;
+    }
+
+    @Test
+    public void testResetLoadsOnlyFirstPage() {
+        // Rationale: The first paint should cost one small page, not the whole feed
+        // Input: reset()
+        // Expected: One request at offset 0 and ten posts published
+        pager.reset();
+
+        assertEquals(1, requestedOffsets.size());
+        assertEquals(Integer.valueOf(0), requestedOffsets.get(0));
+        assertEquals(PAGE_SIZE, lastSnapshot.size());
+    }
+
+    @Test
+    public void testScrollNearEndPrefetchesNextPage() {
+        // Rationale: The next page should arrive before the user reaches the bottom
+        // Input: Visible rows 0-2, then rows 2-6 of a ten-row page
+        // Expected: No request while far from the end, then one for offset 10
+        pager.reset();
+        pager.onVisibleRange(0, 2);
+        assertEquals(1, requestedOffsets.size());
+
+        pager.onVisibleRange(2, 6);
+        assertEquals(2, requestedOffsets.size());
+        assertEquals(Integer.valueOf(10), requestedOffsets.get(1));
+        assertEquals(20, lastSnapshot.size());
+    }
+
+    @Test
+    public void testWindowIsBoundedAndStopsAtEnd() {
+        // Rationale: Memory must stay bounded however far the user scrolls
+        // Input: Scroll to the bottom of a 95-post feed with a three-page window
+        // Expected: Never more than 30 posts held, the last post is reached, no request past the end
+        pager.reset();
+        for (int step = 0; step < 40; step++) {
+            int last = lastSnapshot.size() - 1;
+            pager.onVisibleRange(Math.max(0, last - 3), last);
+            assertTrue(lastSnapshot.size() <= 3 * PAGE_SIZE);
+        }
+
+        assertEquals("post-94", lastSnapshot.get(lastSnapshot.size() - 1).getId());
+        for (int offset : requestedOffsets) {
+            assertTrue(offset < TOTAL_POSTS);
+        }
+        assertTrue(lastFirstOffset > 0);
+    }
+
+    @Test
+    public void testScrollingBackReloadsDroppedPage() {
+        // Rationale: Dropped pages must come back when the user scrolls up again
+        // Input: Scroll down until page 0 is dropped, then show the top of the window
+        // Expected: The previous page is requested again
+        pager.reset();
+        for (int step = 0; step < 6; step++) {
+            int last = lastSnapshot.size() - 1;
+            pager.onVisibleRange(Math.max(0, last - 3), last);
+        }
+        int firstOffset = lastFirstOffset;
+        assertTrue(firstOffset > 0);
+
+        pager.onVisibleRange(0, 3);
+        assertEquals(Integer.valueOf(firstOffset - PAGE_SIZE), requestedOffsets.get(requestedOffsets.size() - 1));
+    }
+
+    @Test
+    public void testUpdatePostPatchesLoadedCopy() {
+        // Rationale: Votes patch the cached post instead of reloading the page
+        // Input: Patch the title of post-3
+        // Expected: Published snapshot contains the patched post
+        pager.reset();
+        pager.updatePost("post-3", post -> {
+            Post copy = new Post(post);
+            copy.setTitle("patched");
+            return copy;
+        });
+
+        assertEquals("patched", lastSnapshot.get(3).getTitle());
+        assertEquals("post-3", pager.findPost("post-3").getId());
+    }
+
+    @Test
+    public void testCursorModeUsesCursorForNextPage() {
+        // Rationale: Deep pages should seek by cursor instead of counting an offset
+        // Input: Server returns a cursor with each full page; scroll to the second page
+        // Expected: Second request carries the first page's last ID as the cursor
+        serverSendsCursors = true;
+        pager.reset();
+        pager.onVisibleRange(2, 6);
+
+        assertNull(requestedCursors.get(0));
+        assertEquals("post-9", requestedCursors.get(1));
+    }
+
+    @Test
+    public void testCursorModeHasNoDuplicatesWhenPostsArrive() {
+        // Rationale: New posts at the top must not shift later pages
+        // Input: Load page one, insert three new posts at the head, load page two
+        // Expected: Page two continues after post-9 with no repeated IDs
+        serverSendsCursors = true;
+        pager.reset();
+        feed.add(0, post("new-0"));
+        feed.add(0, post("new-1"));
+        feed.add(0, post("new-2"));
+        pager.onVisibleRange(2, 6);
+
+        assertEquals(20, lastSnapshot.size());
+        assertEquals("post-10", lastSnapshot.get(10).getId());
+        Set<String> ids = new HashSet<>();
+        for (Post post : lastSnapshot) {
+            assertTrue("Duplicate " + post.getId(), ids.add(post.getId()));
+        }
+    }
+
+    @Test
+    public void testOffsetFallbackWithoutCursor() {
+        // Rationale: Older servers and unsupported sorts return no cursor
+        // Input: Server never sends a cursor
+        // Expected: Pages are requested by offset with a null cursor
+        pager.reset();
+        pager.onVisibleRange(2, 6);
+
+        assertNull(requestedCursors.get(1));
+        assertEquals(Integer.valueOf(10), requestedOffsets.get(1));
+    }
+
+    @Test
+    public void testCachedFirstPageIsReplacedByNetworkPage() {
+        // Rationale: A page from the disk cache shows instantly but must never outlive fresh data
+        // Input: Cached page shown before the network answers, then the load completes, then a late cached page
+        // Expected: Cached rows first, then the network page; the late cached page is ignored
+        List<Post> cached = new ArrayList<>();
+        cached.add(post("stale-1"));
+        cached.add(post("stale-2"));
+
+        pager.showCached(cached);
+        assertEquals("stale-1", lastSnapshot.get(0).getId());
+
+        pager.reset();
+        assertEquals(PAGE_SIZE, lastSnapshot.size());
+        assertEquals("post-0", lastSnapshot.get(0).getId());
+
+        pager.showCached(cached);
+        assertEquals("post-0", lastSnapshot.get(0).getId());
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.csci_310project2team26.data.repository;
+
+import com.example.csci_310project2team26.data.model.Post;
+
+import org.junit.After;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * White-box Test: PostSearchIndex
+ *
+ * Location: app/src/test/java/com/example/csci_310project2team26/data/repository/PostSearchIndexTest.java
+ * Test Class: PostSearchIndexTest
+ *
+ * Description: Tests the on-device inverted index used for instant and offline search.
+ *
+ * How to Execute: Run as JUnit test in Android Studio or via: ./gradlew test --tests PostSearchIndexTest
+ *
+ * Coverage: Tests tokenizing, BM25 ordering, prefix matching of the last word,
+ * search-type fields, prompt filters, incremental edits and deletes, eviction
+ * and following the shared post store.
+ */
+public class PostSearchIndexTest {
+
+    @After
+    public void tearDown() {
+        EntityStore.posts().clear();
+        PostSearchIndex.get().clear();
+    }
+
+    private static Post post(String id, String title, String content) {
+        Post post = new Post();
+        post.setId(id);
+        post.setTitle(title);
+        post.setContent(content);
+        post.setCreated_at("2025-01-01T00:00:00.000Z");
+        return post;
+    }
+
+    private static String ids(List<Post> posts) {
+        StringBuilder builder = new StringBuilder();
+        for (Post post : posts) {
+            builder.append(post.getId()).append(' ');
+        }
+        return builder.toString().trim();
+    }
+
+    @Test
+    public void testTokenizeLowercasesAndSplitsOnPunctuation() {
+        // Rationale: Queries and posts must be split the same way
+        // Input: Mixed case text with punctuation and digits
+        // Expected: Lower-cased letter and digit runs
+        assertEquals(Arrays.asList("gpt", "4", "prompts", "don", "t"),
+                PostSearchIndex.tokenize("GPT-4 Prompts: don't!"));
+    }
+
+    @Test
+    public void testMoreRelevantPostRanksFirst() {
+        // Rationale: BM25 favours repeated terms in short fields and rare terms
+        // Input: One post about transformers in its title, one mentioning them once in long content
+        // Expected: The title match ranks first; an unrelated post is not returned
+        PostSearchIndex index = new PostSearchIndex(100);
+        index.index(post("a", "Notes", "A long post that mentions transformer once among many other words here"));
+        index.index(post("b", "Transformer attention explained", "transformer layers"));
+        index.index(post("c", "Cooking", "pasta"));
+
+        assertEquals("b a", ids(index.search("transformer", "full_text", null, 10)));
+    }
+
+    @Test
+    public void testLastWordMatchesAsPrefix() {
+        // Rationale: Results should follow the user while a word is still being typed
+        // Input: "prompt engin" against a post about prompt engineering
+        // Expected: Found; a post with only "prompt" is not, since every word must match
+        PostSearchIndex index = new PostSearchIndex(100);
+        index.index(post("a", "Prompt engineering tips", null));
+        index.index(post("b", "Prompt library", null));
+
+        assertEquals("a", ids(index.search("prompt engin", "full_text", null, 10)));
+    }
+
+    @Test
+    public void testSearchTypeLimitsFieldsAndPromptFilterApplies() {
+        // Rationale: Each search type must look where the server query looks
+        // Input: A prompt post tagged "gpt" and a normal post with "gpt" in its title
+        // Expected: tag finds only the tagged one, title only the other, normal-only filter drops the prompt post
+        PostSearchIndex index = new PostSearchIndex(100);
+        Post tagged = post("a", "Weekly notes", null);
+        tagged.setLlm_tag("GPT");
+        tagged.setIs_prompt_post(true);
+        index.index(tagged);
+        index.index(post("b", "GPT tricks", null));
+
+        assertEquals("a", ids(index.search("gpt", "tag", null, 10)));
+        assertEquals("a", ids(index.search("gpt", "prompt_tag", false, 10)));
+        assertEquals("b", ids(index.search("gpt", "title", null, 10)));
+        assertTrue(index.search("gpt", "tag", false, 10).isEmpty());
+    }
+
+    @Test
+    public void testEditReplacesOldTermsAndDeleteRemoves() {
+        // Rationale: The index is maintained incrementally, not rebuilt
+        // Input: Index a post, re-index it with a new title, then remove it
+        // Expected: Old words no longer match, new ones do, nothing after removal
+        PostSearchIndex index = new PostSearchIndex(100);
+        index.index(post("a", "Old title", null));
+        index.index(post("a", "Fresh title", null));
+
+        assertTrue(index.search("old", "title", null, 10).isEmpty());
+        assertEquals("a", ids(index.search("fresh", "title", null, 10)));
+
+        index.remove("a");
+        assertTrue(index.search("title", "title", null, 10).isEmpty());
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    public void testOldestIndexedPostIsEvicted() {
+        // Rationale: Memory use must stay bounded
+        // Input: Three posts into an index capped at two
+        // Expected: The first one is gone
+        PostSearchIndex index = new PostSearchIndex(2);
+        index.index(post("a", "alpha", null));
+        index.index(post("b", "alpha", null));
+        index.index(post("c", "alpha", null));
+
+        List<Post> results = index.search("alpha", "title", null, 10);
+        assertEquals(2, index.size());
+        assertEquals(2, results.size());
+        assertFalse(ids(results).contains("a"));
+    }
+
+    @Test
+    public void testFollowsPostStore() {
+        // Rationale: Loaded, edited and deleted posts reach the index without extra calls
+        // Input: Store a loaded post, patch its title in the shared store, then remove it
+        // Expected: Searchable, then under the new title, then not at all
+        PostSearchIndex index = PostSearchIndex.get();
+        EntityStore<Post> store = EntityStore.posts();
+        PostRepository.storePosts(Arrays.asList(post("s1", "Diffusion models", null)));
+        assertEquals("s1", ids(index.search("diffusion", "title", null, 10)));
+
+        store.update("s1", stored -> post("s1", "Sampling schedules", null));
+        assertTrue(index.search("diffusion", "title", null, 10).isEmpty());
+        assertEquals("s1", ids(index.search("sampling", "title", null, 10)));
+
+        store.remove("s1");
+        assertTrue(index.search("sampling", "title", null, 10).isEmpty());
+    }
+}
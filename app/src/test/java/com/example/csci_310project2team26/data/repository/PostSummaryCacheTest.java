@@ -0,0 +1,177 @@
+package com.example.csci_310project2team26.data.repository;
+
+import com.example.csci_310project2team26.data.model.Post;
+import com.example.csci_310project2team26.data.model.PostSummary;
+import com.example.csci_310project2team26.data.network.ApiClient;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+/**
+ * White-box Test: PostSummaryCache
+ *
+ * Location: app/src/test/java/com/example/csci_310project2team26/data/repository/PostSummaryCacheTest.java
+ * Test Class: PostSummaryCacheTest
+ *
+ * Description: Tests the post title cache and the batched title lookup in
+ * PostRepository, with a local MockWebServer standing in for
+ * GET api/posts/summaries?ids=.
+ *
+ * How to Execute: Run as JUnit test in Android Studio or via: ./gradlew test --tests PostSummaryCacheTest
+ *
+ * Coverage: Tests LRU eviction, one request per batch of IDs, skipping titles
+ * already known from memory or the post store, and missing IDs.
+ */
+public class PostSummaryCacheTest {
+
+    private MockWebServer server;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        // Answers every requested ID except those starting with "gone"
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                String ids = request.getRequestUrl().queryParameter("ids");
+                StringBuilder body = new StringBuilder("{\"summaries\":[");
+                int count = 0;
+                for (String id : ids.split(",")) {
+                    if (id.startsWith("gone")) continue;
+                    if (count++ > 0) body.append(',');
+                    body.append("{\"id\":\"").append(id).append("\",\"title\":\"Title ").append(id)
+                            .append("\",\"is_prompt_post\":true}");
+                }
+                body.append("],\"count\":").append(count).append('}');
+                return new MockResponse().setBody(body.toString());
+            }
+        });
+        server.start();
+        ApiClient.setBaseUrlOverride(server.url("/").toString());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        ApiClient.setBaseUrlOverride(null);
+        server.shutdown();
+        EntityStore.posts().clear();
+    }
+
+    private static List<String> newIds(String prefix, int count) {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ids.add(prefix + UUID.randomUUID());
+        }
+        return ids;
+    }
+
+    private static Map<String, PostSummary> fetch(List<String> ids) throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        Object[] result = new Object[1];
+        new PostRepository().fetchPostSummaries(ids, new PostRepository.Callback<Map<String, PostSummary>>() {
+            @Override
+            public void onSuccess(Map<String, PostSummary> summaries) {
+                result[0] = summaries;
+                done.countDown();
+            }
+
+            @Override
+            public void onError(String error) {
+                result[0] = error;
+                done.countDown();
+            }
+        });
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertTrue("Lookup failed: " + result[0], result[0] instanceof Map);
+        @SuppressWarnings("unchecked")
+        Map<String, PostSummary> summaries = (Map<String, PostSummary>) result[0];
+        return summaries;
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEvicted() {
+        // Rationale: The cache must stay bounded
+        // Input: Capacity 2; "a" read before "c" is added
+        // Expected: "b" evicted
+        PostSummaryCache cache = new PostSummaryCache(2);
+        cache.put(new PostSummary("a", "A", false));
+        cache.put(new PostSummary("b", "B", false));
+        assertNotNull(cache.get("a"));
+        cache.put(new PostSummary("c", "C", false));
+
+        assertNotNull(cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testManyTitlesResolvedInBatches() throws Exception {
+        // Rationale: 150 commented posts used to mean 150 post downloads
+        // Input: 150 unknown post IDs, some repeated
+        // Expected: Two requests (100 + 50) and every title resolved
+        List<String> ids = newIds("p", 150);
+        List<String> requested = new ArrayList<>(ids);
+        requested.addAll(ids.subList(0, 10));
+
+        Map<String, PostSummary> summaries = fetch(requested);
+
+        assertEquals(2, server.getRequestCount());
+        assertEquals(150, summaries.size());
+        assertEquals("Title " + ids.get(0), summaries.get(ids.get(0)).getTitle());
+        assertTrue(summaries.get(ids.get(149)).isIs_prompt_post());
+    }
+
+    @Test
+    public void testKnownTitlesAreNotRequested() throws Exception {
+        // Rationale: Titles already looked up, or of posts already loaded, need no request
+        // Input: One ID looked up earlier, one post in the store, one unknown ID
+        // Expected: Only the unknown ID is sent; a repeat lookup sends nothing
+        String earlier = newIds("p", 1).get(0);
+        fetch(Collections.singletonList(earlier));
+        server.takeRequest();
+
+        Post loaded = new Post();
+        loaded.setId(newIds("p", 1).get(0));
+        loaded.setTitle("Loaded post");
+        PostRepository.storePosts(Collections.singletonList(loaded));
+        String unknown = newIds("p", 1).get(0);
+
+        Map<String, PostSummary> summaries = fetch(Arrays.asList(earlier, loaded.getId(), unknown));
+
+        assertEquals(3, summaries.size());
+        assertEquals("Loaded post", summaries.get(loaded.getId()).getTitle());
+        assertEquals(unknown, server.takeRequest().getRequestUrl().queryParameter("ids"));
+
+        fetch(Arrays.asList(earlier, loaded.getId(), unknown));
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    public void testDeletedPostsAreLeftOut() throws Exception {
+        // Rationale: Comments can outlive their post
+        // Input: One existing and one deleted post ID
+        // Expected: Only the existing one is returned, without an error
+        String existing = newIds("p", 1).get(0);
+        String deleted = newIds("gone", 1).get(0);
+
+        Map<String, PostSummary> summaries = fetch(Arrays.asList(existing, deleted));
+
+        assertEquals(1, summaries.size());
+        assertTrue(summaries.containsKey(existing));
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.csci_310project2team26.data.repository;
+
+import com.example.csci_310project2team26.data.model.Post;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * White-box Test: SearchResultCache
+ *
+ * Location: app/src/test/java/com/example/csci_310project2team26/data/repository/SearchResultCacheTest.java
+ * Test Class: SearchResultCacheTest
+ *
+ * Description: Tests the search result cache in front of the server search, using a manual clock.
+ *
+ * How to Execute: Run as JUnit test in Android Studio or via: ./gradlew test --tests SearchResultCacheTest
+ *
+ * Coverage: Tests keyed hits and misses, TTL expiry, byte-bounded LRU eviction,
+ * invalidation of entries listing an edited or deleted post and narrowing a
+ * broader cached query to a refined one.
+ */
+public class SearchResultCacheTest {
+
+    private long now = 1_000L;
+
+    private SearchResultCache newCache(long maxBytes) {
+        return new SearchResultCache(maxBytes, 60_000L, () -> now);
+    }
+
+    private static Post post(String id, String title) {
+        Post post = new Post();
+        post.setId(id);
+        post.setTitle(title);
+        return post;
+    }
+
+    @Test
+    public void testHitRequiresSameKey() {
+        // Rationale: Switching a spinner away and back must reuse the earlier result, but only for the same search
+        // Input: A cached full_text page for "GPT"
+        // Expected: Hit for " gpt " with the same filters, miss for another search type or prompt filter
+        SearchResultCache cache = newCache(SearchResultCache.DEFAULT_MAX_BYTES);
+        cache.put("GPT", "full_text", null, "new", 20, 0, Arrays.asList(post("a", "GPT tips")));
+
+        assertEquals(1, cache.get(" gpt ", "full_text", null, "new", 20, 0).size());
+        assertNull(cache.get("gpt", "title", null, "new", 20, 0));
+        assertNull(cache.get("gpt", "full_text", true, "new", 20, 0));
+        assertNull(cache.get("gpt", "full_text", null, "new", 20, 20));
+    }
+
+    @Test
+    public void testEntriesExpireAfterTtl() {
+        // Rationale: Search results go stale quickly as posts are created and voted on
+        // Input: Entry read just before and just after the one-minute TTL
+        // Expected: Hit, then miss
+        SearchResultCache cache = newCache(SearchResultCache.DEFAULT_MAX_BYTES);
+        cache.put("gpt", "full_text", null, "new", 20, 0, Arrays.asList(post("a", "GPT")));
+
+        now += 60_000L;
+        assertNotNull(cache.get("gpt", "full_text", null, "new", 20, 0));
+        now += 1L;
+        assertNull(cache.get("gpt", "full_text", null, "new", 20, 0));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEvictedWhenOverBudget() {
+        // Rationale: The cache is bounded by estimated bytes, not entry count
+        // Input: Budget that fits two small entries; "a" is read before "c" is added
+        // Expected: "b" (least recently used) is evicted, size stays within budget
+        SearchResultCache cache = newCache(600L);
+        cache.put("a", "full_text", null, "new", 20, 0, Arrays.asList(post("1", "x")));
+        cache.put("b", "full_text", null, "new", 20, 0, Arrays.asList(post("2", "x")));
+        assertNotNull(cache.get("a", "full_text", null, "new", 20, 0));
+
+        List<Post> large = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            large.add(post("c" + i, "y"));
+        }
+        cache.put("c", "full_text", null, "new", 20, 0, large);
+
+        assertNotNull(cache.get("a", "full_text", null, "new", 20, 0));
+        assertNull(cache.get("b", "full_text", null, "new", 20, 0));
+        assertTrue(cache.sizeBytes() <= 600L);
+    }
+
+    @Test
+    public void testInvalidatePostDropsEntriesListingIt() {
+        // Rationale: A deleted or edited post must not be served from an old result
+        // Input: Two entries, only one listing post "a"; invalidate "a"
+        // Expected: That entry is gone, the other remains
+        SearchResultCache cache = newCache(SearchResultCache.DEFAULT_MAX_BYTES);
+        cache.put("gpt", "full_text", null, "new", 20, 0, Arrays.asList(post("a", "GPT"), post("b", "GPT")));
+        cache.put("bert", "full_text", null, "new", 20, 0, Arrays.asList(post("c", "BERT")));
+
+        cache.invalidatePost("a");
+
+        assertNull(cache.get("gpt", "full_text", null, "new", 20, 0));
+        assertNotNull(cache.get("bert", "full_text", null, "new", 20, 0));
+    }
+
+    @Test
+    public void testEditDropsEntriesTheNewContentMatches() {
+        // Rationale: An edit can make a post match a search it was not listed in before
+        // Input: Cached "bert" title and full-text pages without post "a"; "a" is retitled "BERT notes"
+        // Expected: Both "bert" pages are dropped; "notes" limited to prompt posts and "llama" remain
+        SearchResultCache cache = newCache(SearchResultCache.DEFAULT_MAX_BYTES);
+        cache.put("bert", "title", null, "new", 20, 0, Arrays.asList(post("c", "BERT")));
+        cache.put(" BERT ", "full_text", null, "new", 20, 0, Arrays.asList(post("c", "BERT")));
+        cache.put("notes", "title", true, "new", 20, 0, Arrays.asList(post("d", "Prompt notes")));
+        cache.put("llama", "title", null, "new", 20, 0, Arrays.asList(post("e", "Llama")));
+
+        cache.invalidatePost("a", post("a", "BERT notes"));
+
+        assertNull(cache.get("bert", "title", null, "new", 20, 0));
+        assertNull(cache.get("bert", "full_text", null, "new", 20, 0));
+        assertNotNull(cache.get("notes", "title", true, "new", 20, 0));
+        assertNotNull(cache.get("llama", "title", null, "new", 20, 0));
+    }
+
+    @Test
+    public void testNarrowFiltersBroaderQueryLocally() {
+        // Rationale: Results for "transformer" are a subset of those for "trans" under ILIKE matching
+        // Input: Cached "trans" with three posts, then the refined query "transformer"
+        // Expected: Only the posts containing "transformer", in server order; nothing for other filters
+        SearchResultCache cache = newCache(SearchResultCache.DEFAULT_MAX_BYTES);
+        cache.put("trans", "title", null, "new", 20, 0, Arrays.asList(
+                post("a", "Transformer basics"),
+                post("b", "Translation tricks"),
+                post("c", "Vision TRANSFORMERS")));
+
+        List<Post> narrowed = cache.narrow("transformer", "title", null, "new");
+
+        assertEquals(2, narrowed.size());
+        assertEquals("a", narrowed.get(0).getId());
+        assertEquals("c", narrowed.get(1).getId());
+        assertNull(cache.narrow("transformer", "full_text", null, "new"));
+        assertNull(cache.narrow("bert", "title", null, "new"));
+    }
+}
@@ -0,0 +1,275 @@
+package com.example.csci_310project2team26.data.repository;
+
+import com.example.csci_310project2team26.data.model.Post;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * White-box Test: SearchSession
+ *
+ * Location: app/src/test/java/com/example/csci_310project2team26/data/repository/SearchSessionTest.java
+ * Test Class: SearchSessionTest
+ *
+ * Description: Tests search-as-you-type with a manual clock and a loader whose
+ * answers are released by the test, so ordering and cancellation are deterministic.
+ *
+ * How to Execute: Run as JUnit test in Android Studio or via: ./gradlew test --tests SearchSessionTest
+ *
+ * Coverage: Tests debouncing, cancellation of superseded requests, latest-query-wins
+ * delivery, progressive pages, clearing on an empty query, duplicate submits and
+ * merging local matches with server pages.
+ */
+public class SearchSessionTest {
+
+    private static final int PAGE_SIZE = 2;
+
+    private static class PendingLoad {
+        final SearchSession.Request request;
+        final int offset;
+        final int limit;
+        final PostRepository.Callback<PostRepository.PostsResult> callback;
+        boolean cancelled;
+
+        PendingLoad(SearchSession.Request request, int offset, int limit,
+                    PostRepository.Callback<PostRepository.PostsResult> callback) {
+            this.request = request;
+            this.offset = offset;
+            this.limit = limit;
+            this.callback = callback;
+        }
+
+        void answer(int count) {
+            List<Post> posts = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                Post post = new Post();
+                post.setId(request.getQuery() + "-" + (offset + i));
+                posts.add(post);
+            }
+            callback.onSuccess(new PostRepository.PostsResult(posts, posts.size(), limit, offset));
+        }
+    }
+
+    private static class Timer {
+        final Runnable task;
+        boolean cancelled;
+
+        Timer(Runnable task) {
+            this.task = task;
+        }
+    }
+
+    private final List<PendingLoad> loads = new ArrayList<>();
+    private final List<Timer> timers = new ArrayList<>();
+    private List<Post> lastResults;
+    private boolean lastComplete;
+    private int resultCount;
+    private SearchSession session;
+    private SearchSession.PageLoader loader;
+    private SearchSession.Scheduler scheduler;
+    private SearchSession.Listener listener;
+    private String lastError;
+
+    @Before
+    public void setUp() {
+        loader = (request, offset, limit, callback) -> {
+            PendingLoad load = new PendingLoad(request, offset, limit, callback);
+            loads.add(load);
+            return () -> load.cancelled = true;
+        };
+        scheduler = (task, delayMillis) -> {
+            Timer timer = new Timer(task);
+            timers.add(timer);
+            return () -> timer.cancelled = true;
+        };
+        listener = new SearchSession.Listener() {
+            @Override
+            public void onResults(List<Post> posts, boolean complete) {
+                lastResults = posts;
+                lastComplete = complete;
+                resultCount++;
+            }
+
+            @Override
+            public void onLoadingChanged(boolean loading) { }
+
+            @Override
+            public void onError(String error) {
+                lastError = error;
+            }
+        };
+        session = new SearchSession(loader, listener, scheduler, 300L, PAGE_SIZE);
+    }
+
+    private static SearchSession.Request request(String query) {
+        return new SearchSession.Request(query, "full_text", "new", 5, 0, null);
+    }
+
+    private void elapse() {
+        for (Timer timer : new ArrayList<>(timers)) {
+            if (!timer.cancelled) {
+                timer.cancelled = true;
+                timer.task.run();
+            }
+        }
+    }
+
+    @Test
+    public void testTypingSendsOnlyLastQuery() {
+        // Rationale: Each keystroke must not become a server search
+        // Input: "t", "tr", "tra" submitted before the debounce delay passes
+        // Expected: One request, for "tra"
+        session.submit(request("t"));
+        session.submit(request("tr"));
+        session.submit(request("tra"));
+        elapse();
+
+        assertEquals(1, loads.size());
+        assertEquals("tra", loads.get(0).request.getQuery());
+    }
+
+    @Test
+    public void testNewQueryCancelsRequestInFlight() {
+        // Rationale: A superseded search should stop using the network
+        // Input: "old" in flight, then "new" submitted
+        // Expected: The "old" call is cancelled
+        session.submit(request("old"));
+        elapse();
+        session.submit(request("new"));
+
+        assertTrue(loads.get(0).cancelled);
+    }
+
+    @Test
+    public void testSlowOldAnswerDoesNotOverwriteNewerResults() {
+        // Rationale: Answers can arrive out of order; the latest query must win
+        // Input: "old" and "new" both in flight, "new" answers first, then "old"
+        // Expected: Only "new" results are ever published
+        session.submit(request("old"));
+        elapse();
+        session.submit(request("new"));
+        elapse();
+
+        loads.get(1).answer(1);
+        loads.get(0).answer(2);
+
+        assertEquals(1, resultCount);
+        assertEquals("new-0", lastResults.get(0).getId());
+    }
+
+    @Test
+    public void testPagesArePublishedAsTheyArrive() {
+        // Rationale: The first matches should show before the whole result set is fetched
+        // Input: Limit 5 with page size 2; three pages of 2, 2 and 1 results
+        // Expected: Snapshots of 2, 4 and 5 posts, offsets advancing, complete only after the last
+        session.submit(request("q"));
+        elapse();
+
+        loads.get(0).answer(2);
+        assertEquals(2, lastResults.size());
+        assertFalse(lastComplete);
+
+        assertEquals(2, loads.get(1).offset);
+        loads.get(1).answer(2);
+        assertEquals(4, lastResults.size());
+
+        assertEquals(1, loads.get(2).limit);
+        loads.get(2).answer(1);
+        assertEquals(5, lastResults.size());
+        assertTrue(lastComplete);
+        assertEquals(3, loads.size());
+    }
+
+    @Test
+    public void testShortPageEndsSearch() {
+        // Rationale: A page smaller than requested means there are no more matches
+        // Input: First page returns one result
+        // Expected: Complete after one request
+        session.submit(request("q"));
+        elapse();
+        loads.get(0).answer(1);
+
+        assertTrue(lastComplete);
+        assertEquals(1, loads.size());
+    }
+
+    @Test
+    public void testEmptyQueryClearsAndCancels() {
+        // Rationale: Clearing the box must clear the list and stop the running search
+        // Input: "q" in flight, then an empty query
+        // Expected: Empty results published immediately, "q" cancelled, its late answer ignored
+        session.submit(request("q"));
+        elapse();
+        session.submit(request(""));
+
+        assertTrue(lastResults.isEmpty());
+        assertTrue(loads.get(0).cancelled);
+        loads.get(0).answer(2);
+        assertTrue(lastResults.isEmpty());
+    }
+
+    @Test
+    public void testResubmittingRunningSearchIsIgnored() {
+        // Rationale: Re-selecting the same filter should not restart an identical search
+        // Input: The same request submitted twice while waiting
+        // Expected: One timer still live and one request
+        session.submit(request("q"));
+        session.submit(request("q"));
+        elapse();
+
+        assertEquals(1, timers.size());
+        assertEquals(1, loads.size());
+    }
+
+    private static Post post(String id) {
+        Post post = new Post();
+        post.setId(id);
+        return post;
+    }
+
+    @Test
+    public void testLocalMatchesShowBeforeServerAndMergeWithIt() {
+        // Rationale: Posts already on the device should show instantly; the server adds the rest
+        // Input: Local search finds q-1 and local-only; the server returns q-0 and q-1
+        // Expected: Local results published on submit, then q-1 replaced in place and q-0 appended
+        Post localCopy = post("q-1");
+        session = new SearchSession(loader, request -> Arrays.asList(localCopy, post("local-only")),
+                listener, scheduler, 300L, PAGE_SIZE);
+
+        session.submit(request("q"));
+        assertEquals(1, resultCount);
+        assertEquals(2, lastResults.size());
+        assertFalse(lastComplete);
+
+        elapse();
+        loads.get(0).answer(2);
+        loads.get(1).answer(0);
+
+        assertEquals(3, lastResults.size());
+        assertEquals("q-1", lastResults.get(0).getId());
+        assertNotSame(localCopy, lastResults.get(0));
+        assertEquals("local-only", lastResults.get(1).getId());
+        assertEquals("q-0", lastResults.get(2).getId());
+        assertTrue(lastComplete);
+    }
+
+    @Test
+    public void testOfflineKeepsLocalMatchesWithoutError() {
+        // Rationale: Search must keep working without a network
+        // Input: Local match exists, the server request fails
+        // Expected: Local match still published last, no error reported
+        session = new SearchSession(loader, request -> Arrays.asList(post("cached")),
+                listener, scheduler, 300L, PAGE_SIZE);
+
+        session.submit(request("q"));
+        elapse();
+        loads.get(0).callback.onError("Network error");
+
+        assertEquals("cached", lastResults.get(0).getId());
+        assertNull(lastError);
+    }
+}
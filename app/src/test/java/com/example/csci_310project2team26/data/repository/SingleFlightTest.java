@@ -0,0 +1,94 @@
+package com.example.csci_310project2team26.data.repository;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * White-box Test: SingleFlight
+ *
+ * Location: app/src/test/java/com/example/csci_310project2team26/data/repository/SingleFlightTest.java
+ * Test Class: SingleFlightTest
+ *
+ * Description: Tests coalescing of identical in-flight requests. Calls are completed by
+ * hand so the tests control exactly when a request is "in flight".
+ *
+ * How to Execute: Run as JUnit test in Android Studio or via: ./gradlew test --tests SingleFlightTest
+ *
+ * Coverage: Tests sharing a result, error fan-out, key release and distinct keys.
+ */
+public class SingleFlightTest {
+
+    @Test
+    public void testConcurrentCallersShareOneRequest() {
+        // Rationale: Two screens opening the same post should cost one network call
+        // Input: Three callers for the same key before the first call completes
+        // Expected: One call started, two saved, every caller gets the same value
+        SingleFlight<String> flight = new SingleFlight<>();
+        List<SingleFlight.Result<String>> pending = new ArrayList<>();
+        List<String> received = new ArrayList<>();
+
+        for (int i = 0; i < 3; i++) {
+            flight.run("post-1|t", received::add, error -> fail(error), pending::add);
+        }
+        assertEquals(1, pending.size());
+
+        pending.get(0).onSuccess("body");
+
+        assertEquals(3, received.size());
+        assertEquals("body", received.get(2));
+        assertEquals(1, flight.getStartedCount());
+        assertEquals(2, flight.getSavedCount());
+    }
+
+    @Test
+    public void testErrorIsDeliveredToEveryWaiter() {
+        // Rationale: A failed shared call must not leave attached callers hanging
+        // Input: Two callers for one key, call fails
+        // Expected: Both receive the error message
+        SingleFlight<String> flight = new SingleFlight<>();
+        List<SingleFlight.Result<String>> pending = new ArrayList<>();
+        List<String> errors = new ArrayList<>();
+
+        flight.run("k", value -> fail(), errors::add, pending::add);
+        flight.run("k", value -> fail(), errors::add, pending::add);
+        pending.get(0).onError("Network error");
+
+        assertEquals(2, errors.size());
+        assertEquals("Network error", errors.get(1));
+    }
+
+    @Test
+    public void testKeyIsReleasedAfterCompletion() {
+        // Rationale: Only in-flight calls are shared; later requests must refetch
+        // Input: One completed call, then a second call for the same key
+        // Expected: Two calls started, none saved
+        SingleFlight<String> flight = new SingleFlight<>();
+        List<SingleFlight.Result<String>> pending = new ArrayList<>();
+
+        flight.run("k", value -> { }, error -> { }, pending::add);
+        pending.get(0).onSuccess("a");
+        flight.run("k", value -> { }, error -> { }, pending::add);
+
+        assertEquals(2, pending.size());
+        assertEquals(2, flight.getStartedCount());
+        assertEquals(0, flight.getSavedCount());
+    }
+
+    @Test
+    public void testDifferentKeysAreNotShared() {
+        // Rationale: Keys include the token, so two users never share a response
+        // Input: Same post requested with two different tokens
+        // Expected: Two separate calls
+        SingleFlight<String> flight = new SingleFlight<>();
+        List<SingleFlight.Result<String>> pending = new ArrayList<>();
+
+        flight.run("post-1|token-a", value -> { }, error -> { }, pending::add);
+        flight.run("post-1|token-b", value -> { }, error -> { }, pending::add);
+
+        assertEquals(2, pending.size());
+        assertEquals(0, flight.getSavedCount());
+    }
+}
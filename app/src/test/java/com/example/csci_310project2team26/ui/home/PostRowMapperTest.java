@@ -0,0 +1,133 @@
+package com.example.csci_310project2team26.ui.home;
+
+import com.example.csci_310project2team26.data.model.Post;
+import com.example.csci_310project2team26.util.IsoTimestamps;
+import com.example.csci_310project2team26.util.RelativeTimeFormatter;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * White-box Test: Row model reuse
+ *
+ * Location: app/src/test/java/com/example/csci_310project2team26/ui/home/PostRowMapperTest.java
+ * Test Class: PostRowMapperTest
+ *
+ * Description: Tests when PostRowMapper reuses the previous list's row model for a post
+ * and when it rebuilds it, using the mapper built from plain strings instead of Resources.
+ *
+ * How to Execute: Run as JUnit test in Android Studio or via: ./gradlew test --tests PostRowMapperTest
+ *
+ * Coverage: Tests reuse for the same instance and for an equal copy, rebuilds on a vote
+ * or count change, and the date text refresh once it is a minute old.
+ */
+public class PostRowMapperTest {
+
+    private static final long NOW = 1_750_000_000_000L;
+
+    private PostRowMapper mapper;
+
+    @Before
+    public void setUp() {
+        RelativeTimeFormatter dates = new RelativeTimeFormatter(Locale.US, "Just now", "%d minutes ago",
+                "%d hours ago", "Yesterday", "%d days ago");
+        mapper = new PostRowMapper(dates, "Anonymous", "Unknown author", "#untagged", "Post", "Prompt",
+                "#%1$s", "By %1$s", count -> count == 1 ? "%1$s comment" : "%1$s comments");
+    }
+
+    private static Post post(String id) {
+        Post post = new Post();
+        post.setId(id);
+        post.setTitle("Title " + id);
+        post.setContent("Content " + id);
+        post.setAuthor_name("Author");
+        post.setLlm_tag("GPT-4");
+        post.setCreated_at(IsoTimestamps.format(NOW - 30_000L));
+        post.setUpvotes(3);
+        post.setComment_count(1);
+        return post;
+    }
+
+    private PostRowModel map(Post post, long now) {
+        List<PostRowModel> rows = mapper.mapNow(Collections.singletonList(post), now);
+        assertEquals(1, rows.size());
+        return rows.get(0);
+    }
+
+    @Test
+    public void testSameInstanceReusesModel() {
+        // Rationale: A list update that leaves a post untouched should do no text work for it
+        // Input: The same Post instance mapped twice
+        // Expected: The same model object
+        Post post = post("p1");
+        PostRowModel first = map(post, NOW);
+
+        assertSame(first, map(post, NOW));
+    }
+
+    @Test
+    public void testEqualCopyReusesText() {
+        // Rationale: A refetch returns new instances of unchanged posts
+        // Input: A copy with the same displayed fields
+        // Expected: A model for the new instance sharing every label of the old one
+        PostRowModel first = map(post("p1"), NOW);
+        Post copy = new Post(first.post);
+        PostRowModel second = map(copy, NOW);
+
+        assertNotSame(first, second);
+        assertSame(copy, second.post);
+        assertSame(first.title, second.title);
+        assertSame(first.authorLabel, second.authorLabel);
+        assertSame(first.commentCountText, second.commentCountText);
+    }
+
+    @Test
+    public void testVoteChangeRebuildsModel() {
+        // Rationale: The arrows and counts must follow the user's vote
+        // Input: The post upvoted, with its upvote count raised to match
+        // Expected: A rebuilt model showing the upvote and the new count
+        PostRowModel first = map(post("p1"), NOW);
+        Post voted = new Post(first.post);
+        voted.setUser_vote_type("up");
+        voted.setUpvotes(4);
+        PostRowModel second = map(voted, NOW);
+
+        assertNotSame(first.upvotesText, second.upvotesText);
+        assertTrue(second.upvoted);
+        assertEquals("4", second.upvotesText.toString());
+    }
+
+    @Test
+    public void testCountChangeRebuildsModel() {
+        // Rationale: A new comment changes the displayed count
+        // Input: The same post with one more comment
+        // Expected: A rebuilt model with the plural label
+        PostRowModel first = map(post("p1"), NOW);
+        Post commented = new Post(first.post);
+        commented.setComment_count(2);
+        PostRowModel second = map(commented, NOW);
+
+        assertEquals("1 comment", first.commentCountText.toString());
+        assertEquals("2 comments", second.commentCountText.toString());
+    }
+
+    @Test
+    public void testDateTextRefreshesAfterAMinute() {
+        // Rationale: Relative dates go stale, but rebuilding them on every list update is wasted work
+        // Input: The same post mapped again after 59 seconds, then after 61 seconds
+        // Expected: The date text is kept, then refreshed while the other labels are reused
+        Post post = post("p1");
+        PostRowModel first = map(post, NOW);
+        PostRowModel early = map(post, NOW + 59_000L);
+        PostRowModel late = map(post, NOW + 61_000L);
+
+        assertEquals("Just now", first.dateText.toString());
+        assertSame(first, early);
+        assertEquals("1 minutes ago", late.dateText.toString());
+        assertSame(first.title, late.title);
+    }
+}
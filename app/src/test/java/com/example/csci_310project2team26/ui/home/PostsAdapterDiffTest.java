@@ -0,0 +1,139 @@
+package com.example.csci_310project2team26.ui.home;
+
+import com.example.csci_310project2team26.data.model.Post;
+import com.example.csci_310project2team26.util.IsoTimestamps;
+import com.example.csci_310project2team26.util.RelativeTimeFormatter;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * White-box Test: Feed row diff payloads
+ *
+ * Location: app/src/test/java/com/example/csci_310project2team26/ui/home/PostsAdapterDiffTest.java
+ * Test Class: PostsAdapterDiffTest
+ *
+ * Description: Tests PostsAdapter.DIFF_CALLBACK on row models built by PostRowMapper,
+ * and how onBindViewHolder merges the payloads it receives.
+ *
+ * How to Execute: Run as JUnit test in Android Studio or via: ./gradlew test --tests PostsAdapterDiffTest
+ *
+ * Coverage: Tests unchanged rows, a text change (full rebind), a vote change, a comment
+ * count change, both together, and flattening of merged list payloads.
+ */
+public class PostsAdapterDiffTest {
+
+    private static final long NOW = 1_750_000_000_000L;
+
+    // A fresh mapper per row, so nothing is reused between the old and new model
+    private static PostRowModel row(Post post) {
+        RelativeTimeFormatter dates = new RelativeTimeFormatter(Locale.US, "Just now", "%d minutes ago",
+                "%d hours ago", "Yesterday", "%d days ago");
+        PostRowMapper mapper = new PostRowMapper(dates, "Anonymous", "Unknown author", "#untagged", "Post",
+                "Prompt", "#%1$s", "By %1$s", count -> count == 1 ? "%1$s comment" : "%1$s comments");
+        return mapper.mapNow(Collections.singletonList(post), NOW).get(0);
+    }
+
+    private static Post post() {
+        Post post = new Post();
+        post.setId("p1");
+        post.setTitle("Title");
+        post.setContent("Content");
+        post.setAuthor_name("Author");
+        post.setCreated_at(IsoTimestamps.format(NOW - 30_000L));
+        post.setUpvotes(3);
+        post.setComment_count(1);
+        return post;
+    }
+
+    @Test
+    public void testEqualRowsHaveSameContents() {
+        // Rationale: A refetch of an unchanged post must not rebind its row
+        // Input: Two separately built models of equal posts
+        // Expected: Same item and same contents
+        PostRowModel oldRow = row(post());
+        PostRowModel newRow = row(post());
+
+        assertTrue(PostsAdapter.DIFF_CALLBACK.areItemsTheSame(oldRow, newRow));
+        assertTrue(PostsAdapter.DIFF_CALLBACK.areContentsTheSame(oldRow, newRow));
+    }
+
+    @Test
+    public void testTextChangeRebindsWholeRow() {
+        // Rationale: Edited text can change any view of the row
+        // Input: The title changed, along with the vote
+        // Expected: Contents differ and there is no payload, so the row is fully rebound
+        Post edited = post();
+        edited.setTitle("Edited");
+        edited.setUser_vote_type("up");
+        PostRowModel oldRow = row(post());
+        PostRowModel newRow = row(edited);
+
+        assertFalse(PostsAdapter.DIFF_CALLBACK.areContentsTheSame(oldRow, newRow));
+        assertNull(PostsAdapter.DIFF_CALLBACK.getChangePayload(oldRow, newRow));
+    }
+
+    @Test
+    public void testVoteChangeRebindsVotesOnly() {
+        // Rationale: A vote should not redraw the title, body and labels
+        // Input: The post upvoted with its count raised
+        // Expected: Only the votes payload
+        Post voted = post();
+        voted.setUser_vote_type("up");
+        voted.setUpvotes(4);
+        PostRowModel oldRow = row(post());
+        PostRowModel newRow = row(voted);
+
+        assertFalse(PostsAdapter.DIFF_CALLBACK.areContentsTheSame(oldRow, newRow));
+        assertEquals(Collections.singletonList(PostsAdapter.PAYLOAD_VOTES),
+                PostsAdapter.DIFF_CALLBACK.getChangePayload(oldRow, newRow));
+    }
+
+    @Test
+    public void testCommentCountChangeRebindsCountOnly() {
+        // Rationale: A new comment only changes the count label
+        // Input: The post with one more comment
+        // Expected: Only the comment count payload
+        Post commented = post();
+        commented.setComment_count(2);
+        PostRowModel oldRow = row(post());
+        PostRowModel newRow = row(commented);
+
+        assertFalse(PostsAdapter.DIFF_CALLBACK.areContentsTheSame(oldRow, newRow));
+        assertEquals(Collections.singletonList(PostsAdapter.PAYLOAD_COMMENT_COUNT),
+                PostsAdapter.DIFF_CALLBACK.getChangePayload(oldRow, newRow));
+    }
+
+    @Test
+    public void testVoteAndCountChangeRebindBoth() {
+        // Rationale: A list update can carry a vote and a new comment at once
+        // Input: The post downvoted and with one more comment
+        // Expected: Both payloads, votes first
+        Post changed = post();
+        changed.setUser_vote_type("down");
+        changed.setDownvotes(1);
+        changed.setComment_count(2);
+        PostRowModel oldRow = row(post());
+        PostRowModel newRow = row(changed);
+
+        assertEquals(Arrays.asList(PostsAdapter.PAYLOAD_VOTES, PostsAdapter.PAYLOAD_COMMENT_COUNT),
+                PostsAdapter.DIFF_CALLBACK.getChangePayload(oldRow, newRow));
+    }
+
+    @Test
+    public void testMergedPayloadsAreFlattened() {
+        // Rationale: RecyclerView merges payloads of several changes before binding
+        // Input: A list payload from the diff followed by the single bookmark payload
+        // Expected: Each payload once, in order
+        List<Object> merged = Arrays.asList(
+                Arrays.asList(PostsAdapter.PAYLOAD_VOTES, PostsAdapter.PAYLOAD_COMMENT_COUNT),
+                PostsAdapter.PAYLOAD_BOOKMARK);
+
+        assertEquals(Arrays.asList(PostsAdapter.PAYLOAD_VOTES, PostsAdapter.PAYLOAD_COMMENT_COUNT,
+                PostsAdapter.PAYLOAD_BOOKMARK), PostsAdapter.flattenPayloads(merged));
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.csci_310project2team26.util;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.text.SimpleDateFormat;
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * White-box Test: IsoTimestamps
+ *
+ * Location: app/src/test/java/com/example/csci_310project2team26/util/IsoTimestampsTest.java
+ * Test Class: IsoTimestampsTest
+ *
+ * Description: Tests the hand-written timestamp parser against SimpleDateFormat for every
+ * shape the backend and local storage produce.
+ *
+ * How to Execute: Run as JUnit test in Android Studio or via: ./gradlew test --tests IsoTimestampsTest
+ *
+ * Coverage: Tests fractions, zone offsets, the PostgreSQL space separator, epoch-millis
+ * strings, leap days, rejection of malformed input and formatting back to ISO-8601.
+ */
+public class IsoTimestampsTest {
+
+    private static long reference(String pattern, String value) throws Exception {
+        SimpleDateFormat format = new SimpleDateFormat(pattern, Locale.US);
+        format.setTimeZone(TimeZone.getTimeZone("UTC"));
+        return format.parse(value).getTime();
+    }
+
+    @Test
+    public void testMatchesSimpleDateFormatForServerShapes() throws Exception {
+        // Rationale: Every format the old adapters tried must still parse to the same instant
+        // Input: The shapes JSON-serialized and raw PostgreSQL timestamps take
+        // Expected: Same epoch millis as SimpleDateFormat in UTC
+        assertEquals(reference("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'", "2025-03-14T15:09:26.535Z"),
+                IsoTimestamps.parseMillis("2025-03-14T15:09:26.535Z"));
+        assertEquals(reference("yyyy-MM-dd'T'HH:mm:ss'Z'", "2025-03-14T15:09:26Z"),
+                IsoTimestamps.parseMillis("2025-03-14T15:09:26Z"));
+        assertEquals(reference("yyyy-MM-dd'T'HH:mm:ss", "2025-03-14T15:09:26"),
+                IsoTimestamps.parseMillis("2025-03-14T15:09:26"));
+        assertEquals(reference("yyyy-MM-dd HH:mm:ss", "2025-03-14 15:09:26"),
+                IsoTimestamps.parseMillis("2025-03-14 15:09:26"));
+        assertEquals(reference("yyyy-MM-dd'T'HH:mm:ss.SSSZ", "2025-03-14T15:09:26.535-0700"),
+                IsoTimestamps.parseMillis("2025-03-14T15:09:26.535-0700"));
+    }
+
+    @Test
+    public void testFractionsAndOffsets() throws Exception {
+        // Rationale: PostgreSQL sends microseconds and short offsets like "+00"
+        // Input: Microsecond fraction, one-digit fraction, "+05:30" and "+00" zones
+        // Expected: Fractions truncated to millis, offsets subtracted
+        long base = reference("yyyy-MM-dd HH:mm:ss", "2024-12-31 23:59:59");
+        assertEquals(base + 123, IsoTimestamps.parseMillis("2024-12-31 23:59:59.123456+00"));
+        assertEquals(base + 500, IsoTimestamps.parseMillis("2024-12-31T23:59:59.5"));
+        assertEquals(base - (5 * 60 + 30) * 60_000L, IsoTimestamps.parseMillis("2024-12-31T23:59:59+05:30"));
+        assertEquals(base, IsoTimestamps.parseMillis("2025-01-01T00:59:59+01"));
+    }
+
+    @Test
+    public void testLeapDaysAndEpoch() throws Exception {
+        // Rationale: Date arithmetic is hand-written, so check the calendar edges
+        // Input: Epoch, leap days in 2000 and 2024, and the day after a non-leap February
+        // Expected: Same values as SimpleDateFormat
+        assertEquals(0L, IsoTimestamps.parseMillis("1970-01-01T00:00:00Z"));
+        String[] dates = { "2000-02-29T12:00:00", "2024-02-29T00:00:00", "2100-03-01T00:00:00", "1969-12-31T23:59:59" };
+        for (String date : dates) {
+            assertEquals(date, reference("yyyy-MM-dd'T'HH:mm:ss", date), IsoTimestamps.parseMillis(date));
+        }
+    }
+
+    @Test
+    public void testEpochMillisAndInvalidInput() {
+        // Rationale: Drafts store System.currentTimeMillis() as a string; garbage must not throw
+        // Input: A millis string, then null, empty and malformed values
+        // Expected: Millis returned as-is; INVALID or the fallback otherwise
+        assertEquals(1_700_000_000_000L, IsoTimestamps.parseMillis("1700000000000"));
+        assertEquals(IsoTimestamps.INVALID, IsoTimestamps.parseMillis(null));
+        assertEquals(IsoTimestamps.INVALID, IsoTimestamps.parseMillis(""));
+        assertEquals(IsoTimestamps.INVALID, IsoTimestamps.parseMillis("yesterday"));
+        assertEquals(IsoTimestamps.INVALID, IsoTimestamps.parseMillis("2025-13-01T00:00:00Z"));
+        assertEquals(IsoTimestamps.INVALID, IsoTimestamps.parseMillis("2025-01-01T00:00:00.Z"));
+        assertEquals(IsoTimestamps.INVALID, IsoTimestamps.parseMillis("2025-01-01T00:00:00Zjunk"));
+        assertEquals(0L, IsoTimestamps.parseMillis("not a date", 0L));
+    }
+
+    @Test
+    public void testFormatRoundTrips() throws Exception {
+        // Rationale: Models keep millis and format on demand, so formatting must invert parsing
+        // Input: Whole-second and fractional instants, calendar edges and a pre-epoch instant
+        // Expected: SimpleDateFormat's UTC output; whole seconds without a fraction
+        SimpleDateFormat withMillis = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'", Locale.US);
+        withMillis.setTimeZone(TimeZone.getTimeZone("UTC"));
+        String[] instants = { "2025-03-14T15:09:26.535Z", "2000-02-29T12:00:00.001Z",
+                "2100-03-01T00:00:00.999Z", "1969-12-31T23:59:59.500Z" };
+        for (String instant : instants) {
+            long millis = IsoTimestamps.parseMillis(instant);
+            assertEquals(instant, withMillis.format(new java.util.Date(millis)), IsoTimestamps.format(millis));
+        }
+        assertEquals("2024-01-01T00:00:00Z", IsoTimestamps.format(IsoTimestamps.parseMillis("2024-01-01T00:00:00Z")));
+        assertEquals("1970-01-01T00:00:00Z", IsoTimestamps.format(0L));
+        assertNull(IsoTimestamps.format(IsoTimestamps.INVALID));
+
+        for (long millis = -86_400_000L * 800; millis < 86_400_000L * 20_000; millis += 86_400_000L * 37 + 12_345) {
+            assertEquals(withMillis.format(new java.util.Date(millis)).replace(".000Z", "Z"),
+                    IsoTimestamps.format(millis));
+            assertEquals(millis, IsoTimestamps.parseMillis(IsoTimestamps.format(millis)));
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.csci_310project2team26.util;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * White-box Test: RelativeTimeFormatter
+ *
+ * Location: app/src/test/java/com/example/csci_310project2team26/util/RelativeTimeFormatterTest.java
+ * Test Class: RelativeTimeFormatterTest
+ *
+ * Description: Tests relative labels using the same patterns as the app's string
+ * resources, passed in directly so no Android Resources are needed.
+ *
+ * How to Execute: Run as JUnit test in Android Studio or via: ./gradlew test --tests RelativeTimeFormatterTest
+ *
+ * Coverage: Tests each label range, label reuse and the fallback for unparseable input.
+ */
+public class RelativeTimeFormatterTest {
+
+    private static final long NOW = 1_750_000_000_000L;
+
+    private RelativeTimeFormatter formatter;
+
+    @Before
+    public void setUp() {
+        formatter = new RelativeTimeFormatter(Locale.US, "Just now", "%d minutes ago",
+                "%d hours ago", "Yesterday", "%d days ago");
+    }
+
+    @Test
+    public void testLabelRanges() {
+        // Rationale: Same thresholds the adapters used before the formatter was shared
+        // Input: Ages from seconds to weeks
+        // Expected: Just now, minutes, hours, Yesterday, days, then an absolute date
+        assertEquals("Just now", formatter.format(NOW - 30_000L, NOW));
+        assertEquals("5 minutes ago", formatter.format(NOW - TimeUnit.MINUTES.toMillis(5), NOW));
+        assertEquals("3 hours ago", formatter.format(NOW - TimeUnit.HOURS.toMillis(3), NOW));
+        assertEquals("Yesterday", formatter.format(NOW - TimeUnit.HOURS.toMillis(30), NOW));
+        assertEquals("4 days ago", formatter.format(NOW - TimeUnit.DAYS.toMillis(4), NOW));
+        assertTrue(formatter.format(NOW - TimeUnit.DAYS.toMillis(30), NOW).matches("[A-Z][a-z]{2} \\d{1,2}, \\d{4}"));
+    }
+
+    @Test
+    public void testLabelsAreReused() {
+        // Rationale: Binding a row should not build a new string for a label already shown
+        // Input: The same age formatted twice, and two instants on the same old day
+        // Expected: The identical String instance both times
+        assertSame(formatter.format(NOW - TimeUnit.MINUTES.toMillis(7), NOW),
+                formatter.format(NOW - TimeUnit.MINUTES.toMillis(7) - 1_000L, NOW));
+        long oldDay = NOW - TimeUnit.DAYS.toMillis(40);
+        assertSame(formatter.format(oldDay, NOW), formatter.format(oldDay + 1L, NOW));
+    }
+
+    @Test
+    public void testUnparseableTimestampFallsBackToRawText() {
+        // Rationale: Keeps the old behaviour of showing the date part of odd server values
+        // Input: Null, empty and a malformed string
+        // Expected: "", "" and the first ten characters
+        assertEquals("", formatter.format(null));
+        assertEquals("", formatter.format(""));
+        assertEquals("2025/01/02", formatter.format("2025/01/02 10:00"));
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.csci_310project2team26.util;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * White-box Test: StringInterner
+ *
+ * Location: app/src/test/java/com/example/csci_310project2team26/util/StringInternerTest.java
+ * Test Class: StringInternerTest
+ *
+ * Description: Tests the fixed-size table that shares repeated model strings.
+ *
+ * How to Execute: Run as JUnit test in Android Studio or via: ./gradlew test --tests StringInternerTest
+ *
+ * Coverage: Tests sharing of equal strings, the size bound under many distinct values,
+ * long strings and null.
+ */
+public class StringInternerTest {
+
+    @Test
+    public void testEqualStringsShareOneInstance() {
+        // Rationale: Each decoded field is a new String; equal ones should collapse
+        // Input: Two distinct but equal instances
+        // Expected: The second call returns the first instance
+        StringInterner interner = new StringInterner(64);
+        String first = new String("GPT-4");
+        String second = new String("GPT-4");
+
+        assertSame(first, interner.intern(first));
+        assertSame(first, interner.intern(second));
+        assertNull(interner.intern(null));
+    }
+
+    @Test
+    public void testStaysBoundedAndSkipsLongStrings() {
+        // Rationale: Unbounded interning of user content would leak memory
+        // Input: 10,000 distinct values through 16 slots, then a string over MAX_LENGTH
+        // Expected: Every value is returned equal; at most 16 remain shared; long ones are not kept
+        StringInterner interner = new StringInterner(16);
+        int shared = 0;
+        for (int i = 0; i < 10_000; i++) {
+            String value = "author-" + i;
+            assertEquals(value, interner.intern(value));
+        }
+        for (int i = 0; i < 10_000; i++) {
+            String value = "author-" + i;
+            String copy = new String(value);
+            if (interner.intern(copy) != copy) {
+                shared++;
+            }
+        }
+        assertTrue("Shared " + shared, shared <= 16);
+
+        StringBuilder longValue = new StringBuilder();
+        for (int i = 0; i <= StringInterner.MAX_LENGTH; i++) {
+            longValue.append('x');
+        }
+        String first = longValue.toString();
+        interner.intern(first);
+        String second = new String(first);
+        assertSame(second, interner.intern(second));
+    }
+}
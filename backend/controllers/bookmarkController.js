@@ -5,6 +5,8 @@
 
 const { query } = require('../config/database');
 
+const MAX_STATUS_IDS = 200;
+
 // Add bookmark
 const addBookmark = async (req, res) => {
   try {
@@ -175,10 +177,51 @@ const isBookmarked = async (req, res) => {
   }
 };
 
+// Check bookmark status for many posts at once
+// GET /api/bookmarks/status?ids=<id>,<id>,...
+const getBookmarkStatuses = async (req, res) => {
+  try {
+    const userId = req.user.userId;
+    const rawIds = Array.isArray(req.query.ids) ? req.query.ids.join(',') : (req.query.ids || '');
+
+    const uuidPattern = /^[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}$/i;
+    const ids = [...new Set(rawIds.split(',').map(id => id.trim()).filter(id => uuidPattern.test(id)))];
+
+    if (ids.length > MAX_STATUS_IDS) {
+      return res.status(400).json({
+        error: 'Too many IDs',
+        message: `At most ${MAX_STATUS_IDS} post IDs can be checked at once`
+      });
+    }
+
+    if (ids.length === 0) {
+      return res.json({ bookmarked_ids: [], count: 0 });
+    }
+
+    const result = await query(
+      'SELECT post_id FROM bookmarks WHERE user_id = $1 AND post_id = ANY($2::uuid[])',
+      [userId, ids]
+    );
+
+    const bookmarkedIds = result.rows.map(row => row.post_id);
+    res.json({
+      bookmarked_ids: bookmarkedIds,
+      count: bookmarkedIds.length
+    });
+  } catch (error) {
+    console.error('Check bookmark statuses error:', error);
+    res.status(500).json({
+      error: 'Internal server error',
+      message: 'Failed to check bookmark statuses'
+    });
+  }
+};
+
 module.exports = {
   addBookmark,
   removeBookmark,
   getBookmarks,
-  isBookmarked
+  isBookmarked,
+  getBookmarkStatuses
 };
 
@@ -4,12 +4,55 @@
  */
 
 const { query } = require('../config/database');
+const { encodeCursor, decodeCursor } = require('../utils/cursor');
+
+// Comment sorts, mapped to their cursor kind; oldest first is the thread order
+const COMMENT_SORTS = {
+  oldest: 'oldest',
+  old: 'oldest',
+  newest: 'newest',
+  new: 'newest',
+  top: 'top'
+};
+const MAX_COMMENT_PAGE = 100;
 
-// Get comments for a post
+// Get comments for a post.
+// Without `limit` the whole thread is returned (oldest first) as before.
+// With `limit`, one page is returned together with `total` and `next_cursor`;
+// pass `after=<next_cursor>` for the following page. `sort` is oldest, new or top.
 const getCommentsByPost = async (req, res) => {
   try {
     const { postId } = req.params;
     const userId = req.user?.userId; // Optional auth
+    const { sort = 'oldest', limit, after } = req.query;
+    const kind = COMMENT_SORTS[sort];
+
+    if (!kind) {
+      return res.status(400).json({
+        error: 'Validation error',
+        message: 'Unknown sort'
+      });
+    }
+
+    const paged = limit !== undefined;
+    const pageLimit = paged ? parseInt(limit) : null;
+    if (paged && !(pageLimit > 0)) {
+      return res.status(400).json({
+        error: 'Validation error',
+        message: 'limit must be a positive integer'
+      });
+    }
+
+    let cursor = null;
+    if (after !== undefined) {
+      cursor = paged ? decodeCursor(after, kind) : null;
+      if (!cursor) {
+        return res.status(400).json({
+          error: 'Validation error',
+          message: 'Invalid or mismatched cursor'
+        });
+      }
+    }
 
     const params = [postId];
     let paramCount = 2;
@@ -24,6 +67,7 @@ const getCommentsByPost = async (req, res) => {
         c.text,
         c.created_at,
         c.updated_at,
+        c.created_at::text as cursor_created_at,
         COALESCE(SUM(CASE WHEN v.type = 'up' THEN 1 ELSE 0 END), 0)::INTEGER as upvotes,
         COALESCE(SUM(CASE WHEN v.type = 'down' THEN 1 ELSE 0 END), 0)::INTEGER as downvotes,
         uv.type as user_vote_type
@@ -38,14 +82,69 @@ const getCommentsByPost = async (req, res) => {
       params.push(userId);
     }
 
-    queryText += ` GROUP BY c.id, u.name, uv.type
-      ORDER BY c.created_at ASC`;
+    // Oldest/newest: seek past the cursor row using idx_comments_post_created_id
+    if (cursor && kind === 'oldest') {
+      queryText += ` AND (c.created_at, c.id) > ($${paramCount++}::timestamp, $${paramCount++}::uuid)`;
+      params.push(cursor.t, cursor.id);
+    } else if (cursor && kind === 'newest') {
+      queryText += ` AND (c.created_at, c.id) < ($${paramCount++}::timestamp, $${paramCount++}::uuid)`;
+      params.push(cursor.t, cursor.id);
+    }
+
+    queryText += ` GROUP BY c.id, u.name, uv.type`;
+
+    // id breaks ties so pages never overlap or skip rows
+    switch (kind) {
+      case 'newest':
+        queryText += ` ORDER BY c.created_at DESC, c.id DESC`;
+        break;
+      case 'top':
+        queryText += ` ORDER BY upvotes DESC, c.created_at DESC, c.id DESC`;
+        break;
+      default:
+        queryText += ` ORDER BY c.created_at ASC, c.id ASC`;
+    }
+
+    // Top: the score is an aggregate, so filter on the grouped rows
+    if (cursor && kind === 'top') {
+      queryText = `
+        SELECT * FROM (${queryText}) ranked
+        WHERE (ranked.upvotes, ranked.created_at, ranked.id)
+          < ($${paramCount++}::integer, $${paramCount++}::timestamp, $${paramCount++}::uuid)
+        ORDER BY ranked.upvotes DESC, ranked.created_at DESC, ranked.id DESC
+      `;
+      params.push(cursor.s, cursor.t, cursor.id);
+    }
+
+    if (paged) {
+      queryText += ` LIMIT $${paramCount++}`;
+      params.push(Math.min(pageLimit, MAX_COMMENT_PAGE));
+    }
 
     const result = await query(queryText, params);
+    const comments = result.rows.map(({ cursor_created_at, ...comment }) => comment);
+
+    if (!paged) {
+      return res.json({
+        comments,
+        count: comments.length
+      });
+    }
+
+    const totalResult = await query(
+      'SELECT COUNT(*)::INTEGER as total FROM comments WHERE post_id = $1',
+      [postId]
+    );
+    const lastRow = result.rows[result.rows.length - 1];
+    const nextCursor = lastRow && result.rows.length === Math.min(pageLimit, MAX_COMMENT_PAGE)
+      ? encodeCursor(kind, lastRow)
+      : null;
 
     res.json({
-      comments: result.rows,
-      count: result.rows.length
+      comments,
+      count: comments.length,
+      total: totalResult.rows[0].total,
+      next_cursor: nextCursor
     });
   } catch (error) {
     console.error('Get comments error:', error);
@@ -56,6 +155,52 @@ const getCommentsByPost = async (req, res) => {
   }
 };
 
+// Get a single comment with its author and votes
+const getCommentById = async (req, res) => {
+  try {
+    const { id } = req.params;
+    const userId = req.user?.userId; // Optional auth
+
+    const result = await query(
+      `SELECT
+        c.id,
+        c.post_id,
+        c.author_id,
+        u.name as author_name,
+        c.title,
+        c.text,
+        c.created_at,
+        c.updated_at,
+        COALESCE(SUM(CASE WHEN v.type = 'up' THEN 1 ELSE 0 END), 0)::INTEGER as upvotes,
+        COALESCE(SUM(CASE WHEN v.type = 'down' THEN 1 ELSE 0 END), 0)::INTEGER as downvotes,
+        uv.type as user_vote_type
+      FROM comments c
+      LEFT JOIN users u ON c.author_id = u.id
+      LEFT JOIN votes v ON v.comment_id = c.id
+      LEFT JOIN votes uv ON uv.comment_id = c.id AND uv.user_id = $2
+      WHERE c.id = $1
+      GROUP BY c.id, u.name, uv.type`,
+      [id, userId || null]
+    );
+
+    if (result.rows.length === 0) {
+      return res.status(404).json({
+        error: 'Comment not found'
+      });
+    }
+
+    res.json({
+      comment: result.rows[0]
+    });
+  } catch (error) {
+    console.error('Get comment error:', error);
+    res.status(500).json({
+      error: 'Internal server error',
+      message: 'Failed to get comment'
+    });
+  }
+};
+
 // Create comment
 const createComment = async (req, res) => {
   try {
@@ -83,11 +228,18 @@ const createComment = async (req, res) => {
       });
     }
 
-    // Insert comment (title is optional)
+    // Insert comment (title is optional); return it shaped like a thread row
+    // so clients can add it to a loaded page without refetching the thread
     const result = await query(
-      `INSERT INTO comments (post_id, author_id, text, title)
-       VALUES ($1, $2, $3, $4)
-       RETURNING id, post_id, author_id, title, text, created_at, updated_at`,
+      `WITH inserted AS (
+         INSERT INTO comments (post_id, author_id, text, title)
+         VALUES ($1, $2, $3, $4)
+         RETURNING id, post_id, author_id, title, text, created_at, updated_at
+       )
+       SELECT inserted.*, u.name as author_name,
+              0 as upvotes, 0 as downvotes, NULL as user_vote_type
+       FROM inserted
+       LEFT JOIN users u ON u.id = inserted.author_id`,
       [post_id, authorId, text, title || null]
     );
 
@@ -200,11 +352,35 @@ const deleteComment = async (req, res) => {
   }
 };
 
-// Get comments by user ID
+// Get comments by user, newest first.
+// Without `limit` every comment is returned as before. With `limit`, one page is
+// returned with `next_cursor`; pass `after=<next_cursor>` for the following page,
+// which seeks idx_comments_author_created_id.
 const getCommentsByUser = async (req, res) => {
   try {
     const { userId: targetUserId } = req.params;
     const currentUserId = req.user?.userId; // Optional auth for vote type
+    const { limit, after } = req.query;
+
+    const paged = limit !== undefined;
+    const pageLimit = paged ? parseInt(limit) : null;
+    if (paged && !(pageLimit > 0)) {
+      return res.status(400).json({
+        error: 'Validation error',
+        message: 'limit must be a positive integer'
+      });
+    }
+
+    let cursor = null;
+    if (after !== undefined) {
+      cursor = paged ? decodeCursor(after, 'newest') : null;
+      if (!cursor) {
+        return res.status(400).json({
+          error: 'Validation error',
+          message: 'Invalid or mismatched cursor'
+        });
+      }
+    }
 
     const params = [targetUserId];
     let paramCount = 2;
@@ -219,6 +395,7 @@ const getCommentsByUser = async (req, res) => {
         c.text,
         c.created_at,
         c.updated_at,
+        c.created_at::text as cursor_created_at,
         COALESCE(SUM(CASE WHEN v.type = 'up' THEN 1 ELSE 0 END), 0)::INTEGER as upvotes,
         COALESCE(SUM(CASE WHEN v.type = 'down' THEN 1 ELSE 0 END), 0)::INTEGER as downvotes,
         uv.type as user_vote_type
@@ -233,14 +410,39 @@ const getCommentsByUser = async (req, res) => {
       params.push(currentUserId);
     }
 
+    if (cursor) {
+      queryText += ` AND (c.created_at, c.id) < ($${paramCount++}::timestamp, $${paramCount++}::uuid)`;
+      params.push(cursor.t, cursor.id);
+    }
+
+    // id breaks ties so pages never overlap or skip rows
     queryText += ` GROUP BY c.id, u.name, uv.type
-      ORDER BY c.created_at DESC`;
+      ORDER BY c.created_at DESC, c.id DESC`;
+
+    if (paged) {
+      queryText += ` LIMIT $${paramCount++}`;
+      params.push(Math.min(pageLimit, MAX_COMMENT_PAGE));
+    }
 
     const result = await query(queryText, params);
+    const comments = result.rows.map(({ cursor_created_at, ...comment }) => comment);
+
+    if (!paged) {
+      return res.json({
+        comments,
+        count: comments.length
+      });
+    }
+
+    const lastRow = result.rows[result.rows.length - 1];
+    const nextCursor = lastRow && result.rows.length === Math.min(pageLimit, MAX_COMMENT_PAGE)
+      ? encodeCursor('newest', lastRow)
+      : null;
 
     res.json({
-      comments: result.rows,
-      count: result.rows.length
+      comments,
+      count: comments.length,
+      next_cursor: nextCursor
     });
   } catch (error) {
     console.error('Get comments by user error:', error);
@@ -253,6 +455,7 @@ const getCommentsByUser = async (req, res) => {
 
 module.exports = {
   getCommentsByPost,
+  getCommentById,
   getCommentsByUser,
   createComment,
   updateComment,
@@ -4,13 +4,48 @@
  */
 
 const { query } = require('../config/database');
+const { encodeCursor, decodeCursor } = require('../utils/cursor');
 
-// Get all posts with optional sorting and filtering
+// Sorts that support keyset (cursor) paging, mapped to their cursor kind
+const KEYSET_SORTS = {
+  newest: 'newest',
+  new: 'newest',
+  top: 'top'
+};
+
+const UUID_PATTERN = /^[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}$/i;
+const MAX_SUMMARY_IDS = 200;
+
+// Get all posts with optional sorting and filtering.
+// Pass `after` (the previous page's next_cursor) for keyset paging on newest/top;
+// limit/offset paging still works for every sort.
+// Pass `author_id` for one user's posts; with sort=newest this seeks idx_posts_author_created_id,
+// so paging through a user's history costs only that user's post count.
 const getPosts = async (req, res) => {
   try {
-    const { sort = 'newest', limit = 50, offset = 0, is_prompt_post } = req.query;
+    const { sort = 'newest', limit = 50, offset = 0, is_prompt_post, after, author_id } = req.query;
     const userId = req.user?.userId; // Optional auth
 
+    if (author_id !== undefined && !UUID_PATTERN.test(author_id)) {
+      return res.status(400).json({
+        error: 'Validation error',
+        message: 'Invalid author_id'
+      });
+    }
+    // Unknown sorts fall through to newest below, so they page like newest too
+    const keysetKind = KEYSET_SORTS[sort] || (['oldest', 'trending'].includes(sort) ? null : 'newest');
+
+    let cursor = null;
+    if (after !== undefined) {
+      cursor = keysetKind ? decodeCursor(after, keysetKind) : null;
+      if (!cursor) {
+        return res.status(400).json({
+          error: 'Validation error',
+          message: 'Invalid or mismatched cursor'
+        });
+      }
+    }
+
     let queryText = `
       SELECT
         p.id,
@@ -25,6 +60,7 @@ const getPosts = async (req, res) => {
         p.is_prompt_post,
         p.created_at,
         p.updated_at,
+        p.created_at::text as cursor_created_at,
         COALESCE(SUM(CASE WHEN v.type = 'up' THEN 1 ELSE 0 END), 0)::INTEGER as upvotes,
         COALESCE(SUM(CASE WHEN v.type = 'down' THEN 1 ELSE 0 END), 0)::INTEGER as downvotes,
         (SELECT COUNT(*) FROM comments WHERE post_id = p.id)::INTEGER as comment_count,
@@ -37,20 +73,35 @@ const getPosts = async (req, res) => {
 
     const params = [userId || null];
     let paramCount = 2;
+    const conditions = [];
 
     // Filter by prompt post type
     if (is_prompt_post !== undefined) {
-      queryText += ` WHERE p.is_prompt_post = $${paramCount++}`;
+      conditions.push(`p.is_prompt_post = $${paramCount++}`);
       params.push(is_prompt_post === 'true');
     }
 
+    // Filter by author; anonymous posts are only listed for their own author
+    if (author_id !== undefined) {
+      conditions.push(`p.author_id = $${paramCount++}`);
+      params.push(author_id);
+      conditions.push(`(p.anonymous = FALSE OR p.author_id = $1)`);
+    }
+
+    // Newest: seek straight past the cursor row using idx_posts_created_id
+    if (cursor && keysetKind === 'newest') {
+      conditions.push(`(p.created_at, p.id) < ($${paramCount++}::timestamp, $${paramCount++}::uuid)`);
+      params.push(cursor.t, cursor.id);
+    }
+
+    if (conditions.length > 0) {
+      queryText += ` WHERE ${conditions.join(' AND ')}`;
+    }
+
     queryText += ` GROUP BY p.id, u.name, uv.type`;
 
-    // Sorting
+    // Sorting (id breaks ties so offset and cursor paging agree on order)
     switch (sort) {
-      case 'newest':
-        queryText += ` ORDER BY p.created_at DESC`;
-        break;
       case 'oldest':
         queryText += ` ORDER BY p.created_at ASC`;
         break;
@@ -60,23 +111,43 @@ const getPosts = async (req, res) => {
         break;
       case 'top':
         // Top = most upvotes
-        queryText += ` ORDER BY upvotes DESC, p.created_at DESC`;
+        queryText += ` ORDER BY upvotes DESC, p.created_at DESC, p.id DESC`;
         break;
       default:
-        queryText += ` ORDER BY p.created_at DESC`;
+        queryText += ` ORDER BY p.created_at DESC, p.id DESC`;
     }
 
-    // Pagination
+    // Top: the score is an aggregate, so filter on the grouped rows
+    if (cursor && keysetKind === 'top') {
+      queryText = `
+        SELECT * FROM (${queryText}) ranked
+        WHERE (ranked.upvotes, ranked.created_at, ranked.id)
+          < ($${paramCount++}::integer, $${paramCount++}::timestamp, $${paramCount++}::uuid)
+        ORDER BY ranked.upvotes DESC, ranked.created_at DESC, ranked.id DESC
+      `;
+      params.push(cursor.s, cursor.t, cursor.id);
+    }
+
+    // Pagination (offset is ignored when a cursor is given)
+    const pageLimit = parseInt(limit);
+    const pageOffset = cursor ? 0 : parseInt(offset);
     queryText += ` LIMIT $${paramCount++} OFFSET $${paramCount++}`;
-    params.push(parseInt(limit), parseInt(offset));
+    params.push(pageLimit, pageOffset);
 
     const result = await query(queryText, params);
 
+    const lastRow = result.rows[result.rows.length - 1];
+    const nextCursor = keysetKind && lastRow && result.rows.length === pageLimit
+      ? encodeCursor(keysetKind, lastRow)
+      : null;
+    const posts = result.rows.map(({ cursor_created_at, ...post }) => post);
+
     res.json({
-      posts: result.rows,
-      count: result.rows.length,
-      limit: parseInt(limit),
-      offset: parseInt(offset)
+      posts,
+      count: posts.length,
+      limit: pageLimit,
+      offset: pageOffset,
+      next_cursor: nextCursor
     });
   } catch (error) {
     console.error('Get posts error:', error);
@@ -302,6 +373,43 @@ const searchPosts = async (req, res) => {
   }
 };
 
+// Title and type of many posts at once, for labelling a user's comments with their post
+// GET /api/posts/summaries?ids=<id>,<id>,...
+// Unknown or deleted IDs are left out of the response.
+const getPostSummaries = async (req, res) => {
+  try {
+    const rawIds = Array.isArray(req.query.ids) ? req.query.ids.join(',') : (req.query.ids || '');
+    const ids = [...new Set(rawIds.split(',').map(id => id.trim()).filter(id => UUID_PATTERN.test(id)))];
+
+    if (ids.length > MAX_SUMMARY_IDS) {
+      return res.status(400).json({
+        error: 'Too many IDs',
+        message: `At most ${MAX_SUMMARY_IDS} post IDs can be looked up at once`
+      });
+    }
+
+    if (ids.length === 0) {
+      return res.json({ summaries: [], count: 0 });
+    }
+
+    const result = await query(
+      'SELECT id, title, is_prompt_post FROM posts WHERE id = ANY($1::uuid[])',
+      [ids]
+    );
+
+    res.json({
+      summaries: result.rows,
+      count: result.rows.length
+    });
+  } catch (error) {
+    console.error('Get post summaries error:', error);
+    res.status(500).json({
+      error: 'Internal server error',
+      message: 'Failed to get post summaries'
+    });
+  }
+};
+
 // Get single post by ID
 const getPostById = async (req, res) => {
   try {
@@ -718,6 +826,7 @@ module.exports = {
   getPromptPosts,
   getTrendingPosts,
   searchPosts,
+  getPostSummaries,
   getPostById,
   createPost,
   updatePost,
@@ -97,7 +97,25 @@ const votePost = async (req, res) => {
   }
 };
 
-// Vote on a comment
+// Counts for one comment as seen inside the voting transaction
+const commentVoteCounts = async (client, commentId) => {
+  const result = await client.query(
+    `SELECT
+      COUNT(CASE WHEN type = 'up' THEN 1 END)::INTEGER as upvotes,
+      COUNT(CASE WHEN type = 'down' THEN 1 END)::INTEGER as downvotes
+    FROM votes
+    WHERE comment_id = $1`,
+    [commentId]
+  );
+  return {
+    upvotes: result.rows[0].upvotes || 0,
+    downvotes: result.rows[0].downvotes || 0
+  };
+};
+
+// Vote on a comment.
+// The response includes the comment's new upvotes/downvotes so clients can
+// reconcile without refetching the thread.
 const voteComment = async (req, res) => {
   try {
     const { commentId } = req.params;
@@ -142,10 +160,12 @@ const voteComment = async (req, res) => {
             'DELETE FROM votes WHERE id = $1',
             [existingVote.rows[0].id]
           );
+          const counts = await commentVoteCounts(client, commentId);
           await client.query('COMMIT');
           return res.json({
             message: 'Vote removed',
-            action: 'removed'
+            action: 'removed',
+            ...counts
           });
         } else {
           // Different vote type, update vote
@@ -153,11 +173,13 @@ const voteComment = async (req, res) => {
             'UPDATE votes SET type = $1 WHERE id = $2',
             [type, existingVote.rows[0].id]
           );
+          const counts = await commentVoteCounts(client, commentId);
           await client.query('COMMIT');
           return res.json({
             message: 'Vote updated',
             action: 'updated',
-            type: type
+            type: type,
+            ...counts
           });
         }
       } else {
@@ -167,11 +189,13 @@ const voteComment = async (req, res) => {
            VALUES ($1, $2, $3)`,
           [userId, commentId, type]
         );
+        const counts = await commentVoteCounts(client, commentId);
         await client.query('COMMIT');
         return res.json({
           message: 'Vote created',
           action: 'created',
-          type: type
+          type: type,
+          ...counts
         });
       }
     } catch (error) {
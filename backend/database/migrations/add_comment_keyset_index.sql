@@ -0,0 +1,4 @@
+-- Migration: Composite index for keyset (cursor) paging of a post's comments
+-- Lets "WHERE post_id = $1 AND (created_at, id) > (...) ORDER BY created_at, id" seek instead of scan
+
+CREATE INDEX IF NOT EXISTS idx_comments_post_created_id ON comments(post_id, created_at, id);
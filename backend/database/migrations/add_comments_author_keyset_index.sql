@@ -0,0 +1,4 @@
+-- Migration: Composite index for keyset (cursor) paging of one user's comments
+-- Lets "WHERE author_id = $1 AND (created_at, id) < (...) ORDER BY created_at DESC, id DESC" seek instead of scan
+
+CREATE INDEX IF NOT EXISTS idx_comments_author_created_id ON comments(author_id, created_at DESC, id DESC);
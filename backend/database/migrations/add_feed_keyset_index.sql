@@ -0,0 +1,4 @@
+-- Migration: Composite index for keyset (cursor) paging of the newest feed
+-- Lets "WHERE (created_at, id) < (...) ORDER BY created_at DESC, id DESC" seek instead of scan
+
+CREATE INDEX IF NOT EXISTS idx_posts_created_id ON posts(created_at DESC, id DESC);
@@ -0,0 +1,4 @@
+-- Migration: Composite index for keyset (cursor) paging of one author's posts
+-- Lets "WHERE author_id = $1 AND (created_at, id) < (...) ORDER BY created_at DESC, id DESC" seek instead of scan
+
+CREATE INDEX IF NOT EXISTS idx_posts_author_created_id ON posts(author_id, created_at DESC, id DESC);
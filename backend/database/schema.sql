@@ -124,11 +124,15 @@ CREATE TABLE IF NOT EXISTS drafts (
 
 -- Indexes for performance
 CREATE INDEX IF NOT EXISTS idx_posts_author ON posts(author_id);
+CREATE INDEX IF NOT EXISTS idx_posts_author_created_id ON posts(author_id, created_at DESC, id DESC);
 CREATE INDEX IF NOT EXISTS idx_posts_llm_tag ON posts(llm_tag);
 CREATE INDEX IF NOT EXISTS idx_posts_created_at ON posts(created_at DESC);
+CREATE INDEX IF NOT EXISTS idx_posts_created_id ON posts(created_at DESC, id DESC);
 CREATE INDEX IF NOT EXISTS idx_posts_is_prompt ON posts(is_prompt_post);
 CREATE INDEX IF NOT EXISTS idx_comments_post ON comments(post_id);
+CREATE INDEX IF NOT EXISTS idx_comments_post_created_id ON comments(post_id, created_at, id);
 CREATE INDEX IF NOT EXISTS idx_comments_author ON comments(author_id);
+CREATE INDEX IF NOT EXISTS idx_comments_author_created_id ON comments(author_id, created_at DESC, id DESC);
 CREATE INDEX IF NOT EXISTS idx_comments_created_at ON comments(created_at DESC);
 CREATE INDEX IF NOT EXISTS idx_votes_post ON votes(post_id);
 CREATE INDEX IF NOT EXISTS idx_votes_comment ON votes(comment_id);
@@ -20,6 +20,9 @@ router.delete('/:postId', bookmarkController.removeBookmark);
 // Get user's bookmarks
 router.get('/', bookmarkController.getBookmarks);
 
+// Check bookmark status for a page of posts (?ids=a,b,c)
+router.get('/status', bookmarkController.getBookmarkStatuses);
+
 // Check if post is bookmarked
 router.get('/:postId/check', bookmarkController.isBookmarked);
 
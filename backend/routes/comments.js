@@ -6,15 +6,18 @@
 const express = require('express');
 const router = express.Router();
 const commentController = require('../controllers/commentController');
-const { authenticateToken } = require('../middleware/auth');
+const { authenticateToken, optionalAuth } = require('../middleware/auth');
 
 // Get comments by user ID (must come before /:postId to avoid route conflict)
 router.get('/user/:userId', commentController.getCommentsByUser);
 
-// Get comments for a post
-router.get('/post/:postId', commentController.getCommentsByPost);
+// Get a single comment (must come before /:postId to avoid route conflict)
+router.get('/id/:id', optionalAuth, commentController.getCommentById);
+
+// Get comments for a post (with optional auth for the caller's votes)
+router.get('/post/:postId', optionalAuth, commentController.getCommentsByPost);
 // Keep old route for backward compatibility
-router.get('/:postId', commentController.getCommentsByPost);
+router.get('/:postId', optionalAuth, commentController.getCommentsByPost);
 
 // Create comment (requires auth)
 router.post('/', authenticateToken, commentController.createComment);
@@ -20,6 +20,9 @@ router.get('/trending', optionalAuth, postController.getTrendingPosts);
 // Search posts
 router.get('/search', optionalAuth, postController.searchPosts);
 
+// Titles for many posts at once (?ids=a,b,c)
+router.get('/summaries', postController.getPostSummaries);
+
 // Get single post by ID
 router.get('/:id', optionalAuth, postController.getPostById);
 
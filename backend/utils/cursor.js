@@ -0,0 +1,32 @@
+/**
+ * Keyset cursor helpers
+ * Cursors are opaque to clients: base64url-encoded JSON of the last row's sort key
+ */
+
+const encodeCursor = (kind, row) => {
+  const payload = { k: kind, t: row.cursor_created_at, id: row.id };
+  if (kind === 'top') {
+    payload.s = row.upvotes;
+  }
+  return Buffer.from(JSON.stringify(payload)).toString('base64url');
+};
+
+const decodeCursor = (cursor, kind) => {
+  try {
+    const payload = JSON.parse(Buffer.from(String(cursor), 'base64url').toString('utf8'));
+    if (!payload || payload.k !== kind || typeof payload.t !== 'string' || typeof payload.id !== 'string') {
+      return null;
+    }
+    if (kind === 'top' && !Number.isInteger(payload.s)) {
+      return null;
+    }
+    return payload;
+  } catch (error) {
+    return null;
+  }
+};
+
+module.exports = {
+  encodeCursor,
+  decodeCursor
+};